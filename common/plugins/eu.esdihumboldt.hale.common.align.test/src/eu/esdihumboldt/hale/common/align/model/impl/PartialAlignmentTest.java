@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.align.model.impl;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+
+import eu.esdihumboldt.hale.common.align.model.ParameterValue;
+import eu.esdihumboldt.hale.common.core.io.Text;
+import eu.esdihumboldt.hale.common.core.io.Value;
+
+/**
+ * Tests for {@link PartialAlignment}.
+ * 
+ * @author Simon Templer
+ */
+public class PartialAlignmentTest {
+
+	private static final String GROOVY = "eu.esdihumboldt.cst.functions.groovy";
+
+	/**
+	 * Test detecting functions that keep state in the execution context.
+	 */
+	@Test
+	public void testContextFunctions() {
+		assertFalse(PartialAlignment.usesExecutionContext(
+				createCell("eu.esdihumboldt.hale.align.rename", null)));
+		assertTrue(PartialAlignment.usesExecutionContext(
+				createCell("eu.esdihumboldt.cst.functions.numeric.sequentialid", null)));
+		assertTrue(PartialAlignment.usesExecutionContext(
+				createCell("eu.esdihumboldt.cst.functions.collector.assign", null)));
+	}
+
+	/**
+	 * Test detecting scripts that access the execution context.
+	 */
+	@Test
+	public void testContextScripts() {
+		assertFalse(PartialAlignment.usesExecutionContext(
+				createCell(GROOVY, Value.complex(new Text("name.toUpperCase()")))));
+		assertTrue(PartialAlignment.usesExecutionContext(createCell(GROOVY,
+				Value.complex(new Text("withTransformationContext { it.count = 1 }")))));
+		assertTrue(PartialAlignment.usesExecutionContext(
+				createCell(GROOVY, Value.of("_.context.collector(it).values()"))));
+	}
+
+	private DefaultCell createCell(String function, Value script) {
+		DefaultCell cell = new DefaultCell();
+		cell.setTransformationIdentifier(function);
+		if (script != null) {
+			ListMultimap<String, ParameterValue> parameters = ArrayListMultimap.create();
+			parameters.put("script", new ParameterValue(script));
+			cell.setTransformationParameters(parameters);
+		}
+		return cell;
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.align.transformation.function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ContextValues}.
+ *
+ * @author Simon Templer
+ */
+public class ContextValuesTest {
+
+	/**
+	 * Test that values are created once per key.
+	 */
+	@Test
+	public void testGetOrCreate() {
+		testGetOrCreate(new ConcurrentHashMap<>());
+		testGetOrCreate(Collections.synchronizedMap(new HashMap<>()));
+	}
+
+	private void testGetOrCreate(Map<Object, Object> context) {
+		ContextValues values = ContextValues.of(context);
+		AtomicInteger created = new AtomicInteger();
+
+		Object first = values.getOrCreate("key", () -> "value" + created.incrementAndGet());
+		Object second = values.getOrCreate("key", () -> "value" + created.incrementAndGet());
+		assertEquals("value1", first);
+		assertSame(first, second);
+		assertEquals(1, created.get());
+		assertSame(first, context.get("key"));
+
+		ConcurrentMap<String, Integer> map = values.getMap("map");
+		map.put("a", 1);
+		assertSame(map, ContextValues.of(context).getMap("map"));
+	}
+
+	/**
+	 * Test that counters provide unique values when used concurrently.
+	 *
+	 * @throws Exception if a task fails
+	 */
+	@Test
+	public void testConcurrentCounter() throws Exception {
+		final Map<Object, Object> context = new ConcurrentHashMap<>();
+		final int threads = 4;
+		final int count = 10000;
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<long[]>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(new Callable<long[]>() {
+
+					@Override
+					public long[] call() throws Exception {
+						long[] ids = new long[count];
+						for (int j = 0; j < count; j++) {
+							ContextValues values = ContextValues.of(context);
+							ids[j] = values.getCounter("sequence").getAndIncrement();
+							values.getAdder("calls").increment();
+						}
+						return ids;
+					}
+				}));
+			}
+
+			boolean[] seen = new boolean[threads * count];
+			for (Future<long[]> future : futures) {
+				for (long id : future.get()) {
+					assertFalse(seen[(int) id]);
+					seen[(int) id] = true;
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		ContextValues values = ContextValues.of(context);
+		assertEquals(threads * count, values.getCounter("sequence").get());
+		assertEquals(threads * count, values.getAdder("calls").sum());
+		assertEquals(AtomicLong.class, context.get("sequence").getClass());
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.align.transformation.function.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.model.impl.DefaultCell;
+import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
+import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine;
+import eu.esdihumboldt.hale.common.align.transformation.function.PropertyValue;
+import eu.esdihumboldt.hale.common.align.transformation.function.TransformationException;
+import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
+import eu.esdihumboldt.hale.common.align.transformation.report.impl.CellLog;
+import eu.esdihumboldt.hale.common.align.transformation.report.impl.DefaultTransformationReporter;
+
+/**
+ * Tests for the prepared state of {@link AbstractPropertyTransformation}.
+ *
+ * @author Simon Templer
+ */
+public class AbstractPropertyTransformationTest {
+
+	private static final String RESULT = "result";
+
+	/**
+	 * Test that the function prepares itself if the caller did not prepare it.
+	 *
+	 * @throws Exception if the execution fails
+	 */
+	@Test
+	public void testNotPreparedByCaller() throws Exception {
+		AtomicInteger prepared = new AtomicInteger();
+		TestFunction function = new TestFunction(prepared);
+
+		Object result = execute(function);
+		assertEquals(1, prepared.get());
+		assertEquals("state1", result);
+	}
+
+	/**
+	 * Test that the function uses the state prepared by the caller.
+	 *
+	 * @throws Exception if the execution fails
+	 */
+	@Test
+	public void testPreparedByCaller() throws Exception {
+		AtomicInteger prepared = new AtomicInteger();
+		Object state = new Object();
+
+		TestFunction function = new TestFunction(prepared);
+		function.setPreparedState(state);
+		assertSame(state, execute(function));
+
+		// a state that is null is also provided by the caller
+		function = new TestFunction(prepared);
+		function.setPreparedState(null);
+		assertNull(execute(function));
+
+		assertEquals(0, prepared.get());
+	}
+
+	private static Object execute(TestFunction function) throws TransformationException {
+		Cell cell = new DefaultCell();
+		function.execute("test", null, Collections.<String, String> emptyMap(),
+				new CellLog(new DefaultTransformationReporter("test", false), cell), cell);
+		return function.getResults().get(RESULT).get(0);
+	}
+
+	/**
+	 * Function that yields its prepared state as result.
+	 */
+	private static class TestFunction extends AbstractPropertyTransformation<TransformationEngine> {
+
+		private final AtomicInteger prepared;
+
+		/**
+		 * @param prepared the counter for preparations
+		 */
+		public TestFunction(AtomicInteger prepared) {
+			this.prepared = prepared;
+		}
+
+		@Override
+		public Object prepare(Cell cell, TransformationLog log) throws TransformationException {
+			return "state" + prepared.incrementAndGet();
+		}
+
+		@Override
+		protected ListMultimap<String, Object> evaluate(String transformationIdentifier,
+				TransformationEngine engine, ListMultimap<String, PropertyValue> variables,
+				ListMultimap<String, PropertyEntityDefinition> resultNames,
+				Map<String, String> executionParameters, TransformationLog log)
+				throws TransformationException {
+			ListMultimap<String, Object> results = ArrayListMultimap.create();
+			results.put(RESULT, getPreparedState());
+			return results;
+		}
+
+	}
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.align.model.impl;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import eu.esdihumboldt.hale.common.align.extension.function.custom.CustomPropertyFunction;
+import eu.esdihumboldt.hale.common.align.model.Alignment;
+import eu.esdihumboldt.hale.common.align.model.BaseAlignmentCell;
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.model.EntityDefinition;
+import eu.esdihumboldt.hale.common.align.model.ParameterValue;
+import eu.esdihumboldt.hale.common.core.io.Text;
+import eu.esdihumboldt.hale.common.schema.SchemaSpaceID;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * View on an alignment that only exposes a subset of the active type cells.
+ * All other information is retrieved from the decorated alignment, so property
+ * cells, custom functions etc. are available as usual. Used to transform only
+ * the type cells affected by a change to the alignment.<br>
+ * <br>
+ * Transforming with a partial alignment only yields the same instances as the
+ * complete transformation if no cell shares state with other cells through the
+ * execution context, see {@link #usesExecutionContext(Alignment)}.
+ *
+ * @author Simon Templer
+ */
+public class PartialAlignment implements Alignment {
+
+	/**
+	 * Identifiers of functions that keep state in the execution context across
+	 * instances or cells (sequential IDs and collectors).
+	 */
+	private static final Set<String> CONTEXT_FUNCTIONS = new HashSet<>(Arrays.asList( //
+			"eu.esdihumboldt.cst.functions.numeric.sequentialid", //
+			"eu.esdihumboldt.cst.functions.collector.assign"));
+
+	/**
+	 * Expressions in scripts that access the execution context (context
+	 * bindings and helper functions like the collector helper).
+	 */
+	private static final List<String> CONTEXT_SCRIPT_MARKERS = Arrays.asList( //
+			"withCellContext", "withFunctionContext", "withTransformationContext",
+			"_.context");
+
+	private final Alignment alignment;
+
+	private final Collection<? extends Cell> activeTypeCells;
+
+	/**
+	 * Create a view on the given alignment.
+	 *
+	 * @param alignment the alignment
+	 * @param activeTypeCells the active type cells to expose, should be a
+	 *            subset of the active type cells of the alignment
+	 */
+	public PartialAlignment(Alignment alignment, Collection<? extends Cell> activeTypeCells) {
+		super();
+		this.alignment = alignment;
+		this.activeTypeCells = Collections.unmodifiableCollection(activeTypeCells);
+	}
+
+	/**
+	 * Determines if any of the cells of the given alignment may use state
+	 * stored in the execution context of the transformation, e.g. sequential
+	 * IDs, collectors or scripts accessing the context. Such state is shared
+	 * between the cells of a transformation run, so transforming only a part
+	 * of the alignment can yield different results than a complete
+	 * transformation.
+	 * 
+	 * @param alignment the alignment
+	 * @return if any cell of the alignment may use the execution context
+	 */
+	public static boolean usesExecutionContext(Alignment alignment) {
+		for (Cell cell : alignment.getCells()) {
+			if (usesExecutionContext(cell)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determines if the given cell may use state stored in the execution
+	 * context of the transformation.
+	 * 
+	 * @param cell the cell
+	 * @return if the cell may use the execution context
+	 * @see #usesExecutionContext(Alignment)
+	 */
+	public static boolean usesExecutionContext(Cell cell) {
+		if (CONTEXT_FUNCTIONS.contains(cell.getTransformationIdentifier())) {
+			return true;
+		}
+
+		if (cell.getTransformationParameters() != null) {
+			for (ParameterValue value : cell.getTransformationParameters().values()) {
+				// scripts are stored as text or string values
+				Object raw = value.getValue();
+				String text = null;
+				if (raw instanceof Text) {
+					text = ((Text) raw).getText();
+				}
+				else if (raw instanceof String) {
+					text = (String) raw;
+				}
+
+				if (text != null) {
+					for (String marker : CONTEXT_SCRIPT_MARKERS) {
+						if (text.contains(marker)) {
+							return true;
+						}
+					}
+				}
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	public Collection<? extends Cell> getActiveTypeCells() {
+		return activeTypeCells;
+	}
+
+	@Override
+	public Map<String, URI> getBaseAlignments() {
+		return alignment.getBaseAlignments();
+	}
+
+	@Override
+	public Iterable<BaseAlignmentCell> getBaseAlignmentCells(URI baseAlignment) {
+		return alignment.getBaseAlignmentCells(baseAlignment);
+	}
+
+	@Override
+	public Map<String, CustomPropertyFunction> getAllCustomPropertyFunctions() {
+		return alignment.getAllCustomPropertyFunctions();
+	}
+
+	@Override
+	public Map<String, CustomPropertyFunction> getCustomPropertyFunctions() {
+		return alignment.getCustomPropertyFunctions();
+	}
+
+	@Override
+	public Map<String, CustomPropertyFunction> getBasePropertyFunctions() {
+		return alignment.getBasePropertyFunctions();
+	}
+
+	@Override
+	public void addCustomPropertyFunction(CustomPropertyFunction function) {
+		throw new UnsupportedOperationException("Alignment view may not be modified");
+	}
+
+	@Override
+	public Collection<? extends Cell> getCells() {
+		return alignment.getCells();
+	}
+
+	@Override
+	public Collection<? extends Cell> getTypeCells() {
+		return alignment.getTypeCells();
+	}
+
+	@Override
+	public Collection<? extends Cell> getCells(EntityDefinition entityDefinition) {
+		return alignment.getCells(entityDefinition);
+	}
+
+	@Override
+	public Collection<? extends Cell> getCells(EntityDefinition entityDefinition,
+			boolean includeInherited) {
+		return alignment.getCells(entityDefinition, includeInherited);
+	}
+
+	@Override
+	public Collection<? extends Cell> getCells(TypeDefinition type, SchemaSpaceID schemaSpace) {
+		return alignment.getCells(type, schemaSpace);
+	}
+
+	@Override
+	public Collection<? extends Cell> getPropertyCells(Cell typeCell) {
+		return alignment.getPropertyCells(typeCell);
+	}
+
+	@Override
+	public Collection<? extends Cell> getPropertyCells(Cell typeCell, boolean includeDisabled,
+			boolean ignoreEmptySource) {
+		return alignment.getPropertyCells(typeCell, includeDisabled, ignoreEmptySource);
+	}
+
+	@Override
+	public Collection<? extends Cell> getTypeCells(Cell queryCell) {
+		return alignment.getTypeCells(queryCell);
+	}
+
+	@Override
+	public Cell getCell(String cellId) {
+		return alignment.getCell(cellId);
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.align.transformation.function;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Typed access to values shared in an execution context map. Values are
+ * created once per key and context and can then be used without
+ * synchronizing on the context map. If the context map is a
+ * {@link ConcurrentMap} (as with the transformation engine) no lock is
+ * acquired when accessing existing values, for other maps access is
+ * synchronized on the map.<br>
+ * <br>
+ * A key must always be used with the same kind of value.
+ *
+ * @author Simon Templer
+ * @see ExecutionContext#getCellValues()
+ * @see ExecutionContext#getFunctionValues()
+ * @see ExecutionContext#getTransformationValues()
+ */
+public final class ContextValues {
+
+	/**
+	 * Create typed access to the values of the given context map.
+	 *
+	 * @param context the context map
+	 * @return the context values
+	 */
+	public static ContextValues of(Map<Object, Object> context) {
+		return new ContextValues(context);
+	}
+
+	private final Map<Object, Object> context;
+
+	private ContextValues(Map<Object, Object> context) {
+		super();
+		this.context = context;
+	}
+
+	/**
+	 * Get the value associated to the given key, create it if it does not
+	 * exist yet. The value is created at most once per key and context.
+	 *
+	 * @param key the key
+	 * @param factory the factory creating the value, it may not access the
+	 *            context map
+	 * @return the value associated to the key
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getOrCreate(Object key, Supplier<? extends T> factory) {
+		Object value = context.get(key);
+		if (value == null) {
+			if (context instanceof ConcurrentMap<?, ?>) {
+				value = context.computeIfAbsent(key, k -> factory.get());
+			}
+			else {
+				synchronized (context) {
+					value = context.get(key);
+					if (value == null) {
+						value = factory.get();
+						context.put(key, value);
+					}
+				}
+			}
+		}
+		return (T) value;
+	}
+
+	/**
+	 * Get the atomic counter associated to the given key, e.g. to generate
+	 * sequential values. New counters start with zero.
+	 *
+	 * @param key the key
+	 * @return the counter
+	 */
+	public AtomicLong getCounter(Object key) {
+		return getOrCreate(key, AtomicLong::new);
+	}
+
+	/**
+	 * Get the striped counter associated to the given key. In contrast to
+	 * {@link #getCounter(Object)} it does not provide unique values, but
+	 * scales better for counters that are updated concurrently and read
+	 * rarely, e.g. for statistics.
+	 *
+	 * @param key the key
+	 * @return the striped counter
+	 */
+	public LongAdder getAdder(Object key) {
+		return getOrCreate(key, LongAdder::new);
+	}
+
+	/**
+	 * Get the concurrent map associated to the given key, e.g. to use it as a
+	 * cache.
+	 *
+	 * @param key the key
+	 * @return the map
+	 */
+	public <K, V> ConcurrentMap<K, V> getMap(Object key) {
+		return getOrCreate(key, ConcurrentHashMap::new);
+	}
+
+}
@@ -30,7 +30,12 @@ import eu.esdihumboldt.hale.common.core.service.ServiceProvider;
  * used by transformation functions to share information. For implementations
  * please be aware that if the transformation may be executed in multiple
  * threads, the context getters defined here as well as the returned maps have
- * to use mechanisms to ensure their consistency (e.g. locking/synchronization).
+ * to use mechanisms to ensure their consistency (e.g. concurrent maps or
+ * locking/synchronization).<br>
+ * <br>
+ * Functions that share counters, caches or lazily created values should use
+ * the {@link ContextValues} of the respective context, which don't require
+ * synchronizing on the context maps.
  * 
  * @author Simon Templer
  */
@@ -70,6 +75,36 @@ public interface ExecutionContext extends ServiceProvider {
 	 */
 	public Map<Object, Object> getTransformationContext();
 
+	/**
+	 * Get typed access to the values of the cell context.
+	 * 
+	 * @return the cell context values
+	 * @see #getCellContext()
+	 */
+	default public ContextValues getCellValues() {
+		return ContextValues.of(getCellContext());
+	}
+
+	/**
+	 * Get typed access to the values of the function context.
+	 * 
+	 * @return the function context values
+	 * @see #getFunctionContext()
+	 */
+	default public ContextValues getFunctionValues() {
+		return ContextValues.of(getFunctionContext());
+	}
+
+	/**
+	 * Get typed access to the values of the overall transformation context.
+	 * 
+	 * @return the transformation context values
+	 * @see #getTransformationContext()
+	 */
+	default public ContextValues getTransformationValues() {
+		return ContextValues.of(getTransformationContext());
+	}
+
 	/**
 	 * Get the (immutable) transformation alignment.
 	 * 
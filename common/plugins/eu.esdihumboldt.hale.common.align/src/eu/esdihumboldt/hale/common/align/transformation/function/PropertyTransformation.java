@@ -87,4 +87,40 @@ public interface PropertyTransformation<E extends TransformationEngine> extends
 	 */
 	public void setTypeCell(Cell typeCell);
 
+	/**
+	 * Prepare the function for being executed for the given cell, e.g. by
+	 * parsing or compiling configuration provided as parameters. The prepared
+	 * state is created once per cell and is handed to every function object
+	 * executed for the cell using {@link #setPreparedState(Object)}. As the
+	 * function may be executed concurrently, the state must be thread-safe.
+	 * <br>
+	 * <br>
+	 * The function parameters and the execution context are set before this
+	 * method is called, variables and expected results are not.<br>
+	 * <br>
+	 * The default implementation returns <code>null</code>.
+	 * 
+	 * @param cell the cell the function is executed for
+	 * @param log the transformation log to report any information about the
+	 *            preparation to
+	 * @return the prepared state, may be <code>null</code>
+	 * @throws TransformationException if the function cannot be prepared for
+	 *             the cell
+	 */
+	public default Object prepare(Cell cell, TransformationLog log)
+			throws TransformationException {
+		return null;
+	}
+
+	/**
+	 * Set the state prepared with {@link #prepare(Cell, TransformationLog)}
+	 * for the cell that is executed. The default implementation ignores the
+	 * state.
+	 * 
+	 * @param preparedState the prepared state, may be <code>null</code>
+	 */
+	public default void setPreparedState(Object preparedState) {
+		// ignore
+	}
+
 }
@@ -47,6 +47,8 @@ public abstract class AbstractPropertyTransformation<E extends TransformationEng
 	private TypeDefinition targetType;
 	private Cell cell;
 	private Cell typeCell;
+	private Object preparedState;
+	private boolean prepared = false;
 
 	/**
 	 * @see PropertyTransformation#setTargetType(TypeDefinition)
@@ -99,10 +101,34 @@ public abstract class AbstractPropertyTransformation<E extends TransformationEng
 			Map<String, String> executionParameters, TransformationLog log, Cell cell)
 			throws TransformationException {
 		this.cell = cell;
+		if (!prepared) {
+			// not prepared by the caller
+			setPreparedState(prepare(cell, log));
+		}
 		results = evaluate(transformationIdentifier, engine, variables, resultNames,
 				executionParameters, log);
 	}
 
+	/**
+	 * @see PropertyTransformation#setPreparedState(Object)
+	 */
+	@Override
+	public void setPreparedState(Object preparedState) {
+		this.preparedState = preparedState;
+		this.prepared = true;
+	}
+
+	/**
+	 * Get the state prepared for the cell that is executed. If the state was
+	 * not provided by the caller, it is prepared before the evaluation.
+	 * 
+	 * @return the prepared state, may be <code>null</code>
+	 * @see PropertyTransformation#prepare(Cell, TransformationLog)
+	 */
+	protected Object getPreparedState() {
+		return preparedState;
+	}
+
 	/**
 	 * Get the cell used to configure this function evaluation.
 	 * 
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.align.transformation.service;
+
+import eu.esdihumboldt.hale.common.instance.model.InstanceMetadata;
+
+/**
+ * Instance sink that requests the transformed instances added to it to record
+ * the ID of the type cell that created them in their meta data (see
+ * {@link InstanceMetadata#METADATA_CELLID}). For other sinks the cell ID is not
+ * recorded.
+ * 
+ * @author Simon Templer
+ */
+public interface CellTrackingInstanceSink extends InstanceSink {
+
+	// marker interface
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.cache;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for conditional requests done by {@link Request} to revalidate
+ * resources cached in a {@link ResourceCache}.
+ *
+ * @author Simon Templer
+ */
+@SuppressWarnings("restriction")
+public class RequestConditionalTest {
+
+	private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+	private HttpServer server;
+
+	private Path cacheDir;
+
+	private volatile String content = "v1";
+
+	/**
+	 * Conditional headers of the received requests and the response status
+	 */
+	private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+	/**
+	 * Start the server and create the cache directory.
+	 *
+	 * @throws IOException if starting the server fails
+	 */
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/etag", this::handleEntityTag);
+		server.createContext("/date", this::handleLastModified);
+		server.start();
+
+		cacheDir = Files.createTempDirectory("requestcache");
+	}
+
+	/**
+	 * Stop the server and delete the cache directory.
+	 *
+	 * @throws IOException if deleting the cache directory fails
+	 */
+	@After
+	public void tearDown() throws IOException {
+		server.stop(0);
+
+		new ResourceCache(cacheDir, 0, 0).clear();
+		Files.deleteIfExists(cacheDir.resolve("cache.lock"));
+		Files.deleteIfExists(cacheDir.resolve("index"));
+		Files.deleteIfExists(cacheDir.resolve("content"));
+		Files.deleteIfExists(cacheDir);
+	}
+
+	private void handleEntityTag(HttpExchange exchange) throws IOException {
+		String tag = "\"" + content + "\"";
+		String condition = exchange.getRequestHeaders().getFirst("If-None-Match");
+		exchange.getResponseHeaders().add("ETag", tag);
+		respond(exchange, condition, tag.equals(condition));
+	}
+
+	private void handleLastModified(HttpExchange exchange) throws IOException {
+		String condition = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+		exchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+		respond(exchange, condition, LAST_MODIFIED.equals(condition));
+	}
+
+	private void respond(HttpExchange exchange, String condition, boolean notModified)
+			throws IOException {
+		requests.add(condition + " " + (notModified ? 304 : 200));
+		if (notModified) {
+			exchange.sendResponseHeaders(304, -1);
+			exchange.close();
+			return;
+		}
+
+		byte[] body = content.getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	/**
+	 * Test revalidating a resource based on its entity tag.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testEntityTag() throws Exception {
+		URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/etag");
+		// revalidate on every access
+		ResourceCache cache = new ResourceCache(cacheDir, 1024 * 1024, 0);
+
+		assertEquals("v1", read(cache.get(uri, Request.getInstance()::loadConditional)));
+		assertEquals("v1", read(cache.get(uri, Request.getInstance()::loadConditional)));
+		content = "v2";
+		assertEquals("v2", read(cache.get(uri, Request.getInstance()::loadConditional)));
+		assertEquals("v2", read(cache.get(uri, Request.getInstance()::loadConditional)));
+
+		assertEquals(Arrays.asList("null 200", "\"v1\" 304", "\"v1\" 200", "\"v2\" 304"),
+				requests);
+	}
+
+	/**
+	 * Test revalidating a resource based on its last modification date.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testLastModified() throws Exception {
+		URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/date");
+		// revalidate on every access
+		ResourceCache cache = new ResourceCache(cacheDir, 1024 * 1024, 0);
+
+		assertEquals("v1", read(cache.get(uri, Request.getInstance()::loadConditional)));
+		assertEquals("v1", read(cache.get(uri, Request.getInstance()::loadConditional)));
+
+		assertEquals(Arrays.asList("null 200", LAST_MODIFIED + " 304"), requests);
+	}
+
+	private static String read(InputStream in) throws IOException {
+		try {
+			return new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+		} finally {
+			in.close();
+		}
+	}
+
+}
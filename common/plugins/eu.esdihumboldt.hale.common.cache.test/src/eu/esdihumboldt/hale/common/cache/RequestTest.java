@@ -20,7 +20,6 @@ import static org.junit.Assert.fail;
 
 import java.net.URI;
 
-import org.junit.AfterClass;
 import org.junit.Test;
 
 /**
@@ -69,12 +68,4 @@ public class RequestTest {
 			fail(e.getMessage());
 		}
 	}
-
-	/**
-	 * Shutdown the cache manager.
-	 */
-	@AfterClass
-	public static void shutdownCache() {
-		HaleCacheManager.getInstance().shutdown();
-	}
 }
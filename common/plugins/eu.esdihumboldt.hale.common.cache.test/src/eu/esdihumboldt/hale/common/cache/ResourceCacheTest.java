@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.io.ByteStreams;
+
+import eu.esdihumboldt.hale.common.cache.ResourceCache.LoadResult;
+import eu.esdihumboldt.hale.common.cache.ResourceCache.ResourceLoader;
+
+/**
+ * Tests for {@link ResourceCache}, using a loader that simulates a server
+ * supporting conditional requests.
+ *
+ * @author Simon Templer
+ */
+public class ResourceCacheTest {
+
+	/**
+	 * Loader serving resources from a map, answering conditional requests
+	 * based on the entity tag.
+	 */
+	private static class StubLoader implements ResourceLoader {
+
+		private final Map<URI, String> resources = new HashMap<>();
+
+		private final List<String> requests = new ArrayList<>();
+
+		private boolean offline = false;
+
+		@Override
+		public LoadResult load(URI uri, String entityTag, String lastModified)
+				throws IOException {
+			requests.add(uri + " " + entityTag);
+			if (offline) {
+				throw new IOException("Offline");
+			}
+			String content = resources.get(uri);
+			if (content == null) {
+				throw new IOException("Not found");
+			}
+			String tag = "\"" + content.hashCode() + "\"";
+			if (tag.equals(entityTag)) {
+				return LoadResult.notModified();
+			}
+			return new LoadResult(new ByteArrayInputStream(content.getBytes(
+					StandardCharsets.UTF_8)), tag, null);
+		}
+
+	}
+
+	private Path cacheDir;
+
+	private StubLoader loader;
+
+	/**
+	 * Create the cache directory.
+	 *
+	 * @throws IOException if creating the directory fails
+	 */
+	@Before
+	public void setUp() throws IOException {
+		cacheDir = Files.createTempDirectory("resourcecache");
+		loader = new StubLoader();
+	}
+
+	/**
+	 * Delete the cache directory.
+	 *
+	 * @throws IOException if deleting the directory fails
+	 */
+	@After
+	public void tearDown() throws IOException {
+		new ResourceCache(cacheDir, 0, 0).clear();
+		Files.deleteIfExists(cacheDir.resolve("cache.lock"));
+		Files.deleteIfExists(cacheDir.resolve("index"));
+		Files.deleteIfExists(cacheDir.resolve("content"));
+		Files.deleteIfExists(cacheDir);
+	}
+
+	/**
+	 * Test if cached resources are served without contacting the server
+	 * within the maximum age.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testHit() throws Exception {
+		URI uri = URI.create("http://example.com/a.xsd");
+		loader.resources.put(uri, "a");
+
+		ResourceCache cache = new ResourceCache(cacheDir, 1024, 60000);
+		assertEquals("a", read(cache.get(uri, loader)));
+		loader.resources.put(uri, "b");
+		assertEquals("a", read(cache.get(uri, loader)));
+		assertEquals(1, loader.requests.size());
+	}
+
+	/**
+	 * Test if expired resources are revalidated and updated.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testRevalidate() throws Exception {
+		URI uri = URI.create("http://example.com/a.xsd");
+		loader.resources.put(uri, "a");
+
+		ResourceCache cache = new ResourceCache(cacheDir, 1024, 0);
+		assertEquals("a", read(cache.get(uri, loader)));
+		// not modified
+		assertEquals("a", read(cache.get(uri, loader)));
+		assertEquals(uri + " \"" + "a".hashCode() + "\"", loader.requests.get(1));
+		// modified
+		loader.resources.put(uri, "b");
+		assertEquals("b", read(cache.get(uri, loader)));
+		// server not available
+		loader.offline = true;
+		assertEquals("b", read(cache.get(uri, loader)));
+	}
+
+	/**
+	 * Test if identical resources share their content.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testDeduplicate() throws Exception {
+		URI uri1 = URI.create("http://example.com/a.xsd");
+		URI uri2 = URI.create("http://mirror.example.com/a.xsd");
+		loader.resources.put(uri1, "a");
+		loader.resources.put(uri2, "a");
+
+		ResourceCache cache = new ResourceCache(cacheDir, 1024, 60000);
+		assertEquals("a", read(cache.get(uri1, loader)));
+		assertEquals("a", read(cache.get(uri2, loader)));
+		assertEquals(2, count(cacheDir.resolve("index")));
+	}
+
+	/**
+	 * Test if the least recently used resources are removed if the cache
+	 * exceeds its maximum size.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testEvict() throws Exception {
+		URI uri1 = URI.create("http://example.com/1.xsd");
+		URI uri2 = URI.create("http://example.com/2.xsd");
+		URI uri3 = URI.create("http://example.com/3.xsd");
+		loader.resources.put(uri1, "1111");
+		loader.resources.put(uri2, "2222");
+		loader.resources.put(uri3, "3333");
+
+		ResourceCache cache = new ResourceCache(cacheDir, 8, 60000);
+		read(cache.get(uri1, loader));
+		// ensure distinct access times
+		Thread.sleep(1100);
+		read(cache.get(uri2, loader));
+		Thread.sleep(1100);
+		// access first resource again
+		read(cache.get(uri1, loader));
+		Thread.sleep(1100);
+		read(cache.get(uri3, loader));
+
+		assertEquals(2, count(cacheDir.resolve("content")));
+
+		loader.offline = true;
+		assertEquals("1111", read(cache.get(uri1, loader)));
+		assertEquals("3333", read(cache.get(uri3, loader)));
+		IOException error = null;
+		try {
+			cache.get(uri2, loader);
+		} catch (IOException e) {
+			error = e;
+		}
+		assertNotNull(error);
+	}
+
+	/**
+	 * Test that a resource that is still being read can be evicted.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testEvictWhileOpen() throws Exception {
+		URI uri1 = URI.create("http://example.com/1.xsd");
+		URI uri2 = URI.create("http://example.com/2.xsd");
+		loader.resources.put(uri1, "1111");
+		loader.resources.put(uri2, "2222");
+
+		ResourceCache cache = new ResourceCache(cacheDir, 4, 60000);
+		InputStream open = cache.get(uri1, loader);
+		Thread.sleep(1100);
+		assertEquals("2222", read(cache.get(uri2, loader)));
+
+		assertEquals("1111", read(open));
+	}
+
+	private static String read(InputStream in) throws IOException {
+		try {
+			return new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+		} finally {
+			in.close();
+		}
+	}
+
+	private static int count(Path dir) throws IOException {
+		int count = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+			for (Path file : files) {
+				if (!file.getFileName().toString().endsWith(".tmp")) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+}
@@ -16,13 +16,9 @@
 
 package eu.esdihumboldt.hale.common.cache;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.net.Proxy;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -30,7 +26,10 @@ import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -39,8 +38,6 @@ import org.apache.http.config.SocketConfig;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 
-import com.google.common.io.ByteStreams;
-
 import de.fhg.igd.osgi.util.OsgiUtils;
 import de.fhg.igd.osgi.util.configuration.IConfigurationService;
 import de.fhg.igd.osgi.util.configuration.JavaPreferencesConfigurationService;
@@ -52,11 +49,6 @@ import eu.esdihumboldt.util.http.ProxyUtil;
 import eu.esdihumboldt.util.http.client.ClientProxyUtil;
 import eu.esdihumboldt.util.http.client.ClientUtil;
 import eu.esdihumboldt.util.io.InputStreamDecorator;
-import groovy.text.SimpleTemplateEngine;
-import groovy.text.Template;
-import net.sf.ehcache.Cache;
-import net.sf.ehcache.Element;
-import net.sf.ehcache.store.MemoryStoreEvictionPolicy;
 
 /**
  * This class manages requests and caching for remote files.
@@ -68,10 +60,52 @@ public class Request {
 
 	private static final ALogger log = ALoggerFactory.getLogger(Request.class);
 
-	private static final String CACHE_NAME = "haleResourceCache";
+	/**
+	 * Name of the system property specifying the cache directory. If a
+	 * directory is configured, the cache can also be used outside of an OSGi
+	 * environment and shared by several processes.
+	 */
+	public static final String SYSTEM_PROPERTY_CACHE_DIR = "hale.cache.dir";
+
+	/**
+	 * Name of the environment variable specifying the cache directory, if the
+	 * system property is not set.
+	 */
+	public static final String ENV_CACHE_DIR = "HALE_CACHE_DIR";
+
+	/**
+	 * Name of the system property specifying the maximum size of the cached
+	 * resources in megabytes.
+	 */
+	public static final String SYSTEM_PROPERTY_MAX_SIZE = "hale.cache.maxSize";
+
+	/**
+	 * Name of the environment variable specifying the maximum size of the
+	 * cached resources in megabytes, if the system property is not set.
+	 */
+	public static final String ENV_MAX_SIZE = "HALE_CACHE_MAX_SIZE";
+
+	/**
+	 * Name of the system property specifying the time in seconds a cached
+	 * resource is used before it is revalidated with the server.
+	 */
+	public static final String SYSTEM_PROPERTY_MAX_AGE = "hale.cache.maxAge";
+
+	/**
+	 * Name of the environment variable specifying the time in seconds a
+	 * cached resource is used before it is revalidated with the server, if
+	 * the system property is not set.
+	 */
+	public static final String ENV_MAX_AGE = "HALE_CACHE_MAX_AGE";
+
+	private static final long DEFAULT_MAX_SIZE = 512;
+
+	private static final long DEFAULT_MAX_AGE = 3600;
 
 	private boolean cacheEnabled;
 
+	private volatile ResourceCache resourceCache;
+
 	private static final String DELIMITER = "/"; //$NON-NLS-1$
 
 	private final IConfigurationService configService;
@@ -113,52 +147,71 @@ public class Request {
 	 * Initialize the cache.
 	 */
 	private void init() {
-		File cacheDir = null;
-		try {
-			// this will throw up in non-OSGi environments
-			cacheDir = PlatformUtil.getInstanceLocation();
-		}
-		catch (Throwable t) {
-			cacheEnabled = false;
+		resourceCache = null;
+
+		File cacheDir = getConfiguredCacheDir();
+		if (cacheDir == null) {
+			try {
+				// this will throw up in non-OSGi environments
+				cacheDir = PlatformUtil.getInstanceLocation();
+			} catch (Throwable t) {
+				cacheEnabled = false;
+			}
+			if (cacheDir == null) {
+				cacheDir = new File(System.getProperty("java.io.tmpdir"));
+			}
+			cacheDir = new File(cacheDir, "resource-cache");
 		}
-		
+
 		if (cacheEnabled) {
 			try {
-				if (cacheDir == null) {
-					cacheDir = new File(System.getProperty("java.io.tmpdir"));
-				}
-
-				// create the configuration from the template
-				SimpleTemplateEngine engine = new SimpleTemplateEngine(
-						Request.class.getClassLoader());
-				Template template = engine.createTemplate(Request.class.getResource("ehcache.xml"));
-
-				Map<String, Object> binding = new HashMap<>();
-				// replace the cache directory
-				binding.put("cache_dir", cacheDir.getAbsolutePath());
-
-				ByteArrayOutputStream data = new ByteArrayOutputStream();
-				try (Writer writer = new OutputStreamWriter(data, "UTF-8")) {
-					template.make(binding).writeTo(writer);
-				}
-
-				// initialize the cache manager
-				if (HaleCacheManager.create(new ByteArrayInputStream(data.toByteArray()))
-						.getCache(CACHE_NAME) != null) {
-					return;
-				}
-
-				// create a Cache instance - providing cachePath has no effect
-				Cache cache = new Cache(CACHE_NAME, 300, MemoryStoreEvictionPolicy.LRU, true, null,
-						true, 0, 0, true, 0, null);
-
-				// add it to CacheManger
-				HaleCacheManager.getInstance().addCache(cache);
+				resourceCache = new ResourceCache(cacheDir.toPath(),
+						getConfiguredLong(SYSTEM_PROPERTY_MAX_SIZE, ENV_MAX_SIZE,
+								DEFAULT_MAX_SIZE) * 1024 * 1024,
+						getConfiguredLong(SYSTEM_PROPERTY_MAX_AGE, ENV_MAX_AGE, DEFAULT_MAX_AGE)
+								* 1000);
 			} catch (Exception e) {
 				log.error("Cache initialization failed", e);
 			}
+		}
+	}
 
+	/**
+	 * Get the cache directory configured via system property or environment
+	 * variable.
+	 * 
+	 * @return the configured cache directory or <code>null</code>
+	 */
+	private static File getConfiguredCacheDir() {
+		String dir = System.getProperty(SYSTEM_PROPERTY_CACHE_DIR);
+		if (dir == null) {
+			dir = System.getenv(ENV_CACHE_DIR);
 		}
+		return (dir == null || dir.isEmpty()) ? (null) : (new File(dir));
+	}
+
+	/**
+	 * Get a number configured via system property or environment variable.
+	 * 
+	 * @param property the system property name
+	 * @param env the environment variable name
+	 * @param defaultValue the default value
+	 * @return the configured or the default value
+	 */
+	private static long getConfiguredLong(String property, String env, long defaultValue) {
+		String value = System.getProperty(property);
+		if (value == null) {
+			value = System.getenv(env);
+		}
+		if (value != null) {
+			try {
+				return Long.parseLong(value.trim());
+			} catch (NumberFormatException e) {
+				log.error("Invalid value for " + property + ": " + value + ", using default "
+						+ defaultValue);
+			}
+		}
+		return defaultValue;
 	}
 
 	/**
@@ -205,41 +258,74 @@ public class Request {
 		}
 
 		// no caching activated
-		if (!cacheEnabled) {
+		ResourceCache cache = resourceCache;
+		if (!cacheEnabled || cache == null) {
 			return openStream(uri);
 		}
 
-		String key = uri.toString(); // removeSpecialChars(uri.toString());
-		Cache cache = null;
-		Element element = null;
-		if (cacheEnabled) {
-			// get the current cache for web requests
-			cache = HaleCacheManager.getInstance().getCache(CACHE_NAME);
-
-			element = cache.get(key);
-		}
+		return cache.get(uri, new ResourceCache.ResourceLoader() {
 
-		if (element == null) {
-			// if the entry does not exist fetch it from the web
-			InputStream in = openStream(uri);
-			byte[] data;
-			try {
-				data = ByteStreams.toByteArray(in);
-			} finally {
-				in.close();
+			@Override
+			public ResourceCache.LoadResult load(URI uri, String entityTag, String lastModified)
+					throws IOException {
+				return loadConditional(uri, entityTag, lastModified);
 			}
+		});
+	}
 
-			if (cache != null) {
-				// and add it to the cache
-				cache.put(new Element(key, data));
-			}
+	/**
+	 * Load a resource if it was modified compared to the cached version.
+	 * 
+	 * @param uri the resource location
+	 * @param entityTag the entity tag of the cached version, may be
+	 *            <code>null</code>
+	 * @param lastModified the last modification date of the cached version,
+	 *            may be <code>null</code>
+	 * @return the load result
+	 * @throws IOException if loading the resource fails
+	 */
+	ResourceCache.LoadResult loadConditional(URI uri, String entityTag,
+			String lastModified) throws IOException {
+		Proxy proxy = ProxyUtil.findProxy(uri);
+		CloseableHttpClient client = getClient(proxy);
 
-			return new ByteArrayInputStream(data);
+		HttpGet httpget = new HttpGet(uri);
+		if (entityTag != null) {
+			httpget.setHeader(HttpHeaders.IF_NONE_MATCH, entityTag);
 		}
-		else {
-			byte[] data = (byte[]) element.getObjectValue();
-			return new ByteArrayInputStream(data);
+		if (lastModified != null) {
+			httpget.setHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+		}
+		final CloseableHttpResponse response = client.execute(httpget);
+
+		int status = response.getStatusLine().getStatusCode();
+		if (status == HttpStatus.SC_NOT_MODIFIED) {
+			response.close();
+			return ResourceCache.LoadResult.notModified();
 		}
+		if (status != HttpStatus.SC_OK) {
+			response.close();
+			// fall back to URL.openStream
+			return new ResourceCache.LoadResult(uri.toURL().openStream(), null, null);
+		}
+
+		InputStream in = new InputStreamDecorator(response.getEntity().getContent()) {
+
+			@Override
+			public void close() throws IOException {
+				super.close();
+				// ensure the response is closed
+				response.close();
+			}
+
+		};
+		return new ResourceCache.LoadResult(in, getHeader(response, HttpHeaders.ETAG),
+				getHeader(response, HttpHeaders.LAST_MODIFIED));
+	}
+
+	private static String getHeader(HttpResponse response, String name) {
+		Header header = response.getFirstHeader(name);
+		return (header == null) ? (null) : (header.getValue());
 	}
 
 	/**
@@ -358,25 +444,41 @@ public class Request {
 	}
 
 	/**
-	 * @see HaleCacheManager#flush(String)
+	 * Flush the cache. Cached resources are written to disk immediately, so
+	 * there is nothing to do.
 	 */
 	public void flush() {
-		if (cacheEnabled)
-			HaleCacheManager.flush(CACHE_NAME);
+		// nothing to do
 	}
 
 	/**
-	 * @see HaleCacheManager#shutdown()
+	 * Shutdown the cache, closing the HTTP clients.
 	 */
-	public void shutdown() {
-		HaleCacheManager.getInstance().shutdown();
+	public synchronized void shutdown() {
+		for (CloseableHttpClient client : clients.values()) {
+			try {
+				client.close();
+			} catch (IOException e) {
+				log.warn("Error closing HTTP client", e);
+			}
+		}
+		clients.clear();
 	}
 
 	/**
-	 * @see HaleCacheManager#removalAll()
+	 * Remove all cached resources.
+	 * 
+	 * @see ResourceCache#clear()
 	 */
 	public void clear() {
-		HaleCacheManager.getInstance().getCache(CACHE_NAME).removeAll();
+		ResourceCache cache = resourceCache;
+		if (cache != null) {
+			try {
+				cache.clear();
+			} catch (IOException e) {
+				log.error("Clearing the resource cache failed", e);
+			}
+		}
 	}
 
 	/**
@@ -0,0 +1,493 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import com.google.common.io.ByteStreams;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+
+/**
+ * Content addressed disk cache for remote resources. Resource contents are
+ * stored in files named after the hash of their content, so identical
+ * resources are stored only once. An index file per resource location
+ * references the content and holds the information needed to revalidate it
+ * with the server.<br>
+ * <br>
+ * Contents and index files are only replaced atomically, so they can be read
+ * without locking. Modifications and the removal of least recently used
+ * resources when the cache exceeds its maximum size are guarded by a file
+ * lock, so a cache directory can be shared by several processes.
+ *
+ * @author Simon Templer
+ */
+public class ResourceCache {
+
+	/**
+	 * Loads a resource from its origin.
+	 */
+	public interface ResourceLoader {
+
+		/**
+		 * Load the resource, if it was modified.
+		 *
+		 * @param uri the resource location
+		 * @param entityTag the entity tag of the cached resource, may be
+		 *            <code>null</code>
+		 * @param lastModified the last modification date of the cached
+		 *            resource as provided by the server, may be
+		 *            <code>null</code>
+		 * @return the load result
+		 * @throws IOException if loading the resource fails
+		 */
+		public LoadResult load(URI uri, String entityTag, String lastModified)
+				throws IOException;
+
+	}
+
+	/**
+	 * Result of loading a resource.
+	 */
+	public static class LoadResult {
+
+		private final InputStream content;
+
+		private final String entityTag;
+
+		private final String lastModified;
+
+		/**
+		 * Create a load result.
+		 *
+		 * @param content the resource content, <code>null</code> if the cached
+		 *            resource was not modified
+		 * @param entityTag the entity tag of the resource, may be
+		 *            <code>null</code>
+		 * @param lastModified the last modification date of the resource, may
+		 *            be <code>null</code>
+		 */
+		public LoadResult(InputStream content, String entityTag, String lastModified) {
+			super();
+			this.content = content;
+			this.entityTag = entityTag;
+			this.lastModified = lastModified;
+		}
+
+		/**
+		 * Create a load result for a resource that was not modified.
+		 *
+		 * @return the load result
+		 */
+		public static LoadResult notModified() {
+			return new LoadResult(null, null, null);
+		}
+
+		/**
+		 * @return if the cached resource was not modified
+		 */
+		public boolean isNotModified() {
+			return content == null;
+		}
+
+	}
+
+	private static final ALogger log = ALoggerFactory.getLogger(ResourceCache.class);
+
+	private static final String INDEX_SUFFIX = ".properties";
+
+	private static final String TEMP_SUFFIX = ".tmp";
+
+	private static final String KEY_URI = "uri";
+	private static final String KEY_CONTENT = "content";
+	private static final String KEY_SIZE = "size";
+	private static final String KEY_ETAG = "etag";
+	private static final String KEY_LAST_MODIFIED = "lastModified";
+	private static final String KEY_VERIFIED = "verified";
+
+	/**
+	 * Guards the file lock within the VM, as file locks are held on behalf of
+	 * the whole VM.
+	 */
+	private static final Object VM_LOCK = new Object();
+
+	private final Path indexDir;
+
+	private final Path contentDir;
+
+	private final Path lockFile;
+
+	private final long maxSize;
+
+	private final long maxAge;
+
+	/**
+	 * Create a resource cache.
+	 *
+	 * @param cacheDir the cache directory
+	 * @param maxSize the maximum size of the cached contents in bytes
+	 * @param maxAge the time in milliseconds a cached resource is used without
+	 *            revalidating it
+	 * @throws IOException if creating the cache directories fails
+	 */
+	public ResourceCache(Path cacheDir, long maxSize, long maxAge) throws IOException {
+		super();
+		this.indexDir = Files.createDirectories(cacheDir.resolve("index"));
+		this.contentDir = Files.createDirectories(cacheDir.resolve("content"));
+		this.lockFile = cacheDir.resolve("cache.lock");
+		this.maxSize = maxSize;
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Get a resource, from the cache if possible. Cached resources that have
+	 * not been verified within the maximum age are revalidated using the
+	 * loader. If the revalidation fails the cached resource is used.
+	 *
+	 * @param uri the resource location
+	 * @param loader the loader for retrieving the resource
+	 * @return the resource content, the caller is responsible for closing the
+	 *         stream
+	 * @throws IOException if the resource is not cached and loading it fails
+	 */
+	public InputStream get(URI uri, ResourceLoader loader) throws IOException {
+		Path indexFile = getIndexFile(uri);
+		Properties entry = readEntry(indexFile);
+
+		InputStream cached = null;
+		if (entry != null && uri.toString().equals(entry.getProperty(KEY_URI))) {
+			cached = openContent(entry.getProperty(KEY_CONTENT));
+		}
+
+		if (cached != null) {
+			long verified = Long.parseLong(entry.getProperty(KEY_VERIFIED, "0"));
+			if (System.currentTimeMillis() - verified < maxAge) {
+				touch(indexFile);
+				return cached;
+			}
+		}
+
+		LoadResult result;
+		try {
+			result = (cached != null)
+					? (loader.load(uri, entry.getProperty(KEY_ETAG),
+							entry.getProperty(KEY_LAST_MODIFIED)))
+					: (loader.load(uri, null, null));
+		} catch (IOException e) {
+			if (cached != null) {
+				log.warn("Revalidating cached resource failed, using cached content: " + uri, e);
+				return cached;
+			}
+			throw e;
+		}
+
+		if (result.isNotModified()) {
+			if (cached == null) {
+				throw new IOException("Resource reported as not modified, but is not cached: "
+						+ uri);
+			}
+			entry.setProperty(KEY_VERIFIED, String.valueOf(System.currentTimeMillis()));
+			writeEntry(indexFile, entry);
+			return cached;
+		}
+
+		if (cached != null) {
+			cached.close();
+		}
+
+		return store(uri, indexFile, result);
+	}
+
+	private InputStream store(URI uri, Path indexFile, LoadResult result) throws IOException {
+		// download to temporary file, determining the content hash
+		MessageDigest digest = createDigest();
+		Path download = Files.createTempFile(contentDir, "download", TEMP_SUFFIX);
+		long size;
+		try {
+			try (InputStream in = new DigestInputStream(result.content, digest);
+					OutputStream out = Files.newOutputStream(download)) {
+				size = ByteStreams.copy(in, out);
+			}
+		} catch (IOException e) {
+			Files.deleteIfExists(download);
+			throw e;
+		}
+		String hash = toHex(digest.digest());
+
+		Properties entry = new Properties();
+		entry.setProperty(KEY_URI, uri.toString());
+		entry.setProperty(KEY_CONTENT, hash);
+		entry.setProperty(KEY_SIZE, String.valueOf(size));
+		entry.setProperty(KEY_VERIFIED, String.valueOf(System.currentTimeMillis()));
+		if (result.entityTag != null) {
+			entry.setProperty(KEY_ETAG, result.entityTag);
+		}
+		if (result.lastModified != null) {
+			entry.setProperty(KEY_LAST_MODIFIED, result.lastModified);
+		}
+
+		Path content = contentDir.resolve(hash);
+		synchronized (VM_LOCK) {
+			try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+				if (Files.exists(content)) {
+					// same content already cached
+					Files.delete(download);
+				}
+				else {
+					Files.move(download, content, StandardCopyOption.ATOMIC_MOVE);
+				}
+				writeEntry(indexFile, entry);
+
+				evict(indexFile);
+			} finally {
+				Files.deleteIfExists(download);
+			}
+		}
+
+		InputStream in = openContent(hash);
+		if (in == null) {
+			throw new IOException("Cached content was removed: " + uri);
+		}
+		return in;
+	}
+
+	/**
+	 * Remove least recently used resources until the size of the cached
+	 * content does not exceed the maximum size. Must be called while holding
+	 * the lock.
+	 *
+	 * @param keep the index file of the resource that should be kept
+	 * @throws IOException if accessing the cache directory fails
+	 */
+	private void evict(Path keep) throws IOException {
+		Map<String, Long> contentSizes = new HashMap<>();
+		long total = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(contentDir)) {
+			for (Path file : files) {
+				if (!file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+					long size = Files.size(file);
+					contentSizes.put(file.getFileName().toString(), size);
+					total += size;
+				}
+			}
+		}
+		if (total <= maxSize) {
+			return;
+		}
+
+		// collect entries, determine references per content
+		final Map<Path, FileTime> accessTimes = new HashMap<>();
+		Map<Path, String> contents = new HashMap<>();
+		Map<String, Integer> references = new HashMap<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(indexDir,
+				"*" + INDEX_SUFFIX)) {
+			for (Path file : files) {
+				Properties entry = readEntry(file);
+				if (entry != null) {
+					String content = entry.getProperty(KEY_CONTENT);
+					contents.put(file, content);
+					references.merge(content, 1, Integer::sum);
+					accessTimes.put(file, Files.getLastModifiedTime(file));
+				}
+			}
+		}
+
+		// remove content that is not referenced
+		for (Map.Entry<String, Long> content : contentSizes.entrySet()) {
+			if (!references.containsKey(content.getKey()) && deleteContent(content.getKey())) {
+				total -= content.getValue();
+			}
+		}
+
+		// remove least recently used entries
+		List<Path> entries = new ArrayList<>(accessTimes.keySet());
+		Collections.sort(entries, new Comparator<Path>() {
+
+			@Override
+			public int compare(Path o1, Path o2) {
+				return accessTimes.get(o1).compareTo(accessTimes.get(o2));
+			}
+		});
+		for (Path file : entries) {
+			if (total <= maxSize) {
+				break;
+			}
+			if (file.equals(keep)) {
+				continue;
+			}
+
+			Files.deleteIfExists(file);
+			String content = contents.get(file);
+			int remaining = references.merge(content, -1, Integer::sum);
+			if (remaining <= 0 && contentSizes.containsKey(content)
+					&& deleteContent(content)) {
+				total -= contentSizes.get(content);
+			}
+		}
+	}
+
+	/**
+	 * Delete a content file. A file that cannot be deleted, e.g. because it
+	 * is still in use on Windows, is left in place. As it is no longer
+	 * referenced, it is removed by a later eviction.
+	 *
+	 * @param hash the content hash
+	 * @return if the content file was deleted
+	 */
+	private boolean deleteContent(String hash) {
+		try {
+			Files.deleteIfExists(contentDir.resolve(hash));
+			return true;
+		} catch (IOException e) {
+			log.warn("Could not remove cached content, will retry later: " + hash, e);
+			return false;
+		}
+	}
+
+	/**
+	 * Remove all cached resources.
+	 *
+	 * @throws IOException if deleting the cached resources fails
+	 */
+	public void clear() throws IOException {
+		synchronized (VM_LOCK) {
+			try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+				try (DirectoryStream<Path> files = Files.newDirectoryStream(indexDir)) {
+					for (Path file : files) {
+						Files.deleteIfExists(file);
+					}
+				}
+				try (DirectoryStream<Path> files = Files.newDirectoryStream(contentDir)) {
+					for (Path file : files) {
+						if (!file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+							Files.deleteIfExists(file);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Open the cached content with the given hash.
+	 *
+	 * @param hash the content hash
+	 * @return the content stream or <code>null</code> if the content is not
+	 *         present (any more)
+	 * @throws IOException if reading the content fails
+	 */
+	private InputStream openContent(String hash) throws IOException {
+		if (hash == null) {
+			return null;
+		}
+
+		try {
+			// read through a stream rather than mapping the file, as a mapped
+			// file cannot be deleted on Windows while it is mapped
+			return Files.newInputStream(contentDir.resolve(hash));
+		} catch (NoSuchFileException e) {
+			// removed by another process
+			return null;
+		}
+	}
+
+	private Path getIndexFile(URI uri) {
+		MessageDigest digest = createDigest();
+		digest.update(uri.toString().getBytes(StandardCharsets.UTF_8));
+		return indexDir.resolve(toHex(digest.digest()) + INDEX_SUFFIX);
+	}
+
+	private static Properties readEntry(Path indexFile) {
+		try (InputStream in = Files.newInputStream(indexFile)) {
+			Properties entry = new Properties();
+			entry.load(in);
+			return entry;
+		} catch (IOException e) {
+			// not present or removed by another process
+			return null;
+		}
+	}
+
+	private void writeEntry(Path indexFile, Properties entry) throws IOException {
+		Path temp = Files.createTempFile(indexDir, "entry", TEMP_SUFFIX);
+		try {
+			try (OutputStream out = Files.newOutputStream(temp)) {
+				entry.store(out, null);
+			}
+			Files.move(temp, indexFile, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Mark a cache entry as recently used.
+	 *
+	 * @param indexFile the index file of the entry
+	 */
+	private static void touch(Path indexFile) {
+		try {
+			Files.setLastModifiedTime(indexFile, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException e) {
+			// ignore, entry may have been removed
+		}
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder result = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			result.append(Character.forDigit((b >> 4) & 0xF, 16));
+			result.append(Character.forDigit(b & 0xF, 16));
+		}
+		return result.toString();
+	}
+
+}
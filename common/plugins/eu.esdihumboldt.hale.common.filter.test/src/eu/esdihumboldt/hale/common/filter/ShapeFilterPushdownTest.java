@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import org.geotools.data.DataUtilities;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.PropertyIsEqualTo;
+import org.opengis.filter.PropertyIsNull;
+import org.opengis.filter.expression.PropertyName;
+
+import eu.esdihumboldt.hale.common.core.io.Value;
+import eu.esdihumboldt.hale.common.core.io.report.IOReport;
+import eu.esdihumboldt.hale.common.core.io.supplier.DefaultInputSupplier;
+import eu.esdihumboldt.hale.common.instance.geometry.GeometryProperty;
+import eu.esdihumboldt.hale.common.instance.model.Filter;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.instance.model.ext.TypeConditionFilter;
+import eu.esdihumboldt.hale.common.instance.model.impl.FilteredInstanceCollection;
+import eu.esdihumboldt.hale.common.schema.model.Schema;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeDefinition;
+import eu.esdihumboldt.hale.common.test.TestUtil;
+import eu.esdihumboldt.hale.io.shp.ShapefileConstants;
+import eu.esdihumboldt.hale.io.shp.reader.internal.QueryFilterTranslator;
+import eu.esdihumboldt.hale.io.shp.reader.internal.ShapeInstanceReader;
+import eu.esdihumboldt.hale.io.shp.reader.internal.ShapeSchemaReader;
+
+/**
+ * Tests that filters pushed down to the Shapefile query select the same
+ * instances as filtering all instances.
+ *
+ * @author Simon Templer
+ */
+public class ShapeFilterPushdownTest {
+
+	private static final String[] SHAPEFILE_EXTENSIONS = { "shp", "shx", "dbf", "prj" };
+
+	private File dir;
+
+	/**
+	 * Prepare the conversion service.
+	 */
+	@BeforeClass
+	public static void init() {
+		TestUtil.startConversionService();
+	}
+
+	/**
+	 * Copy the test Shapefile, without its spatial index, to a temporary
+	 * directory.
+	 *
+	 * @throws IOException if copying the files fails
+	 */
+	@Before
+	public void copyShapefile() throws IOException {
+		dir = Files.createTempDirectory("shp-pushdown").toFile();
+		for (String extension : SHAPEFILE_EXTENSIONS) {
+			try (InputStream in = getClass()
+					.getResourceAsStream("/testdata/GN_Point/GN_Point." + extension)) {
+				Files.copy(in, new File(dir, "GN_Point." + extension).toPath());
+			}
+		}
+	}
+
+	/**
+	 * Delete the temporary directory.
+	 */
+	@After
+	public void deleteShapefile() {
+		File[] files = dir.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		dir.delete();
+	}
+
+	/**
+	 * Test attribute filters that are translated to the Shapefile query.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testAttributeFilters() throws Exception {
+		InstanceCollection instances = loadInstances(false);
+
+		assertSameSelection(instances, new FilterGeoCqlImpl("NEV = 'Piritulus'"), true);
+		assertSameSelection(instances, new FilterGeoCqlImpl("NEV like 'Nov%'"), true);
+		assertSameSelection(instances, new FilterGeoCqlImpl("NEV = 'HURR'"), false);
+		assertSameSelection(instances, new FilterGeoECqlImpl("NEV IS NULL"), false);
+		assertSameSelection(instances,
+				new FilterGeoECqlImpl("NEV = 'Piritulus' OR NEV = 'Gazfu'"), true);
+	}
+
+	/**
+	 * Test spatial filters that are translated to the Shapefile query.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testSpatialFilters() throws Exception {
+		InstanceCollection instances = loadInstances(false);
+
+		assertSameSelection(instances,
+				new FilterGeoCqlImpl("BBOX(the_geom, 16.7, 47.6, 17.0, 47.8)"), true);
+		assertSameSelection(instances,
+				new FilterGeoCqlImpl("BBOX(the_geom, 16.7, 47.6, 17.0, 47.8) AND NEV like 'N%'"),
+				true);
+		assertSameSelection(instances, new FilterGeoCqlImpl("BBOX(the_geom, 0, 0, 1, 1)"),
+				false);
+		assertSameSelection(instances, new FilterGeoECqlImpl(
+				"INTERSECTS(the_geom, POLYGON((16.7 47.6, 17.0 47.6, 17.0 47.8, 16.7 47.8, 16.7 47.6)))"),
+				true);
+	}
+
+	/**
+	 * Test filters that are not or only partially translated to the Shapefile
+	 * query.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testUnsupportedFilters() throws Exception {
+		InstanceCollection instances = loadInstances(false);
+
+		// property that does not exist in the Shapefile
+		assertSameSelection(instances, new FilterGeoCqlImpl("HERP = 'DERP'"), false);
+		// function that is not translated
+		assertSameSelection(instances, new FilterGeoECqlImpl("strLength(NEV) = 5"), true);
+		// conjunction with a part that is not translated
+		assertSameSelection(instances,
+				new FilterGeoECqlImpl("NEV like 'N%' AND strLength(NEV) > 3"), true);
+		// filter that is not based on GeoTools
+		assertSameSelection(instances, new Filter() {
+
+			@Override
+			public boolean match(Instance instance) {
+				return "Piritulus".equals(instance.getProperty(new QName("NEV"))[0]);
+			}
+		}, true);
+	}
+
+	/**
+	 * Test type condition filters, for which the condition for the type of the
+	 * Shapefile is pushed down.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testTypeConditionFilter() throws Exception {
+		InstanceCollection instances = loadInstances(false);
+		TypeDefinition type;
+		try (ResourceIterator<Instance> it = instances.iterator()) {
+			type = it.next().getDefinition();
+		}
+
+		assertSameSelection(instances,
+				new TestTypeConditionFilter(type, new FilterGeoCqlImpl("NEV = 'Piritulus'")),
+				true);
+		assertSameSelection(instances, new TestTypeConditionFilter(type,
+				new FilterGeoCqlImpl("BBOX(the_geom, 16.7, 47.6, 17.0, 47.8)")), true);
+		assertSameSelection(instances, new TestTypeConditionFilter(type, null), true);
+		assertSameSelection(instances, new TestTypeConditionFilter(null, null), false);
+	}
+
+	/**
+	 * Test that attributes are only used in the query if their binding
+	 * matches the binding of the corresponding property.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testMismatchedBindings() throws Exception {
+		SimpleFeatureType featureType = DataUtilities.createType("GN_Point",
+				"the_geom:Point,ID:String,NEV:String");
+
+		DefaultTypeDefinition type = new DefaultTypeDefinition(new QName("GN_Point"));
+		addProperty(type, "the_geom", GeometryProperty.class);
+		// numeric property for a textual attribute
+		addProperty(type, "ID", Integer.class);
+		addProperty(type, "NEV", String.class);
+
+		QueryFilterTranslator translator = new QueryFilterTranslator(featureType, type);
+
+		// comparing the attribute may yield a different result
+		assertSame(org.opengis.filter.Filter.INCLUDE,
+				translator.translate(new FilterGeoCqlImpl("ID < 100")));
+		assertSame(org.opengis.filter.Filter.INCLUDE,
+				translator.translate(new FilterGeoCqlImpl("ID = 5 OR NEV = 'Gazfu'")));
+
+		// only the part with a matching binding is used
+		org.opengis.filter.Filter translated = translator
+				.translate(new FilterGeoCqlImpl("ID < 100 AND NEV = 'Gazfu'"));
+		assertTrue(translated instanceof PropertyIsEqualTo);
+		assertEquals("NEV", ((PropertyName) ((PropertyIsEqualTo) translated).getExpression1())
+				.getPropertyName());
+
+		// checking for null does not depend on the binding
+		assertTrue(translator
+				.translate(new FilterGeoECqlImpl("ID IS NULL")) instanceof PropertyIsNull);
+
+		// geometries are wrapped in geometry properties
+		assertFalse(org.opengis.filter.Filter.INCLUDE == translator
+				.translate(new FilterGeoCqlImpl("BBOX(the_geom, 16.7, 47.6, 17.0, 47.8)")));
+	}
+
+	private static void addProperty(DefaultTypeDefinition type, String name, Class<?> binding) {
+		DefaultTypeDefinition propertyType = new DefaultTypeDefinition(
+				new QName(name + "Type"));
+		propertyType.setConstraint(Binding.get(binding));
+		new DefaultPropertyDefinition(new QName(name), type, propertyType);
+	}
+
+	/**
+	 * Test that a spatial index is only created if enabled.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testSpatialIndexCreation() throws Exception {
+		Filter bbox = new FilterGeoCqlImpl("BBOX(the_geom, 16.7, 47.6, 17.0, 47.8)");
+		File index = new File(dir, "GN_Point.qix");
+
+		assertSameSelection(loadInstances(false), bbox, true);
+		assertFalse(index.exists());
+
+		assertSameSelection(loadInstances(true), bbox, true);
+		assertTrue(index.exists());
+	}
+
+	/**
+	 * Assert that selecting instances with the given filter yields the same
+	 * instances in the same order as filtering all instances.
+	 *
+	 * @param instances the Shapefile instances
+	 * @param filter the filter
+	 * @param expectMatches if instances are expected to match the filter
+	 */
+	private static void assertSameSelection(InstanceCollection instances, Filter filter,
+			boolean expectMatches) {
+		List<String> expected = describe(FilteredInstanceCollection.applyFilter(instances, filter));
+		List<String> selected = describe(instances.select(filter));
+
+		assertEquals(expected, selected);
+		assertEquals(expectMatches, !selected.isEmpty());
+	}
+
+	private static List<String> describe(InstanceCollection instances) {
+		List<String> result = new ArrayList<>();
+		try (ResourceIterator<Instance> it = instances.iterator()) {
+			while (it.hasNext()) {
+				Instance instance = it.next();
+				result.add(instance.getProperty(new QName("ID"))[0] + ":"
+						+ instance.getProperty(new QName("NEV"))[0]);
+			}
+		}
+		return result;
+	}
+
+	private InstanceCollection loadInstances(boolean createIndex) throws Exception {
+		URI location = new File(dir, "GN_Point.shp").toURI();
+
+		ShapeSchemaReader schemaReader = new ShapeSchemaReader();
+		schemaReader.setSource(new DefaultInputSupplier(location));
+		schemaReader.validate();
+		IOReport report = schemaReader.execute(null);
+		assertTrue(report.isSuccess());
+		Schema schema = schemaReader.getSchema();
+
+		ShapeInstanceReader instanceReader = new ShapeInstanceReader();
+		instanceReader.setSource(new DefaultInputSupplier(location));
+		instanceReader.setSourceSchema(schema);
+		if (createIndex) {
+			instanceReader.setParameter(ShapefileConstants.PARAM_CREATE_SPATIAL_INDEX,
+					Value.of(true));
+		}
+		instanceReader.validate();
+		report = instanceReader.execute(null);
+		assertTrue(report.isSuccess());
+
+		InstanceCollection instances = instanceReader.getInstances();
+		assertFalse(instances.isEmpty());
+		return instances;
+	}
+
+	/**
+	 * Type condition filter for a single type.
+	 */
+	private static class TestTypeConditionFilter implements TypeConditionFilter {
+
+		private final TypeDefinition type;
+
+		private final Filter condition;
+
+		/**
+		 * @param type the accepted type, <code>null</code> if no type is
+		 *            accepted
+		 * @param condition the condition for the type, <code>null</code> for
+		 *            no condition
+		 */
+		public TestTypeConditionFilter(TypeDefinition type, Filter condition) {
+			this.type = type;
+			this.condition = condition;
+		}
+
+		@Override
+		public boolean match(Instance instance) {
+			return accepts(instance.getDefinition())
+					&& (condition == null || condition.match(instance));
+		}
+
+		@Override
+		public boolean accepts(TypeDefinition type) {
+			return this.type != null && this.type.equals(type);
+		}
+
+		@Override
+		public Filter getCondition(TypeDefinition type) {
+			return condition;
+		}
+
+	}
+
+}
@@ -16,6 +16,7 @@
 package eu.esdihumboldt.hale.common.headless.transform;
 
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
 import de.fhg.igd.slf4jplus.ALogger;
 import de.fhg.igd.slf4jplus.ALoggerFactory;
@@ -34,17 +35,36 @@ public abstract class AbstractTransformationSink implements TransformationSink {
 
 	private final CopyOnWriteArrayList<TransformedInstanceValidator> validators = new CopyOnWriteArrayList<>();
 
+	private final LongAdder instanceCount = new LongAdder();
+
+	private final LongAdder validationNanos = new LongAdder();
+
 	@Override
 	public void addInstance(Instance instance) {
-		for (TransformedInstanceValidator validator : validators) {
-			try {
-				validator.validateInstance(instance);
-			} catch (Exception e) {
-				log.error("Error performing validation on an instance", e);
+		if (!validators.isEmpty()) {
+			long start = System.nanoTime();
+			for (TransformedInstanceValidator validator : validators) {
+				try {
+					validator.validateInstance(instance);
+				} catch (Exception e) {
+					log.error("Error performing validation on an instance", e);
+				}
 			}
+			validationNanos.add(System.nanoTime() - start);
 		}
 
 		internalAddInstance(instance);
+		instanceCount.increment();
+	}
+
+	@Override
+	public long getInstanceCount() {
+		return instanceCount.sum();
+	}
+
+	@Override
+	public long getValidationNanos() {
+		return validationNanos.sum();
 	}
 
 	/**
@@ -17,6 +17,8 @@ package eu.esdihumboldt.hale.common.headless.transform;
 
 import java.util.Optional;
 
+import eu.esdihumboldt.hale.common.instance.orient.storage.StorageProfile;
+
 /**
  * Transformation settings default implementation.
  * 
@@ -26,14 +28,29 @@ public class DefaultTransformationSettings implements TransformationSettings {
 
 	private final Optional<Boolean> useTemporaryDatabase;
 
+	private final StorageProfile temporaryDatabaseProfile;
+
 	/**
 	 * Create with custom settings.
 	 * 
 	 * @param useTemporaryDatabase if the temporary database should be used
+	 * @param temporaryDatabaseProfile the storage profile for the temporary
+	 *            database
 	 */
-	public DefaultTransformationSettings(Optional<Boolean> useTemporaryDatabase) {
+	public DefaultTransformationSettings(Optional<Boolean> useTemporaryDatabase,
+			StorageProfile temporaryDatabaseProfile) {
 		super();
 		this.useTemporaryDatabase = useTemporaryDatabase;
+		this.temporaryDatabaseProfile = temporaryDatabaseProfile;
+	}
+
+	/**
+	 * Create with custom settings.
+	 * 
+	 * @param useTemporaryDatabase if the temporary database should be used
+	 */
+	public DefaultTransformationSettings(Optional<Boolean> useTemporaryDatabase) {
+		this(useTemporaryDatabase, StorageProfile.getConfiguredProfile());
 	}
 
 	/**
@@ -48,4 +65,9 @@ public class DefaultTransformationSettings implements TransformationSettings {
 		return useTemporaryDatabase;
 	}
 
+	@Override
+	public StorageProfile getTemporaryDatabaseProfile() {
+		return temporaryDatabaseProfile;
+	}
+
 }
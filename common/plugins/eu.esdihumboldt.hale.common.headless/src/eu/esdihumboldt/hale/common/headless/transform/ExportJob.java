@@ -28,6 +28,7 @@ import eu.esdihumboldt.hale.common.core.io.report.IOReport;
 import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
 import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
 import eu.esdihumboldt.hale.common.core.report.ReportHandler;
+import eu.esdihumboldt.hale.common.core.report.Statistics;
 import eu.esdihumboldt.hale.common.instance.io.InstanceWriter;
 
 /**
@@ -81,6 +82,7 @@ public class ExportJob extends AbstractTransformationJob {
 		IOReporter defaultReporter = writer.createReporter();
 		defaultReporter.setSuccess(false);
 		IOReport report = defaultReporter;
+		long start = System.nanoTime();
 		try {
 			ATransaction trans = log.begin(defaultReporter.getTaskName());
 			try {
@@ -105,6 +107,14 @@ public class ExportJob extends AbstractTransformationJob {
 			return Status.CANCEL_STATUS;
 		}
 
+		// add throughput, also of the validation while writing
+		ThroughputStats.add(report, targetSink.getInstanceCount(), System.nanoTime() - start);
+		long validationNanos = targetSink.getValidationNanos();
+		if (validationNanos > 0 && report instanceof Statistics) {
+			((Statistics) report).stats().at(ThroughputStats.KEY).at("validationMillis")
+					.set(validationNanos / 1000000);
+		}
+
 		// add report to report service
 		reportHandler.publishReport(report);
 
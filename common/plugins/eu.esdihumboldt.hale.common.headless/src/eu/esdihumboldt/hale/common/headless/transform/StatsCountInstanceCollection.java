@@ -15,6 +15,9 @@
 
 package eu.esdihumboldt.hale.common.headless.transform;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.xml.namespace.QName;
 
 import eu.esdihumboldt.hale.common.core.report.Message;
@@ -45,6 +48,18 @@ public class StatsCountInstanceCollection extends InstanceCollectionDecorator {
 
 		private final Reporter<Message> reporter;
 
+		/**
+		 * Number of loaded instances per type, only added to the statistics
+		 * when the iterator is closed, as updating the statistics for each
+		 * instance is comparatively expensive. An iterator is not used
+		 * concurrently.
+		 */
+		private final Map<TypeDefinition, long[]> loadedPerType = new HashMap<>();
+
+		private long loaded;
+
+		private final long start = System.nanoTime();
+
 		/**
 		 * Constructor.
 		 * 
@@ -61,6 +76,12 @@ public class StatsCountInstanceCollection extends InstanceCollectionDecorator {
 		public void close() {
 			super.close();
 
+			for (Map.Entry<TypeDefinition, long[]> entry : loadedPerType.entrySet()) {
+				reporter.stats().at("loadedPerType").at(entry.getKey().getName().toString())
+						.set(entry.getValue()[0]);
+			}
+			ThroughputStats.add(reporter, loaded, System.nanoTime() - start);
+
 			reporter.setSuccess(true);
 			reportHandler.publishReport(reporter);
 		}
@@ -69,8 +90,13 @@ public class StatsCountInstanceCollection extends InstanceCollectionDecorator {
 		public Instance next() {
 			Instance instance = super.next();
 
-			reporter.stats().at("loadedPerType").at(instance.getDefinition().getName().toString())
-					.next();
+			long[] count = loadedPerType.get(instance.getDefinition());
+			if (count == null) {
+				count = new long[1];
+				loadedPerType.put(instance.getDefinition(), count);
+			}
+			count[0]++;
+			loaded++;
 
 			return instance;
 		}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.headless.transform;
+
+import eu.esdihumboldt.hale.common.core.report.Report;
+import eu.esdihumboldt.hale.common.core.report.Statistics;
+import eu.esdihumboldt.util.groovy.collector.StatsCollector;
+
+/**
+ * Adds throughput statistics to reports.
+ *
+ * @author Simon Templer
+ */
+final class ThroughputStats {
+
+	/**
+	 * Key of the throughput statistics.
+	 */
+	public static final String KEY = "throughput";
+
+	private ThroughputStats() {
+		// utility class
+	}
+
+	/**
+	 * Add throughput statistics to a report, if it supports statistics.
+	 *
+	 * @param report the report
+	 * @param instances the number of processed instances, a negative value if
+	 *            unknown
+	 * @param nanos the processing time in nanoseconds
+	 */
+	public static void add(Report<?> report, long instances, long nanos) {
+		if (report instanceof Statistics) {
+			add(((Statistics) report).stats().at(KEY), instances, nanos);
+		}
+	}
+
+	/**
+	 * Add throughput statistics.
+	 *
+	 * @param stats the statistics to add to
+	 * @param instances the number of processed instances, a negative value if
+	 *            unknown
+	 * @param nanos the processing time in nanoseconds
+	 */
+	public static void add(StatsCollector stats, long instances, long nanos) {
+		stats.at("durationMillis").set(nanos / 1000000);
+		if (instances >= 0) {
+			stats.at("instances").set(instances);
+			if (nanos > 0) {
+				stats.at("instancesPerSecond").set(Math.round(instances * 1e9 / nanos));
+			}
+		}
+	}
+
+}
@@ -71,6 +71,7 @@ import eu.esdihumboldt.hale.common.instance.model.impl.MultiInstanceCollection;
 import eu.esdihumboldt.hale.common.instance.orient.OInstance;
 import eu.esdihumboldt.hale.common.instance.orient.storage.BrowseOrientInstanceCollection;
 import eu.esdihumboldt.hale.common.instance.orient.storage.LocalOrientDB;
+import eu.esdihumboldt.hale.common.instance.orient.storage.StorageProfile;
 import eu.esdihumboldt.hale.common.instance.orient.storage.StoreInstancesJob;
 import eu.esdihumboldt.hale.common.schema.model.SchemaSpace;
 
@@ -85,6 +86,12 @@ public class Transformation {
 
 	private static final ALogger log = ALoggerFactory.getLogger(Transformation.class);
 
+	/**
+	 * Assumed average size of an instance stored in the temporary database
+	 * in bytes.
+	 */
+	private static final long ESTIMATED_INSTANCE_SIZE = 4096;
+
 	/**
 	 * Transform the instances provided through the given instance readers and
 	 * supply the result to the given instance writer.
@@ -351,8 +358,14 @@ public class Transformation {
 		if (useTempDatabase) {
 			// create db
 			File tmpDir = Files.createTempDir();
-			db = new LocalOrientDB(tmpDir);
+			StorageProfile profile = settings.getTemporaryDatabaseProfile();
+			long estimatedSize = (profile == StorageProfile.SCRATCH) ? (estimateSize(sources))
+					: (-1);
+			db = new LocalOrientDB(tmpDir, profile, estimatedSize);
 			tmpDir.deleteOnExit();
+			if (db.getProfile() == StorageProfile.SCRATCH) {
+				db.preallocate(sourceSchema.getMappingRelevantTypes());
+			}
 
 			// get instance collection
 //			sourceToUse = new BrowseOrientInstanceCollection(db, sourceSchema, DataSet.SOURCE);
@@ -574,6 +587,23 @@ public class Transformation {
 		return result;
 	}
 
+	/**
+	 * Estimate the size of the given instances when stored in the database.
+	 * 
+	 * @param instances the instances
+	 * @return the estimated size in bytes or <code>-1</code> if the number of
+	 *         instances is not known
+	 */
+	private static long estimateSize(InstanceCollection instances) {
+		if (instances.hasSize()) {
+			int size = instances.size();
+			if (size >= 0) {
+				return size * ESTIMATED_INSTANCE_SIZE;
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * Determine if a function is streaming capable (and does not need an index
 	 * to be built).
@@ -17,6 +17,8 @@ package eu.esdihumboldt.hale.common.headless.transform;
 
 import java.util.Optional;
 
+import eu.esdihumboldt.hale.common.instance.orient.storage.StorageProfile;
+
 /**
  * 
  * 
@@ -32,4 +34,13 @@ public interface TransformationSettings {
 	 */
 	Optional<Boolean> useTemporaryDatabase();
 
+	/**
+	 * Get the storage profile for the temporary database.
+	 * 
+	 * @return the storage profile for the temporary database
+	 */
+	default StorageProfile getTemporaryDatabaseProfile() {
+		return StorageProfile.getConfiguredProfile();
+	}
+
 }
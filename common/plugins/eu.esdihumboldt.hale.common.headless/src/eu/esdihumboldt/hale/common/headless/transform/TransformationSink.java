@@ -66,4 +66,20 @@ public interface TransformationSink extends InstanceSink {
 	 */
 	public void addValidator(TransformedInstanceValidator validator);
 
+	/**
+	 * @return the number of instances added to the sink, <code>-1</code> if
+	 *         unknown
+	 */
+	public default long getInstanceCount() {
+		return -1;
+	}
+
+	/**
+	 * @return the time in nanoseconds the validators spent validating the
+	 *         added instances
+	 */
+	public default long getValidationNanos() {
+		return 0;
+	}
+
 }
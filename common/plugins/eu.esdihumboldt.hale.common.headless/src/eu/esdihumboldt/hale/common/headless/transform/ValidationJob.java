@@ -83,6 +83,7 @@ public class ValidationJob extends AbstractTransformationJob {
 			IOReporter defaultReporter = validator.createReporter();
 			defaultReporter.setSuccess(false);
 			IOReport report = defaultReporter;
+			long start = System.nanoTime();
 			try {
 				ATransaction trans = log.begin(defaultReporter.getTaskName());
 				try {
@@ -116,6 +117,8 @@ public class ValidationJob extends AbstractTransformationJob {
 				return Status.CANCEL_STATUS;
 			}
 
+			ThroughputStats.add(report, -1, System.nanoTime() - start);
+
 			// add report to report service
 			reportHandler.publishReport(report);
 
@@ -0,0 +1,184 @@
+package eu.esdihumboldt.hale.common.instance.graph.test
+
+import static org.junit.Assert.*
+
+import org.junit.BeforeClass
+import org.junit.Test
+
+import eu.esdihumboldt.hale.common.core.report.SimpleLog
+import eu.esdihumboldt.hale.common.instance.graph.reference.ReferenceComponents
+import eu.esdihumboldt.hale.common.instance.graph.reference.impl.XMLInspector
+import eu.esdihumboldt.hale.common.instance.groovy.InstanceBuilder
+import eu.esdihumboldt.hale.common.instance.model.Instance
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection
+import eu.esdihumboldt.hale.common.schema.model.Schema
+import eu.esdihumboldt.hale.common.test.TestUtil
+
+class ReferenceComponentsTest {
+
+	private static Schema INSPIRE_ADDRESSES_SCHEMA
+
+	@BeforeClass
+	static void init() {
+		TestUtil.startConversionService()
+		def inspireAddressesUri = URI.create("http://inspire.ec.europa.eu/schemas/au/3.0/AdministrativeUnits.xsd")
+		INSPIRE_ADDRESSES_SCHEMA = TestUtil.loadSchema(inspireAddressesUri)
+	}
+
+	private static List<InstanceCollection> partition(InstanceCollection instances, int maxObjects) {
+		ReferenceComponents<String> components = new ReferenceComponents<String>(new XMLInspector(), instances)
+		def parts = components.partition(maxObjects, SimpleLog.CONSOLE_LOG)
+		try {
+			return parts.toList()
+		} finally {
+			parts.close()
+		}
+	}
+
+	/**
+	 * Test partitioning independent GML instances.
+	 */
+	@Test
+	void testGmlIndependent() {
+		Set<String> ids = new HashSet<>()
+
+		InstanceCollection instances = new InstanceBuilder(types: INSPIRE_ADDRESSES_SCHEMA).createCollection {
+			for (i in 1..20) {
+				AdministrativeUnitType {
+					String _id = "AU_$i"
+					ids.add(_id)
+
+					id(_id)
+				}
+			}
+		}
+
+		List<InstanceCollection> collections = partition(instances, 5)
+
+		assertEquals('Unexpected number of parts', 4, collections.size())
+		for (InstanceCollection collection : collections) {
+			assertEquals('Unexpected number of instances in part', 5, collection.size())
+
+			def itr = collection.iterator()
+			while (itr.hasNext()) {
+				Instance instance = itr.next()
+				ids.remove(instance.p.id.value())
+			}
+			itr.close()
+		}
+
+		assertEquals("The following instances are missing: $ids.toListString()", 0, ids.size())
+	}
+
+	/**
+	 * Test partitioning dependent GML instances, where the components have to
+	 * be combined with the independent instances to get the minimal number of
+	 * parts.
+	 */
+	@Test
+	void testGmlOverflow() {
+		InstanceCollection instances = new InstanceBuilder(types: INSPIRE_ADDRESSES_SCHEMA).createCollection {
+			// some packages of 10
+			for (k in 1..5) {
+				AdministrativeBoundaryType {
+					id "AB_$k"
+					for (i in 1..9) {
+						admUnit { href URI.create("#AB_${k}_$i") }
+					}
+				}
+
+				for (i in 1..9) {
+					AdministrativeUnitType {
+						id "AB_${k}_$i"
+						boundary { href URI.create("#AB_$k") }
+					}
+				}
+			}
+
+			// some packages of 2
+			for (k in 1..3) {
+				AdministrativeBoundaryType {
+					id "CD_$k"
+					admUnit { href URI.create("#CD_${k}_1") }
+				}
+
+				AdministrativeUnitType {
+					id "CD_${k}_1"
+					boundary { href URI.create("#CD_$k") }
+				}
+			}
+
+			// some packages of 1
+			for (k in 1..6) {
+				AdministrativeBoundaryType { id "EF_$k" }
+			}
+		}
+
+		List<InstanceCollection> collections = partition(instances, 11)
+
+		assertEquals('Unexpected number of parts', 6, collections.size())
+		assertEquals('Unexpected number of instances', 62, collections.sum { it.size() })
+	}
+
+	/**
+	 * Test partitioning dependent GML instances with references to objects
+	 * that are not present and an instance w/o identifier.
+	 */
+	@Test
+	void testGmlUnresolvableNoId() {
+		InstanceCollection instances = new InstanceBuilder(types: INSPIRE_ADDRESSES_SCHEMA).createCollection {
+			AdministrativeBoundaryType {
+				for (i in 1..20) {
+					admUnit { href URI.create("#AB_1_$i") }
+				}
+			}
+
+			for (i in 1..15) {
+				AdministrativeUnitType { id "AB_1_$i" }
+			}
+		}
+
+		List<InstanceCollection> collections = partition(instances, 5)
+
+		assertEquals('Unexpected number of parts', 1, collections.size())
+		assertEquals('Unexpected number of instances in part', 16, collections[0].size())
+	}
+
+	/**
+	 * Test partitioning dependent GML instances together with independent
+	 * instances.
+	 */
+	@Test
+	void testGmlReferencesMultiPartFill() {
+		InstanceCollection instances = new InstanceBuilder(types: INSPIRE_ADDRESSES_SCHEMA).createCollection {
+			AdministrativeBoundaryType { id "AB_1" }
+
+			for (i in 1..20) {
+				AdministrativeUnitType {
+					id "AB_1_$i"
+					boundary { href URI.create("#AB_1") }
+				}
+			}
+
+			AdministrativeBoundaryType { id "AB_2" }
+
+			for (i in 1..10) {
+				AdministrativeUnitType {
+					id "AB_2_$i"
+					boundary { href URI.create("#AB_2") }
+				}
+			}
+
+			for (i in 1..18) {
+				CondominiumType { id "CD_$i" }
+			}
+		}
+
+		List<InstanceCollection> collections = partition(instances, 15)
+
+		assertEquals('Unexpected number of parts', 3, collections.size())
+		assertEquals('Unexpected combined part size', 50, collections.sum { it.size() })
+		assertTrue('Part with 21 instances not found', collections.any { it.size() == 21 })
+	}
+
+}
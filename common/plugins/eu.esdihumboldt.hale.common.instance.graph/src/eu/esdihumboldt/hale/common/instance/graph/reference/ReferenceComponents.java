@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.graph.reference;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.hale.common.core.report.SimpleLog;
+import eu.esdihumboldt.hale.common.instance.graph.reference.internal.ReferencesInstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import gnu.trove.TIntObjectHashMap;
+import gnu.trove.TObjectIntHashMap;
+
+/**
+ * Connected components of instances that are linked by references, as an
+ * alternative to {@link ReferenceGraph} for large instance collections.<br>
+ * <br>
+ * The components are determined with a union-find structure on integer nodes
+ * that only represents identities involved in references. Instances that
+ * neither reference other instances nor are referenced are not held in
+ * memory, they are added to the parts while iterating the instance collection
+ * a second time. Thus the memory needed is proportional to the number of
+ * references rather than the number of instances.
+ *
+ * @author Simon Templer
+ * @param <T> the identifier type, must have a sensible equals implementation
+ */
+public class ReferenceComponents<T> {
+
+	private static final ALogger logger = ALoggerFactory.getLogger(ReferenceComponents.class);
+
+	/**
+	 * Iterator for instance partitions.
+	 */
+	private class PartitionIterator implements ResourceIterator<InstanceCollection> {
+
+		private final int maxObjects;
+
+		private final SimpleLog log;
+
+		private ResourceIterator<Instance> source;
+
+		private final Queue<List<InstanceReference>> parts = new LinkedList<>();
+
+		private List<InstanceReference> current;
+
+		/**
+		 * Instance references of linked instances, grouped by the root node
+		 * of their component.
+		 */
+		private final TIntObjectHashMap<List<InstanceReference>> components = new TIntObjectHashMap<>();
+
+		/**
+		 * Nodes that are associated to an instance.
+		 */
+		private final BitSet resolved = new BitSet();
+
+		private int partCount = 0;
+		private int partSum = 0;
+		private int biggestAtom = 1;
+
+		/**
+		 * @param maxObjects the guiding value for the maximum number of objects
+		 *            in a part
+		 * @param log the operation log
+		 */
+		public PartitionIterator(int maxObjects, SimpleLog log) {
+			this.maxObjects = maxObjects;
+			this.log = log;
+			this.current = new ArrayList<>(maxObjects);
+			this.source = instances.iterator();
+		}
+
+		/**
+		 * Read instances until there is a part available or all instances
+		 * have been processed.
+		 */
+		private void fill() {
+			while (parts.isEmpty() && source != null) {
+				if (source.hasNext()) {
+					Instance instance = source.next();
+					InstanceReference ref = instances.getReference(instance);
+
+					int node = getNode(instance);
+					if (node < 0) {
+						// independent instance
+						add(ref);
+					}
+					else {
+						int root = find(node);
+						List<InstanceReference> component = components.get(root);
+						if (component == null) {
+							component = new ArrayList<>();
+							components.put(root, component);
+						}
+						component.add(ref);
+					}
+				}
+				else {
+					source.close();
+					source = null;
+
+					addComponents();
+
+					if (!current.isEmpty()) {
+						parts.add(current);
+						current = null;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Determine the node an instance is associated to.
+		 *
+		 * @param instance the instance
+		 * @return the node or <code>-1</code> if the instance is not linked
+		 *         to other instances
+		 */
+		private int getNode(Instance instance) {
+			T id = inspector.getIdentity(instance);
+			if (id != null && nodes.containsKey(id)) {
+				int node = nodes.get(id);
+				resolved.set(node);
+				return node;
+			}
+
+			// instance w/o identity or w/o references to it
+			Set<T> references = inspector.getReferencedIdentities(instance);
+			if (references != null) {
+				for (T reference : references) {
+					if (reference != null && nodes.containsKey(reference)) {
+						return nodes.get(reference);
+					}
+				}
+			}
+
+			return -1;
+		}
+
+		/**
+		 * Add the components of linked instances to the parts. The components
+		 * are combined to parts using a first fit decreasing strategy, the
+		 * remaining independent instances are used to fill up the parts.
+		 */
+		private void addComponents() {
+			int[] roots = components.keys();
+			// deterministic order
+			Arrays.sort(roots);
+			List<List<InstanceReference>> sorted = new ArrayList<>(roots.length);
+			for (int root : roots) {
+				sorted.add(components.remove(root));
+			}
+			Collections.sort(sorted, new Comparator<List<InstanceReference>>() {
+
+				@Override
+				public int compare(List<InstanceReference> o1, List<InstanceReference> o2) {
+					return Integer.compare(o2.size(), o1.size());
+				}
+			});
+
+			List<List<InstanceReference>> open = new ArrayList<>();
+			for (List<InstanceReference> component : sorted) {
+				biggestAtom = Math.max(biggestAtom, component.size());
+
+				if (component.size() >= maxObjects) {
+					// too big to be combined with other instances
+					parts.add(component);
+					continue;
+				}
+
+				int index = 0;
+				while (index < open.size()
+						&& open.get(index).size() + component.size() > maxObjects) {
+					index++;
+				}
+				if (index == open.size()) {
+					open.add(new ArrayList<InstanceReference>(maxObjects));
+				}
+				List<InstanceReference> target = open.get(index);
+				target.addAll(component);
+				if (target.size() >= maxObjects) {
+					open.remove(index);
+					parts.add(target);
+				}
+			}
+
+			// fill up with independent instances
+			for (List<InstanceReference> part : open) {
+				while (part.size() < maxObjects && !current.isEmpty()) {
+					part.add(current.remove(current.size() - 1));
+				}
+				parts.add(part);
+			}
+
+			// report identities w/o instance
+			int unresolved = nodeCount - resolved.cardinality();
+			if (unresolved > 0) {
+				log.warn(
+						"Encountered {0} referenced objects w/o associated instance, e.g. with identifier {1}",
+						unresolved, getIdentity(resolved.nextClearBit(0)));
+			}
+		}
+
+		private void add(InstanceReference ref) {
+			current.add(ref);
+			if (current.size() >= maxObjects) {
+				parts.add(current);
+				current = new ArrayList<>(maxObjects);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			fill();
+			return !parts.isEmpty();
+		}
+
+		@Override
+		public InstanceCollection next() {
+			fill();
+			List<InstanceReference> part = parts.poll();
+			if (part == null) {
+				throw new NoSuchElementException("All parts were retrieved");
+			}
+
+			partCount++;
+			partSum += part.size();
+			logger.debug("Reference based partitioning - Part {} - {} instances", partCount,
+					part.size());
+
+			if (!hasNext()) {
+				log.info(
+						"Completed partitioning of {1} instances in {0} parts, biggest inseparable set of instances was of size {2}.",
+						partCount, partSum, biggestAtom);
+			}
+
+			return new ReferencesInstanceCollection(part, instances);
+		}
+
+		@Override
+		public void close() {
+			if (source != null) {
+				source.close();
+				source = null;
+			}
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	private final IdentityReferenceInspector<T> inspector;
+
+	private final InstanceCollection instances;
+
+	/**
+	 * Maps identities involved in references to nodes.
+	 */
+	private final TObjectIntHashMap<T> nodes = new TObjectIntHashMap<>();
+
+	/**
+	 * Union-find parent of each node.
+	 */
+	private int[] parent = new int[1024];
+
+	/**
+	 * Size of the tree for each root node.
+	 */
+	private int[] size = new int[1024];
+
+	private int nodeCount = 0;
+
+	private boolean partitioned = false;
+
+	/**
+	 * Determine the components of the given instance collection. The
+	 * collection is iterated once to collect the references and once more
+	 * when partitioning.
+	 *
+	 * @param inspector the instance inspector to use
+	 * @param instances the instance collection
+	 */
+	public ReferenceComponents(IdentityReferenceInspector<T> inspector,
+			InstanceCollection instances) {
+		this.inspector = inspector;
+		this.instances = instances;
+
+		populate();
+	}
+
+	/**
+	 * Collect the references of all instances.
+	 */
+	private void populate() {
+		try (ResourceIterator<Instance> it = instances.iterator()) {
+			while (it.hasNext()) {
+				Instance instance = it.next();
+
+				Set<T> references = inspector.getReferencedIdentities(instance);
+				if (references != null && !references.isEmpty()) {
+					T id = inspector.getIdentity(instance);
+					int node = (id != null) ? (getOrCreateNode(id)) : (-1);
+					for (T reference : references) {
+						if (reference != null) {
+							int referenced = getOrCreateNode(reference);
+							if (node < 0) {
+								node = referenced;
+							}
+							else {
+								union(node, referenced);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Partition the instances in parts that respectively contain all
+	 * referenced instances.
+	 *
+	 * @param maxObjects the guiding value for the maximum number of objects in
+	 *            a part
+	 * @param log the operation log
+	 * @return an iterator of instance collections, each instance collection
+	 *         represents a part, the iterator has to be closed
+	 */
+	public ResourceIterator<InstanceCollection> partition(int maxObjects, SimpleLog log) {
+		if (!partitioned) {
+			partitioned = true;
+			return new PartitionIterator(maxObjects, log);
+		}
+		throw new IllegalStateException(
+				"Partitioning the instance collection can only be done once");
+	}
+
+	private int getOrCreateNode(T id) {
+		if (nodes.containsKey(id)) {
+			return nodes.get(id);
+		}
+
+		int node = nodeCount++;
+		if (node == parent.length) {
+			parent = Arrays.copyOf(parent, node * 2);
+			size = Arrays.copyOf(size, node * 2);
+		}
+		parent[node] = node;
+		size[node] = 1;
+		nodes.put(id, node);
+		return node;
+	}
+
+	private int find(int node) {
+		while (parent[node] != node) {
+			// path halving
+			parent[node] = parent[parent[node]];
+			node = parent[node];
+		}
+		return node;
+	}
+
+	private void union(int a, int b) {
+		int rootA = find(a);
+		int rootB = find(b);
+		if (rootA == rootB) {
+			return;
+		}
+
+		// union by size
+		if (size[rootA] < size[rootB]) {
+			int tmp = rootA;
+			rootA = rootB;
+			rootB = tmp;
+		}
+		parent[rootB] = rootA;
+		size[rootA] += size[rootB];
+	}
+
+	private Object getIdentity(int node) {
+		for (Object id : nodes.keys()) {
+			if (nodes.get(id) == node) {
+				return id;
+			}
+		}
+		return null;
+	}
+
+}
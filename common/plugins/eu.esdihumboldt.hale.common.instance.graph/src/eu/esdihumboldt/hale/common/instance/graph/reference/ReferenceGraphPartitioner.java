@@ -18,11 +18,13 @@ package eu.esdihumboldt.hale.common.instance.graph.reference;
 import eu.esdihumboldt.hale.common.core.report.SimpleLog;
 import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
-import eu.esdihumboldt.hale.common.instance.model.impl.ResourceIteratorAdapter;
 import eu.esdihumboldt.hale.common.instance.tools.InstanceCollectionPartitioner;
 
 /**
- * Instance collection partitioner based on {@link ReferenceGraph}
+ * Instance collection partitioner based on the components of instances linked
+ * by references.
+ * 
+ * @see ReferenceComponents
  * 
  * @author Simon Templer
  */
@@ -48,8 +50,9 @@ public class ReferenceGraphPartitioner implements InstanceCollectionPartitioner
 	@Override
 	public ResourceIterator<InstanceCollection> partition(InstanceCollection instances,
 			int maxObjects, SimpleLog log) {
-		ReferenceGraph<String> rg = new ReferenceGraph<String>(inspector, instances);
-		return new ResourceIteratorAdapter<>(rg.partition(maxObjects, log));
+		ReferenceComponents<String> components = new ReferenceComponents<String>(inspector,
+				instances);
+		return components.partition(maxObjects, log);
 	}
 
 }
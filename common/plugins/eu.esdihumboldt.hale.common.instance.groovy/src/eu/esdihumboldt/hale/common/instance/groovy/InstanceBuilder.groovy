@@ -252,7 +252,7 @@ class InstanceBuilder extends BuilderBase {
 			defs.elements.eachWithIndex { Definition element, int index ->
 				if (index > 0 && element instanceof GroupPropertyDefinition) {
 					// add group to parent
-					MutableGroup childGroup = new DefaultGroup((GroupPropertyDefinition) element)
+					MutableGroup childGroup = createGroup((GroupPropertyDefinition) element)
 					parentGroup.addProperty(element.getName(), childGroup);
 					parentGroup = childGroup
 
@@ -346,7 +346,7 @@ class InstanceBuilder extends BuilderBase {
 
 			if (definition != null) {
 				// create a group
-				return new DefaultGroup(definition)
+				return createGroup(definition)
 			}
 
 			/*
@@ -360,7 +360,7 @@ class InstanceBuilder extends BuilderBase {
 				}
 				else {
 					// create a group
-					return new DefaultGroup((DefinitionGroup) null)
+					return createGroup((DefinitionGroup) null)
 				}
 			}
 			else {
@@ -505,6 +505,15 @@ class InstanceBuilder extends BuilderBase {
 		createInstanceAndValue(type, value)
 	}
 
+	private MutableGroup createGroup(DefinitionGroup definition) {
+		if (instanceFactory) {
+			return instanceFactory.createGroup(definition)
+		}
+		else {
+			return new DefaultGroup(definition)
+		}
+	}
+
 	private MutableInstance createInstanceAndValue(TypeDefinition type, def value = null) {
 		/*
 		 * 1. build instance
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.orient.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+
+/**
+ * Tests for the OrientDB settings applied for the storage profiles of
+ * {@link LocalOrientDB}.
+ *
+ * @author Simon Templer
+ */
+public class LocalOrientDBTest {
+
+	private static final String[] SETTINGS = { "tx.useLog", "tx.commit.synch",
+			"nonTX.recordUpdate.synch", "storage.keepOpen" };
+
+	private final Map<String, Object> initialSettings = new HashMap<>();
+
+	private final List<LocalOrientDB> databases = new ArrayList<>();
+
+	private final List<File> locations = new ArrayList<>();
+
+	/**
+	 * Remember the initial OrientDB settings.
+	 */
+	@Before
+	public void recordSettings() {
+		for (String key : SETTINGS) {
+			initialSettings.put(key, getSetting(key));
+		}
+	}
+
+	/**
+	 * Delete the databases that were not deleted by the test.
+	 */
+	@After
+	public void deleteDatabases() {
+		for (LocalOrientDB db : databases) {
+			db.delete();
+		}
+		for (File location : locations) {
+			location.delete();
+		}
+	}
+
+	/**
+	 * Test that the scratch settings are applied for a scratch database and
+	 * restored when it is deleted.
+	 *
+	 * @throws IOException if creating the database location fails
+	 */
+	@Test
+	public void testScratchSettings() throws IOException {
+		LocalOrientDB scratch = create(StorageProfile.SCRATCH);
+		assertEquals(StorageProfile.SCRATCH, scratch.getProfile());
+		assertScratchSettings(true);
+
+		// applied once for several scratch databases
+		LocalOrientDB scratch2 = create(StorageProfile.SCRATCH);
+		assertEquals(StorageProfile.SCRATCH, scratch2.getProfile());
+		assertScratchSettings(true);
+
+		delete(scratch);
+		assertScratchSettings(true);
+
+		delete(scratch2);
+		assertInitialSettings();
+	}
+
+	/**
+	 * Test that the scratch profile is not applied while a database with the
+	 * default profile exists.
+	 *
+	 * @throws IOException if creating the database location fails
+	 */
+	@Test
+	public void testScratchRefused() throws IOException {
+		LocalOrientDB db = create(StorageProfile.DEFAULT);
+		assertEquals(StorageProfile.DEFAULT, db.getProfile());
+		assertInitialSettings();
+
+		LocalOrientDB scratch = create(StorageProfile.SCRATCH);
+		assertEquals(StorageProfile.DEFAULT, scratch.getProfile());
+		assertFalse(scratch.isInMemory());
+		assertInitialSettings();
+
+		delete(scratch);
+		delete(db);
+
+		// applied again once no other database exists
+		scratch = create(StorageProfile.SCRATCH);
+		assertEquals(StorageProfile.SCRATCH, scratch.getProfile());
+		assertScratchSettings(true);
+
+		delete(scratch);
+		assertInitialSettings();
+	}
+
+	/**
+	 * Test that the settings are restored when a database with the default
+	 * profile is created while a scratch database exists.
+	 *
+	 * @throws IOException if creating the database location fails
+	 */
+	@Test
+	public void testDefaultRestoresSettings() throws IOException {
+		LocalOrientDB scratch = create(StorageProfile.SCRATCH);
+		assertScratchSettings(true);
+
+		LocalOrientDB db = create(StorageProfile.DEFAULT);
+		assertEquals(StorageProfile.DEFAULT, db.getProfile());
+		// storages are still kept open for the scratch database
+		assertScratchSettings(false);
+		assertEquals(true, getSetting("storage.keepOpen"));
+
+		delete(db);
+		delete(scratch);
+		assertInitialSettings();
+	}
+
+	private void assertScratchSettings(boolean scratch) {
+		if (scratch) {
+			assertEquals(false, getSetting("tx.useLog"));
+			assertEquals(false, getSetting("tx.commit.synch"));
+			assertEquals(false, getSetting("nonTX.recordUpdate.synch"));
+			assertEquals(true, getSetting("storage.keepOpen"));
+		}
+		else {
+			assertEquals(initialSettings.get("tx.useLog"), getSetting("tx.useLog"));
+			assertEquals(initialSettings.get("tx.commit.synch"), getSetting("tx.commit.synch"));
+			assertEquals(initialSettings.get("nonTX.recordUpdate.synch"),
+					getSetting("nonTX.recordUpdate.synch"));
+		}
+	}
+
+	private void assertInitialSettings() {
+		for (String key : SETTINGS) {
+			assertEquals(key, initialSettings.get(key), getSetting(key));
+		}
+	}
+
+	private static Object getSetting(String key) {
+		return OGlobalConfiguration.findByKey(key).getValue();
+	}
+
+	private LocalOrientDB create(StorageProfile profile) throws IOException {
+		File location = Files.createTempDirectory("orient").toFile();
+		locations.add(location);
+		LocalOrientDB db = new LocalOrientDB(location, profile, -1);
+		databases.add(db);
+		return db;
+	}
+
+	private void delete(LocalOrientDB db) {
+		db.delete();
+		databases.remove(db);
+	}
+
+}
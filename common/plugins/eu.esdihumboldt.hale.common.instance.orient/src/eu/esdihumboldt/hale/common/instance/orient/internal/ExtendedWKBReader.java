@@ -57,6 +57,8 @@ import com.vividsolutions.jts.io.ParseException;
 import com.vividsolutions.jts.io.WKBConstants;
 import com.vividsolutions.jts.io.WKBReader;
 
+import eu.esdihumboldt.hale.common.instance.geometry.SharedGeometryFactory;
+
 /**
  * Extended version of {@link WKBReader}, that differentiates between
  * {@link LinearRing}s and {@link LineString}s.
@@ -108,10 +110,12 @@ public class ExtendedWKBReader {
 	private double[] ordValues;
 
 	/**
-	 * Default constructor
+	 * Default constructor, uses the shared geometry factory.
+	 * 
+	 * @see SharedGeometryFactory
 	 */
 	public ExtendedWKBReader() {
-		this(new GeometryFactory());
+		this(SharedGeometryFactory.getInstance());
 	}
 
 	/**
@@ -16,6 +16,9 @@
 
 package eu.esdihumboldt.hale.common.instance.orient.internal;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
 
@@ -36,6 +39,24 @@ public abstract class ONamespaceMap {
 
 	private static final Identifiers<String> IDS = new Identifiers<String>("n", true);
 
+	/**
+	 * Maximum number of entries in each of the caches for encoded and decoded
+	 * names. The number of distinct names is usually limited by the
+	 * vocabulary of the schemas, the limit only protects against unbounded
+	 * growth.
+	 */
+	private static final int MAX_CACHE_SIZE = 50000;
+
+	/**
+	 * Encoded names by qualified name.
+	 */
+	private static final Map<QName, String> ENCODED = new ConcurrentHashMap<>();
+
+	/**
+	 * Qualified names by encoded name.
+	 */
+	private static final Map<String, QName> DECODED = new ConcurrentHashMap<>();
+
 	/**
 	 * Map the namespace of the given qualified name to a short identifier and
 	 * return the adapted name.
@@ -58,12 +79,17 @@ public abstract class ONamespaceMap {
 	 * @return the encoded name
 	 */
 	public static String encode(QName org) {
-		String ns = org.getNamespaceURI();
-		if (!XMLConstants.NULL_NS_URI.equals(ns)) {
-			ns = IDS.getId(org.getNamespaceURI());
-		}
+		String encoded = ENCODED.get(org);
+		if (encoded == null) {
+			String ns = org.getNamespaceURI();
+			if (!XMLConstants.NULL_NS_URI.equals(ns)) {
+				ns = IDS.getId(org.getNamespaceURI());
+			}
 
-		return ns + "_" + ONameUtil.encodeName(org.getLocalPart());
+			encoded = ns + "_" + ONameUtil.encodeName(org.getLocalPart());
+			cache(ENCODED, org, encoded);
+		}
+		return encoded;
 	}
 
 	/**
@@ -90,6 +116,15 @@ public abstract class ONamespaceMap {
 	 * @throws DecoderException of decoding the local part of the name fails
 	 */
 	public static QName decode(String name) throws DecoderException {
+		QName decoded = DECODED.get(name);
+		if (decoded == null) {
+			decoded = decodeName(name);
+			cache(DECODED, name, decoded);
+		}
+		return decoded;
+	}
+
+	private static QName decodeName(String name) throws DecoderException {
 		int pos = name.indexOf('_'); // find first underscore
 		String local;
 		String ns = XMLConstants.NULL_NS_URI;
@@ -103,4 +138,11 @@ public abstract class ONamespaceMap {
 		return new QName(ns, local);
 	}
 
+	private static <K, V> void cache(Map<K, V> cache, K key, V value) {
+		if (cache.size() >= MAX_CACHE_SIZE) {
+			cache.clear();
+		}
+		cache.put(key, value);
+	}
+
 }
@@ -17,10 +17,21 @@
 package eu.esdihumboldt.hale.common.instance.orient.storage;
 
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.metadata.schema.OSchema;
+import com.orientechnologies.orient.core.storage.OStorage.CLUSTER_TYPE;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.hale.common.instance.orient.internal.ONamespaceMap;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
 
 /**
  * Represents a local Orient database
@@ -29,6 +40,61 @@ import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
  */
 public class LocalOrientDB {
 
+	private static final ALogger log = ALoggerFactory.getLogger(LocalOrientDB.class);
+
+	/**
+	 * Minimum size of the disk cache for the scratch profile in megabytes.
+	 */
+	private static final long MIN_DISK_CACHE_MB = 64;
+
+	/**
+	 * Factor applied to the estimated data size to account for the overhead
+	 * of holding the data in memory.
+	 */
+	private static final long MEMORY_OVERHEAD_FACTOR = 4;
+
+	/**
+	 * The OrientDB settings changed for the scratch profile.
+	 */
+	private static final String[] SCRATCH_SETTINGS = { "tx.useLog", "tx.commit.synch",
+			"nonTX.recordUpdate.synch", "storage.useWAL", "storage.diskCache.bufferSize",
+			"file.mmap.maxMemory" };
+
+	/**
+	 * The OrientDB setting to keep storages open when the last connection is
+	 * closed.
+	 */
+	private static final String KEEP_OPEN_SETTING = "storage.keepOpen";
+
+	/**
+	 * Guards the registration of databases and the global OrientDB settings.
+	 */
+	private static final Object GLOBAL_LOCK = new Object();
+
+	/**
+	 * Number of databases with the default profile that were not deleted.
+	 */
+	private static int defaultDatabases = 0;
+
+	/**
+	 * Number of databases with the scratch profile that were not deleted.
+	 */
+	private static int scratchDatabases = 0;
+
+	/**
+	 * The OrientDB settings before the scratch settings were applied,
+	 * <code>null</code> if the scratch settings are not applied.
+	 */
+	private static Map<OGlobalConfiguration, Object> previousSettings;
+
+	/**
+	 * The value of the setting to keep storages open before it was changed
+	 * for the scratch profile, <code>null</code> if it was not changed. It is
+	 * only restored when no database with the scratch profile remains, as
+	 * memory storages rely on it.
+	 */
+	private static Map<OGlobalConfiguration, Object> previousKeepOpen;
+
 	/**
 	 * Database reference for reading holding a lock
 	 */
@@ -142,6 +208,15 @@ public class LocalOrientDB {
 
 //	private final ODatabaseDocumentPool pool;
 
+	private final StorageProfile profile;
+
+	private final boolean inMemory;
+
+	/**
+	 * If the database is registered, i.e. it was not deleted yet
+	 */
+	private boolean registered = true;
+
 	/**
 	 * Create a local Orient database. It will delete database that exists
 	 * previously at the same location.
@@ -149,9 +224,41 @@ public class LocalOrientDB {
 	 * @param location the data base location
 	 */
 	public LocalOrientDB(File location) {
+		this(location, StorageProfile.DEFAULT, -1);
+	}
+
+	/**
+	 * Create a local Orient database. It will delete database that exists
+	 * previously at the same location.<br>
+	 * <br>
+	 * As OrientDB settings are global, the scratch profile is only used if no
+	 * other databases with the default profile exist in the process,
+	 * otherwise the database is created with the default profile. See
+	 * {@link #getProfile()}.
+	 * 
+	 * @param location the data base location
+	 * @param profile the storage profile
+	 * @param estimatedSize the estimated size of the data to store in bytes,
+	 *            a negative value if unknown
+	 */
+	public LocalOrientDB(File location, StorageProfile profile, long estimatedSize) {
 		super();
 
-		dbURI = "local:" + location.getAbsolutePath();
+		this.profile = register(profile);
+
+		if (this.profile == StorageProfile.SCRATCH) {
+			inMemory = estimatedSize >= 0 && fitsInMemory(estimatedSize);
+		}
+		else {
+			inMemory = false;
+		}
+
+		if (inMemory) {
+			dbURI = "memory:" + location.getName();
+		}
+		else {
+			dbURI = "local:" + location.getAbsolutePath();
+		}
 
 //		pool = new ODatabaseDocumentPool();
 //		pool.setup(1,10);
@@ -165,10 +272,221 @@ public class LocalOrientDB {
 			// ignore
 		}
 		// create the database
-		db.create();
+		try {
+			db.create();
+		} catch (RuntimeException e) {
+			unregister();
+			throw e;
+		}
 		db.close();
 	}
 
+	/**
+	 * Register a new database and adapt the global OrientDB settings to the
+	 * databases in use. The scratch settings are applied while only databases
+	 * with the scratch profile exist. If a database with the default profile
+	 * is created, the previous settings are restored, except the setting to
+	 * keep storages open.
+	 * 
+	 * @param profile the requested storage profile
+	 * @return the storage profile to use for the database
+	 */
+	private static StorageProfile register(StorageProfile profile) {
+		synchronized (GLOBAL_LOCK) {
+			if (profile == StorageProfile.SCRATCH) {
+				if (defaultDatabases > 0) {
+					log.warn("Other OrientDB databases are in use, the scratch storage profile"
+							+ " is not applied");
+				}
+				else {
+					if (previousSettings == null) {
+						previousSettings = configureScratch();
+					}
+					scratchDatabases++;
+					return StorageProfile.SCRATCH;
+				}
+			}
+
+			if (previousSettings != null) {
+				log.info("Restoring OrientDB settings for a database with the default profile");
+				restore(previousSettings);
+				previousSettings = null;
+			}
+			defaultDatabases++;
+			return StorageProfile.DEFAULT;
+		}
+	}
+
+	/**
+	 * Unregister the database after it was deleted and restore the global
+	 * OrientDB settings if no database with the scratch profile remains.
+	 */
+	private void unregister() {
+		synchronized (GLOBAL_LOCK) {
+			if (!registered) {
+				return;
+			}
+			registered = false;
+
+			if (profile == StorageProfile.SCRATCH) {
+				scratchDatabases--;
+				if (scratchDatabases == 0) {
+					if (previousSettings != null) {
+						restore(previousSettings);
+						previousSettings = null;
+					}
+					if (previousKeepOpen != null) {
+						restore(previousKeepOpen);
+						previousKeepOpen = null;
+					}
+				}
+			}
+			else {
+				defaultDatabases--;
+			}
+		}
+	}
+
+	/**
+	 * Configure OrientDB for databases that are discarded after use.
+	 * 
+	 * @return the previous values of the changed settings, except the setting
+	 *         to keep storages open
+	 */
+	private static Map<OGlobalConfiguration, Object> configureScratch() {
+		Map<OGlobalConfiguration, Object> previous = new HashMap<>();
+		for (String key : SCRATCH_SETTINGS) {
+			OGlobalConfiguration config = OGlobalConfiguration.findByKey(key);
+			if (config != null) {
+				previous.put(config, config.getValue());
+			}
+		}
+		OGlobalConfiguration keepOpen = OGlobalConfiguration.findByKey(KEEP_OPEN_SETTING);
+		if (keepOpen != null && previousKeepOpen == null) {
+			previousKeepOpen = new HashMap<>();
+			previousKeepOpen.put(keepOpen, keepOpen.getValue());
+		}
+
+		long cacheMB = Math.max(MIN_DISK_CACHE_MB,
+				Runtime.getRuntime().maxMemory() / 4 / (1024 * 1024));
+
+		// no durability needed
+		setGlobal("tx.useLog", false);
+		setGlobal("tx.commit.synch", false);
+		setGlobal("nonTX.recordUpdate.synch", false);
+		setGlobal("storage.useWAL", false);
+		// memory storages must not be closed with the last connection
+		setGlobal(KEEP_OPEN_SETTING, true);
+		// cache and memory mapping sized based on the available memory
+		setGlobal("storage.diskCache.bufferSize", cacheMB);
+		setGlobal("file.mmap.maxMemory", cacheMB * 1024 * 1024);
+
+		log.info("Configured OrientDB for scratch databases with a cache of " + cacheMB
+				+ " MB");
+		return previous;
+	}
+
+	/**
+	 * Restore OrientDB settings.
+	 * 
+	 * @param settings the settings and their values
+	 */
+	private static void restore(Map<OGlobalConfiguration, Object> settings) {
+		for (Entry<OGlobalConfiguration, Object> setting : settings.entrySet()) {
+			try {
+				setting.getKey().setValue(setting.getValue());
+			} catch (Exception e) {
+				log.warn("Could not restore OrientDB setting " + setting.getKey().getKey(), e);
+			}
+		}
+	}
+
+	/**
+	 * Set a global OrientDB setting, if it is supported by the OrientDB
+	 * version.
+	 * 
+	 * @param key the setting key
+	 * @param value the value
+	 */
+	private static void setGlobal(String key, Object value) {
+		OGlobalConfiguration config = OGlobalConfiguration.findByKey(key);
+		if (config == null) {
+			log.debug("OrientDB setting " + key + " not supported");
+			return;
+		}
+
+		try {
+			Class<?> type = config.getType();
+			String str = value.toString();
+			if (Boolean.class.equals(type)) {
+				config.setValue(Boolean.valueOf(str));
+			}
+			else if (Integer.class.equals(type)) {
+				config.setValue(Integer.valueOf(str));
+			}
+			else if (Long.class.equals(type)) {
+				config.setValue(Long.valueOf(str));
+			}
+			else {
+				config.setValue(str);
+			}
+		} catch (Exception e) {
+			log.warn("Could not apply OrientDB setting " + key, e);
+		}
+	}
+
+	/**
+	 * Determines if data of the given size can be held in memory.
+	 * 
+	 * @param estimatedSize the estimated data size in bytes
+	 * @return if the data is expected to fit into the available memory
+	 */
+	private static boolean fitsInMemory(long estimatedSize) {
+		Runtime runtime = Runtime.getRuntime();
+		long available = runtime.maxMemory()
+				- (runtime.totalMemory() - runtime.freeMemory());
+		// leave half of the available memory for the transformation
+		return estimatedSize * MEMORY_OVERHEAD_FACTOR < available / 2;
+	}
+
+	/**
+	 * @return the storage profile of the database, may differ from the
+	 *         requested profile
+	 */
+	public StorageProfile getProfile() {
+		return profile;
+	}
+
+	/**
+	 * @return if the database uses a memory storage
+	 */
+	public boolean isInMemory() {
+		return inMemory;
+	}
+
+	/**
+	 * Create the classes and clusters for the given types in advance,
+	 * instead of creating them when the first instance of a type is stored.
+	 * 
+	 * @param types the types
+	 */
+	public void preallocate(Iterable<? extends TypeDefinition> types) {
+		DatabaseReference<ODatabaseDocumentTx> ref = openWrite();
+		try {
+			ODatabaseDocumentTx db = ref.getDatabase();
+			OSchema schema = db.getMetadata().getSchema();
+			for (TypeDefinition type : types) {
+				String className = ONamespaceMap.encode(type.getName());
+				if (!schema.existsClass(className)) {
+					int cluster = db.addCluster(className, CLUSTER_TYPE.PHYSICAL);
+					schema.createClass(className, cluster);
+				}
+			}
+		} finally {
+			ref.dispose();
+		}
+	}
+
 	/**
 	 * Get a database reference with read access.<br>
 	 * <br>
@@ -238,6 +556,7 @@ public class LocalOrientDB {
 			db.close();
 		} finally {
 			dbLock.writeLock().unlock();
+			unregister();
 		}
 	}
 
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.orient.storage;
+
+/**
+ * Storage profiles for a {@link LocalOrientDB}.
+ *
+ * @author Simon Templer
+ */
+public enum StorageProfile {
+
+	/**
+	 * Local storage with the OrientDB default settings.
+	 */
+	DEFAULT,
+
+	/**
+	 * Storage for a database that is discarded after use. The transaction log
+	 * and synchronous writes are disabled and the disk cache is sized based
+	 * on the available memory. If the data is expected to fit into memory, a
+	 * memory storage is used instead of a local storage.<br>
+	 * <br>
+	 * As OrientDB settings are global, the profile is only applied while no
+	 * databases with the {@link #DEFAULT} profile exist in the process. A
+	 * database requested with this profile while other databases exist uses
+	 * the default profile instead.
+	 */
+	SCRATCH;
+
+	/**
+	 * Name of the system property specifying the default storage profile for
+	 * temporary databases.
+	 */
+	public static final String SYSTEM_PROPERTY = "hale.orient.storageProfile";
+
+	/**
+	 * Name of the environment variable specifying the default storage profile
+	 * for temporary databases, if the system property is not set.
+	 */
+	public static final String ENV = "HALE_ORIENT_STORAGE_PROFILE";
+
+	/**
+	 * Get the storage profile configured via system property or environment
+	 * variable.
+	 *
+	 * @return the configured storage profile or {@link #DEFAULT}
+	 */
+	public static StorageProfile getConfiguredProfile() {
+		String value = System.getProperty(SYSTEM_PROPERTY);
+		if (value == null) {
+			value = System.getenv(ENV);
+		}
+		if (value != null) {
+			try {
+				return valueOf(value.trim().toUpperCase());
+			} catch (IllegalArgumentException e) {
+				// ignore, use default
+			}
+		}
+		return DEFAULT;
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.geometry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
+import com.vividsolutions.jts.geom.LineString;
+import com.vividsolutions.jts.geom.impl.CoordinateArraySequence;
+import com.vividsolutions.jts.geom.impl.PackedCoordinateSequence;
+
+/**
+ * Tests for {@link GeometryMemoryMode} and {@link SharedGeometryFactory}.
+ *
+ * @author Simon Templer
+ */
+@SuppressWarnings("javadoc")
+public class GeometryMemoryModeTest {
+
+	private static final double[] VALUES_2D = new double[] { 1, 2, 3, 4, 5, 6 };
+
+	@Test
+	public void testCreateSequence() {
+		for (GeometryMemoryMode mode : GeometryMemoryMode.values()) {
+			CoordinateSequence seq = mode.createSequence(VALUES_2D.clone(), 2);
+			assertEquals(3, seq.size());
+			assertEquals(3.0, seq.getX(1), 0);
+			assertEquals(4.0, seq.getY(1), 0);
+			assertTrue(Double.isNaN(seq.getCoordinate(2).z));
+
+			switch (mode) {
+			case ARRAY:
+				assertTrue(seq instanceof CoordinateArraySequence);
+				break;
+			case PACKED_DOUBLE:
+				assertTrue(seq instanceof PackedCoordinateSequence.Double);
+				break;
+			case PACKED_FLOAT:
+				assertTrue(seq instanceof PackedCoordinateSequence.Float);
+				break;
+			}
+		}
+	}
+
+	@Test
+	public void testSharedFactory() {
+		GeometryMemoryMode mode = SharedGeometryFactory.getMode();
+		try {
+			SharedGeometryFactory.setMode(GeometryMemoryMode.PACKED_DOUBLE);
+
+			LineString line = SharedGeometryFactory.getInstance(2).createLineString(
+					new Coordinate[] { new Coordinate(1, 2), new Coordinate(3, 4) });
+			CoordinateSequence seq = line.getCoordinateSequence();
+			assertTrue(seq instanceof PackedCoordinateSequence.Double);
+			assertEquals(2, seq.getDimension());
+			assertEquals(4.0, seq.getY(1), 0);
+		} finally {
+			SharedGeometryFactory.setMode(mode);
+		}
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.model.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.esdihumboldt.hale.common.instance.model.Group;
+import eu.esdihumboldt.hale.common.instance.model.MutableGroup;
+import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultGroupPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeDefinition;
+
+/**
+ * Tests for {@link CompactInstance} and {@link CompactGroup}.
+ *
+ * @author Simon Templer
+ */
+public class CompactInstanceTest {
+
+	private static final String NS = "http://www.example.com/compact";
+
+	private static final QName NAME = new QName(NS, "name");
+
+	private static final QName ALIAS = new QName(NS, "alias");
+
+	private static final QName CHOICE = new QName(NS, "choice");
+
+	private static final QName OPTION = new QName(NS, "option");
+
+	private static final QName UNKNOWN = new QName(NS, "unknown");
+
+	private DefaultTypeDefinition type;
+
+	private DefaultGroupPropertyDefinition choice;
+
+	/**
+	 * Create the test type.
+	 */
+	@Before
+	public void createType() {
+		DefaultTypeDefinition stringType = new DefaultTypeDefinition(new QName(NS, "string"));
+
+		type = new DefaultTypeDefinition(new QName(NS, "Type"));
+		new DefaultPropertyDefinition(NAME, type, stringType);
+		new DefaultPropertyDefinition(ALIAS, type, stringType);
+		choice = new DefaultGroupPropertyDefinition(CHOICE, type, false);
+		new DefaultPropertyDefinition(OPTION, choice, stringType);
+	}
+
+	/**
+	 * Test single and repeated property values.
+	 */
+	@Test
+	public void testValues() {
+		MutableInstance instance = new CompactInstance(type, null);
+		assertEquals(0, instance.getProperty(NAME).length);
+		assertTrue(names(instance).isEmpty());
+
+		instance.addProperty(NAME, "a");
+		assertArrayEquals(new Object[] { "a" }, instance.getProperty(NAME));
+
+		instance.addProperty(ALIAS, "x");
+		instance.addProperty(ALIAS, null);
+		instance.addProperty(ALIAS, "y");
+		assertArrayEquals(new Object[] { "x", null, "y" }, instance.getProperty(ALIAS));
+
+		// list values are not confused with repeated values
+		List<String> list = Arrays.asList("l1", "l2");
+		instance.setProperty(NAME, list);
+		assertArrayEquals(new Object[] { list }, instance.getProperty(NAME));
+
+		instance.setProperty(NAME, (Object) null);
+		assertArrayEquals(new Object[] { null }, instance.getProperty(NAME));
+		instance.addProperty(NAME, "b");
+		assertArrayEquals(new Object[] { null, "b" }, instance.getProperty(NAME));
+
+		instance.setProperty(ALIAS);
+		assertEquals(0, instance.getProperty(ALIAS).length);
+		assertEquals(Arrays.asList(NAME), names(instance));
+	}
+
+	/**
+	 * Test properties that are not defined by the type and property name
+	 * order.
+	 */
+	@Test
+	public void testNames() {
+		MutableInstance instance = new CompactInstance(type, null);
+		instance.addProperty(UNKNOWN, 1);
+		instance.addProperty(UNKNOWN, 2);
+		instance.addProperty(ALIAS, "x");
+		instance.addProperty(new QName(NS, "name", "prefix"), "a");
+
+		assertArrayEquals(new Object[] { 1, 2 }, instance.getProperty(UNKNOWN));
+		assertArrayEquals(new Object[] { "a" }, instance.getProperty(NAME));
+		assertEquals(Arrays.asList(NAME, ALIAS, UNKNOWN), names(instance));
+
+		// groups without definition
+		MutableGroup group = new CompactGroup((DefinitionGroup) null);
+		group.addProperty(NAME, "a");
+		assertArrayEquals(new Object[] { "a" }, group.getProperty(NAME));
+	}
+
+	/**
+	 * Test that names of properties not defined by the type keep their
+	 * prefix, even if a definition with an equal name exists.
+	 */
+	@Test
+	public void testAdditionalPrefix() {
+		new DefaultTypeDefinition(new QName(NS, "extra"));
+		QName prefixed = new QName(NS, "extra", "ex");
+
+		MutableInstance instance = new CompactInstance(type, null);
+		instance.addProperty(prefixed, "a");
+		assertSame(prefixed, names(instance).get(0));
+
+		MutableGroup group = new DefaultGroup(type);
+		group.setProperty(prefixed, "a");
+		assertSame(prefixed, names(group).get(0));
+	}
+
+	/**
+	 * Test the copy constructor with nested groups and meta data.
+	 */
+	@Test
+	public void testCopy() {
+		DefaultInstance org = new DefaultInstance(type, null);
+		org.setValue("value");
+		org.putMetaData("key", "meta");
+		org.addProperty(NAME, "a");
+		DefaultGroup group = new DefaultGroup(choice);
+		group.addProperty(OPTION, "o");
+		org.addProperty(CHOICE, group);
+
+		CompactInstance copy = new CompactInstance(org);
+		assertEquals("value", copy.getValue());
+		assertEquals(Arrays.<Object> asList("meta"), copy.getMetaData("key"));
+		assertArrayEquals(new Object[] { "a" }, copy.getProperty(NAME));
+
+		Object[] groups = copy.getProperty(CHOICE);
+		assertEquals(1, groups.length);
+		assertTrue(groups[0] instanceof CompactGroup);
+		assertEquals(choice, ((Group) groups[0]).getDefinition());
+		assertArrayEquals(new Object[] { "o" }, ((Group) groups[0]).getProperty(OPTION));
+	}
+
+	/**
+	 * Test the meta data of an instance.
+	 */
+	@Test
+	public void testMetaData() {
+		MutableInstance instance = new CompactInstance(type, null);
+		assertTrue(instance.getMetaDataNames().isEmpty());
+		assertTrue(instance.getMetaData("key").isEmpty());
+
+		instance.setMetaData("key", "a", "b");
+		instance.putMetaData("key", "c");
+		assertEquals(Arrays.<Object> asList("a", "b", "c"), instance.getMetaData("key"));
+
+		instance.setMetaData("key");
+		assertTrue(instance.getMetaDataNames().isEmpty());
+	}
+
+	private static List<QName> names(Group group) {
+		List<QName> names = new ArrayList<>();
+		for (QName name : group.getPropertyNames()) {
+			names.add(name);
+		}
+		return names;
+	}
+
+}
@@ -18,7 +18,7 @@ package eu.esdihumboldt.hale.common.instance;
 import eu.esdihumboldt.hale.common.core.service.ServiceFactory;
 import eu.esdihumboldt.hale.common.core.service.ServiceProvider;
 import eu.esdihumboldt.hale.common.instance.model.InstanceFactory;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceFactory;
+import eu.esdihumboldt.hale.common.instance.model.impl.SharedInstanceFactory;
 
 /**
  * Factory for instance related services (those not specific to the UI).
@@ -31,7 +31,7 @@ public class InstanceServiceFactory implements ServiceFactory {
 	@Override
 	public <T> T createService(Class<T> serviceInterface, ServiceProvider serviceLocator) {
 		if (InstanceFactory.class.equals(serviceInterface)) {
-			return (T) new DefaultInstanceFactory();
+			return (T) SharedInstanceFactory.getInstance();
 		}
 		return null;
 	}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.geometry;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
+import com.vividsolutions.jts.geom.CoordinateSequenceFactory;
+import com.vividsolutions.jts.geom.impl.CoordinateArraySequence;
+import com.vividsolutions.jts.geom.impl.CoordinateArraySequenceFactory;
+import com.vividsolutions.jts.geom.impl.PackedCoordinateSequence;
+import com.vividsolutions.jts.geom.impl.PackedCoordinateSequenceFactory;
+
+/**
+ * Modes for holding geometry coordinates in memory.
+ * 
+ * @see SharedGeometryFactory
+ * @author Simon Templer
+ */
+public enum GeometryMemoryMode {
+
+	/**
+	 * One {@link Coordinate} object per vertex (JTS default). Fastest access to
+	 * individual coordinates, highest memory consumption.
+	 */
+	ARRAY,
+
+	/**
+	 * Ordinates packed in a double array.
+	 */
+	PACKED_DOUBLE,
+
+	/**
+	 * Ordinates packed in a float array. Uses the least memory, but reduces
+	 * the precision of coordinates to about seven significant digits, which
+	 * is not sufficient for projected coordinates with sub-meter accuracy.
+	 */
+	PACKED_FLOAT;
+
+	/**
+	 * Create a coordinate sequence factory for this mode.
+	 * 
+	 * @param dimension the dimension of sequences created from coordinate
+	 *            arrays, either 2 or 3
+	 * @return the coordinate sequence factory
+	 */
+	public CoordinateSequenceFactory createCoordinateSequenceFactory(int dimension) {
+		switch (this) {
+		case PACKED_DOUBLE:
+			return new PackedCoordinateSequenceFactory(PackedCoordinateSequenceFactory.DOUBLE,
+					dimension);
+		case PACKED_FLOAT:
+			return new PackedCoordinateSequenceFactory(PackedCoordinateSequenceFactory.FLOAT,
+					dimension);
+		case ARRAY:
+		default:
+			return CoordinateArraySequenceFactory.instance();
+		}
+	}
+
+	/**
+	 * Create a coordinate sequence for this mode from packed ordinate values.
+	 * 
+	 * @param values the ordinate values, the array may be used by the created
+	 *            sequence and should not be modified afterwards
+	 * @param dimension the number of ordinates per coordinate, either 2 or 3
+	 * @return the coordinate sequence
+	 */
+	public CoordinateSequence createSequence(double[] values, int dimension) {
+		switch (this) {
+		case PACKED_DOUBLE:
+			return new PackedCoordinateSequence.Double(values, dimension);
+		case PACKED_FLOAT:
+			return new PackedCoordinateSequence.Float(values, dimension);
+		case ARRAY:
+		default:
+			Coordinate[] coordinates = new Coordinate[values.length / dimension];
+			for (int i = 0; i < coordinates.length; i++) {
+				int offset = i * dimension;
+				coordinates[i] = new Coordinate(values[offset], values[offset + 1],
+						(dimension > 2) ? (values[offset + 2]) : (Coordinate.NULL_ORDINATE));
+			}
+			return new CoordinateArraySequence(coordinates);
+		}
+	}
+
+}
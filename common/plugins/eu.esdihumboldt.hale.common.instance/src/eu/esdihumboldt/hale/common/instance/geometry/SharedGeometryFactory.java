@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.geometry;
+
+import com.vividsolutions.jts.geom.CoordinateSequence;
+import com.vividsolutions.jts.geom.GeometryFactory;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+
+/**
+ * Geometry factories shared by readers that create geometries for instances.
+ * The factories create coordinate sequences according to the configured
+ * {@link GeometryMemoryMode}. The mode can be configured via the system
+ * property <code>hale.geometry.memory</code> or the environment variable
+ * <code>HALE_GEOMETRY_MEMORY</code> and defaults to
+ * {@link GeometryMemoryMode#ARRAY}.
+ * 
+ * @author Simon Templer
+ */
+public final class SharedGeometryFactory {
+
+	private static final ALogger log = ALoggerFactory.getLogger(SharedGeometryFactory.class);
+
+	/**
+	 * The configured mode and the associated factories.
+	 */
+	private static class Configuration {
+
+		private final GeometryMemoryMode mode;
+
+		private final GeometryFactory factory2D;
+
+		private final GeometryFactory factory3D;
+
+		public Configuration(GeometryMemoryMode mode) {
+			super();
+			this.mode = mode;
+			this.factory2D = new GeometryFactory(mode.createCoordinateSequenceFactory(2));
+			this.factory3D = new GeometryFactory(mode.createCoordinateSequenceFactory(3));
+		}
+
+	}
+
+	private static volatile Configuration configuration = new Configuration(
+			getConfiguredMode());
+
+	private static GeometryMemoryMode getConfiguredMode() {
+		String setting = System.getProperty("hale.geometry.memory");
+
+		if (setting == null) {
+			setting = System.getenv("HALE_GEOMETRY_MEMORY");
+		}
+
+		if (setting != null) {
+			try {
+				return GeometryMemoryMode.valueOf(setting.trim().toUpperCase());
+			} catch (Throwable e) {
+				log.error("Invalid geometry memory mode: " + setting, e);
+			}
+		}
+
+		return GeometryMemoryMode.ARRAY;
+	}
+
+	/**
+	 * @return the current geometry memory mode
+	 */
+	public static GeometryMemoryMode getMode() {
+		return configuration.mode;
+	}
+
+	/**
+	 * Set the geometry memory mode. Only affects geometries created
+	 * afterwards.
+	 * 
+	 * @param mode the geometry memory mode
+	 */
+	public static void setMode(GeometryMemoryMode mode) {
+		configuration = new Configuration(mode);
+	}
+
+	/**
+	 * Get the shared geometry factory for geometries with unknown dimension.
+	 * 
+	 * @return the geometry factory, creating three dimensional coordinate
+	 *         sequences from coordinate arrays
+	 */
+	public static GeometryFactory getInstance() {
+		return configuration.factory3D;
+	}
+
+	/**
+	 * Get the shared geometry factory for geometries with the given dimension.
+	 * 
+	 * @param dimension the coordinate dimension, either 2 or 3
+	 * @return the geometry factory, creating coordinate sequences with the
+	 *         given dimension from coordinate arrays
+	 */
+	public static GeometryFactory getInstance(int dimension) {
+		Configuration config = configuration;
+		return (dimension == 2) ? (config.factory2D) : (config.factory3D);
+	}
+
+	/**
+	 * Create a coordinate sequence from packed ordinate values, according to
+	 * the current geometry memory mode.
+	 * 
+	 * @param values the ordinate values, the array may be used by the created
+	 *            sequence and should not be modified afterwards
+	 * @param dimension the number of ordinates per coordinate, either 2 or 3
+	 * @return the coordinate sequence
+	 */
+	public static CoordinateSequence createSequence(double[] values, int dimension) {
+		return configuration.mode.createSequence(values, dimension);
+	}
+
+	private SharedGeometryFactory() {
+		// utility class
+	}
+
+}
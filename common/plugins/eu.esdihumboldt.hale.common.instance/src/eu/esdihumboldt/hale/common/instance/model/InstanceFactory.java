@@ -16,6 +16,8 @@
 
 package eu.esdihumboldt.hale.common.instance.model;
 
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultGroup;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
 import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
 
 /**
@@ -34,4 +36,15 @@ public interface InstanceFactory {
 	 */
 	public MutableInstance createInstance(TypeDefinition type);
 
+	/**
+	 * Create an empty group with the given definition, e.g. for a nested group
+	 * property of an instance created by the factory.
+	 * 
+	 * @param definition the group definition
+	 * @return the created group
+	 */
+	default MutableGroup createGroup(DefinitionGroup definition) {
+		return new DefaultGroup(definition);
+	}
+
 }
@@ -33,6 +33,12 @@ public class InstanceMetadata {
 	 * Name for the SourceID value stored in instance meta data
 	 */
 	public static final String METADATA_SOURCEID = "SourceID";
+	/**
+	 * Name for the ID of the type cell that created an instance stored in
+	 * instance meta data. Only recorded if requested by the instance sink the
+	 * transformed instances are added to.
+	 */
+	public static final String METADATA_CELLID = "CellID";
 
 	/**
 	 * sets the ID of an instance in its meta data
@@ -73,6 +79,35 @@ public class InstanceMetadata {
 		}
 	}
 
+	/**
+	 * sets the ID of the type cell that created an instance in its meta data
+	 * 
+	 * @param instance the certain instance to change
+	 * @param cellId the ID of the type cell
+	 */
+	public static void setCellID(MutableInstance instance, String cellId) {
+		instance.setMetaData(METADATA_CELLID, cellId);
+	}
+
+	/**
+	 * gets the ID of the type cell that created an instance from its metadata
+	 * 
+	 * @param instance the instance to get the cell ID from
+	 * @return the ID of the type cell, may be <code> null <code> if the
+	 *         instance doesn't contain a cell ID in its meta data
+	 */
+	public static String getCellID(Instance instance) {
+		List<Object> data = instance.getMetaData(METADATA_CELLID);
+
+		if (data.isEmpty()) {
+			return null;
+		}
+
+		else {
+			return data.get(0).toString();
+		}
+	}
+
 	/**
 	 * gets the ID of an instance from its metadata
 	 * 
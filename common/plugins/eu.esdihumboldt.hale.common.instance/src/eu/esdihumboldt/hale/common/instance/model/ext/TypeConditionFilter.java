@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.model.ext;
+
+import eu.esdihumboldt.hale.common.instance.model.Filter;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Filter that only accepts instances of specific types, with an optional
+ * condition per type. Instance collections may use this information to
+ * optimize a selection, e.g. by passing the condition on to the underlying
+ * data source.
+ *
+ * @author Simon Templer
+ */
+public interface TypeConditionFilter extends Filter {
+
+	/**
+	 * Determines if instances of the given type may match the filter.
+	 *
+	 * @param type the instance type
+	 * @return <code>true</code> if instances of the type may match the filter,
+	 *         <code>false</code> if no instance of the type matches
+	 */
+	public boolean accepts(TypeDefinition type);
+
+	/**
+	 * Get the condition instances of the given type have to fulfill to match
+	 * the filter. Only valid for types the filter {@link #accepts(TypeDefinition)}.
+	 *
+	 * @param type the instance type
+	 * @return the condition or <code>null</code> if all instances of the type
+	 *         match the filter
+	 */
+	public Filter getCondition(TypeDefinition type);
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.model.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.MapMaker;
+
+import eu.esdihumboldt.hale.common.instance.model.Group;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.MutableGroup;
+import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionUtil;
+
+/**
+ * Group implementation that stores the property values in a slot array
+ * according to the children of the group definition. A single value of a
+ * property is stored directly in its slot, only repeated properties use a
+ * list. Properties not defined by the group definition are stored in an
+ * additional multimap that is only created if needed.<br>
+ * <br>
+ * Compared to {@link DefaultGroup} this needs considerably less memory,
+ * especially for deeply nested structures with many optional properties. The
+ * property names are reported in the order of the definition children.
+ *
+ * @author Simon Templer
+ */
+public class CompactGroup implements MutableGroup {
+
+	/**
+	 * The slot layout for a definition group.
+	 */
+	private static class Layout {
+
+		private final QName[] names;
+
+		private final Map<QName, Integer> slots;
+
+		public Layout(DefinitionGroup definition) {
+			Collection<? extends ChildDefinition<?>> children = (definition == null) ? (null)
+					: (DefinitionUtil.getAllChildren(definition));
+			if (children == null || children.isEmpty()) {
+				names = new QName[0];
+				slots = new HashMap<>();
+			}
+			else {
+				List<QName> nameList = new ArrayList<>(children.size());
+				slots = new HashMap<>(children.size() * 2);
+				for (ChildDefinition<?> child : children) {
+					QName name = child.getName();
+					if (!slots.containsKey(name)) {
+						slots.put(name, nameList.size());
+						nameList.add(name);
+					}
+				}
+				names = nameList.toArray(new QName[nameList.size()]);
+			}
+		}
+
+		/**
+		 * Get the slot of a property.
+		 *
+		 * @param name the property name
+		 * @return the slot index or <code>-1</code> if the property has no slot
+		 */
+		public int getSlot(QName name) {
+			Integer slot = slots.get(name);
+			return (slot == null) ? (-1) : (slot);
+		}
+
+	}
+
+	/**
+	 * Marks a slot value holding multiple values.
+	 */
+	private static class Values extends ArrayList<Object> {
+
+		private static final long serialVersionUID = -2453950215347071417L;
+
+		public Values(int initialCapacity) {
+			super(initialCapacity);
+		}
+
+	}
+
+	/**
+	 * Represents a single <code>null</code> value in a slot.
+	 */
+	private static final Object NULL = new Object();
+
+	/**
+	 * Layouts per definition group, weakly referencing the definitions.
+	 */
+	private static final Map<DefinitionGroup, Layout> layouts = new MapMaker().weakKeys()
+			.makeMap();
+
+	private static final Layout EMPTY_LAYOUT = new Layout(null);
+
+	private static Layout getLayout(DefinitionGroup definition) {
+		if (definition == null) {
+			return EMPTY_LAYOUT;
+		}
+
+		Layout layout = layouts.get(definition);
+		if (layout == null) {
+			layout = new Layout(definition);
+			Layout existing = layouts.putIfAbsent(definition, layout);
+			if (existing != null) {
+				layout = existing;
+			}
+		}
+		return layout;
+	}
+
+	private final DefinitionGroup definition;
+
+	private final Layout layout;
+
+	private Object[] slots;
+
+	private ListMultimap<QName, Object> additional;
+
+	/**
+	 * Create an empty group.
+	 *
+	 * @param definition the associated definition
+	 */
+	public CompactGroup(DefinitionGroup definition) {
+		super();
+		this.definition = definition;
+		this.layout = getLayout(definition);
+	}
+
+	/**
+	 * Copy constructor. Creates a group based on the properties and values of
+	 * the given group. Nested groups and instances are copied as compact
+	 * groups and instances.
+	 *
+	 * @param org the group to copy
+	 */
+	public CompactGroup(Group org) {
+		this(org.getDefinition());
+
+		for (QName property : org.getPropertyNames()) {
+			Object[] values = org.getProperty(property);
+			Object[] copy = new Object[values.length];
+			for (int i = 0; i < values.length; i++) {
+				copy[i] = copyValue(values[i]);
+			}
+			setProperty(property, copy);
+		}
+	}
+
+	private static Object copyValue(Object value) {
+		if (value instanceof Instance) {
+			return new CompactInstance((Instance) value);
+		}
+		if (value instanceof Group) {
+			return new CompactGroup((Group) value);
+		}
+		return value;
+	}
+
+	/**
+	 * @see Group#getProperty(QName)
+	 */
+	@Override
+	public Object[] getProperty(QName propertyName) {
+		int slot = layout.getSlot(propertyName);
+		if (slot < 0) {
+			if (additional == null) {
+				return new Object[0];
+			}
+			return additional.get(propertyName).toArray();
+		}
+
+		Object value = (slots == null) ? (null) : (slots[slot]);
+		if (value == null) {
+			return new Object[0];
+		}
+		if (value instanceof Values) {
+			return ((Values) value).toArray();
+		}
+		return new Object[] { (value == NULL) ? (null) : (value) };
+	}
+
+	/**
+	 * @see Group#getPropertyNames()
+	 */
+	@Override
+	public Iterable<QName> getPropertyNames() {
+		List<QName> names = new ArrayList<>();
+		if (slots != null) {
+			for (int i = 0; i < slots.length; i++) {
+				if (slots[i] != null) {
+					names.add(layout.names[i]);
+				}
+			}
+		}
+		if (additional != null) {
+			names.addAll(additional.keySet());
+		}
+		return names;
+	}
+
+	/**
+	 * @see Group#getDefinition()
+	 */
+	@Override
+	public DefinitionGroup getDefinition() {
+		return definition;
+	}
+
+	/**
+	 * @see MutableGroup#addProperty(QName, Object)
+	 */
+	@Override
+	public void addProperty(QName propertyName, Object value) {
+		int slot = layout.getSlot(propertyName);
+		if (slot < 0) {
+			getAdditional().put(propertyName, value);
+			return;
+		}
+
+		Object[] slots = getSlots();
+		Object current = slots[slot];
+		if (current == null) {
+			slots[slot] = (value == null) ? (NULL) : (value);
+		}
+		else if (current instanceof Values) {
+			((Values) current).add(value);
+		}
+		else {
+			Values values = new Values(4);
+			values.add((current == NULL) ? (null) : (current));
+			values.add(value);
+			slots[slot] = values;
+		}
+	}
+
+	/**
+	 * @see MutableGroup#setProperty(QName, Object[])
+	 */
+	@Override
+	public void setProperty(QName propertyName, Object... values) {
+		int slot = layout.getSlot(propertyName);
+		if (slot < 0) {
+			if (values.length == 0 && additional == null) {
+				return;
+			}
+			getAdditional().replaceValues(propertyName, Arrays.asList(values));
+			return;
+		}
+
+		if (values.length == 0) {
+			if (slots != null) {
+				slots[slot] = null;
+			}
+		}
+		else if (values.length == 1) {
+			getSlots()[slot] = (values[0] == null) ? (NULL) : (values[0]);
+		}
+		else {
+			Values list = new Values(values.length);
+			list.addAll(Arrays.asList(values));
+			getSlots()[slot] = list;
+		}
+	}
+
+	private Object[] getSlots() {
+		if (slots == null) {
+			slots = new Object[layout.names.length];
+		}
+		return slots;
+	}
+
+	private ListMultimap<QName, Object> getAdditional() {
+		if (additional == null) {
+			additional = ArrayListMultimap.create(2, 2);
+		}
+		return additional;
+	}
+
+}
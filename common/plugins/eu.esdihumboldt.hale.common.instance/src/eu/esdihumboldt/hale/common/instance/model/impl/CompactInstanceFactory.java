@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.model.impl;
+
+import eu.esdihumboldt.hale.common.instance.model.InstanceFactory;
+import eu.esdihumboldt.hale.common.instance.model.MutableGroup;
+import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Instance factory based on {@link CompactInstance} and {@link CompactGroup}.
+ *
+ * @author Simon Templer
+ */
+public class CompactInstanceFactory implements InstanceFactory {
+
+	/**
+	 * @see InstanceFactory#createInstance(TypeDefinition)
+	 */
+	@Override
+	public MutableInstance createInstance(TypeDefinition type) {
+		return new CompactInstance(type, null); // initially no data set
+												// associated
+	}
+
+	/**
+	 * @see InstanceFactory#createGroup(DefinitionGroup)
+	 */
+	@Override
+	public MutableGroup createGroup(DefinitionGroup definition) {
+		return new CompactGroup(definition);
+	}
+
+}
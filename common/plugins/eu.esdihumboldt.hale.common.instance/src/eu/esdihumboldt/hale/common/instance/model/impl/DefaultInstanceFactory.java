@@ -17,11 +17,13 @@
 package eu.esdihumboldt.hale.common.instance.model.impl;
 
 import eu.esdihumboldt.hale.common.instance.model.InstanceFactory;
+import eu.esdihumboldt.hale.common.instance.model.MutableGroup;
 import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
 import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
 
 /**
- * Instance factory based on {@link DefaultInstance}
+ * Instance factory based on {@link DefaultInstance} and {@link DefaultGroup}
  * 
  * @author Simon Templer
  */
@@ -36,4 +38,12 @@ public class DefaultInstanceFactory implements InstanceFactory {
 												// associated
 	}
 
+	/**
+	 * @see InstanceFactory#createGroup(DefinitionGroup)
+	 */
+	@Override
+	public MutableGroup createGroup(DefinitionGroup definition) {
+		return new DefaultGroup(definition);
+	}
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.instance.model.impl;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.hale.common.instance.model.InstanceFactory;
+
+/**
+ * Instance factory shared by readers and transformation functions that
+ * create instances and groups. The instance model can be configured via the
+ * system property <code>hale.instance.model</code> or the environment
+ * variable <code>HALE_INSTANCE_MODEL</code> and defaults to
+ * {@link InstanceModel#DEFAULT}.
+ *
+ * @author Simon Templer
+ */
+public final class SharedInstanceFactory {
+
+	/**
+	 * Instance model implementations.
+	 */
+	public enum InstanceModel {
+		/**
+		 * Instances and groups backed by a multimap, see {@link DefaultInstance}
+		 * and {@link DefaultGroup}.
+		 */
+		DEFAULT(new DefaultInstanceFactory()),
+
+		/**
+		 * Instances and groups backed by a slot array according to their
+		 * definition, see {@link CompactInstance} and {@link CompactGroup}.
+		 */
+		COMPACT(new CompactInstanceFactory());
+
+		private final InstanceFactory factory;
+
+		private InstanceModel(InstanceFactory factory) {
+			this.factory = factory;
+		}
+
+		/**
+		 * @return the factory creating instances and groups of the model
+		 */
+		public InstanceFactory getFactory() {
+			return factory;
+		}
+
+	}
+
+	private static final ALogger log = ALoggerFactory.getLogger(SharedInstanceFactory.class);
+
+	private static volatile InstanceModel model = getConfiguredModel();
+
+	private static InstanceModel getConfiguredModel() {
+		String setting = System.getProperty("hale.instance.model");
+
+		if (setting == null) {
+			setting = System.getenv("HALE_INSTANCE_MODEL");
+		}
+
+		if (setting != null) {
+			try {
+				return InstanceModel.valueOf(setting.trim().toUpperCase());
+			} catch (Throwable e) {
+				log.error("Invalid instance model: " + setting, e);
+			}
+		}
+
+		return InstanceModel.DEFAULT;
+	}
+
+	/**
+	 * @return the current instance model
+	 */
+	public static InstanceModel getModel() {
+		return model;
+	}
+
+	/**
+	 * Set the instance model. Only affects instances created afterwards with
+	 * a factory retrieved after the change.
+	 *
+	 * @param model the instance model
+	 */
+	public static void setModel(InstanceModel model) {
+		SharedInstanceFactory.model = model;
+	}
+
+	/**
+	 * @return the instance factory for the current instance model
+	 */
+	public static InstanceFactory getInstance() {
+		return model.getFactory();
+	}
+
+	private SharedInstanceFactory() {
+		// utility class
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ * 
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.schema.persist.snapshot.test
+
+import java.nio.ByteBuffer
+import java.nio.file.Files
+import java.nio.file.Path
+
+import eu.esdihumboldt.hale.common.core.io.report.IOReporter
+import eu.esdihumboldt.hale.common.core.io.report.impl.DefaultIOReporter
+import eu.esdihumboldt.hale.common.core.io.supplier.FileIOSupplier
+import eu.esdihumboldt.hale.common.schema.model.Schema
+import eu.esdihumboldt.hale.common.schema.model.constraint.factory.OsgiClassResolver
+import eu.esdihumboldt.hale.common.schema.persist.hsd.test.HaleSchemaWriterTest
+import eu.esdihumboldt.hale.common.schema.persist.snapshot.SchemaSnapshotReader
+import eu.esdihumboldt.hale.common.schema.persist.snapshot.SchemaSnapshotWriter
+import groovy.transform.CompileStatic
+
+
+/**
+ * Tests for {@link SchemaSnapshotWriter} and {@link SchemaSnapshotReader}.
+ * 
+ * @author Simon Templer
+ */
+class SchemaSnapshotTest extends HaleSchemaWriterTest {
+
+	/**
+	 * Test that data that is no snapshot is rejected.
+	 */
+	void testNoSnapshot() {
+		ByteBuffer data = ByteBuffer.wrap('<schema/>'.getBytes('UTF-8'))
+		assertFalse SchemaSnapshotReader.isSnapshot(data)
+
+		shouldFail(IOException) {
+			new SchemaSnapshotReader(new OsgiClassResolver(), null).read(data)
+		}
+	}
+
+	@CompileStatic
+	protected Schema readFromFile(Path file) {
+		IOReporter reporter = new DefaultIOReporter(new FileIOSupplier(file.toFile()),
+				'Read schema snapshot', 'snapshot', true)
+
+		ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file))
+		assertTrue 'Not a schema snapshot', SchemaSnapshotReader.isSnapshot(data)
+
+		Schema schema = new SchemaSnapshotReader(new OsgiClassResolver(), reporter).read(data)
+
+		assertTrue 'Errors reported by the reader', reporter.errors.isEmpty()
+		schema
+	}
+
+	@CompileStatic
+	protected Path writeToTempFileAndValidate(Schema schema) {
+		Path tempFile = Files.createTempFile('hale-schema-test', '.hsb')
+
+		tempFile.withOutputStream { OutputStream out ->
+			new SchemaSnapshotWriter().write(schema, out)
+		}
+
+		tempFile
+	}
+}
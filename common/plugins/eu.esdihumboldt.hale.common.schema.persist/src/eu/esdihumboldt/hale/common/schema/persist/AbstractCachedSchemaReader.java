@@ -15,8 +15,20 @@
 
 package eu.esdihumboldt.hale.common.schema.persist;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
 import org.w3c.dom.Element;
 
+import com.google.common.io.ByteStreams;
+
 import eu.esdihumboldt.hale.common.core.io.ProgressIndicator;
 import eu.esdihumboldt.hale.common.core.io.Value;
 import eu.esdihumboldt.hale.common.core.io.impl.ElementValue;
@@ -27,30 +39,79 @@ import eu.esdihumboldt.hale.common.schema.model.constraint.factory.OsgiClassReso
 import eu.esdihumboldt.hale.common.schema.persist.hsd.HaleSchemaConstants;
 import eu.esdihumboldt.hale.common.schema.persist.hsd.SchemaToXml;
 import eu.esdihumboldt.hale.common.schema.persist.hsd.XmlToSchema;
+import eu.esdihumboldt.hale.common.schema.persist.snapshot.SchemaSnapshotReader;
+import eu.esdihumboldt.hale.common.schema.persist.snapshot.SchemaSnapshotWriter;
 import eu.esdihumboldt.util.groovy.xml.NSDOMBuilder;
 
 /**
  * Base class for schema readers caching their result as HALE Schema Definition.
+ * Alternatively the result can be cached as binary schema snapshot, which is
+ * considerably faster to load. Snapshots are created if the system property
+ * <code>hale.schema.cache.snapshot</code> or the environment variable
+ * <code>HALE_SCHEMA_CACHE_SNAPSHOT</code> is set to <code>true</code>, cached
+ * snapshots are always used when loading from the cache.
  * 
  * @author Simon Templer
  */
 public abstract class AbstractCachedSchemaReader extends AbstractCachedSchemaReaderBase {
 
 	/**
-	 * Stores the schema as HSD DOM.
+	 * Prefix of cache values holding a Base64 encoded, compressed schema
+	 * snapshot.
+	 */
+	private static final String SNAPSHOT_PREFIX = "hsb:";
+
+	/**
+	 * Stores the schema as HSD DOM or as schema snapshot if enabled.
 	 * 
 	 * @see AbstractCachedSchemaReaderBase#storeInCache(Schema)
+	 * @see #useSnapshotCache()
 	 */
 	@Override
 	protected Value storeInCache(Schema schema) throws Exception {
+		if (useSnapshotCache()) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (OutputStream out = new GZIPOutputStream(bytes)) {
+				new SchemaSnapshotWriter().write(schema, out);
+			}
+			return Value.of(
+					SNAPSHOT_PREFIX + Base64.getEncoder().encodeToString(bytes.toByteArray()));
+		}
+
 		NSDOMBuilder builder = SchemaToXml.createBuilder();
 		Element root = new SchemaToXml().schemaToXml(builder, schema);
 		return new ElementValue(root, null);
 	}
 
+	/**
+	 * Determines if a schema snapshot should be used to cache the schema
+	 * instead of a HALE Schema Definition. The default implementation checks
+	 * the system property <code>hale.schema.cache.snapshot</code> and the
+	 * environment variable <code>HALE_SCHEMA_CACHE_SNAPSHOT</code>.
+	 * 
+	 * @return if the schema should be cached as snapshot
+	 */
+	protected boolean useSnapshotCache() {
+		String setting = System.getProperty("hale.schema.cache.snapshot");
+
+		if (setting == null) {
+			setting = System.getenv("HALE_SCHEMA_CACHE_SNAPSHOT");
+		}
+
+		return Boolean.parseBoolean(setting);
+	}
+
 	@Override
 	protected boolean validCache(Value cache) {
-		if (!super.validCache(cache) || cache.getDOMRepresentation() == null) {
+		if (!super.validCache(cache)) {
+			return false;
+		}
+
+		if (isSnapshot(cache)) {
+			return true;
+		}
+
+		if (cache.getDOMRepresentation() == null) {
 			return false;
 		}
 
@@ -64,8 +125,14 @@ public abstract class AbstractCachedSchemaReader extends AbstractCachedSchemaRea
 		Schema schema = null;
 		progress.begin("Load schema from cached schema definition", ProgressIndicator.UNKNOWN);
 		try {
-			schema = XmlToSchema.parseSchema(cache.getDOMRepresentation(), new OsgiClassResolver(),
-					reporter);
+			if (isSnapshot(cache)) {
+				schema = new SchemaSnapshotReader(new OsgiClassResolver(), reporter)
+						.read(ByteBuffer.wrap(decodeSnapshot(cache)));
+			}
+			else {
+				schema = XmlToSchema.parseSchema(cache.getDOMRepresentation(),
+						new OsgiClassResolver(), reporter);
+			}
 
 			reporter.setSuccess(true);
 		} catch (Exception e) {
@@ -77,4 +144,33 @@ public abstract class AbstractCachedSchemaReader extends AbstractCachedSchemaRea
 		return schema;
 	}
 
+	/**
+	 * Determines if the given cache value holds a schema snapshot.
+	 * 
+	 * @param cache the cache value
+	 * @return if the cache value is a schema snapshot
+	 */
+	private static boolean isSnapshot(Value cache) {
+		if (cache.isRepresentedAsDOM()) {
+			return false;
+		}
+		String str = cache.getStringRepresentation();
+		return str != null && str.startsWith(SNAPSHOT_PREFIX);
+	}
+
+	/**
+	 * Decode the snapshot data held by a cache value.
+	 * 
+	 * @param cache the cache value
+	 * @return the snapshot data
+	 * @throws IOException if decoding the snapshot data fails
+	 */
+	private static byte[] decodeSnapshot(Value cache) throws IOException {
+		byte[] compressed = Base64.getDecoder()
+				.decode(cache.getStringRepresentation().substring(SNAPSHOT_PREFIX.length()));
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+			return ByteStreams.toByteArray(in);
+		}
+	}
+
 }
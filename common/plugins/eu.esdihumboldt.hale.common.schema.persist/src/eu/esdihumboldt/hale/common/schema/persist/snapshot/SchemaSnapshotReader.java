@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.schema.persist.snapshot;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.hale.common.core.io.JsonValueUtil;
+import eu.esdihumboldt.hale.common.core.io.Value;
+import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
+import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
+import eu.esdihumboldt.hale.common.schema.model.Schema;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+import eu.esdihumboldt.hale.common.schema.model.constraint.factory.ClassResolver;
+import eu.esdihumboldt.hale.common.schema.model.constraint.factory.MapTypeProvider;
+import eu.esdihumboldt.hale.common.schema.model.constraint.factory.TypeProvider;
+import eu.esdihumboldt.hale.common.schema.model.constraint.factory.extension.ValueConstraintExtension;
+import eu.esdihumboldt.hale.common.schema.model.constraint.factory.extension.ValueConstraintFactoryDescriptor;
+import eu.esdihumboldt.hale.common.schema.model.impl.AbstractDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultGroupPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultSchema;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeDefinition;
+import groovy.json.JsonSlurper;
+
+/**
+ * Reads a binary schema snapshot written by {@link SchemaSnapshotWriter} back
+ * to the HALE schema model. Strings and constraint values are only decoded
+ * when they are first referenced, and each distinct string or constraint value
+ * is decoded only once.
+ *
+ * @author Simon Templer
+ */
+public class SchemaSnapshotReader {
+
+	/**
+	 * Magic number identifying a schema snapshot ("HSB1").
+	 */
+	public static final int MAGIC = 0x48534231;
+
+	/**
+	 * The snapshot format version.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * Marker for a property child definition.
+	 */
+	static final byte KIND_PROPERTY = 1;
+
+	/**
+	 * Marker for a group child definition.
+	 */
+	static final byte KIND_GROUP = 2;
+
+	private static final ALogger log = ALoggerFactory.getLogger(SchemaSnapshotReader.class);
+
+	private final ClassResolver classResolver;
+
+	private final IOReporter reporter;
+
+	private ByteBuffer buffer;
+
+	private int[] stringOffsets;
+
+	private String[] stringCache;
+
+	private int[] constraintIds;
+
+	private int[] constraintValues;
+
+	private Value[] constraintCache;
+
+	private DefaultTypeDefinition[] types;
+
+	private TypeProvider typeProvider;
+
+	/**
+	 * Create a new schema snapshot reader.
+	 *
+	 * @param classResolver the class resolver for restoring constraints
+	 * @param reporter the reporter, may be <code>null</code> if not available
+	 */
+	public SchemaSnapshotReader(ClassResolver classResolver, IOReporter reporter) {
+		super();
+		this.classResolver = classResolver;
+		this.reporter = reporter;
+	}
+
+	/**
+	 * Determines if the given data starts with the snapshot header.
+	 *
+	 * @param data the data to check
+	 * @return if the data is a schema snapshot of a supported version
+	 */
+	public static boolean isSnapshot(ByteBuffer data) {
+		ByteBuffer header = data.duplicate();
+		return header.remaining() >= 8 && header.getInt() == MAGIC
+				&& header.getInt() == VERSION;
+	}
+
+	/**
+	 * Read a schema snapshot.
+	 *
+	 * @param data the snapshot data
+	 * @return the schema
+	 * @throws IOException if the data is no valid snapshot
+	 */
+	public Schema read(ByteBuffer data) throws IOException {
+		buffer = data.duplicate();
+
+		if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+			throw new IOException("Data is not a schema snapshot");
+		}
+		int version = buffer.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported schema snapshot version " + version);
+		}
+
+		// string table - only remember offsets, decode on demand
+		int stringCount = readVarInt();
+		stringOffsets = new int[stringCount];
+		stringCache = new String[stringCount];
+		for (int i = 0; i < stringCount; i++) {
+			stringOffsets[i] = buffer.position();
+			int length = readVarInt();
+			buffer.position(buffer.position() + length);
+		}
+
+		// constraint table
+		int constraintCount = readVarInt();
+		constraintIds = new int[constraintCount];
+		constraintValues = new int[constraintCount];
+		constraintCache = new Value[constraintCount];
+		for (int i = 0; i < constraintCount; i++) {
+			constraintIds[i] = readVarInt();
+			constraintValues[i] = readVarInt();
+		}
+
+		DefaultSchema result = new DefaultSchema(readString(), null);
+
+		// create an 'empty' type definition for each type
+		int typeCount = readVarInt();
+		types = new DefaultTypeDefinition[typeCount];
+		Map<Value, DefaultTypeDefinition> typeMap = new HashMap<>();
+		for (int i = 0; i < typeCount; i++) {
+			types[i] = new DefaultTypeDefinition(readName());
+			typeMap.put(Value.simple(i), types[i]);
+		}
+		typeProvider = new MapTypeProvider(typeMap);
+
+		// populate and add types
+		for (DefaultTypeDefinition type : types) {
+			result.addType(readType(type));
+		}
+
+		return result;
+	}
+
+	private TypeDefinition readType(DefaultTypeDefinition typeDef) {
+		// location
+		String location = readString();
+		if (location != null) {
+			try {
+				typeDef.setLocation(URI.create(location));
+			} catch (Exception e) {
+				error("Could not assign location to type", e);
+			}
+		}
+
+		// common definition stuff (description etc.)
+		readDefinition(typeDef);
+
+		// declared children
+		readChildren(typeDef);
+
+		// super type
+		DefaultTypeDefinition superType = readTypeRef();
+		if (superType != null) {
+			typeDef.setSuperType(superType);
+		}
+
+		return typeDef;
+	}
+
+	private void readChildren(DefinitionGroup parent) {
+		int count = readVarInt();
+		for (int i = 0; i < count; i++) {
+			byte kind = buffer.get();
+			switch (kind) {
+			case KIND_PROPERTY:
+				readProperty(parent);
+				break;
+			case KIND_GROUP:
+				readGroup(parent);
+				break;
+			default:
+				throw new IllegalStateException("Unknown type of child definition encountered");
+			}
+		}
+	}
+
+	private void readProperty(DefinitionGroup parent) {
+		QName name = readName();
+
+		// description and constraints are stored before the property type
+		String description = readString();
+		int[] constraints = readConstraintRefs();
+
+		TypeDefinition propertyType = readTypeRef();
+		if (propertyType == null) {
+			// anonymous type
+			DefaultTypeDefinition typeDef = new DefaultTypeDefinition(readName());
+			propertyType = readType(typeDef);
+		}
+
+		DefaultPropertyDefinition propertyDef = new DefaultPropertyDefinition(name, parent,
+				propertyType);
+		propertyDef.setDescription(description);
+		applyConstraints(propertyDef, constraints);
+	}
+
+	private void readGroup(DefinitionGroup parent) {
+		boolean allowFlatten = buffer.get() != 0;
+		QName name = readName();
+
+		DefaultGroupPropertyDefinition group = new DefaultGroupPropertyDefinition(name, parent,
+				allowFlatten);
+		group.setDescription(readString());
+		applyConstraints(group, readConstraintRefs());
+
+		// declared children
+		readChildren(group);
+	}
+
+	private void readDefinition(AbstractDefinition<?> definition) {
+		// name was already read to create the definition
+		QName name = readName();
+		if (!name.equals(definition.getName())) {
+			throw new IllegalStateException(
+					"Snapshot type name mismatch for type " + definition.getName());
+		}
+		definition.setDescription(readString());
+		applyConstraints(definition, readConstraintRefs());
+	}
+
+	private int[] readConstraintRefs() {
+		int count = readVarInt();
+		int[] refs = new int[count];
+		for (int i = 0; i < count; i++) {
+			refs[i] = readVarInt();
+		}
+		return refs;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void applyConstraints(AbstractDefinition definition, int[] constraints) {
+		for (int index : constraints) {
+			String id = getString(constraintIds[index]);
+			ValueConstraintFactoryDescriptor desc = ValueConstraintExtension.INSTANCE.get(id);
+
+			if (desc != null && desc.getFactory() != null) {
+				try {
+					Value config = getConstraintValue(index);
+					Object constraint = desc.getFactory().restore(config, definition,
+							typeProvider, classResolver);
+					definition.setConstraint(constraint);
+				} catch (Exception e) {
+					error("Failed to restore constraint of type " + id, e);
+				}
+			}
+			else {
+				error("Could not find factory for constraint with type " + id, null);
+			}
+		}
+	}
+
+	private Value getConstraintValue(int index) {
+		Value value = constraintCache[index];
+		if (value == null) {
+			Object json = new JsonSlurper().parseText(getString(constraintValues[index]));
+			value = JsonValueUtil.fromJson(json);
+			constraintCache[index] = value;
+		}
+		return value;
+	}
+
+	private DefaultTypeDefinition readTypeRef() {
+		int ref = readVarInt();
+		if (ref == 0) {
+			return null;
+		}
+		return types[ref - 1];
+	}
+
+	private QName readName() {
+		String namespace = readString();
+		String localPart = readString();
+		if (localPart == null) {
+			throw new IllegalStateException("No qualified name provided for definition");
+		}
+
+		if (namespace != null) {
+			return new QName(namespace, localPart);
+		}
+		else {
+			return new QName(localPart);
+		}
+	}
+
+	private String readString() {
+		int ref = readVarInt();
+		if (ref == 0) {
+			return null;
+		}
+		return getString(ref - 1);
+	}
+
+	private String getString(int index) {
+		String str = stringCache[index];
+		if (str == null) {
+			ByteBuffer strBuffer = buffer.duplicate();
+			strBuffer.position(stringOffsets[index]);
+			int length = readVarInt(strBuffer);
+			byte[] bytes = new byte[length];
+			strBuffer.get(bytes);
+			str = new String(bytes, StandardCharsets.UTF_8);
+			stringCache[index] = str;
+		}
+		return str;
+	}
+
+	private int readVarInt() {
+		return readVarInt(buffer);
+	}
+
+	private static int readVarInt(ByteBuffer buffer) {
+		int value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = buffer.get();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	private void error(String message, Throwable e) {
+		if (reporter != null) {
+			reporter.error(new IOMessageImpl(message, e));
+		}
+		else {
+			log.error(message, e);
+		}
+	}
+
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.schema.persist.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import eu.esdihumboldt.hale.common.core.io.JsonValueUtil;
+import eu.esdihumboldt.hale.common.core.io.Value;
+import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
+import eu.esdihumboldt.hale.common.schema.model.Definition;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
+import eu.esdihumboldt.hale.common.schema.model.GroupPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.PropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.Schema;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+import eu.esdihumboldt.hale.common.schema.model.constraint.factory.MapTypeReferenceBuilder;
+import eu.esdihumboldt.hale.common.schema.model.constraint.factory.TypeReferenceBuilder;
+import eu.esdihumboldt.hale.common.schema.model.constraint.factory.ValueConstraintFactory;
+import eu.esdihumboldt.hale.common.schema.model.constraint.factory.extension.ValueConstraintExtension;
+import eu.esdihumboldt.hale.common.schema.model.constraint.factory.extension.ValueConstraintFactoryDescriptor;
+import groovy.json.JsonBuilder;
+import groovy.json.JsonOutput;
+
+/**
+ * Writes a binary schema snapshot. All strings (namespaces, local names,
+ * descriptions, constraint values) are stored once in a string table,
+ * constraints are deduplicated in a constraint table and definitions reference
+ * types, strings and constraints by integer identifiers.
+ *
+ * @author Simon Templer
+ * @see SchemaSnapshotReader
+ */
+public class SchemaSnapshotWriter {
+
+	private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+	private final Map<ConstraintKey, Integer> constraints = new LinkedHashMap<>();
+
+	private Map<TypeDefinition, Integer> typeIds;
+
+	private TypeReferenceBuilder refBuilder;
+
+	/**
+	 * Write a snapshot of the given schema.
+	 *
+	 * @param schema the schema to write
+	 * @param out the output stream to write to, it's the callers
+	 *            responsibility to close it
+	 * @throws Exception if an error occurs writing the snapshot
+	 */
+	public void write(Schema schema, OutputStream out) throws Exception {
+		strings.clear();
+		constraints.clear();
+
+		// organize types in a list with a reproducible order
+		List<TypeDefinition> types = new ArrayList<>(schema.getTypes());
+		Collections.sort(types);
+
+		typeIds = new HashMap<>();
+		Map<TypeDefinition, Value> typeRefs = new HashMap<>();
+		for (int i = 0; i < types.size(); i++) {
+			typeIds.put(types.get(i), i);
+			typeRefs.put(types.get(i), Value.simple(i));
+		}
+		refBuilder = new MapTypeReferenceBuilder(typeRefs);
+
+		// encode the body first to collect strings and constraints
+		ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+		DataOutputStream body = new DataOutputStream(bodyBytes);
+
+		writeString(body, schema.getNamespace());
+		writeVarInt(body, types.size());
+		for (TypeDefinition type : types) {
+			writeName(body, type.getName());
+		}
+		for (TypeDefinition type : types) {
+			writeType(body, type);
+		}
+		body.flush();
+
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(SchemaSnapshotReader.MAGIC);
+		data.writeInt(SchemaSnapshotReader.VERSION);
+
+		// string table
+		writeVarInt(data, strings.size());
+		for (String str : strings.keySet()) {
+			byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(data, bytes.length);
+			data.write(bytes);
+		}
+
+		// constraint table
+		writeVarInt(data, constraints.size());
+		for (ConstraintKey key : constraints.keySet()) {
+			writeVarInt(data, key.id);
+			writeVarInt(data, key.value);
+		}
+
+		bodyBytes.writeTo(data);
+		data.flush();
+	}
+
+	private void writeType(DataOutputStream out, TypeDefinition type) throws Exception {
+		writeString(out, (type.getLocation() != null) ? (type.getLocation().toString()) : (null));
+
+		writeDefinition(out, type);
+
+		writeChildren(out, type);
+
+		TypeDefinition superType = type.getSuperType();
+		writeTypeRef(out, (superType != null) ? (typeIds.get(superType)) : (null));
+	}
+
+	private void writeChildren(DataOutputStream out, DefinitionGroup group) throws Exception {
+		List<ChildDefinition<?>> children = new ArrayList<>(group.getDeclaredChildren());
+		writeVarInt(out, children.size());
+		for (ChildDefinition<?> child : children) {
+			PropertyDefinition property = child.asProperty();
+			GroupPropertyDefinition childGroup = child.asGroup();
+			if (property != null) {
+				out.writeByte(SchemaSnapshotReader.KIND_PROPERTY);
+				writeDefinition(out, property);
+
+				Integer typeId = typeIds.get(property.getPropertyType());
+				if (typeId != null) {
+					writeTypeRef(out, typeId);
+				}
+				else {
+					// anonymous type (nested)
+					writeTypeRef(out, null);
+					writeName(out, property.getPropertyType().getName());
+					writeType(out, property.getPropertyType());
+				}
+			}
+			else if (childGroup != null) {
+				out.writeByte(SchemaSnapshotReader.KIND_GROUP);
+				out.writeBoolean(childGroup.allowFlatten());
+				writeDefinition(out, childGroup);
+				writeChildren(out, childGroup);
+			}
+			else {
+				throw new IllegalStateException(
+						"Unknown type of child definition encountered");
+			}
+		}
+	}
+
+	private void writeDefinition(DataOutputStream out, Definition<?> definition)
+			throws Exception {
+		writeName(out, definition.getName());
+		writeString(out, definition.getDescription());
+
+		List<Integer> constraintIds = new ArrayList<>();
+		for (Object constraint : definition.getExplicitConstraints()) {
+			// get value constraint factory, if possible
+			ValueConstraintFactoryDescriptor desc = ValueConstraintExtension.INSTANCE
+					.getForConstraint(constraint);
+			if (desc != null && desc.getFactory() != null) {
+				@SuppressWarnings("unchecked")
+				ValueConstraintFactory<Object> factory = (ValueConstraintFactory<Object>) desc
+						.getFactory();
+				Value value = factory.store(constraint, refBuilder);
+				if (value != null && value.getValue() != null) {
+					constraintIds.add(internConstraint(desc.getId(), value));
+				}
+			}
+		}
+
+		writeVarInt(out, constraintIds.size());
+		for (Integer id : constraintIds) {
+			writeVarInt(out, id);
+		}
+	}
+
+	private int internConstraint(String id, Value value) {
+		Object json = JsonValueUtil.valueJson(value);
+		String jsonString;
+		if (json instanceof JsonBuilder) {
+			jsonString = json.toString();
+		}
+		else {
+			jsonString = JsonOutput.toJson(json);
+		}
+
+		ConstraintKey key = new ConstraintKey(intern(id), intern(jsonString));
+		Integer index = constraints.get(key);
+		if (index == null) {
+			index = constraints.size();
+			constraints.put(key, index);
+		}
+		return index;
+	}
+
+	private void writeName(DataOutputStream out, QName name) throws IOException {
+		writeString(out, name.getNamespaceURI());
+		writeString(out, name.getLocalPart());
+	}
+
+	private void writeTypeRef(DataOutputStream out, Integer typeId) throws IOException {
+		// 0 represents no reference
+		writeVarInt(out, (typeId == null) ? (0) : (typeId + 1));
+	}
+
+	private void writeString(DataOutputStream out, String str) throws IOException {
+		// 0 represents null
+		writeVarInt(out, (str == null) ? (0) : (intern(str) + 1));
+	}
+
+	private int intern(String str) {
+		Integer index = strings.get(str);
+		if (index == null) {
+			index = strings.size();
+			strings.put(str, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Write a non-negative integer with a variable length encoding.
+	 *
+	 * @param out the output to write to
+	 * @param value the value to write
+	 * @throws IOException if writing the value fails
+	 */
+	static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	/**
+	 * Key for the constraint table, references to the constraint ID and the
+	 * JSON value representation in the string table.
+	 */
+	private static class ConstraintKey {
+
+		private final int id;
+		private final int value;
+
+		public ConstraintKey(int id, int value) {
+			super();
+			this.id = id;
+			this.value = value;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * id + value;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof ConstraintKey))
+				return false;
+			ConstraintKey other = (ConstraintKey) obj;
+			return id == other.id && value == other.value;
+		}
+
+	}
+
+}
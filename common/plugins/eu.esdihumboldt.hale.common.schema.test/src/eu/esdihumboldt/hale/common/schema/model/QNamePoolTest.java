@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.schema.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+
+import org.junit.Test;
+
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeDefinition;
+
+/**
+ * Tests for {@link QNamePool}.
+ *
+ * @author Simon Templer
+ */
+public class QNamePoolTest {
+
+	private static final String NS = "http://www.example.com/pool";
+
+	/**
+	 * Test that equal names are interned to the same object.
+	 */
+	@Test
+	public void testIdentity() {
+		QName first = QNamePool.intern(new QName(new String(NS), new String("name")));
+		QName second = QNamePool.intern(new QName(new String(NS), new String("name")));
+		QName third = QNamePool.intern(new String(NS), new String("name"));
+
+		assertSame(first, second);
+		assertSame(first, third);
+		assertEquals(new QName(NS, "name"), first);
+	}
+
+	/**
+	 * Test that prefixes are ignored and the canonical name keeps the prefix
+	 * of the first name interned.
+	 */
+	@Test
+	public void testPrefix() {
+		QName name = new QName(NS, "prefixed", "ex");
+		QName canonical = QNamePool.intern(name);
+		assertSame(name, canonical);
+		assertEquals("ex", canonical.getPrefix());
+		assertSame(canonical, QNamePool.intern(new QName(NS, "prefixed", "other")));
+		assertSame(canonical, QNamePool.intern(new QName(NS, "prefixed")));
+		assertSame(canonical, QNamePool.intern(NS, "prefixed"));
+	}
+
+	/**
+	 * Test interning names while preserving their prefix.
+	 */
+	@Test
+	public void testPreservingPrefix() {
+		QName canonical = QNamePool.intern(new QName(NS, "preserved", "ex"));
+		assertSame(canonical, QNamePool.internPreservingPrefix(new QName(NS, "preserved", "ex")));
+
+		QName other = new QName(NS, "preserved", "other");
+		assertSame(other, QNamePool.internPreservingPrefix(other));
+		QName unprefixed = new QName(NS, "preserved");
+		assertSame(unprefixed, QNamePool.internPreservingPrefix(unprefixed));
+		assertNull(QNamePool.internPreservingPrefix(null));
+	}
+
+	/**
+	 * Test interning namespaces.
+	 */
+	@Test
+	public void testNamespaces() {
+		assertSame(QNamePool.internNamespace(new String(NS)),
+				QNamePool.internNamespace(new String(NS)));
+		assertEquals(XMLConstants.NULL_NS_URI, QNamePool.internNamespace(null));
+		assertSame(QNamePool.intern(null, "local"), QNamePool.intern("", "local"));
+		assertNull(QNamePool.intern(null));
+	}
+
+	/**
+	 * Test that definitions use canonical names.
+	 */
+	@Test
+	public void testDefinitionNames() {
+		DefaultTypeDefinition type = new DefaultTypeDefinition(new QName(NS, "Type"));
+		DefaultTypeDefinition other = new DefaultTypeDefinition(new QName(NS, "Other"));
+		DefaultPropertyDefinition property = new DefaultPropertyDefinition(
+				new QName(new String(NS), "property"), type, type);
+		DefaultPropertyDefinition otherProperty = new DefaultPropertyDefinition(
+				new QName(new String(NS), "property"), other, type);
+
+		assertSame(property.getName(), otherProperty.getName());
+		assertSame(property.getName(), QNamePool.intern(new QName(NS, "property")));
+	}
+
+	/**
+	 * Test that definitions keep the prefix of their name and only share the
+	 * canonical name if the prefix matches.
+	 */
+	@Test
+	public void testDefinitionPrefix() {
+		DefaultTypeDefinition type = new DefaultTypeDefinition(new QName(NS, "PrefixedType", "a"));
+		QName otherName = new QName(NS, "PrefixedType", "b");
+		DefaultTypeDefinition other = new DefaultTypeDefinition(otherName);
+		DefaultTypeDefinition same = new DefaultTypeDefinition(
+				new QName(new String(NS), "PrefixedType", "a"));
+
+		assertEquals("a", type.getName().getPrefix());
+		assertEquals("b", other.getName().getPrefix());
+		assertEquals(type.getName(), other.getName());
+		assertSame(otherName, other.getName());
+		assertSame(type.getName(), same.getName());
+		assertSame(type.getName(), QNamePool.intern(new QName(NS, "PrefixedType")));
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.common.schema.model;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import eu.esdihumboldt.hale.common.schema.model.impl.AbstractDefinition;
+
+/**
+ * Pool of canonical qualified names and namespaces. Equal names interned with
+ * the pool are represented by the same object as long as it is referenced.<br>
+ * <br>
+ * Prefixes are not considered for the equality of qualified names, so the
+ * canonical name carries the prefix of the first name interned, which may
+ * differ from the prefix of the names it is used for. The pool is therefore
+ * only used for the names of definitions, which are interned with
+ * {@link #internPreservingPrefix(QName)} (see {@link AbstractDefinition}).
+ * Names of instance properties are stored as they are added, so they keep
+ * their prefix.<br>
+ * <br>
+ * The pool holds its entries weakly, the canonical names are kept alive by the
+ * definitions of the loaded schemas. Only canonical names created by the pool
+ * itself are guaranteed to share the namespace and local name strings.
+ *
+ * @author Simon Templer
+ */
+public final class QNamePool {
+
+	private static final Interner<QName> NAMES = Interners.newWeakInterner();
+
+	private static final Interner<String> STRINGS = Interners.newWeakInterner();
+
+	private QNamePool() {
+		// static utility
+	}
+
+	/**
+	 * Get the canonical representation of a qualified name. The prefix of the
+	 * canonical name may differ from the prefix of the given name.
+	 *
+	 * @param name the qualified name, may be <code>null</code>
+	 * @return the canonical name that is equal to the given name, or
+	 *         <code>null</code> if the given name was <code>null</code>
+	 */
+	public static QName intern(QName name) {
+		if (name == null) {
+			return null;
+		}
+
+		return NAMES.intern(name);
+	}
+
+	/**
+	 * Get the canonical representation of a qualified name if it has the same
+	 * prefix as the given name.
+	 *
+	 * @param name the qualified name, may be <code>null</code>
+	 * @return the canonical name if its prefix matches, otherwise the given
+	 *         name, <code>null</code> if the given name was <code>null</code>
+	 */
+	public static QName internPreservingPrefix(QName name) {
+		QName canonical = intern(name);
+		if (canonical != null && !canonical.getPrefix().equals(name.getPrefix())) {
+			return name;
+		}
+		return canonical;
+	}
+
+	/**
+	 * Get the canonical qualified name for a namespace and local name.
+	 *
+	 * @param namespace the namespace, <code>null</code> is treated as no
+	 *            namespace
+	 * @param localPart the local name
+	 * @return the canonical qualified name
+	 */
+	public static QName intern(String namespace, String localPart) {
+		return NAMES.intern(new QName(internNamespace(namespace), STRINGS.intern(localPart)));
+	}
+
+	/**
+	 * Get the canonical representation of a namespace.
+	 *
+	 * @param namespace the namespace, <code>null</code> is treated as no
+	 *            namespace
+	 * @return the canonical namespace string
+	 */
+	public static String internNamespace(String namespace) {
+		if (namespace == null || namespace.isEmpty()) {
+			return XMLConstants.NULL_NS_URI;
+		}
+		return STRINGS.intern(namespace);
+	}
+
+}
@@ -27,6 +27,7 @@ import com.google.common.collect.ImmutableList;
 import eu.esdihumboldt.hale.common.core.io.supplier.Locatable;
 import eu.esdihumboldt.hale.common.schema.model.Definition;
 import eu.esdihumboldt.hale.common.schema.model.DefinitionUtil;
+import eu.esdihumboldt.hale.common.schema.model.QNamePool;
 import eu.esdihumboldt.hale.common.schema.model.constraint.ConstraintUtil;
 import eu.esdihumboldt.hale.common.schema.model.constraint.DisplayName;
 
@@ -68,7 +69,9 @@ public abstract class AbstractDefinition<C> implements Definition<C> {
 	public AbstractDefinition(QName name) {
 		super();
 
-		this.name = name;
+		// use the canonical name, names are shared between many definitions,
+		// but keep the prefix, as it is used e.g. when writing mappings
+		this.name = QNamePool.internPreservingPrefix(name);
 	}
 
 	/**
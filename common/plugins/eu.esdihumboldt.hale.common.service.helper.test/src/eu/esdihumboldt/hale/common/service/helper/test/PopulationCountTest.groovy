@@ -303,6 +303,72 @@ class PopulationCountTest extends GroovyTestCase {
 
 	}
 
+	/**
+	 * Test removing instances from the population
+	 */
+	void testRemove() {
+
+		String mainNS = 'http://www.my.namespace/remove'
+
+		TypeDefinition cityType;
+
+		// build schema
+		schema = new SchemaBuilder().schema(mainNS) {
+			cityType = City {
+				name()
+				district(cardinality: '0..n') {
+					name()
+					population(Integer)
+				}
+			}
+		}
+
+		// build instance collection
+		instances = new InstanceBuilder(types: schema).createCollection {
+			City {
+				name 'Darmstadt'
+				district {
+					name 'Bessungen'
+					population 14000
+				}
+				district { name 'Arheilgen' }
+			}
+			City {
+				name 'Frankfurt'
+				district {
+					name 'Bockenheim'
+					population 40000
+				}
+			}
+			City { name 'Musterstadt' }
+		}
+
+		TypeEntityDefinition cityEntity = new TypeEntityDefinition(cityType, SchemaSpaceID.SOURCE, null)
+		PropertyEntityDefinition propDistrict = cityEntity.accessor().district as PropertyEntityDefinition
+		PropertyEntityDefinition propPopulation = propDistrict.accessor().population as PropertyEntityDefinition
+
+		addToPopulation()
+
+		verifyPopulation(cityEntity,3,3)
+		verifyPopulation(propDistrict,3,2)
+		verifyPopulation(propPopulation,2,2)
+
+		// remove Darmstadt
+		Instance darmstadt = instances.find { it.p.name.value() == 'Darmstadt' }
+		container.removeFromPopulation(darmstadt)
+
+		verifyPopulation(cityEntity,2,2)
+		verifyPopulation(propDistrict,1,1)
+		verifyPopulation(propPopulation,1,1)
+
+		// add it again
+		container.addToPopulation(darmstadt, null)
+
+		verifyPopulation(cityEntity,3,3)
+		verifyPopulation(propDistrict,3,2)
+		verifyPopulation(propPopulation,2,2)
+	}
+
 	private void addToPopulation(EntityDefinition entityDef){
 		ResourceIterator<Instance> resIt = instances.iterator()
 		while(resIt.hasNext()){
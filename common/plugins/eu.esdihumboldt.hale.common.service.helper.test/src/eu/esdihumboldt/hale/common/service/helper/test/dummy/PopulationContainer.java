@@ -124,6 +124,19 @@ public class PopulationContainer implements IPopulationUpdater {
 		}
 	}
 
+	/**
+	 * Remove from Population
+	 * 
+	 * @param instance an {@link Instance} that was added before
+	 */
+	public void removeFromPopulation(Instance instance) {
+		TypeEntityDefinition def = getTypeEntity(instance.getDefinition(), SchemaSpaceID.SOURCE);
+		if (def.getFilter() == null || def.getFilter().match(instance)) {
+			increase(def, -1);
+			populationCount.removeFromPopulation(instance, def);
+		}
+	}
+
 	private TypeEntityDefinition getTypeEntity(TypeDefinition type, SchemaSpaceID schemaSpace) {
 		TypeEntityDefinition ted = new TypeEntityDefinition(type, schemaSpace, null);
 		return ted;
@@ -150,12 +163,14 @@ public class PopulationContainer implements IPopulationUpdater {
 
 		PopulationImpl pop = population.get(entity);
 		if (pop == null) {
-			pop = new PopulationImpl(values != 0 ? 1 : 0, values);
+			pop = new PopulationImpl(values > 0 ? 1 : 0, Math.max(0, values));
 			population.put(entity, pop);
 		}
 		else {
-			if (values != 0)
+			if (values > 0)
 				pop.increaseParents();
+			else if (values < 0)
+				pop.decreaseParents();
 			pop.increaseOverall(values);
 		}
 	}
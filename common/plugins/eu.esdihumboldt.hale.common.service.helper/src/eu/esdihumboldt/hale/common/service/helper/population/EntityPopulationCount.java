@@ -34,14 +34,37 @@ public class EntityPopulationCount {
 	 * @param groupDef the group entity definition
 	 */
 	public void addToPopulation(Group group, EntityDefinition groupDef) {
+		addToPopulation(group, groupDef, 1);
+	}
+
+	/**
+	 * Subtract the population for the properties of the given group, e.g. if
+	 * an instance that was previously counted was removed.
+	 * 
+	 * @param group the group
+	 * @param groupDef the group entity definition
+	 */
+	public void removeFromPopulation(Group group, EntityDefinition groupDef) {
+		addToPopulation(group, groupDef, -1);
+	}
+
+	/**
+	 * Count the population for the properties of the given group.
+	 * 
+	 * @param group the group
+	 * @param groupDef the group entity definition
+	 * @param factor the factor to apply to the counted values, <code>1</code>
+	 *            for adding to the population, <code>-1</code> for removing
+	 */
+	private void addToPopulation(Group group, EntityDefinition groupDef, int factor) {
 		Iterable<? extends EntityDefinition> children = this.notifier.getChildren(groupDef);
 		if (children != null && children.iterator().hasNext()) {
 			for (EntityDefinition def : children) {
-				evaluateContext(group, def);
+				evaluateContext(group, def, factor);
 			}
 		}
 		else {
-			evaluateContext(group, groupDef);
+			evaluateContext(group, groupDef, factor);
 		}
 	}
 
@@ -56,11 +79,11 @@ public class EntityPopulationCount {
 		if (path == null || path.isEmpty()) {
 			if (entityDef.getFilter() == null || entityDef.getFilter().match(instance)) {
 				increase(entityDef, 1);
-				addToPopulation(instance, entityDef);
+				addToPopulation(instance, entityDef, 1);
 			}
 		}
 		else {
-			evaluateChildEntityDefinition(instance, entityDef, path);
+			evaluateChildEntityDefinition(instance, entityDef, path, 1);
 		}
 	}
 
@@ -69,8 +92,9 @@ public class EntityPopulationCount {
 	 * 
 	 * @param group A {@link Group}
 	 * @param groupDef An {@link EntityDefinition}
+	 * @param factor the factor to apply to the counted values
 	 */
-	private void evaluateContext(Group group, EntityDefinition groupDef) {
+	private void evaluateContext(Group group, EntityDefinition groupDef, int factor) {
 
 		List<ChildContext> path = groupDef.getPropertyPath();
 
@@ -101,12 +125,12 @@ public class EntityPopulationCount {
 				}
 
 				if (context.getChild().getName().equals(groupDef.getDefinition().getName())) {
-					increase(groupDef, values.length);
+					increase(groupDef, factor * values.length);
 				}
 
 				for (Object value : values) {
 					if (value instanceof Group) {
-						addToPopulation((Group) value, groupDef);
+						addToPopulation((Group) value, groupDef, factor);
 					}
 				}
 			}
@@ -117,9 +141,9 @@ public class EntityPopulationCount {
 	}
 
 	private void evaluateChildEntityDefinition(Group group, EntityDefinition groupDef,
-			List<ChildContext> path) {
+			List<ChildContext> path, int factor) {
 		if (path.size() == 1) {
-			evaluateContext(group, groupDef);
+			evaluateContext(group, groupDef, factor);
 		}
 		else {
 			ChildContext context = path.get(0);
@@ -128,12 +152,12 @@ public class EntityPopulationCount {
 			if (values != null) {
 				for (Object value : values) {
 					if (value instanceof Group) {
-						evaluateChildEntityDefinition((Group) value, groupDef, subPath);
+						evaluateChildEntityDefinition((Group) value, groupDef, subPath, factor);
 					}
 				}
 			}
 			else {
-				evaluateChildEntityDefinition(group, groupDef, subPath);
+				evaluateChildEntityDefinition(group, groupDef, subPath, factor);
 			}
 		}
 	}
@@ -15,7 +15,8 @@ public interface IPopulationUpdater {
 	/**
 	 * Increase count for given entity
 	 * @param def A {@link EntityDefinition}
-	 * @param count counts for given EntityDefinition
+	 * @param count counts for given EntityDefinition, a negative count if
+	 *            values were removed (the parents count is decreased then)
 	 */
 	public void increaseForEntity(EntityDefinition def, int count);
 
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Base class for benchmarks.
+ *
+ * @author Simon Templer
+ */
+public abstract class AbstractBenchmark implements Benchmark {
+
+	private final String name;
+
+	private final Map<String, String> parameters = new LinkedHashMap<>();
+
+	/**
+	 * Create a benchmark.
+	 *
+	 * @param operation the name of the benchmarked operation
+	 */
+	protected AbstractBenchmark(String operation) {
+		this.name = getClass().getName() + "." + operation;
+	}
+
+	/**
+	 * Set a benchmark parameter.
+	 *
+	 * @param name the parameter name
+	 * @param value the parameter value
+	 */
+	protected void setParameter(String name, Object value) {
+		parameters.put(name, String.valueOf(value));
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public Map<String, String> getParameters() {
+		return Collections.unmodifiableMap(parameters);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		// override me
+	}
+
+	@Override
+	public String toString() {
+		if (parameters.isEmpty()) {
+			return name;
+		}
+		return name + parameters;
+	}
+
+}
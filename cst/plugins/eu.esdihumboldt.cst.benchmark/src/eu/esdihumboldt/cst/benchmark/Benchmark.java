@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark;
+
+import java.util.Map;
+
+/**
+ * A benchmark executed by the {@link BenchmarkRunner}. A benchmark instance
+ * represents one combination of benchmark parameters.
+ *
+ * @author Simon Templer
+ */
+public interface Benchmark {
+
+	/**
+	 * @return the benchmark name, by convention the qualified class name
+	 *         followed by the name of the benchmarked operation
+	 */
+	public String getName();
+
+	/**
+	 * @return the benchmark parameters, may be empty
+	 */
+	public Map<String, String> getParameters();
+
+	/**
+	 * Prepare the benchmark data.
+	 *
+	 * @param scale the scale factor for the benchmark data, a larger scale
+	 *            results in a proportionally larger amount of data processed
+	 *            per invocation
+	 * @throws Exception if the preparation fails
+	 */
+	public void setUp(int scale) throws Exception;
+
+	/**
+	 * @return the number of operations performed per invocation of
+	 *         {@link #run()}, e.g. the number of processed instances
+	 */
+	public long getOperationsPerInvocation();
+
+	/**
+	 * Invoke the benchmarked operation once.
+	 *
+	 * @return the result of the operation, it is consumed by the runner so it
+	 *         cannot be eliminated as dead code
+	 * @throws Exception if the operation fails
+	 */
+	public Object run() throws Exception;
+
+	/**
+	 * Release the benchmark data.
+	 *
+	 * @throws Exception if releasing the data fails
+	 */
+	public void tearDown() throws Exception;
+
+}
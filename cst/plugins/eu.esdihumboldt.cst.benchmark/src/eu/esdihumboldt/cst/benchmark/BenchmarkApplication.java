@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.equinox.app.IApplicationContext;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.hale.common.app.AbstractApplication;
+import groovy.json.JsonOutput;
+
+/**
+ * Application that runs the benchmarks and writes the results in the JSON
+ * format used by JMH.<br>
+ * <br>
+ * Supported arguments:
+ * <ul>
+ * <li><code>-include &lt;regex&gt;</code> - only run benchmarks whose name or
+ * parameters match the regular expression</li>
+ * <li><code>-warmup &lt;n&gt;</code> - the number of warmup iterations</li>
+ * <li><code>-iterations &lt;n&gt;</code> - the number of measurement
+ * iterations</li>
+ * <li><code>-time &lt;ms&gt;</code> - the minimum duration of an iteration in
+ * milliseconds</li>
+ * <li><code>-scale &lt;n&gt;</code> - the scale factor for the benchmark
+ * data</li>
+ * <li><code>-out &lt;file&gt;</code> - the file to write the results to</li>
+ * <li><code>-list</code> - only list the benchmarks</li>
+ * </ul>
+ *
+ * @author Simon Templer
+ */
+public class BenchmarkApplication extends AbstractApplication<BenchmarkContext> {
+
+	private static final ALogger log = ALoggerFactory.getLogger(BenchmarkApplication.class);
+
+	@Override
+	protected Object run(BenchmarkContext executionContext, IApplicationContext appContext) {
+		List<Benchmark> benchmarks = Benchmarks.create(executionContext.getInclude());
+
+		if (executionContext.isList()) {
+			for (Benchmark benchmark : benchmarks) {
+				System.out.println(benchmark);
+			}
+			return EXIT_OK;
+		}
+
+		BenchmarkRunner runner = new BenchmarkRunner(executionContext.getWarmupIterations(),
+				executionContext.getMeasurementIterations(),
+				executionContext.getIterationMillis(), executionContext.getScale());
+
+		List<BenchmarkResult> results = new ArrayList<>();
+		boolean failed = false;
+		for (Benchmark benchmark : benchmarks) {
+			try {
+				results.add(runner.run(benchmark));
+			} catch (Exception e) {
+				log.error("Benchmark " + benchmark + " failed", e);
+				failed = true;
+			}
+		}
+
+		System.out.println();
+		System.out.println(String.format("%-90s %15s %12s %8s %15s", "Benchmark", "Score",
+				"Error", "Units", "Alloc (B/op)"));
+		for (BenchmarkResult result : results) {
+			System.out.println(String.format("%-90s %15.3f %12.3f %8s %15.1f",
+					result.getBenchmark(), result.getScore(), result.getScoreError(), "ops/s",
+					result.getAllocationPerOperation()));
+		}
+
+		if (executionContext.getOut() != null) {
+			try {
+				write(results, executionContext.getOut());
+			} catch (IOException e) {
+				log.error("Failed to write benchmark results", e);
+				failed = true;
+			}
+		}
+
+		return (failed) ? (Integer.valueOf(1)) : (EXIT_OK);
+	}
+
+	private static void write(List<BenchmarkResult> results, File file) throws IOException {
+		List<Object> json = new ArrayList<>();
+		for (BenchmarkResult result : results) {
+			json.add(result.toJmhJson());
+		}
+
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()),
+				StandardCharsets.UTF_8)) {
+			writer.write(JsonOutput.prettyPrint(JsonOutput.toJson(json)));
+		}
+	}
+
+	@Override
+	protected void processParameter(String param, String value,
+			BenchmarkContext executionContext) throws Exception {
+		switch (param) {
+		case "-include":
+			executionContext.setInclude(Pattern.compile(value));
+			break;
+		case "-warmup":
+			executionContext.setWarmupIterations(Integer.parseInt(value));
+			break;
+		case "-iterations":
+			executionContext.setMeasurementIterations(Integer.parseInt(value));
+			break;
+		case "-time":
+			executionContext.setIterationMillis(Long.parseLong(value));
+			break;
+		case "-scale":
+			executionContext.setScale(Integer.parseInt(value));
+			break;
+		case "-out":
+			executionContext.setOut(new File(value));
+			break;
+		}
+	}
+
+	@Override
+	protected void processFlag(String arg, BenchmarkContext executionContext) {
+		switch (arg) {
+		case "-list":
+			executionContext.setList(true);
+		}
+	}
+
+	@Override
+	protected BenchmarkContext createExecutionContext() {
+		return new BenchmarkContext();
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark;
+
+import java.io.File;
+import java.util.regex.Pattern;
+
+/**
+ * Execution context of the {@link BenchmarkApplication}.
+ *
+ * @author Simon Templer
+ */
+public class BenchmarkContext {
+
+	private Pattern include;
+
+	private int warmupIterations = 3;
+
+	private int measurementIterations = 5;
+
+	private long iterationMillis = 2000;
+
+	private int scale = 1;
+
+	private File out;
+
+	private boolean list;
+
+	/**
+	 * @return the pattern for the benchmarks to run, <code>null</code> for
+	 *         all benchmarks
+	 */
+	public Pattern getInclude() {
+		return include;
+	}
+
+	/**
+	 * @param include the pattern for the benchmarks to run, <code>null</code>
+	 *            for all benchmarks
+	 */
+	public void setInclude(Pattern include) {
+		this.include = include;
+	}
+
+	/**
+	 * @return the number of warmup iterations
+	 */
+	public int getWarmupIterations() {
+		return warmupIterations;
+	}
+
+	/**
+	 * @param warmupIterations the number of warmup iterations
+	 */
+	public void setWarmupIterations(int warmupIterations) {
+		this.warmupIterations = warmupIterations;
+	}
+
+	/**
+	 * @return the number of measurement iterations
+	 */
+	public int getMeasurementIterations() {
+		return measurementIterations;
+	}
+
+	/**
+	 * @param measurementIterations the number of measurement iterations
+	 */
+	public void setMeasurementIterations(int measurementIterations) {
+		this.measurementIterations = measurementIterations;
+	}
+
+	/**
+	 * @return the minimum duration of an iteration in milliseconds
+	 */
+	public long getIterationMillis() {
+		return iterationMillis;
+	}
+
+	/**
+	 * @param iterationMillis the minimum duration of an iteration in
+	 *            milliseconds
+	 */
+	public void setIterationMillis(long iterationMillis) {
+		this.iterationMillis = iterationMillis;
+	}
+
+	/**
+	 * @return the scale factor for the benchmark data
+	 */
+	public int getScale() {
+		return scale;
+	}
+
+	/**
+	 * @param scale the scale factor for the benchmark data
+	 */
+	public void setScale(int scale) {
+		this.scale = scale;
+	}
+
+	/**
+	 * @return the file to write the results to, <code>null</code> if the
+	 *         results should not be written to a file
+	 */
+	public File getOut() {
+		return out;
+	}
+
+	/**
+	 * @param out the file to write the results to
+	 */
+	public void setOut(File out) {
+		this.out = out;
+	}
+
+	/**
+	 * @return if the benchmarks should only be listed instead of run
+	 */
+	public boolean isList() {
+		return list;
+	}
+
+	/**
+	 * @param list if the benchmarks should only be listed instead of run
+	 */
+	public void setList(boolean list) {
+		this.list = list;
+	}
+
+}
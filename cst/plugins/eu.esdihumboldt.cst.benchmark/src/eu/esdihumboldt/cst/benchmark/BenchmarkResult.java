@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a benchmark run. The result can be converted to the JSON
+ * structure used by JMH, so existing tools for comparing and visualizing JMH
+ * results can be used.
+ *
+ * @author Simon Templer
+ */
+public class BenchmarkResult {
+
+	/**
+	 * Name of the secondary metric for the allocated memory per operation, as
+	 * reported by the JMH GC profiler.
+	 */
+	public static final String ALLOCATION_METRIC = "\u00B7gc.alloc.rate.norm";
+
+	/**
+	 * Two-sided 99.9% quantiles of the Student's t-distribution for 1 to 30
+	 * degrees of freedom.
+	 */
+	private static final double[] T_QUANTILES = { 636.619, 31.599, 12.924, 8.610, 6.869,
+			5.959, 5.408, 5.041, 4.781, 4.587, 4.437, 4.318, 4.221, 4.140, 4.073, 4.015, 3.965,
+			3.922, 3.883, 3.850, 3.819, 3.792, 3.768, 3.745, 3.725, 3.707, 3.690, 3.674, 3.659,
+			3.646 };
+
+	private static final double[] PERCENTILES = { 0.0, 50.0, 90.0, 95.0, 99.0, 99.9, 99.99,
+			99.999, 99.9999, 100.0 };
+
+	private final Benchmark benchmark;
+
+	private final BenchmarkRunner runner;
+
+	private final double[] scores;
+
+	private final double[] allocations;
+
+	/**
+	 * Create a benchmark result.
+	 *
+	 * @param benchmark the benchmark
+	 * @param runner the runner that executed the benchmark
+	 * @param scores the throughput of each measurement iteration in
+	 *            operations per second
+	 * @param allocations the allocated bytes per operation of each
+	 *            measurement iteration, <code>null</code> if not available
+	 */
+	public BenchmarkResult(Benchmark benchmark, BenchmarkRunner runner, double[] scores,
+			double[] allocations) {
+		this.benchmark = benchmark;
+		this.runner = runner;
+		this.scores = scores;
+		this.allocations = allocations;
+	}
+
+	/**
+	 * @return the benchmark
+	 */
+	public Benchmark getBenchmark() {
+		return benchmark;
+	}
+
+	/**
+	 * @return the mean throughput in operations per second
+	 */
+	public double getScore() {
+		return mean(scores);
+	}
+
+	/**
+	 * @return the half-width of the 99.9% confidence interval of the
+	 *         throughput
+	 */
+	public double getScoreError() {
+		return error(scores);
+	}
+
+	/**
+	 * @return the mean number of bytes allocated per operation, or
+	 *         {@link Double#NaN} if not available
+	 */
+	public double getAllocationPerOperation() {
+		if (allocations == null) {
+			return Double.NaN;
+		}
+		return mean(allocations);
+	}
+
+	/**
+	 * Convert the result to the JSON structure used by JMH.
+	 *
+	 * @return the result as map to be serialized to JSON
+	 */
+	public Map<String, Object> toJmhJson() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("jmhVersion", "hale");
+		result.put("benchmark", benchmark.getName());
+		result.put("mode", "thrpt");
+		result.put("threads", 1);
+		result.put("forks", 0);
+		result.put("jvm", System.getProperty("java.home"));
+		result.put("jvmArgs", new ArrayList<>());
+		result.put("jdkVersion", System.getProperty("java.version"));
+		result.put("vmName", System.getProperty("java.vm.name"));
+		result.put("vmVersion", System.getProperty("java.vm.version"));
+		result.put("warmupIterations", runner.getWarmupIterations());
+		result.put("warmupTime", runner.getIterationMillis() + " ms");
+		result.put("warmupBatchSize", 1);
+		result.put("measurementIterations", runner.getMeasurementIterations());
+		result.put("measurementTime", runner.getIterationMillis() + " ms");
+		result.put("measurementBatchSize", 1);
+		Map<String, String> params = new LinkedHashMap<>(benchmark.getParameters());
+		params.put("scale", String.valueOf(runner.getScale()));
+		result.put("params", params);
+		result.put("primaryMetric", metric(scores, "ops/s"));
+
+		Map<String, Object> secondary = new LinkedHashMap<>();
+		if (allocations != null) {
+			secondary.put(ALLOCATION_METRIC, metric(allocations, "B/op"));
+		}
+		result.put("secondaryMetrics", secondary);
+		return result;
+	}
+
+	private static Map<String, Object> metric(double[] values, String unit) {
+		Map<String, Object> metric = new LinkedHashMap<>();
+		double score = mean(values);
+		double error = error(values);
+		metric.put("score", number(score));
+		metric.put("scoreError", number(error));
+		metric.put("scoreConfidence", Arrays.asList(number(score - error), number(score + error)));
+
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		Map<String, Object> percentiles = new LinkedHashMap<>();
+		for (double percentile : PERCENTILES) {
+			percentiles.put(String.valueOf(percentile), number(percentile(sorted, percentile)));
+		}
+		metric.put("scorePercentiles", percentiles);
+		metric.put("scoreUnit", unit);
+
+		// one fork with all iterations
+		List<Double> raw = new ArrayList<>(values.length);
+		for (double value : values) {
+			raw.add(value);
+		}
+		List<List<Double>> rawData = new ArrayList<>();
+		rawData.add(raw);
+		metric.put("rawData", rawData);
+		return metric;
+	}
+
+	/**
+	 * Represent a number like JMH does in JSON, where <code>NaN</code> is
+	 * written as string.
+	 *
+	 * @param value the number
+	 * @return the value to serialize
+	 */
+	private static Object number(double value) {
+		if (Double.isNaN(value)) {
+			return "NaN";
+		}
+		return value;
+	}
+
+	private static double mean(double[] values) {
+		if (values.length == 0) {
+			return Double.NaN;
+		}
+		double sum = 0;
+		for (double value : values) {
+			sum += value;
+		}
+		return sum / values.length;
+	}
+
+	/**
+	 * Determine the half-width of the 99.9% confidence interval of the mean.
+	 *
+	 * @param values the sample values
+	 * @return the half-width of the confidence interval or {@link Double#NaN}
+	 *         if there are not enough values
+	 */
+	static double error(double[] values) {
+		int n = values.length;
+		if (n < 2) {
+			return Double.NaN;
+		}
+		double mean = mean(values);
+		double squares = 0;
+		for (double value : values) {
+			squares += (value - mean) * (value - mean);
+		}
+		double stdDev = Math.sqrt(squares / (n - 1));
+		return tQuantile(n - 1) * stdDev / Math.sqrt(n);
+	}
+
+	private static double tQuantile(int degreesOfFreedom) {
+		if (degreesOfFreedom <= T_QUANTILES.length) {
+			return T_QUANTILES[degreesOfFreedom - 1];
+		}
+		// approaches the normal distribution quantile
+		return 3.291 + (T_QUANTILES[T_QUANTILES.length - 1] - 3.291) * T_QUANTILES.length
+				/ degreesOfFreedom;
+	}
+
+	private static double percentile(double[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return Double.NaN;
+		}
+		double position = percentile / 100 * (sorted.length - 1);
+		int lower = (int) Math.floor(position);
+		int upper = (int) Math.ceil(position);
+		return sorted[lower] + (sorted[upper] - sorted[lower]) * (position - lower);
+	}
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.util.ThreadAllocation;
+
+/**
+ * Runs benchmarks in throughput mode. Each benchmark is invoked repeatedly
+ * for a number of warmup iterations, whose results are discarded, followed
+ * by the measurement iterations. Each iteration lasts at least the configured
+ * time.<br>
+ * <br>
+ * The memory allocated per operation is determined from the memory
+ * allocated by all live threads, if supported by the JVM. Memory allocated by
+ * threads that terminate during an iteration is not accounted for.
+ *
+ * @author Simon Templer
+ */
+public class BenchmarkRunner {
+
+	private static final ALogger log = ALoggerFactory.getLogger(BenchmarkRunner.class);
+
+	private final int warmupIterations;
+
+	private final int measurementIterations;
+
+	private final long iterationMillis;
+
+	private final int scale;
+
+	/**
+	 * Result of the last invocation, so it is not eliminated as dead code.
+	 */
+	private volatile int sink;
+
+	/**
+	 * Create a benchmark runner.
+	 *
+	 * @param warmupIterations the number of warmup iterations
+	 * @param measurementIterations the number of measurement iterations
+	 * @param iterationMillis the minimum duration of an iteration in
+	 *            milliseconds
+	 * @param scale the scale factor for the benchmark data
+	 */
+	public BenchmarkRunner(int warmupIterations, int measurementIterations,
+			long iterationMillis, int scale) {
+		this.warmupIterations = warmupIterations;
+		this.measurementIterations = measurementIterations;
+		this.iterationMillis = iterationMillis;
+		this.scale = scale;
+	}
+
+	/**
+	 * Run a benchmark.
+	 *
+	 * @param benchmark the benchmark
+	 * @return the benchmark result
+	 * @throws Exception if setting up or running the benchmark fails
+	 */
+	public BenchmarkResult run(Benchmark benchmark) throws Exception {
+		log.info("Running benchmark " + benchmark);
+
+		benchmark.setUp(scale);
+		try {
+			for (int i = 0; i < warmupIterations; i++) {
+				double[] result = iteration(benchmark);
+				log.info("Warmup iteration {}: {} ops/s", i + 1, format(result[0]));
+			}
+
+			double[] scores = new double[measurementIterations];
+			double[] allocations = (!ThreadAllocation.isSupported()) ? (null)
+					: (new double[measurementIterations]);
+			for (int i = 0; i < measurementIterations; i++) {
+				double[] result = iteration(benchmark);
+				scores[i] = result[0];
+				if (allocations != null) {
+					allocations[i] = result[1];
+				}
+				log.info("Iteration {}: {} ops/s", i + 1, format(result[0]));
+			}
+
+			return new BenchmarkResult(benchmark, this, scores, allocations);
+		} finally {
+			benchmark.tearDown();
+		}
+	}
+
+	/**
+	 * Run a single iteration.
+	 *
+	 * @param benchmark the benchmark
+	 * @return the throughput in operations per second and the allocated bytes
+	 *         per operation
+	 * @throws Exception if running the benchmark fails
+	 */
+	private double[] iteration(Benchmark benchmark) throws Exception {
+		// reduce the influence of garbage from the previous iteration
+		System.gc();
+
+		long allocatedStart = ThreadAllocation.getLiveThreadsAllocatedBytes();
+		long start = System.nanoTime();
+		long deadline = start + iterationMillis * 1000000;
+		long operations = 0;
+		long now;
+		do {
+			consume(benchmark.run());
+			operations += benchmark.getOperationsPerInvocation();
+			now = System.nanoTime();
+		} while (now < deadline);
+		long allocated = ThreadAllocation.getLiveThreadsAllocatedBytes() - allocatedStart;
+
+		return new double[] { operations * 1e9 / (now - start),
+				(double) allocated / operations };
+	}
+
+	private void consume(Object result) {
+		// identity hash code, as hashCode may be expensive, e.g. for lists
+		sink ^= System.identityHashCode(result);
+	}
+
+	/**
+	 * @return the number of warmup iterations
+	 */
+	public int getWarmupIterations() {
+		return warmupIterations;
+	}
+
+	/**
+	 * @return the number of measurement iterations
+	 */
+	public int getMeasurementIterations() {
+		return measurementIterations;
+	}
+
+	/**
+	 * @return the minimum duration of an iteration in milliseconds
+	 */
+	public long getIterationMillis() {
+		return iterationMillis;
+	}
+
+	/**
+	 * @return the scale factor for the benchmark data
+	 */
+	public int getScale() {
+		return scale;
+	}
+
+	private static String format(double value) {
+		return String.format("%.3f", value);
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import eu.esdihumboldt.cst.benchmark.instance.InstanceAccessBenchmark;
+import eu.esdihumboldt.cst.benchmark.instance.PropertyResolverBenchmark;
+import eu.esdihumboldt.cst.benchmark.instance.SerializationBenchmark;
+import eu.esdihumboldt.cst.benchmark.io.XmlInstanceIOBenchmark;
+import eu.esdihumboldt.cst.benchmark.transformation.PartitionBenchmark;
+import eu.esdihumboldt.cst.benchmark.transformation.TransformationBenchmark;
+import eu.esdihumboldt.cst.test.TransformationExamples;
+
+/**
+ * The available benchmarks.
+ *
+ * @author Simon Templer
+ */
+public class Benchmarks {
+
+	/**
+	 * Transformation examples used for benchmarking the transformation,
+	 * covering type functions and frequently used property functions.
+	 */
+	private static final String[] TRANSFORMATION_EXAMPLES = {
+			TransformationExamples.SIMPLE_RENAME, TransformationExamples.CARD_RENAME,
+			TransformationExamples.STRUCTURAL_RENAME_1, TransformationExamples.PROPERTY_JOIN,
+			TransformationExamples.MERGE, TransformationExamples.MATH_EXPRESSION,
+			TransformationExamples.REGEX_ANALYSIS, TransformationExamples.CLASSIFICATION_1,
+			TransformationExamples.FORMATSTRING, TransformationExamples.GROOVY1 };
+
+	/**
+	 * Create all benchmarks.
+	 *
+	 * @return the list of benchmarks
+	 */
+	public static List<Benchmark> createAll() {
+		List<Benchmark> benchmarks = new ArrayList<>();
+
+		for (String example : TRANSFORMATION_EXAMPLES) {
+			benchmarks.add(new TransformationBenchmark(example));
+		}
+		benchmarks.add(new PartitionBenchmark(TransformationExamples.PROPERTY_JOIN));
+		benchmarks.add(new PartitionBenchmark(TransformationExamples.MERGE));
+
+		for (InstanceAccessBenchmark.Implementation implementation : InstanceAccessBenchmark.Implementation
+				.values()) {
+			benchmarks.add(new InstanceAccessBenchmark(implementation));
+		}
+		benchmarks.add(new PropertyResolverBenchmark("name"));
+		benchmarks.add(new PropertyResolverBenchmark("address.street"));
+		for (SerializationBenchmark.Kind kind : SerializationBenchmark.Kind.values()) {
+			benchmarks.add(new SerializationBenchmark(kind));
+		}
+
+		for (XmlInstanceIOBenchmark.Operation operation : XmlInstanceIOBenchmark.Operation
+				.values()) {
+			benchmarks.add(
+					new XmlInstanceIOBenchmark(TransformationExamples.SIMPLE_RENAME, operation));
+			benchmarks.add(
+					new XmlInstanceIOBenchmark(TransformationExamples.PROPERTY_JOIN, operation));
+		}
+
+		return benchmarks;
+	}
+
+	/**
+	 * Create the benchmarks matching a pattern.
+	 *
+	 * @param include the pattern that the benchmark name or its string
+	 *            representation including the parameters must contain a match
+	 *            for, <code>null</code> to include all benchmarks
+	 * @return the list of matching benchmarks
+	 */
+	public static List<Benchmark> create(Pattern include) {
+		List<Benchmark> benchmarks = createAll();
+		if (include != null) {
+			benchmarks.removeIf(benchmark -> !include.matcher(benchmark.toString()).find());
+		}
+		return benchmarks;
+	}
+
+}
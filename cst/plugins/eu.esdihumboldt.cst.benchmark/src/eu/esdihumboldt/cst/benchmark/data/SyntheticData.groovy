@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark.data
+
+import javax.xml.namespace.QName
+
+import com.vividsolutions.jts.geom.Coordinate
+import com.vividsolutions.jts.geom.Geometry
+import com.vividsolutions.jts.geom.GeometryFactory
+
+import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty
+import eu.esdihumboldt.hale.common.instance.geometry.impl.CodeDefinition
+import eu.esdihumboldt.hale.common.instance.groovy.InstanceBuilder
+import eu.esdihumboldt.hale.common.instance.model.Instance
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance
+import eu.esdihumboldt.hale.common.schema.groovy.SchemaBuilder
+import eu.esdihumboldt.hale.common.schema.model.Schema
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition
+
+
+/**
+ * Generates synthetic data for benchmarks. The data is generated from a
+ * fixed seed, so every run of a benchmark processes the same data.
+ *
+ * @author Simon Templer
+ */
+class SyntheticData {
+
+	/**
+	 * Namespace of the synthetic schema.
+	 */
+	static final String NAMESPACE = 'http://www.esdi-humboldt.eu/hale/benchmark'
+
+	private static final def STREETS = ['Fraunhoferstrasse', 'Rundeturmstrasse', 'Hauptstrasse', 'Am Markt', 'Bahnhofstrasse']
+
+	private static final def CITIES = ['Darmstadt', 'Frankfurt', 'Mainz', 'Wiesbaden', 'Heidelberg']
+
+	private static final def TAGS = ['red', 'green', 'blue', 'yellow']
+
+	private static final long SEED = 42
+
+	/**
+	 * The synthetic schema.
+	 */
+	final Schema schema
+
+	/**
+	 * The person type of the synthetic schema.
+	 */
+	final TypeDefinition personType
+
+	private final GeometryFactory geometryFactory = new GeometryFactory()
+
+	private final CodeDefinition crs = new CodeDefinition('EPSG:4326', null)
+
+	/**
+	 * Create the synthetic schema.
+	 */
+	SyntheticData() {
+		schema = new SchemaBuilder().schema(NAMESPACE) {
+			Person {
+				id()
+				name()
+				age(Integer)
+				height(Double)
+				birthDate(Date)
+				address(cardinality: '0..n') {
+					street()
+					number(Integer)
+					city()
+					postCode()
+				}
+				tag(cardinality: '0..n')
+				location(DefaultGeometryProperty)
+			}
+		}
+		personType = schema.getType(new QName(NAMESPACE, 'Person'))
+	}
+
+	/**
+	 * Create person instances.
+	 *
+	 * @param count the number of instances to create
+	 * @return the created instances
+	 */
+	List<Instance> createPersons(int count) {
+		Random random = new Random(SEED)
+		InstanceBuilder builder = new InstanceBuilder(types: schema)
+
+		(0..<count).collect { int index ->
+			double x = random.nextDouble() * 10 + 5
+			double y = random.nextDouble() * 10 + 45
+			def point = geometryFactory.createPoint(new Coordinate(x, y))
+			def geometry = new DefaultGeometryProperty<Geometry>(crs, point)
+
+			builder.Person {
+				id "person.$index".toString()
+				name "Person $index".toString()
+				age random.nextInt(100)
+				height 1.5 + random.nextDouble() * 0.5
+				birthDate new Date(random.nextInt(Integer.MAX_VALUE) * 1000L)
+				(1 + random.nextInt(3)).times {
+					address {
+						street STREETS[random.nextInt(STREETS.size())]
+						number random.nextInt(200)
+						city CITIES[random.nextInt(CITIES.size())]
+						postCode String.format('%05d', random.nextInt(100000))
+					}
+				}
+				random.nextInt(TAGS.size()).times { tag TAGS[it] }
+				location geometry
+			}
+		}
+	}
+
+	/**
+	 * Scale the instances of a collection by copying them.
+	 *
+	 * @param instances the instances to copy
+	 * @param scale the number of copies of each instance
+	 * @return the list of instance copies
+	 */
+	static List<Instance> scale(InstanceCollection instances, int scale) {
+		List<Instance> result = []
+		ResourceIterator<Instance> it = instances.iterator()
+		try {
+			while (it.hasNext()) {
+				Instance instance = it.next()
+				scale.times { result << new DefaultInstance(instance) }
+			}
+		} finally {
+			it.close()
+		}
+		result
+	}
+}
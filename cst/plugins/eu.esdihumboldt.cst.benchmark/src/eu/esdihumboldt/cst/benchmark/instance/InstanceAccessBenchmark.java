@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark.instance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import eu.esdihumboldt.cst.benchmark.AbstractBenchmark;
+import eu.esdihumboldt.cst.benchmark.data.SyntheticData;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.instance.orient.OInstance;
+
+/**
+ * Benchmarks reading all property values of {@link DefaultInstance}s or
+ * {@link OInstance}s, including the values of nested instances. An operation
+ * is reading all values of an instance.
+ *
+ * @author Simon Templer
+ */
+public class InstanceAccessBenchmark extends AbstractBenchmark {
+
+	/**
+	 * Instance implementation.
+	 */
+	public enum Implementation {
+		/** {@link DefaultInstance} */
+		DEFAULT,
+		/** {@link OInstance} */
+		ORIENT
+	}
+
+	private static final int INSTANCES = 1000;
+
+	private final Implementation implementation;
+
+	private List<Instance> instances;
+
+	/**
+	 * Create an instance access benchmark.
+	 *
+	 * @param implementation the instance implementation
+	 */
+	public InstanceAccessBenchmark(Implementation implementation) {
+		super("getProperty");
+		this.implementation = implementation;
+		setParameter("implementation", implementation.name().toLowerCase());
+	}
+
+	@Override
+	public void setUp(int scale) throws Exception {
+		List<Instance> persons = new SyntheticData().createPersons(INSTANCES * scale);
+		switch (implementation) {
+		case ORIENT:
+			instances = new ArrayList<>(persons.size());
+			for (Instance person : persons) {
+				instances.add(new OInstance(person));
+			}
+			break;
+		case DEFAULT:
+		default:
+			instances = persons;
+		}
+	}
+
+	@Override
+	public long getOperationsPerInvocation() {
+		return instances.size();
+	}
+
+	@Override
+	public Object run() throws Exception {
+		long values = 0;
+		for (Instance instance : instances) {
+			values += readAll(instance);
+		}
+		return values;
+	}
+
+	/**
+	 * Read all property values of an instance.
+	 *
+	 * @param instance the instance
+	 * @return the number of values read
+	 */
+	static long readAll(Instance instance) {
+		long count = 0;
+		for (QName name : instance.getPropertyNames()) {
+			Object[] values = instance.getProperty(name);
+			if (values != null) {
+				for (Object value : values) {
+					if (value instanceof Instance) {
+						count += readAll((Instance) value);
+					}
+					else if (value != null) {
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		instances = null;
+	}
+
+}
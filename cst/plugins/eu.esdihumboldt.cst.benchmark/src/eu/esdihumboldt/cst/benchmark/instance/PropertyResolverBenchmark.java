@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark.instance;
+
+import java.util.Collection;
+import java.util.List;
+
+import eu.esdihumboldt.cst.benchmark.AbstractBenchmark;
+import eu.esdihumboldt.cst.benchmark.data.SyntheticData;
+import eu.esdihumboldt.hale.common.instance.helper.PropertyResolver;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+
+/**
+ * Benchmarks resolving a property path on instances with the
+ * {@link PropertyResolver}. An operation is resolving the path on an
+ * instance.
+ *
+ * @author Simon Templer
+ */
+public class PropertyResolverBenchmark extends AbstractBenchmark {
+
+	private static final int INSTANCES = 1000;
+
+	private final String path;
+
+	private List<Instance> instances;
+
+	/**
+	 * Create a property resolver benchmark.
+	 *
+	 * @param path the property path to resolve on the synthetic person
+	 *            instances
+	 */
+	public PropertyResolverBenchmark(String path) {
+		super("getValues");
+		this.path = path;
+		setParameter("path", path);
+	}
+
+	@Override
+	public void setUp(int scale) throws Exception {
+		instances = new SyntheticData().createPersons(INSTANCES * scale);
+	}
+
+	@Override
+	public long getOperationsPerInvocation() {
+		return instances.size();
+	}
+
+	@Override
+	public Object run() throws Exception {
+		long values = 0;
+		for (Instance instance : instances) {
+			Collection<Object> result = PropertyResolver.getValues(instance, path);
+			if (result != null) {
+				values += result.size();
+			}
+		}
+		return values;
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		instances = null;
+	}
+
+}
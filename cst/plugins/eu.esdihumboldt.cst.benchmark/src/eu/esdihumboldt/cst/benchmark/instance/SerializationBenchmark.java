@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark.instance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import com.orientechnologies.orient.core.record.impl.ODocument;
+
+import eu.esdihumboldt.cst.benchmark.AbstractBenchmark;
+import eu.esdihumboldt.cst.benchmark.data.SyntheticData;
+import eu.esdihumboldt.hale.common.core.report.SimpleLog;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.orient.OInstance;
+import eu.esdihumboldt.hale.common.instance.orient.internal.OSerializationHelper;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Benchmarks converting values and instances to their database
+ * representation with the {@link OSerializationHelper} and back. An
+ * operation is the round trip of a value or an instance.
+ *
+ * @author Simon Templer
+ */
+public class SerializationBenchmark extends AbstractBenchmark {
+
+	/**
+	 * The kind of objects converted.
+	 */
+	public enum Kind {
+		/** Property values, e.g. strings, numbers, dates and geometries */
+		VALUES,
+		/** Instances including nested instances */
+		INSTANCES
+	}
+
+	private static final int INSTANCES = 1000;
+
+	private final Kind kind;
+
+	private TypeDefinition type;
+
+	private List<Object> objects;
+
+	/**
+	 * Create a serialization benchmark.
+	 *
+	 * @param kind the kind of objects converted
+	 */
+	public SerializationBenchmark(Kind kind) {
+		super("convert");
+		this.kind = kind;
+		setParameter("kind", kind.name().toLowerCase());
+	}
+
+	@Override
+	public void setUp(int scale) throws Exception {
+		SyntheticData data = new SyntheticData();
+		type = data.getPersonType();
+		List<Instance> persons = data.createPersons(INSTANCES * scale);
+
+		objects = new ArrayList<>();
+		switch (kind) {
+		case INSTANCES:
+			objects.addAll(persons);
+			break;
+		case VALUES:
+		default:
+			for (Instance person : persons) {
+				collectValues(person, objects);
+			}
+		}
+	}
+
+	private static void collectValues(Instance instance, List<Object> values) {
+		for (QName name : instance.getPropertyNames()) {
+			for (Object value : instance.getProperty(name)) {
+				if (value instanceof Instance) {
+					collectValues((Instance) value, values);
+				}
+				else if (value != null) {
+					values.add(value);
+				}
+			}
+		}
+	}
+
+	@Override
+	public long getOperationsPerInvocation() {
+		return objects.size();
+	}
+
+	@Override
+	public Object run() throws Exception {
+		long count = 0;
+		for (Object object : objects) {
+			Object converted = OSerializationHelper.convertForDB(object, SimpleLog.NO_LOG);
+			if (kind == Kind.INSTANCES) {
+				// reading the properties converts the values back
+				count += InstanceAccessBenchmark.readAll(
+						new OInstance((ODocument) converted, type, null, null));
+			}
+			else if (OSerializationHelper.convertFromDB(converted, null, null) != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		type = null;
+		objects = null;
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark.io;
+
+import java.io.File;
+import java.io.IOException;
+
+import eu.esdihumboldt.cst.benchmark.AbstractBenchmark;
+import eu.esdihumboldt.cst.benchmark.data.SyntheticData;
+import eu.esdihumboldt.cst.test.TransformationExample;
+import eu.esdihumboldt.cst.test.TransformationExamples;
+import eu.esdihumboldt.hale.common.core.io.Value;
+import eu.esdihumboldt.hale.common.core.io.report.IOReport;
+import eu.esdihumboldt.hale.common.core.io.supplier.DefaultInputSupplier;
+import eu.esdihumboldt.hale.common.core.io.supplier.FileIOSupplier;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceCollection;
+import eu.esdihumboldt.hale.common.schema.model.Schema;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultSchemaSpace;
+import eu.esdihumboldt.hale.io.gml.reader.internal.XmlInstanceReader;
+import eu.esdihumboldt.hale.io.gml.writer.XmlInstanceWriter;
+import eu.esdihumboldt.hale.io.gml.writer.XmlWriterBase;
+
+/**
+ * Benchmarks writing and reading the target instances of a transformation
+ * example as XML with the stream based GML writer and reader. The instances
+ * are copied according to the scale. An operation is writing or reading an
+ * instance.
+ *
+ * @author Simon Templer
+ */
+public class XmlInstanceIOBenchmark extends AbstractBenchmark {
+
+	/**
+	 * The benchmarked operation.
+	 */
+	public enum Operation {
+		/** Write the instances to a file */
+		WRITE,
+		/** Read all instances from a file */
+		READ
+	}
+
+	private final String exampleId;
+
+	private final Operation operation;
+
+	private TransformationExample example;
+
+	private DefaultInstanceCollection instances;
+
+	private File file;
+
+	/**
+	 * Create a benchmark for writing or reading instances.
+	 *
+	 * @param exampleId the identifier of the transformation example, see
+	 *            {@link TransformationExamples}
+	 * @param operation the benchmarked operation
+	 */
+	public XmlInstanceIOBenchmark(String exampleId, Operation operation) {
+		super(operation.name().toLowerCase());
+		this.exampleId = exampleId;
+		this.operation = operation;
+		setParameter("example", exampleId);
+	}
+
+	@Override
+	public void setUp(int scale) throws Exception {
+		example = TransformationExamples.getExample(exampleId);
+		instances = new DefaultInstanceCollection(
+				SyntheticData.scale(example.getTargetInstances(), scale));
+		file = File.createTempFile("benchmark", ".xml");
+		file.deleteOnExit();
+
+		if (operation == Operation.READ) {
+			write();
+		}
+	}
+
+	@Override
+	public long getOperationsPerInvocation() {
+		return instances.size();
+	}
+
+	@Override
+	public Object run() throws Exception {
+		switch (operation) {
+		case READ:
+			return read();
+		case WRITE:
+		default:
+			return write();
+		}
+	}
+
+	private IOReport write() throws Exception {
+		XmlInstanceWriter writer = new XmlInstanceWriter();
+		writer.setInstances(instances);
+		writer.setTargetSchema(new DefaultSchemaSpace().addSchema(example.getTargetSchema()));
+		if (example.getTargetContainerNamespace() != null) {
+			writer.setParameter(XmlWriterBase.PARAM_ROOT_ELEMENT_NAMESPACE,
+					Value.of(example.getTargetContainerNamespace()));
+		}
+		writer.setParameter(XmlWriterBase.PARAM_ROOT_ELEMENT_NAME,
+				Value.of(example.getTargetContainerName()));
+		writer.setTarget(new FileIOSupplier(file));
+
+		IOReport report = writer.execute(null);
+		if (!report.isSuccess()) {
+			throw new IllegalStateException("Writing the instances failed");
+		}
+		return report;
+	}
+
+	private long read() throws Exception {
+		Schema schema = example.getTargetSchema();
+		XmlInstanceReader reader = new XmlInstanceReader();
+		reader.setSource(new DefaultInputSupplier(file.toURI()));
+		reader.setSourceSchema(schema);
+		IOReport report = reader.execute(null);
+		if (!report.isSuccess()) {
+			throw new IllegalStateException("Reading the instances failed");
+		}
+
+		long count = 0;
+		try (ResourceIterator<Instance> it = reader.getInstances().iterator()) {
+			while (it.hasNext()) {
+				it.next();
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public void tearDown() throws IOException {
+		example = null;
+		instances = null;
+		if (file != null) {
+			file.delete();
+			file = null;
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark.transformation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import eu.esdihumboldt.cst.benchmark.AbstractBenchmark;
+import eu.esdihumboldt.cst.benchmark.data.SyntheticData;
+import eu.esdihumboldt.cst.functions.core.join.JoinHandler;
+import eu.esdihumboldt.cst.functions.core.merge.PropertiesMergeHandler;
+import eu.esdihumboldt.cst.test.TransformationExample;
+import eu.esdihumboldt.cst.test.TransformationExamples;
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.model.Entity;
+import eu.esdihumboldt.hale.common.align.model.functions.JoinFunction;
+import eu.esdihumboldt.hale.common.align.model.functions.MergeFunction;
+import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine;
+import eu.esdihumboldt.hale.common.align.transformation.function.InstanceHandler;
+import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
+import eu.esdihumboldt.hale.common.align.transformation.report.impl.CellLog;
+import eu.esdihumboldt.hale.common.align.transformation.report.impl.DefaultTransformationReporter;
+import eu.esdihumboldt.hale.common.instance.model.FamilyInstance;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceCollection;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Benchmarks partitioning the source instances for a join or merge type
+ * cell of a transformation example, using the {@link JoinHandler} or the
+ * {@link PropertiesMergeHandler}. The source instances of the example are
+ * copied according to the scale. An operation is the partitioning of a
+ * source instance.
+ *
+ * @author Simon Templer
+ */
+public class PartitionBenchmark extends AbstractBenchmark {
+
+	private final String exampleId;
+
+	private Cell cell;
+
+	private InstanceHandler<TransformationEngine> handler;
+
+	private DefaultInstanceCollection source;
+
+	private TransformationLog log;
+
+	/**
+	 * Create a partition benchmark.
+	 *
+	 * @param exampleId the identifier of the transformation example, see
+	 *            {@link TransformationExamples}, its alignment must contain a
+	 *            join or merge type cell
+	 */
+	public PartitionBenchmark(String exampleId) {
+		super("partition");
+		this.exampleId = exampleId;
+		setParameter("example", exampleId);
+	}
+
+	@Override
+	public void setUp(int scale) throws Exception {
+		TransformationExample example = TransformationExamples.getExample(exampleId);
+
+		for (Cell typeCell : example.getAlignment().getActiveTypeCells()) {
+			switch (typeCell.getTransformationIdentifier()) {
+			case JoinFunction.ID:
+				handler = new JoinHandler();
+				break;
+			case MergeFunction.ID:
+				handler = new PropertiesMergeHandler();
+				break;
+			default:
+				continue;
+			}
+			cell = typeCell;
+			break;
+		}
+		if (cell == null) {
+			throw new IllegalStateException(
+					"No join or merge type cell in example " + exampleId);
+		}
+
+		// only the instances of the cell's source types
+		Set<TypeDefinition> types = new HashSet<>();
+		for (Entity entity : cell.getSource().values()) {
+			types.add(entity.getDefinition().getType());
+		}
+		List<Instance> instances = new ArrayList<>();
+		for (Instance instance : SyntheticData.scale(example.getSourceInstances(), scale)) {
+			if (types.contains(instance.getDefinition())) {
+				instances.add(instance);
+			}
+		}
+		source = new DefaultInstanceCollection(instances);
+
+		log = new CellLog(new DefaultTransformationReporter("Partition benchmark", false), cell);
+	}
+
+	@Override
+	public long getOperationsPerInvocation() {
+		return source.size();
+	}
+
+	@Override
+	public Object run() throws Exception {
+		int partitions = 0;
+		try (ResourceIterator<FamilyInstance> it = handler.partitionInstances(source,
+				cell.getTransformationIdentifier(), null, cell.getTransformationParameters(),
+				null, log)) {
+			while (it.hasNext()) {
+				it.next();
+				partitions++;
+			}
+		}
+		return partitions;
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		cell = null;
+		handler = null;
+		source = null;
+		log = null;
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.benchmark.transformation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import eu.esdihumboldt.cst.ConceptualSchemaTransformer;
+import eu.esdihumboldt.cst.benchmark.AbstractBenchmark;
+import eu.esdihumboldt.cst.benchmark.data.SyntheticData;
+import eu.esdihumboldt.cst.test.TransformationExample;
+import eu.esdihumboldt.cst.test.TransformationExamples;
+import eu.esdihumboldt.hale.common.align.model.Alignment;
+import eu.esdihumboldt.hale.common.align.service.FunctionService;
+import eu.esdihumboldt.hale.common.align.service.TransformationFunctionService;
+import eu.esdihumboldt.hale.common.align.service.impl.AlignmentFunctionService;
+import eu.esdihumboldt.hale.common.align.service.impl.AlignmentTransformationFunctionService;
+import eu.esdihumboldt.hale.common.align.transformation.service.impl.DefaultInstanceSink;
+import eu.esdihumboldt.hale.common.align.transformation.service.impl.ThreadSafeInstanceSink;
+import eu.esdihumboldt.hale.common.core.io.impl.NullProgressIndicator;
+import eu.esdihumboldt.hale.common.core.service.ServiceManager;
+import eu.esdihumboldt.hale.common.core.service.ServiceProvider;
+import eu.esdihumboldt.hale.common.instance.index.InstanceIndexService;
+import eu.esdihumboldt.hale.common.instance.index.InstanceIndexServiceImpl;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceCollection;
+
+/**
+ * Benchmarks the {@link ConceptualSchemaTransformer} with the alignment of a
+ * transformation example. The source instances of the example are copied
+ * according to the scale. An operation is the transformation of a source
+ * instance.
+ *
+ * @author Simon Templer
+ */
+public class TransformationBenchmark extends AbstractBenchmark {
+
+	private final String exampleId;
+
+	private Alignment alignment;
+
+	private DefaultInstanceCollection source;
+
+	private ServiceProvider serviceProvider;
+
+	/**
+	 * Create a transformation benchmark.
+	 *
+	 * @param exampleId the identifier of the transformation example, see
+	 *            {@link TransformationExamples}
+	 */
+	public TransformationBenchmark(String exampleId) {
+		super("transform");
+		this.exampleId = exampleId;
+		setParameter("example", exampleId);
+	}
+
+	@Override
+	public void setUp(int scale) throws Exception {
+		TransformationExample example = TransformationExamples.getExample(exampleId);
+		alignment = example.getAlignment();
+		source = new DefaultInstanceCollection(
+				SyntheticData.scale(example.getSourceInstances(), scale));
+
+		final Map<Class<?>, Object> customServices = new HashMap<>();
+		customServices.put(FunctionService.class, new AlignmentFunctionService(alignment));
+		customServices.put(TransformationFunctionService.class,
+				new AlignmentTransformationFunctionService(alignment));
+
+		InstanceIndexServiceImpl indexService = new InstanceIndexServiceImpl();
+		customServices.put(InstanceIndexService.class, indexService);
+
+		serviceProvider = new ServiceProvider() {
+
+			private final ServiceProvider projectScope = new ServiceManager(
+					ServiceManager.SCOPE_PROJECT);
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public <T> T getService(Class<T> serviceInterface) {
+				if (customServices.containsKey(serviceInterface)) {
+					return (T) customServices.get(serviceInterface);
+				}
+				return projectScope.getService(serviceInterface);
+			}
+		};
+
+		indexService.addPropertyMappings(alignment.getActiveTypeCells(), serviceProvider);
+		for (Instance instance : source.toList()) {
+			indexService.add(instance, source);
+		}
+	}
+
+	@Override
+	public long getOperationsPerInvocation() {
+		return source.size();
+	}
+
+	@Override
+	public Object run() throws Exception {
+		ThreadSafeInstanceSink<DefaultInstanceSink> sink = new ThreadSafeInstanceSink<>(
+				new DefaultInstanceSink());
+		new ConceptualSchemaTransformer().transform(alignment, source, sink, serviceProvider,
+				new NullProgressIndicator());
+		return sink.getDecoratee().getInstances();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		alignment = null;
+		source = null;
+		serviceProvider = null;
+	}
+
+}
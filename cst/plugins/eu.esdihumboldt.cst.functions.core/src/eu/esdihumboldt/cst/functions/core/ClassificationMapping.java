@@ -20,6 +20,7 @@ import java.util.Map;
 
 import com.google.common.collect.ListMultimap;
 
+import eu.esdihumboldt.hale.common.align.model.Cell;
 import eu.esdihumboldt.hale.common.align.model.functions.ClassificationMappingFunction;
 import eu.esdihumboldt.hale.common.align.model.functions.ClassificationMappingUtil;
 import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
@@ -42,16 +43,41 @@ public class ClassificationMapping
 		extends AbstractSingleTargetPropertyTransformation<TransformationEngine>
 		implements ClassificationMappingFunction {
 
+	/**
+	 * Lookup table and not classified action prepared for a cell.
+	 */
+	private static class PreparedClassification {
+
+		private final LookupTable lookup;
+		private final String notClassifiedAction;
+
+		public PreparedClassification(LookupTable lookup, String notClassifiedAction) {
+			this.lookup = lookup;
+			this.notClassifiedAction = notClassifiedAction;
+		}
+	}
+
+	@Override
+	public Object prepare(Cell cell, TransformationLog log) throws TransformationException {
+		LookupTable lookup = ClassificationMappingUtil.getClassificationLookup(getParameters(),
+				getExecutionContext());
+
+		String notClassifiedAction = getOptionalParameter(PARAMETER_NOT_CLASSIFIED_ACTION,
+				Value.of(USE_NULL_ACTION)).as(String.class);
+
+		return new PreparedClassification(lookup, notClassifiedAction);
+	}
+
 	@Override
 	protected Object evaluate(String transformationIdentifier, TransformationEngine engine,
 			ListMultimap<String, PropertyValue> variables, String resultName,
 			PropertyEntityDefinition resultProperty, Map<String, String> executionParameters,
 			TransformationLog log) throws TransformationException, NoResultException {
+		PreparedClassification classification = (PreparedClassification) getPreparedState();
 
 		String source = variables.values().iterator().next().getValueAs(String.class);
 
-		LookupTable lookup = ClassificationMappingUtil.getClassificationLookup(getParameters(),
-				getExecutionContext());
+		LookupTable lookup = classification.lookup;
 		if (lookup == null) {
 //			throw new TransformationException("No classification specified");
 			log.warn(log.createMessage("No classification specified", null));
@@ -64,8 +90,7 @@ public class ClassificationMapping
 			}
 		}
 
-		String notClassifiedAction = getOptionalParameter(PARAMETER_NOT_CLASSIFIED_ACTION,
-				Value.of(USE_NULL_ACTION)).as(String.class);
+		String notClassifiedAction = classification.notClassifiedAction;
 
 		if (USE_SOURCE_ACTION.equals(notClassifiedAction)) {
 			return source;
@@ -27,6 +27,7 @@ import org.springframework.core.convert.ConversionException;
 
 import com.google.common.collect.ListMultimap;
 
+import eu.esdihumboldt.hale.common.align.model.Cell;
 import eu.esdihumboldt.hale.common.align.model.functions.FormattedStringFunction;
 import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
 import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine;
@@ -45,15 +46,20 @@ public class FormattedString
 		extends AbstractSingleTargetPropertyTransformation<TransformationEngine>
 		implements FormattedStringFunction {
 
+	@Override
+	public Object prepare(Cell cell, TransformationLog log) throws TransformationException {
+		String pattern = getParameterChecked(PARAMETER_PATTERN).as(String.class);
+
+		// replace transformation variables
+		return getExecutionContext().getVariables().replaceVariables(pattern);
+	}
+
 	@Override
 	protected Object evaluate(String transformationIdentifier, TransformationEngine engine,
 			ListMultimap<String, PropertyValue> variables, String resultName,
 			PropertyEntityDefinition resultProperty, Map<String, String> executionParameters,
 			TransformationLog log) throws TransformationException, NoResultException {
-		String pattern = getParameterChecked(PARAMETER_PATTERN).as(String.class);
-
-		// replace transformation variables
-		pattern = getExecutionContext().getVariables().replaceVariables(pattern);
+		String pattern = (String) getPreparedState();
 
 		// name/value mapping
 		Map<String, Object> values = new LinkedHashMap<String, Object>();
@@ -44,8 +44,7 @@ import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.model.InstanceFactory;
 import eu.esdihumboldt.hale.common.instance.model.MutableGroup;
 import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultGroup;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceFactory;
+import eu.esdihumboldt.hale.common.instance.model.impl.SharedInstanceFactory;
 import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
 import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
 import eu.esdihumboldt.hale.common.schema.model.DefinitionUtil;
@@ -98,7 +97,8 @@ public class Rename extends AbstractSingleTargetPropertyTransformation<Transform
 		else {
 			// structural rename
 			Object result = structuralRename(sourceValue, resultProperty.getDefinition(),
-					ignoreNamespacesEnabled, new DefaultInstanceFactory(), copyGeometriesEnabled);
+					ignoreNamespacesEnabled, SharedInstanceFactory.getInstance(),
+					copyGeometriesEnabled);
 			if (result == Result.NO_MATCH)
 				return null; // source could neither be used for target value,
 								// nor any child properties
@@ -197,7 +197,7 @@ public class Rename extends AbstractSingleTargetPropertyTransformation<Transform
 										// children?
 			else {
 				// group
-				MutableGroup group = new DefaultGroup(targetDefinition.asGroup());
+				MutableGroup group = instanceFactory.createGroup(targetDefinition.asGroup());
 				if (renameChildren((Group) source, group, targetDefinition, allowIgnoreNamespaces,
 						instanceFactory, copyGeometries))
 					return group;
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.functions.geometric.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+
+import eu.esdihumboldt.cst.functions.geometric.union.CascadedUnion;
+
+/**
+ * Tests for {@link CascadedUnion}.
+ *
+ * @author Simon Templer
+ */
+public class CascadedUnionTest {
+
+	private final GeometryFactory factory = new GeometryFactory();
+
+	/**
+	 * Test the union of a grid of overlapping squares, using small batches
+	 * and buffers to exercise the cascade and the partial results.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testGrid() throws Exception {
+		List<Geometry> squares = new ArrayList<>();
+		for (int x = 0; x < 40; x++) {
+			for (int y = 0; y < 40; y++) {
+				squares.add(factory.toGeometry(new Envelope(x, x + 1.5, y, y + 1.5)));
+			}
+		}
+		// order should not matter
+		Collections.shuffle(squares, new Random(42));
+
+		CascadedUnion union = new CascadedUnion(8, 100, new ForkJoinPool(4));
+		union.addAll(squares);
+		Geometry result = union.getResult();
+
+		assertTrue(result.isValid());
+		assertEquals(1, result.getNumGeometries());
+		assertEquals(40.5 * 40.5, result.getArea(), 1e-6);
+	}
+
+	/**
+	 * Test the union of disjoint lines and points.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testMixed() throws Exception {
+		List<Geometry> geometries = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			geometries.add(factory.createLineString(
+					new Coordinate[] { new Coordinate(i * 10, 0), new Coordinate(i * 10 + 5, 0) }));
+			geometries.add(factory.createPoint(new Coordinate(i * 10, 5)));
+		}
+
+		CascadedUnion union = new CascadedUnion(4, 16, ForkJoinPool.commonPool());
+		union.addAll(geometries);
+		Geometry result = union.getResult();
+
+		assertEquals(100, result.getNumGeometries());
+		assertEquals(50 * 5, result.getLength(), 1e-6);
+	}
+
+	/**
+	 * Test that there is no result if there are no geometries.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testEmpty() throws Exception {
+		CascadedUnion union = new CascadedUnion();
+		union.addAll(Collections.emptyList());
+		assertNull(union.getResult());
+	}
+
+}
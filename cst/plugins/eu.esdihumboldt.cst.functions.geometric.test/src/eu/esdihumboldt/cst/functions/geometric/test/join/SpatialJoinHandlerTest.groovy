@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.functions.geometric.test.join
+
+import javax.xml.namespace.QName
+
+import com.google.common.collect.ArrayListMultimap
+import com.google.common.collect.ListMultimap
+import com.vividsolutions.jts.geom.Geometry
+import com.vividsolutions.jts.io.WKTReader
+
+import de.fhg.igd.geom.BoundingBox
+import de.fhg.igd.geom.Localizable
+import de.fhg.igd.geom.Verifier
+import eu.esdihumboldt.cst.functions.geometric.join.SpatialJoinFunction
+import eu.esdihumboldt.cst.functions.geometric.join.SpatialJoinHandler
+import eu.esdihumboldt.cst.functions.geometric.join.SpatialJoinParameter
+import eu.esdihumboldt.cst.functions.geometric.join.SpatialJoinParameter.SpatialJoinCondition
+import eu.esdihumboldt.cst.functions.geometric.join.SpatialRelationEvaluator.StandardRelation
+import eu.esdihumboldt.hale.common.align.model.AlignmentUtil
+import eu.esdihumboldt.hale.common.align.model.ParameterValue
+import eu.esdihumboldt.hale.common.align.model.impl.DefaultCell
+import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition
+import eu.esdihumboldt.hale.common.align.model.impl.TypeEntityDefinition
+import eu.esdihumboldt.hale.common.align.transformation.report.impl.CellLog
+import eu.esdihumboldt.hale.common.align.transformation.report.impl.DefaultTransformationReporter
+import eu.esdihumboldt.hale.common.core.io.Value
+import eu.esdihumboldt.hale.common.core.service.ServiceProvider
+import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty
+import eu.esdihumboldt.hale.common.instance.index.LocalizableInstanceReference
+import eu.esdihumboldt.hale.common.instance.index.TypedInstanceReference
+import eu.esdihumboldt.hale.common.instance.index.spatial.SpatialIndexService
+import eu.esdihumboldt.hale.common.instance.model.DataSet
+import eu.esdihumboldt.hale.common.instance.model.FamilyInstance
+import eu.esdihumboldt.hale.common.instance.model.Instance
+import eu.esdihumboldt.hale.common.instance.model.ResolvableInstanceReference
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceCollection
+import eu.esdihumboldt.hale.common.schema.SchemaSpaceID
+import eu.esdihumboldt.hale.common.schema.groovy.SchemaBuilder
+import eu.esdihumboldt.hale.common.schema.model.Schema
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition
+
+/**
+ * Tests for {@link SpatialJoinHandler}
+ *
+ * @author Simon Templer
+ */
+@SuppressWarnings("restriction")
+class SpatialJoinHandlerTest extends GroovyTestCase {
+
+	private static final QName ID = new QName('id')
+
+	private static final QName GEOM = new QName('geom')
+
+	private final WKTReader wkt = new WKTReader()
+
+	/**
+	 * Test that the joined instances are complete and in the order of the
+	 * base instances and the spatial index, also if the spatial relation is
+	 * tested in parallel.
+	 */
+	void testJoinOrder() {
+		Schema schema = new SchemaBuilder().schema {
+			BaseType {
+				id(String)
+				geom(Geometry)
+			}
+			JoinType {
+				id(String)
+				geom(Geometry)
+			}
+		}
+		TypeDefinition baseType = schema.getType(new QName('BaseType'))
+		TypeDefinition joinType = schema.getType(new QName('JoinType'))
+
+		DefaultInstanceCollection instances = new DefaultInstanceCollection()
+		List<Instance> bases = []
+		List<Instance> points = []
+
+		// the bounding box of the triangle covers all points, but only about
+		// half of them intersect it - enough candidates for parallel testing
+		bases << createInstance(baseType, 'triangle', 'POLYGON((0 0, 20 0, 0 20, 0 0))')
+		bases << createInstance(baseType, 'square', 'POLYGON((5 5, 8 5, 8 8, 5 8, 5 5))')
+		bases << createInstance(baseType, 'none', 'POLYGON((100 100, 101 100, 101 101, 100 101, 100 100))')
+		bases << createInstance(baseType, 'corners', 'POLYGON((0 0, 2 0, 2 2, 0 2, 0 0))',
+				'POLYGON((18 18, 20 18, 20 20, 18 20, 18 18))')
+		for (int x = 0; x < 20; x++) {
+			for (int y = 0; y < 20; y++) {
+				Instance point = createInstance(joinType, "$x/$y", "POINT(${x + 0.5} ${y + 0.5})")
+				points << point
+				instances.add(point)
+				if (x == 10 && y == 10) {
+					// base instances in between join instances
+					bases.each { instances.add(it) }
+				}
+			}
+		}
+
+		// spatial index order differing from the instance order
+		List<Instance> indexOrder = new ArrayList<>(points)
+		Collections.shuffle(indexOrder, new Random(42))
+		ListIndex index = new ListIndex()
+		indexOrder.each { Instance point ->
+			index.insert(new LocalizableInstanceReference(
+					new TypedInstanceReference(new ResolvableInstanceReference(
+					instances.getReference(point), instances), joinType),
+					BoundingBox.compute(point.getProperty(GEOM)[0].geometry)))
+		}
+
+		// join parameter
+		TypeEntityDefinition baseEntity = new TypeEntityDefinition(baseType, SchemaSpaceID.SOURCE, null)
+		TypeEntityDefinition joinEntity = new TypeEntityDefinition(joinType, SchemaSpaceID.SOURCE, null)
+		PropertyEntityDefinition baseGeom = AlignmentUtil.getChild(baseEntity, GEOM)
+		PropertyEntityDefinition joinGeom = AlignmentUtil.getChild(joinEntity, GEOM)
+		SpatialJoinCondition condition = new SpatialJoinCondition(baseGeom, joinGeom,
+				StandardRelation.INTERSECTS.name())
+		SpatialJoinParameter param = new SpatialJoinParameter([baseEntity, joinEntity],
+				Collections.singleton(condition))
+		ListMultimap<String, ParameterValue> parameters = ArrayListMultimap.create()
+		parameters.put(SpatialJoinFunction.PARAMETER_SPATIAL_JOIN,
+				new ParameterValue(Value.complex(param)))
+
+		SpatialJoinHandler handler = new SpatialJoinHandler()
+		handler.setServiceProvider([getService: { Class type -> index }] as ServiceProvider)
+		CellLog log = new CellLog(new DefaultTransformationReporter('join', false),
+				new DefaultCell())
+
+		// join the instances
+		Map<String, List<String>> families = new LinkedHashMap<>()
+		ResourceIterator<FamilyInstance> it = handler.partitionInstances(instances, 'join',
+				null, parameters, [:], log)
+		try {
+			while (it.hasNext()) {
+				FamilyInstance family = it.next()
+				families[getId(family)] = family.children.collect { getId(it) }
+			}
+		} finally {
+			it.close()
+		}
+
+		// expected children in index order, per geometry of the base instance
+		Map<String, List<String>> expected = new LinkedHashMap<>()
+		bases.each { Instance base ->
+			List<String> children = []
+			base.getProperty(GEOM).each { geometryProperty ->
+				Geometry geometry = geometryProperty.geometry
+				indexOrder.each { Instance point ->
+					String id = getId(point)
+					if (!children.contains(id) && geometry.intersects(point.getProperty(GEOM)[0].geometry)) {
+						children << id
+					}
+				}
+			}
+			expected[getId(base)] = children
+		}
+
+		assertEquals(210, expected['triangle'].size())
+		assertEquals(expected, families)
+	}
+
+	private Instance createInstance(TypeDefinition type, String id, String... geometries) {
+		DefaultInstance instance = new DefaultInstance(type, DataSet.SOURCE)
+		instance.addProperty(ID, id)
+		geometries.each { instance.addProperty(GEOM, new DefaultGeometryProperty(null, wkt.read(it))) }
+		instance
+	}
+
+	private static String getId(Instance instance) {
+		instance.getProperty(ID)[0]
+	}
+
+	/**
+	 * Spatial index that retrieves objects in the order they were inserted.
+	 */
+	private static class ListIndex implements SpatialIndexService<Localizable, Localizable> {
+
+		private final List<Localizable> entries = []
+
+		@Override
+		void insert(Localizable localizable) {
+			entries << localizable
+		}
+
+		@Override
+		Collection<Localizable> retrieve(Localizable spatialQuery) {
+			retrieve(spatialQuery, (Collection<TypeDefinition>) null)
+		}
+
+		@Override
+		Collection<Localizable> retrieve(Localizable spatialQuery,
+				Collection<TypeDefinition> typeFilter) {
+			BoundingBox query = spatialQuery.boundingBox
+			entries.findAll { Localizable entry ->
+				BoundingBox box = entry.boundingBox
+				(typeFilter == null || typeFilter.contains(((TypedInstanceReference) entry.originalReference).definition)) &&
+						box.minX <= query.maxX && box.maxX >= query.minX &&
+						box.minY <= query.maxY && box.maxY >= query.minY
+			}
+		}
+
+		@Override
+		Collection<Localizable> retrieve(Localizable spatialQuery,
+				Verifier<? super Localizable, Localizable> verifier) {
+			entries.findAll { verifier.verify(it, spatialQuery) }
+		}
+
+		@Override
+		int size() {
+			entries.size()
+		}
+
+		@Override
+		void flush() {
+			entries.clear()
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.functions.geometric.test.join
+
+import com.vividsolutions.jts.geom.Geometry
+import com.vividsolutions.jts.geom.prep.PreparedGeometry
+import com.vividsolutions.jts.geom.prep.PreparedGeometryFactory
+import com.vividsolutions.jts.io.WKTReader
+
+import eu.esdihumboldt.cst.functions.geometric.join.SpatialRelationEvaluator
+import eu.esdihumboldt.cst.functions.geometric.join.SpatialRelationEvaluator.StandardRelation
+
+/**
+ * Tests for {@link SpatialRelationEvaluator}
+ *
+ * @author Simon Templer
+ */
+class SpatialRelationEvaluatorTest extends GroovyTestCase {
+
+	private static final List<String> GEOMETRIES = [
+		'POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))',
+		'POLYGON ((2 2, 4 2, 4 4, 2 4, 2 2))',
+		'POLYGON ((5 5, 15 5, 15 15, 5 15, 5 5))',
+		'POLYGON ((10 0, 20 0, 20 10, 10 10, 10 0))',
+		'POLYGON ((30 30, 40 30, 40 40, 30 40, 30 30))',
+		'POLYGON ((0 0, 10 0, 10 5, 0 5, 0 0))',
+		'LINESTRING (-5 5, 15 5)',
+		'LINESTRING (0 0, 10 0)',
+		'POINT (5 5)',
+		'POINT (10 10)'
+	]
+
+	/**
+	 * Test if the evaluation with a prepared second geometry yields the same
+	 * results as the evaluation with plain geometries.
+	 */
+	void testPreparedEquivalent() {
+		WKTReader reader = new WKTReader()
+		List<Geometry> geometries = GEOMETRIES.collect { reader.read(it) }
+
+		for (StandardRelation relation : StandardRelation.values()) {
+			SpatialRelationEvaluator evaluator = relation.relation()
+			for (Geometry second : geometries) {
+				PreparedGeometry prepared = PreparedGeometryFactory.prepare(second)
+				for (Geometry first : geometries) {
+					assertEquals("$relation for $first and $second",
+							evaluator.evaluate(first, second),
+							evaluator.evaluatePrepared(first, prepared))
+				}
+			}
+		}
+	}
+
+}
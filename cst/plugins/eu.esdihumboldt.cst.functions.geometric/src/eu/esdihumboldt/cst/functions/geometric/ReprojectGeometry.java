@@ -2,6 +2,7 @@ package eu.esdihumboldt.cst.functions.geometric;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 import org.geotools.geometry.jts.JTS;
 import org.geotools.referencing.CRS;
@@ -42,6 +43,11 @@ public class ReprojectGeometry
 		extends AbstractSingleTargetPropertyTransformation<TransformationEngine>
 		implements ReprojectGeometryFunction {
 
+	/**
+	 * Key of the math transform cache in the cell context.
+	 */
+	private static final String CONTEXT_TRANSFORMS = "transforms";
+
 	@Override
 	protected Object evaluate(String transformationIdentifier, TransformationEngine engine,
 			ListMultimap<String, PropertyValue> variables, String resultName,
@@ -79,8 +85,9 @@ public class ReprojectGeometry
 
 			// Retrieve transformation from cell context, or create a new
 			// instance
-			Map<Object, Object> cellContext = getExecutionContext().getCellContext();
-			MathTransform transform = getOrCreateMathTransform(sourceCRS, targetCRS, cellContext);
+			ConcurrentMap<String, MathTransform> transforms = getExecutionContext()
+					.getCellValues().getMap(CONTEXT_TRANSFORMS);
+			MathTransform transform = getOrCreateMathTransform(sourceCRS, targetCRS, transforms);
 
 			// Apply transformation
 			try {
@@ -125,29 +132,29 @@ public class ReprojectGeometry
 	 * Reference Systems.
 	 * <p>
 	 * The method first tries to look up a relevant MathTransform instance from
-	 * the provided {@code context} object; then, if none was found, it creates
-	 * a new one and stores it in the context, to allow its reuse by following
-	 * reproject transformations.
+	 * the provided {@code transforms} cache; then, if none was found, it
+	 * creates a new one and stores it in the cache, to allow its reuse by
+	 * following reproject transformations.
 	 * </p>
 	 * 
 	 * @param sourceCRS The source CRS.
 	 * @param targetCRS The target CRS.
-	 * @param context The context.
+	 * @param transforms The cached transforms.
 	 * @return The math transform from {@code sourceCRS} to {@code targetCRS}.
 	 * @throws TransformationException if no math transform could be found
 	 */
 	private MathTransform getOrCreateMathTransform(CoordinateReferenceSystem sourceCRS,
-			CoordinateReferenceSystem targetCRS, Map<Object, Object> context)
+			CoordinateReferenceSystem targetCRS, ConcurrentMap<String, MathTransform> transforms)
 			throws TransformationException {
-		MathTransform transform = null;
 		String key = sourceCRS.getName().hashCode() + " --> " + targetCRS.getName().hashCode();
 
-		synchronized (context) {
-			transform = (MathTransform) context.get(key);
-			if (transform == null) {
-				transform = createMathTransform(sourceCRS, targetCRS);
-
-				context.put(key, transform);
+		MathTransform transform = transforms.get(key);
+		if (transform == null) {
+			// may be created concurrently, the first one stored is used
+			transform = createMathTransform(sourceCRS, targetCRS);
+			MathTransform existing = transforms.putIfAbsent(key, transform);
+			if (existing != null) {
+				transform = existing;
 			}
 		}
 
@@ -35,6 +35,7 @@ import com.vividsolutions.jts.geom.MultiPolygon;
 import com.vividsolutions.jts.geom.Point;
 import com.vividsolutions.jts.geom.Polygon;
 
+import eu.esdihumboldt.cst.functions.geometric.union.GeometryCollector;
 import eu.esdihumboldt.hale.common.align.model.Cell;
 import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
 import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine;
@@ -45,9 +46,6 @@ import eu.esdihumboldt.hale.common.align.transformation.function.impl.NoResultEx
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
 import eu.esdihumboldt.hale.common.align.transformation.report.impl.TransformationMessageImpl;
 import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty;
-import eu.esdihumboldt.hale.common.instance.geometry.GeometryFinder;
-import eu.esdihumboldt.hale.common.instance.helper.DepthFirstInstanceTraverser;
-import eu.esdihumboldt.hale.common.instance.helper.InstanceTraverser;
 import eu.esdihumboldt.hale.common.schema.geometry.CRSDefinition;
 import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
 import eu.esdihumboldt.util.geometry.CurveHelper;
@@ -61,6 +59,41 @@ public class AggregateTransformation extends
 		AbstractSingleTargetPropertyTransformation<TransformationEngine> implements
 		AggregateFunction {
 
+	/**
+	 * Collects the geometries to aggregate and determines their common type.
+	 */
+	private static class AggregateCollector extends GeometryCollector {
+
+		private Class<? extends Geometry> commonGeometryType = null;
+
+		private final List<Geometry> collectedGeometries = new ArrayList<>();
+
+		@Override
+		protected void collect(Geometry g) {
+			// determine common geometry type: point / line / polygon
+			if (commonGeometryType == null) {
+				commonGeometryType = getContainedGeometryType(g.getClass());
+			}
+			else {
+				Class<? extends Geometry> currentType = getContainedGeometryType(g.getClass());
+				if (!commonGeometryType.isAssignableFrom(currentType)) {
+					if (currentType.isAssignableFrom(commonGeometryType)) {
+						commonGeometryType = currentType;
+					}
+					else {
+						commonGeometryType = Geometry.class;
+					}
+				}
+			}
+
+			// collect geometry
+			for (int i = 0; i < g.getNumGeometries(); i++) {
+				collectedGeometries.add(g.getGeometryN(i));
+			}
+		}
+
+	}
+
 	@Override
 	protected Object evaluate(String transformationIdentifier, TransformationEngine engine,
 			ListMultimap<String, PropertyValue> variables, String resultName,
@@ -92,60 +125,12 @@ public class AggregateTransformation extends
 	public static GeometryProperty<?> aggregateGeometries(Iterable<?> geometries,
 			@Nullable TransformationLog log, @Nullable Cell cell) throws NoResultException,
 			TransformationException {
-		InstanceTraverser traverser = new DepthFirstInstanceTraverser(true);
-		GeometryFinder geoFind = new GeometryFinder(null);
-
-		CRSDefinition commonCrs = null;
-		Class<? extends Geometry> commonGeometryType = null;
+		AggregateCollector collector = new AggregateCollector();
+		collector.addAll(geometries);
 
-		List<Geometry> collectedGeometries = new ArrayList<>();
-
-		for (Object value : geometries) {
-
-			// find contained geometries
-			traverser.traverse(value, geoFind);
-
-			for (GeometryProperty<?> geom : geoFind.getGeometries()) {
-				// check CRS
-				// no CRS or one common CRS is OK
-				if (commonCrs == null) {
-					commonCrs = geom.getCRSDefinition();
-				}
-				else {
-					if (geom.getCRSDefinition() != null
-							&& !geom.getCRSDefinition().equals(commonCrs)) {
-						// CRS doesn't match
-						throw new TransformationException(
-								"Source geometries don't have a common CRS.");
-					}
-				}
-
-				Geometry g = geom.getGeometry();
-
-				// determine common geometry type: point / line / polygon
-				if (commonGeometryType == null) {
-					commonGeometryType = getContainedGeometryType(g.getClass());
-				}
-				else {
-					Class<? extends Geometry> currentType = getContainedGeometryType(g.getClass());
-					if (!commonGeometryType.isAssignableFrom(currentType)) {
-						if (currentType.isAssignableFrom(commonGeometryType)) {
-							commonGeometryType = currentType;
-						}
-						else {
-							commonGeometryType = Geometry.class;
-						}
-					}
-				}
-
-				// collect geometry
-				for (int i = 0; i < g.getNumGeometries(); i++) {
-					collectedGeometries.add(g.getGeometryN(i));
-				}
-			}
-
-			geoFind.reset();
-		}
+		Class<? extends Geometry> commonGeometryType = collector.commonGeometryType;
+		CRSDefinition commonCrs = collector.getCommonCRS();
+		List<Geometry> collectedGeometries = collector.collectedGeometries;
 
 		if (commonGeometryType != null && commonGeometryType.equals(Geometry.class)) {
 			if (log != null && cell != null) {
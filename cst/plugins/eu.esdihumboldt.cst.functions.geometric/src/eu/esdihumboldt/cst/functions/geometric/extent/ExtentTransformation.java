@@ -25,6 +25,8 @@ import com.vividsolutions.jts.geom.Geometry;
 import com.vividsolutions.jts.geom.GeometryCollection;
 import com.vividsolutions.jts.geom.GeometryFactory;
 
+import eu.esdihumboldt.cst.functions.geometric.union.CascadedUnion;
+import eu.esdihumboldt.cst.functions.geometric.union.GeometryCollector;
 import eu.esdihumboldt.hale.common.align.model.ParameterValue;
 import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
 import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine;
@@ -34,9 +36,6 @@ import eu.esdihumboldt.hale.common.align.transformation.function.impl.AbstractSi
 import eu.esdihumboldt.hale.common.align.transformation.function.impl.NoResultException;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
 import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty;
-import eu.esdihumboldt.hale.common.instance.geometry.GeometryFinder;
-import eu.esdihumboldt.hale.common.instance.helper.DepthFirstInstanceTraverser;
-import eu.esdihumboldt.hale.common.instance.helper.InstanceTraverser;
 import eu.esdihumboldt.hale.common.schema.geometry.CRSDefinition;
 import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
 
@@ -49,14 +48,56 @@ public class ExtentTransformation extends
 		AbstractSingleTargetPropertyTransformation<TransformationEngine> implements ExtentFunction {
 
 	/**
-	 * Number of Geometries to be processed at once by either extent option.
-	 * Especially the "union" process run time depends on this value. A too
-	 * large value causes a @code{java.lang.OutOfMemoryError}. The chosen value
-	 * results in fairly good processing time of 30-60 seconds per 10,000
-	 * geometries.
+	 * Number of Geometries to be processed at once for the bounding box and
+	 * convex hull extent options.
 	 */
 	private static final short SIMULTAN_PROCESS_GEOMS = 768;
 
+	/**
+	 * Collects geometries and computes the bounding box or convex hull
+	 * incrementally.
+	 */
+	private static class ExtentCollector extends GeometryCollector {
+
+		private final ExtentType type;
+
+		private final GeometryFactory fact = new GeometryFactory();
+
+		private final Geometry[] geomsCollectingArray = new Geometry[SIMULTAN_PROCESS_GEOMS];
+
+		private short geomsCollectedIdx = 0;
+
+		public ExtentCollector(ExtentType type) {
+			this.type = type;
+		}
+
+		@Override
+		protected void collect(Geometry g) {
+			// If geometry collecting array not filled.
+			if (geomsCollectedIdx < SIMULTAN_PROCESS_GEOMS - 1) {
+				geomsCollectingArray[geomsCollectedIdx++] = g;
+			}
+
+			// Geometry collecting array filled.
+			else {
+				geomsCollectingArray[geomsCollectedIdx] = g; // add last
+																// geometry
+				GeometryCollection gc = new GeometryCollection(geomsCollectingArray, fact);
+				geomsCollectingArray[0] = resolveParam(gc, type);
+				geomsCollectedIdx = 1;
+			}
+		}
+
+		/**
+		 * @return the extent of the collected geometries
+		 */
+		public Geometry getExtent() {
+			return resolveParam(new GeometryCollection(
+					Arrays.copyOfRange(geomsCollectingArray, 0, geomsCollectedIdx), fact), type);
+		}
+
+	}
+
 	@Override
 	protected Object evaluate(String transformationIdentifier, TransformationEngine engine,
 			ListMultimap<String, PropertyValue> variables, String resultName,
@@ -87,64 +128,21 @@ public class ExtentTransformation extends
 	 */
 	public static GeometryProperty<?> calculateExtent(Iterable<?> geometries, ExtentType type)
 			throws TransformationException, NoResultException {
-
-		InstanceTraverser traverser = new DepthFirstInstanceTraverser(true);
-		GeometryFinder geoFind = new GeometryFinder(null);
-
-		GeometryFactory fact = new GeometryFactory();
-
-		CRSDefinition commonCrs = null;
-		Geometry[] geomsCollectingArray = new Geometry[SIMULTAN_PROCESS_GEOMS];
-		short geomsCollectedIdx = 0;
-
-//		int count = 0;
-
-		// System.err.println("Geoms Currently Processed;TotalMem;FreeMem");
-
-		for (Object value : geometries) {
-			traverser.traverse(value, geoFind);
-//			count += geoFind.getGeometries().size();
-
-			for (GeometryProperty<?> geom : geoFind.getGeometries()) {
-				// check CRS
-				// no CRS or one common CRS is OK
-				if (commonCrs == null) {
-					commonCrs = geom.getCRSDefinition();
-				}
-				else {
-					if (geom.getCRSDefinition() != null
-							&& !geom.getCRSDefinition().equals(commonCrs)) {
-						// CRS doesn't match
-						throw new TransformationException(
-								"Source geometries don't have a common CRS.");
-					}
-				}
-
-				Geometry g = geom.getGeometry();
-
-				// If geometry collecting array not filled.
-				if (geomsCollectedIdx < SIMULTAN_PROCESS_GEOMS - 1) {
-					geomsCollectingArray[geomsCollectedIdx++] = g;
-				}
-
-				// Geometry collecting array filled.
-				else {
-					geomsCollectingArray[geomsCollectedIdx] = g; // add last
-																	// geometry
-					GeometryCollection gc = new GeometryCollection(geomsCollectingArray, fact);
-					geomsCollectingArray[0] = resolveParam(gc, type);
-					geomsCollectedIdx = 1;
-
-				}
-
-			}
-
-			geoFind.reset();
+		Geometry extent;
+		CRSDefinition commonCrs;
+
+		if (type == ExtentType.UNION) {
+			CascadedUnion union = new CascadedUnion();
+			union.addAll(geometries);
+			extent = union.getResult();
+			commonCrs = union.getCommonCRS();
+		}
+		else {
+			ExtentCollector collector = new ExtentCollector(type);
+			collector.addAll(geometries);
+			extent = collector.getExtent();
+			commonCrs = collector.getCommonCRS();
 		}
-
-		Geometry extent = resolveParam(
-				new GeometryCollection(Arrays.copyOfRange(geomsCollectingArray, 0,
-						geomsCollectedIdx), fact), type);
 
 		if (extent != null) {
 			return new DefaultGeometryProperty<Geometry>(commonCrs, extent);
@@ -154,7 +152,8 @@ public class ExtentTransformation extends
 
 	/**
 	 * Function resolves the extent option parameter and computes the specified
-	 * extent type.
+	 * extent type. The union is not computed here, but with a
+	 * {@link CascadedUnion}.
 	 * 
 	 * @param gc GeometryCollection, the extent function is processed on
 	 * @param type extent option parameter
@@ -169,14 +168,6 @@ public class ExtentTransformation extends
 			// Compute convex hull.
 			extent = gc.convexHull();
 			break;
-		case UNION:
-			// Compute union.
-
-			// Alternative function <extent.union()> is slower and results in
-			// inconsistent topology errors within the jts-lib.
-			// lib-intern errors due to topology inconsistency errros.
-			extent = gc.buffer(0);
-			break;
 		case BBOX:
 			// Compute bounding box.
 		default:
@@ -16,23 +16,33 @@
 package eu.esdihumboldt.cst.functions.geometric.join;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.xml.namespace.QName;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
 import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.prep.PreparedGeometry;
+import com.vividsolutions.jts.geom.prep.PreparedGeometryFactory;
 
 import de.fhg.igd.geom.BoundingBox;
 import de.fhg.igd.geom.Localizable;
@@ -56,7 +66,6 @@ import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
 import eu.esdihumboldt.hale.common.instance.model.ResolvableInstanceReference;
 import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
-import eu.esdihumboldt.hale.common.instance.model.impl.GenericResourceIteratorAdapter;
 import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
 
 /**
@@ -67,6 +76,17 @@ import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
 public class SpatialJoinHandler implements InstanceHandler<TransformationEngine>,
 		SpatialJoinFunction, ServiceProviderAware {
 
+	/**
+	 * Maximum number of join candidates to keep the geometries of.
+	 */
+	private static final int CANDIDATE_CACHE_SIZE = 100000;
+
+	/**
+	 * Minimum number of candidates per thread to test the spatial relation in
+	 * parallel.
+	 */
+	private static final int PARALLEL_REFINE_MIN_CANDIDATES = 64;
+
 	private ServiceProvider services;
 
 	/**
@@ -143,11 +163,10 @@ public class SpatialJoinHandler implements InstanceHandler<TransformationEngine>
 		}
 
 		return new SpatialJoinIterator(instances, startInstances, directParent, services,
-				joinTable);
+				joinTable, log);
 	}
 
-	private class SpatialJoinIterator
-			extends GenericResourceIteratorAdapter<InstanceReference, FamilyInstance> {
+	private class SpatialJoinIterator implements ResourceIterator<FamilyInstance> {
 
 		private final InstanceCollection instances;
 		// type -> direct-parent
@@ -155,32 +174,188 @@ public class SpatialJoinHandler implements InstanceHandler<TransformationEngine>
 		// ChildType -> (ParentType -> Collection<JoinCondition>)
 		private final ServiceProvider provider;
 		private final Map<Integer, Multimap<Integer, SpatialJoinCondition>> joinTable;
+		private final TransformationLog log;
+
+		private final Iterator<InstanceReference> startInstances;
+
+		/**
+		 * Geometries of candidates retrieved from the spatial index, per join
+		 * property, so each candidate is only resolved once.
+		 */
+		private final Cache<InstanceReference, Map<QName, List<Geometry>>> candidateGeometries = CacheBuilder
+				.newBuilder().maximumSize(CANDIDATE_CACHE_SIZE).build();
+
+		/**
+		 * Number of threads for testing the spatial relation.
+		 */
+		private final int threads = Runtime.getRuntime().availableProcessors();
+
+		/**
+		 * Executor for testing the spatial relation in parallel, created on
+		 * demand.
+		 */
+		private ExecutorService executor;
+
+		private long baseCount = 0;
+		private long candidateCount = 0;
+		private long matchCount = 0;
+		private long refineNanos = 0;
+		private boolean reported = false;
 
 		protected SpatialJoinIterator(InstanceCollection instances,
 				Collection<InstanceReference> startInstances, int[] parent,
 				ServiceProvider provider,
-				Map<Integer, Multimap<Integer, SpatialJoinCondition>> joinTable) {
-			super(startInstances.iterator());
+				Map<Integer, Multimap<Integer, SpatialJoinCondition>> joinTable,
+				TransformationLog log) {
+			this.startInstances = startInstances.iterator();
 			this.instances = instances;
 			this.parent = parent;
 			this.provider = provider;
 			this.joinTable = joinTable;
+			this.log = log;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (!startInstances.hasNext()) {
+				shutdownExecutor();
+				report();
+				return false;
+			}
+			return true;
+		}
+
+		@Override
+		public FamilyInstance next() {
+			return convert(startInstances.next());
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void close() {
+			shutdownExecutor();
+			candidateGeometries.invalidateAll();
+			report();
+		}
+
+		private void shutdownExecutor() {
+			if (executor != null) {
+				executor.shutdownNow();
+				executor = null;
+			}
 		}
 
 		/**
-		 * @see eu.esdihumboldt.hale.common.instance.model.impl.GenericResourceIteratorAdapter#convert(java.lang.Object)
+		 * Add the join statistics to the transformation report.
 		 */
-		@Override
-		protected FamilyInstance convert(InstanceReference next) {
+		private void report() {
+			if (!reported && baseCount > 0) {
+				reported = true;
+				log.info(
+						"Spatial join of {0} instances: {1} candidates retrieved from the spatial index, {2} matched the spatial relation, {3} ms spent in testing the spatial relation",
+						baseCount, candidateCount, matchCount,
+						TimeUnit.NANOSECONDS.toMillis(refineNanos));
+			}
+		}
+
+		private FamilyInstance convert(InstanceReference next) {
 			FamilyInstance base = new FamilyInstanceImpl(instances.getInstance(next));
 			FamilyInstance[] currentInstances = new FamilyInstance[parent.length];
 			currentInstances[0] = base;
 
 			join(currentInstances, 0);
 
+			baseCount++;
 			return base;
 		}
 
+		/**
+		 * Get the geometries of the given property of a join candidate.
+		 * 
+		 * @param ref the candidate reference
+		 * @param propertyName the property name
+		 * @return the list of geometries, may be empty
+		 */
+		private List<Geometry> getGeometries(InstanceReference ref, QName propertyName) {
+			Map<QName, List<Geometry>> geometries = candidateGeometries.getIfPresent(ref);
+			if (geometries == null) {
+				geometries = new HashMap<>();
+				candidateGeometries.put(ref, geometries);
+			}
+
+			List<Geometry> result = geometries.get(propertyName);
+			if (result == null) {
+				result = new ArrayList<>();
+				Instance inst = ResolvableInstanceReference.tryResolve(ref);
+				Object[] values = (inst == null) ? (null) : (inst.getProperty(propertyName));
+				if (values != null) {
+					for (Object value : values) {
+						Geometry geometry = getGeometry(value);
+						if (geometry != null) {
+							result.add(geometry);
+						}
+					}
+				}
+				geometries.put(propertyName, result);
+			}
+			return result;
+		}
+
+		/**
+		 * Test the spatial relation of a geometry with the geometries of join
+		 * candidates. If there are enough candidates, the test is done in
+		 * parallel, only plain geometries are passed to other threads.
+		 * 
+		 * @param geometry the geometry of the base instance
+		 * @param candidates the geometries of the candidates
+		 * @param relation the spatial relation
+		 * @return for each candidate if it matches the spatial relation
+		 */
+		private boolean[] refine(final Geometry geometry, final List<List<Geometry>> candidates,
+				final SpatialRelationEvaluator relation) {
+			final boolean[] result = new boolean[candidates.size()];
+			int chunks = Math.min(threads, candidates.size() / PARALLEL_REFINE_MIN_CANDIDATES);
+			if (chunks <= 1) {
+				testJoinCondition(geometry, candidates, 0, candidates.size(), relation, result);
+				return result;
+			}
+
+			if (executor == null) {
+				executor = Executors.newFixedThreadPool(threads, r -> {
+					Thread thread = new Thread(r, "Spatial join");
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+
+			int chunkSize = (candidates.size() + chunks - 1) / chunks;
+			List<Future<?>> futures = new ArrayList<>(chunks);
+			for (int from = 0; from < candidates.size(); from += chunkSize) {
+				final int start = from;
+				final int end = Math.min(candidates.size(), from + chunkSize);
+				futures.add(executor.submit(() -> testJoinCondition(geometry, candidates, start,
+						end, relation, result)));
+			}
+			try {
+				for (Future<?> future : futures) {
+					future.get();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while joining instances", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException("Failed to join instances", e.getCause());
+			}
+			return result;
+		}
+
 		// Joins all direct children of the given type to currentInstances.
 		private void join(FamilyInstance[] currentInstances, int currentType) {
 			@SuppressWarnings("unchecked")
@@ -227,7 +402,8 @@ public class SpatialJoinHandler implements InstanceHandler<TransformationEngine>
 						QName joinPropertyName = joinProperty.getDefinition().getName();
 
 						// Allow targets with any of the property values.
-						HashSet<InstanceReference> matches = new HashSet<InstanceReference>();
+						// Matches are kept in the order of the spatial index.
+						Set<InstanceReference> matches = new LinkedHashSet<InstanceReference>();
 						for (Object currentValue : currentValues) {
 							Geometry geom = getGeometry(currentValue);
 							if (geom == null) {
@@ -237,21 +413,36 @@ public class SpatialJoinHandler implements InstanceHandler<TransformationEngine>
 							BoundingBox box = BoundingBox.compute(geom);
 							Collection<Localizable> possibleMatches = index.retrieve(box,
 									Arrays.asList(joinProperty.getDefinition().getParentType()));
+							candidateCount += possibleMatches.size();
+
+							// resolve candidates and extract their geometries
+							List<InstanceReference> refs = new ArrayList<>();
+							List<List<Geometry>> geometries = new ArrayList<>();
 							for (Localizable possibleMatch : possibleMatches) {
 								if (possibleMatch instanceof InstanceReference) {
 									InstanceReference ref = (InstanceReference) possibleMatch;
-									// try to resolve
-									// ResolvableInstanceReferences
-									Instance inst = ResolvableInstanceReference.tryResolve(ref);
-									if (inst != null) {
-										Object[] values = inst.getProperty(joinPropertyName);
-										if (testJoinCondition(values, geom, relation)) {
-											matches.add((InstanceReference) possibleMatch);
-										}
+									if (matches.contains(ref)) {
+										// already matched by another value
+										continue;
 									}
+									refs.add(ref);
+									geometries.add(getGeometries(ref, joinPropertyName));
+								}
+							}
+							if (refs.isEmpty()) {
+								continue;
+							}
+
+							long start = System.nanoTime();
+							boolean[] matched = refine(geom, geometries, relation);
+							refineNanos += System.nanoTime() - start;
+							for (int j = 0; j < matched.length; j++) {
+								if (matched[j]) {
+									matches.add(refs.get(j));
 								}
 							}
 						}
+						matchCount += matches.size();
 
 						if (possibleInstances == null) {
 							possibleInstances = matches;
@@ -298,16 +489,30 @@ public class SpatialJoinHandler implements InstanceHandler<TransformationEngine>
 		throw new UnsupportedOperationException();
 	}
 
-	private boolean testJoinCondition(Object[] leftValues, Geometry rightGeometry,
-			SpatialRelationEvaluator evaluator) {
-		for (Object leftValue : leftValues) {
-			Geometry leftGeometry = getGeometry(leftValue);
-			if (evaluator.evaluate(leftGeometry, rightGeometry)) {
-				return true;
+	/**
+	 * Test the spatial relation of a geometry with a range of join candidates.
+	 * The geometry is prepared once for the range, as prepared geometries may
+	 * not be used concurrently.
+	 * 
+	 * @param rightGeometry the geometry of the base instance
+	 * @param candidates the geometries of the candidates
+	 * @param from the index of the first candidate to test
+	 * @param to the index after the last candidate to test
+	 * @param evaluator the spatial relation
+	 * @param result the array to mark matching candidates in
+	 */
+	private static void testJoinCondition(Geometry rightGeometry,
+			List<List<Geometry>> candidates, int from, int to,
+			SpatialRelationEvaluator evaluator, boolean[] result) {
+		PreparedGeometry prepared = PreparedGeometryFactory.prepare(rightGeometry);
+		for (int i = from; i < to; i++) {
+			for (Geometry leftGeometry : candidates.get(i)) {
+				if (evaluator.evaluatePrepared(leftGeometry, prepared)) {
+					result[i] = true;
+					break;
+				}
 			}
 		}
-
-		return false;
 	}
 
 	private static Geometry getGeometry(Object value) {
@@ -18,6 +18,7 @@ package eu.esdihumboldt.cst.functions.geometric.join;
 import java.util.function.BiFunction;
 
 import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.prep.PreparedGeometry;
 
 /**
  * Interface for functions evaluating a spatial relation between two geometries.
@@ -38,6 +39,8 @@ public interface SpatialRelationEvaluator {
 		 */
 		CONTAINS(build("contains", (f, s) -> {
 			return f.contains(s);
+		}, (f, s) -> {
+			return s.within(f);
 		})),
 
 		/**
@@ -45,6 +48,8 @@ public interface SpatialRelationEvaluator {
 		 */
 		COVERED_BY(build("covered by", (f, s) -> {
 			return f.coveredBy(s);
+		}, (f, s) -> {
+			return s.covers(f);
 		})),
 
 		/**
@@ -52,6 +57,8 @@ public interface SpatialRelationEvaluator {
 		 */
 		COVERS(build("covers", (f, s) -> {
 			return f.covers(s);
+		}, (f, s) -> {
+			return s.coveredBy(f);
 		})),
 
 		/**
@@ -59,6 +66,8 @@ public interface SpatialRelationEvaluator {
 		 */
 		CROSSES(build("crosses", (f, s) -> {
 			return f.crosses(s);
+		}, (f, s) -> {
+			return s.crosses(f);
 		})),
 
 		/**
@@ -73,6 +82,8 @@ public interface SpatialRelationEvaluator {
 		 */
 		INTERSECTS(build("intersects", (f, s) -> {
 			return f.intersects(s);
+		}, (f, s) -> {
+			return s.intersects(f);
 		})),
 
 		/**
@@ -80,6 +91,8 @@ public interface SpatialRelationEvaluator {
 		 */
 		OVERLAPS(build("overlaps", (f, s) -> {
 			return f.overlaps(s);
+		}, (f, s) -> {
+			return s.overlaps(f);
 		})),
 
 		/**
@@ -87,6 +100,8 @@ public interface SpatialRelationEvaluator {
 		 */
 		TOUCHES(build("touches", (f, s) -> {
 			return f.touches(s);
+		}, (f, s) -> {
+			return s.touches(f);
 		})),
 
 		/**
@@ -94,6 +109,8 @@ public interface SpatialRelationEvaluator {
 		 */
 		WITHIN(build("within", (f, s) -> {
 			return f.within(s);
+		}, (f, s) -> {
+			return s.contains(f);
 		}));
 
 		private final SpatialRelationEvaluator evaluator;
@@ -134,6 +151,19 @@ public interface SpatialRelationEvaluator {
 	 */
 	boolean evaluate(Geometry first, Geometry second);
 
+	/**
+	 * Evaluate the spatial relation for the given geometries, where the second
+	 * geometry is prepared. This should be used if the second geometry is
+	 * tested against many other geometries.
+	 * 
+	 * @param first The first geometry
+	 * @param second The prepared second geometry
+	 * @return true if the spatial relation exists between the given geometries
+	 */
+	default boolean evaluatePrepared(Geometry first, PreparedGeometry second) {
+		return evaluate(first, second.getGeometry());
+	}
+
 	/**
 	 * @return the displayable name of the spatial relation that is evaluated
 	 */
@@ -163,4 +193,38 @@ public interface SpatialRelationEvaluator {
 			}
 		};
 	}
+
+	/**
+	 * Builds a {@link SpatialRelationEvaluator} for a specific evaluation
+	 * function that supports a prepared second geometry.
+	 * 
+	 * @param description Description of the spatial relation evaluation, e.g.
+	 *            "covers"
+	 * @param evaluatorFunc Evaluation function
+	 * @param preparedFunc Evaluation function for a prepared second geometry,
+	 *            usually the converse predicate called on the prepared
+	 *            geometry
+	 * @return the built <code>SpatialRelationEvaluator</code>
+	 */
+	static SpatialRelationEvaluator build(final String description,
+			BiFunction<Geometry, Geometry, Boolean> evaluatorFunc,
+			BiFunction<Geometry, PreparedGeometry, Boolean> preparedFunc) {
+		return new SpatialRelationEvaluator() {
+
+			@Override
+			public String getDescription() {
+				return description;
+			}
+
+			@Override
+			public boolean evaluate(Geometry first, Geometry second) {
+				return evaluatorFunc.apply(first, second);
+			}
+
+			@Override
+			public boolean evaluatePrepared(Geometry first, PreparedGeometry second) {
+				return preparedFunc.apply(first, second);
+			}
+		};
+	}
 }
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.functions.geometric.union;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.TopologyException;
+import com.vividsolutions.jts.operation.union.UnaryUnionOp;
+
+/**
+ * Computes the union of a large number of geometries.<br>
+ * <br>
+ * The geometries are buffered up to a maximum number. Each buffer is sorted
+ * along a space filling curve, so that geometries close to each other end up
+ * in the same batch, and is then unioned as a cascade on a fork-join pool:
+ * batches are unioned in parallel and the results are combined pairwise.
+ * The union of each buffer is kept as partial result, the partial results are
+ * combined in the same way when the result is requested.
+ *
+ * @author Simon Templer
+ */
+public class CascadedUnion extends GeometryCollector {
+
+	/**
+	 * The default number of geometries unioned at once.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	/**
+	 * The default maximum number of geometries buffered before they are
+	 * unioned.
+	 */
+	public static final int DEFAULT_MAX_BUFFERED = 32768;
+
+	/**
+	 * Task computing the union of a range of geometries.
+	 */
+	private static class UnionTask extends RecursiveTask<Geometry> {
+
+		private static final long serialVersionUID = -2925185380412786402L;
+
+		private final List<Geometry> geometries;
+		private final int from;
+		private final int to;
+		private final int batchSize;
+
+		public UnionTask(List<Geometry> geometries, int from, int to, int batchSize) {
+			this.geometries = geometries;
+			this.from = from;
+			this.to = to;
+			this.batchSize = batchSize;
+		}
+
+		@Override
+		protected Geometry compute() {
+			if (to - from <= batchSize) {
+				return union(geometries.subList(from, to));
+			}
+
+			int mid = (from + to) >>> 1;
+			UnionTask left = new UnionTask(geometries, from, mid, batchSize);
+			left.fork();
+			Geometry right = new UnionTask(geometries, mid, to, batchSize).compute();
+			Geometry result = left.join();
+
+			if (result == null) {
+				return right;
+			}
+			if (right == null) {
+				return result;
+			}
+			return union(Arrays.asList(result, right));
+		}
+
+	}
+
+	private final int batchSize;
+
+	private final int maxBuffered;
+
+	private final ForkJoinPool pool;
+
+	private List<Geometry> buffer = new ArrayList<>();
+
+	private final List<Geometry> partials = new ArrayList<>();
+
+	/**
+	 * Create a union with the default settings, using the common fork-join
+	 * pool.
+	 */
+	public CascadedUnion() {
+		this(DEFAULT_BATCH_SIZE, DEFAULT_MAX_BUFFERED, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Create a union.
+	 *
+	 * @param batchSize the number of geometries unioned at once
+	 * @param maxBuffered the maximum number of geometries buffered before they
+	 *            are unioned, this determines the memory needed
+	 * @param pool the pool to compute the union on
+	 */
+	public CascadedUnion(int batchSize, int maxBuffered, ForkJoinPool pool) {
+		this.batchSize = Math.max(2, batchSize);
+		this.maxBuffered = Math.max(this.batchSize, maxBuffered);
+		this.pool = pool;
+	}
+
+	@Override
+	protected void collect(Geometry geometry) {
+		if (geometry == null || geometry.isEmpty()) {
+			return;
+		}
+
+		buffer.add(geometry);
+		if (buffer.size() >= maxBuffered) {
+			flush();
+		}
+	}
+
+	/**
+	 * Union the buffered geometries.
+	 */
+	private void flush() {
+		if (buffer.isEmpty()) {
+			return;
+		}
+
+		Geometry partial = unionAll(buffer);
+		buffer = new ArrayList<>();
+		if (partial != null) {
+			partials.add(partial);
+		}
+
+		if (partials.size() >= batchSize) {
+			Geometry combined = unionAll(partials);
+			partials.clear();
+			partials.add(combined);
+		}
+	}
+
+	/**
+	 * Get the union of all geometries added.
+	 *
+	 * @return the union or <code>null</code> if no geometries were added
+	 */
+	public Geometry getResult() {
+		flush();
+
+		switch (partials.size()) {
+		case 0:
+			return null;
+		case 1:
+			return partials.get(0);
+		default:
+			Geometry result = unionAll(partials);
+			partials.clear();
+			partials.add(result);
+			return result;
+		}
+	}
+
+	/**
+	 * Compute the union of the given geometries on the pool.
+	 *
+	 * @param geometries the geometries, the list is reordered
+	 * @return the union, <code>null</code> if the list is empty
+	 */
+	private Geometry unionAll(List<Geometry> geometries) {
+		if (geometries.size() <= batchSize) {
+			return union(geometries);
+		}
+
+		sortSpatially(geometries);
+		return pool.invoke(new UnionTask(geometries, 0, geometries.size(), batchSize));
+	}
+
+	/**
+	 * Compute the union of the given geometries in the current thread.
+	 *
+	 * @param geometries the geometries
+	 * @return the union, <code>null</code> if the collection is empty
+	 */
+	private static Geometry union(Collection<Geometry> geometries) {
+		if (geometries.isEmpty()) {
+			return null;
+		}
+
+		try {
+			return UnaryUnionOp.union(geometries);
+		} catch (TopologyException e) {
+			// fall back to buffering, which is more tolerant to invalid input
+			Geometry first = geometries.iterator().next();
+			return first.getFactory().buildGeometry(geometries).buffer(0);
+		}
+	}
+
+	/**
+	 * Sort geometries by the Z-order of the center of their envelopes.
+	 *
+	 * @param geometries the geometries to sort
+	 */
+	private static void sortSpatially(List<Geometry> geometries) {
+		Envelope extent = new Envelope();
+		for (Geometry geometry : geometries) {
+			extent.expandToInclude(geometry.getEnvelopeInternal());
+		}
+		if (extent.isNull()) {
+			return;
+		}
+
+		double scaleX = (extent.getWidth() > 0) ? (0x7FFF / extent.getWidth()) : (0);
+		double scaleY = (extent.getHeight() > 0) ? (0x7FFF / extent.getHeight()) : (0);
+
+		// key in the upper, index in the lower bits
+		long[] keys = new long[geometries.size()];
+		for (int i = 0; i < keys.length; i++) {
+			Coordinate center = geometries.get(i).getEnvelopeInternal().centre();
+			int x = (int) ((center.x - extent.getMinX()) * scaleX);
+			int y = (int) ((center.y - extent.getMinY()) * scaleY);
+			keys[i] = ((long) interleave(x, y) << 32) | i;
+		}
+		Arrays.sort(keys);
+
+		Geometry[] sorted = new Geometry[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			sorted[i] = geometries.get((int) keys[i]);
+		}
+		for (int i = 0; i < sorted.length; i++) {
+			geometries.set(i, sorted[i]);
+		}
+	}
+
+	/**
+	 * Interleave the bits of two 15 bit values.
+	 *
+	 * @param x the first value
+	 * @param y the second value
+	 * @return the interleaved value
+	 */
+	private static int interleave(int x, int y) {
+		return spread(x) | (spread(y) << 1);
+	}
+
+	private static int spread(int value) {
+		value &= 0x7FFF;
+		value = (value | (value << 8)) & 0x00FF00FF;
+		value = (value | (value << 4)) & 0x0F0F0F0F;
+		value = (value | (value << 2)) & 0x33333333;
+		value = (value | (value << 1)) & 0x55555555;
+		return value;
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.functions.geometric.union;
+
+import com.vividsolutions.jts.geom.Geometry;
+
+import eu.esdihumboldt.hale.common.align.transformation.function.TransformationException;
+import eu.esdihumboldt.hale.common.instance.geometry.GeometryFinder;
+import eu.esdihumboldt.hale.common.instance.helper.DepthFirstInstanceTraverser;
+import eu.esdihumboldt.hale.common.instance.helper.InstanceTraverser;
+import eu.esdihumboldt.hale.common.schema.geometry.CRSDefinition;
+import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
+
+/**
+ * Collects the geometries contained in values, e.g. geometries, geometry
+ * properties or instances, and ensures they share a common CRS. The
+ * geometries are handed to {@link #collect(Geometry)} one by one, so they
+ * don't have to be held in memory all at once.
+ *
+ * @author Simon Templer
+ */
+public abstract class GeometryCollector {
+
+	private final InstanceTraverser traverser = new DepthFirstInstanceTraverser(true);
+
+	private final GeometryFinder finder = new GeometryFinder(null);
+
+	private CRSDefinition commonCrs;
+
+	/**
+	 * Add the geometries contained in the given value.
+	 *
+	 * @param value the geometry or instance containing geometries
+	 * @throws TransformationException if the geometries don't have a common
+	 *             CRS
+	 */
+	public void add(Object value) throws TransformationException {
+		traverser.traverse(value, finder);
+		try {
+			for (GeometryProperty<?> geom : finder.getGeometries()) {
+				// check CRS
+				// no CRS or one common CRS is OK
+				if (commonCrs == null) {
+					commonCrs = geom.getCRSDefinition();
+				}
+				else {
+					if (geom.getCRSDefinition() != null
+							&& !geom.getCRSDefinition().equals(commonCrs)) {
+						// CRS doesn't match
+						throw new TransformationException(
+								"Source geometries don't have a common CRS.");
+					}
+				}
+
+				collect(geom.getGeometry());
+			}
+		} finally {
+			finder.reset();
+		}
+	}
+
+	/**
+	 * Add the geometries contained in the given values.
+	 *
+	 * @param values the geometries or instances containing geometries
+	 * @throws TransformationException if the geometries don't have a common
+	 *             CRS
+	 */
+	public void addAll(Iterable<?> values) throws TransformationException {
+		for (Object value : values) {
+			add(value);
+		}
+	}
+
+	/**
+	 * @return the common CRS of the collected geometries, may be
+	 *         <code>null</code>
+	 */
+	public CRSDefinition getCommonCRS() {
+		return commonCrs;
+	}
+
+	/**
+	 * Collect a geometry.
+	 *
+	 * @param geometry the geometry
+	 * @throws TransformationException if the geometry cannot be processed
+	 */
+	protected abstract void collect(Geometry geometry) throws TransformationException;
+
+}
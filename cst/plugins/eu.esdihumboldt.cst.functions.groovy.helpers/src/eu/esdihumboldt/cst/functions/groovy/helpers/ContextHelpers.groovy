@@ -20,6 +20,7 @@ import javax.annotation.Nullable
 import eu.esdihumboldt.cst.functions.groovy.helper.HelperContext
 import eu.esdihumboldt.cst.functions.groovy.helper.spec.SpecBuilder
 import eu.esdihumboldt.cst.functions.groovy.helpers.util.Collector
+import eu.esdihumboldt.hale.common.align.transformation.function.ContextValues
 
 /**
  * Helper functions for interacting with a context map. 
@@ -46,14 +47,7 @@ class ContextHelpers {
 		}
 
 		if (context instanceof Map) {
-			synchronized (context) {
-				def collector = context[KEY_COLLECTOR]
-				if (collector == null) {
-					collector = new Collector()
-					context[KEY_COLLECTOR] = collector
-				}
-				return collector
-			}
+			return ContextValues.of((Map) context).getOrCreate(KEY_COLLECTOR, { new Collector() })
 		}
 
 		throw new IllegalArgumentException('You need to provide a context map as argument')
@@ -19,7 +19,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.Map;
 
 import eu.esdihumboldt.cst.MultiValue;
 import eu.esdihumboldt.cst.functions.groovy.GroovyConstants;
@@ -32,6 +31,7 @@ import eu.esdihumboldt.hale.common.align.model.Entity;
 import eu.esdihumboldt.hale.common.align.model.ParameterValue;
 import eu.esdihumboldt.hale.common.align.model.Type;
 import eu.esdihumboldt.hale.common.align.model.impl.TypeEntityDefinition;
+import eu.esdihumboldt.hale.common.align.transformation.function.ContextValues;
 import eu.esdihumboldt.hale.common.align.transformation.function.ExecutionContext;
 import eu.esdihumboldt.hale.common.align.transformation.function.TransformationException;
 import eu.esdihumboldt.hale.common.align.transformation.function.impl.AbstractTransformationFunction;
@@ -112,7 +112,6 @@ public class GroovyUtil implements GroovyConstants {
 	 * @throws TransformationException if getting the script parameter from the
 	 *             function fails
 	 */
-	@SuppressWarnings("unchecked")
 	public static Script getScript(AbstractTransformationFunction<?> function, Binding binding,
 			GroovyService service, boolean functionCached) throws TransformationException {
 		/*
@@ -120,21 +119,11 @@ public class GroovyUtil implements GroovyConstants {
 		 * execution context, so it needs only to be created once per
 		 * transformation thread.
 		 */
-		ThreadLocal<Script> localScript;
-		Map<Object, Object> context = (functionCached)
-				? (function.getExecutionContext().getFunctionContext())
-				: (function.getExecutionContext().getCellContext());
-		synchronized (context) {
-			Object tmp = context.get(CONTEXT_SCRIPT);
-
-			if (tmp instanceof ThreadLocal<?>) {
-				localScript = (ThreadLocal<Script>) tmp;
-			}
-			else {
-				localScript = new ThreadLocal<Script>();
-				context.put(CONTEXT_SCRIPT, localScript);
-			}
-		}
+		ContextValues context = (functionCached)
+				? (function.getExecutionContext().getFunctionValues())
+				: (function.getExecutionContext().getCellValues());
+		ThreadLocal<Script> localScript = context.getOrCreate(CONTEXT_SCRIPT,
+				ThreadLocal<Script>::new);
 
 		Script groovyScript = localScript.get();
 		if (groovyScript == null) {
@@ -27,6 +27,7 @@ import com.iabcinc.jmep.Expression;
 import com.iabcinc.jmep.XExpression;
 import com.iabcinc.jmep.hooks.Constant;
 
+import eu.esdihumboldt.hale.common.align.model.Cell;
 import eu.esdihumboldt.hale.common.align.model.ChildContext;
 import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
 import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine;
@@ -46,6 +47,21 @@ public class MathematicalExpression
 		extends AbstractSingleTargetPropertyTransformation<TransformationEngine>
 		implements MathematicalExpressionFunction {
 
+	/**
+	 * Resolves the expression with the transformation variables replaced.
+	 * 
+	 * @see AbstractSingleTargetPropertyTransformation#prepare(Cell,
+	 *      TransformationLog)
+	 */
+	@Override
+	public Object prepare(Cell cell, TransformationLog log) throws TransformationException {
+		// get the mathematical expression
+		String expression = getParameterChecked(PARAMETER_EXPRESSION).as(String.class);
+
+		// replace transformation variables in expression
+		return getExecutionContext().getVariables().replaceVariables(expression);
+	}
+
 	/**
 	 * @see AbstractSingleTargetPropertyTransformation#evaluate(String,
 	 *      TransformationEngine, ListMultimap, String,
@@ -56,11 +72,7 @@ public class MathematicalExpression
 			ListMultimap<String, PropertyValue> variables, String resultName,
 			PropertyEntityDefinition resultProperty, Map<String, String> executionParameters,
 			TransformationLog log) throws TransformationException {
-		// get the mathematical expression
-		String expression = getParameterChecked(PARAMETER_EXPRESSION).as(String.class);
-
-		// replace transformation variables in expression
-		expression = getExecutionContext().getVariables().replaceVariables(expression);
+		String expression = (String) getPreparedState();
 
 		List<PropertyValue> vars = variables.get(ENTITY_VARIABLE);
 
@@ -17,11 +17,13 @@
 package eu.esdihumboldt.cst.functions.numeric.sequentialid;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.collect.ListMultimap;
 
 import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
 import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine;
+import eu.esdihumboldt.hale.common.align.transformation.function.ContextValues;
 import eu.esdihumboldt.hale.common.align.transformation.function.PropertyValue;
 import eu.esdihumboldt.hale.common.align.transformation.function.TransformationException;
 import eu.esdihumboldt.hale.common.align.transformation.function.impl.AbstractSingleTargetPropertyTransformation;
@@ -62,33 +64,24 @@ public class SequentialID extends AbstractSingleTargetPropertyTransformation<Tra
 
 		// select appropriate context and key
 		Sequence sequence = Sequence.valueOf(sequenceStr);
-		Map<Object, Object> context;
+		ContextValues context;
 		String key;
 		switch (sequence) {
 		case overall:
 			// use function context
-			context = getExecutionContext().getFunctionContext();
+			context = getExecutionContext().getFunctionValues();
 			key = PARAM_SEQUENCE;
 			break;
 		case type:
 		default:
 			// use cell context
-			context = getExecutionContext().getCellContext();
+			context = getExecutionContext().getCellValues();
 			key = getTargetType().getName().toString();
 			break;
 		}
 
-		long id;
-		synchronized (context) {
-			Long seqValue = (Long) context.get(key);
-			if (seqValue != null) {
-				id = seqValue + 1;
-			}
-			else {
-				id = START_VALUE;
-			}
-			context.put(key, id);
-		}
+		AtomicLong counter = context.getCounter(key);
+		long id = START_VALUE + counter.getAndIncrement();
 
 		if (prefix.isEmpty() && suffix.isEmpty()) {
 			return id;
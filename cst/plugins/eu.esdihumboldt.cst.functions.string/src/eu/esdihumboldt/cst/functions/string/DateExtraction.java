@@ -23,6 +23,7 @@ import java.util.Map;
 
 import com.google.common.collect.ListMultimap;
 
+import eu.esdihumboldt.hale.common.align.model.Cell;
 import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
 import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine;
 import eu.esdihumboldt.hale.common.align.transformation.function.PropertyValue;
@@ -38,6 +39,30 @@ import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog
 public class DateExtraction extends AbstractSingleTargetPropertyTransformation<TransformationEngine>
 		implements DateExtractionFunction {
 
+	@Override
+	public Object prepare(Cell cell, TransformationLog log) throws TransformationException {
+		if (getParameters() == null || getParameters().get(PARAMETER_DATE_FORMAT) == null
+				|| getParameters().get(PARAMETER_DATE_FORMAT).isEmpty()) {
+			throw new TransformationException(MessageFormat
+					.format("Mandatory parameter {0} not defined", PARAMETER_DATE_FORMAT));
+		}
+
+		String dateFormat = getParameters().get(PARAMETER_DATE_FORMAT).get(0).as(String.class);
+
+		// replace transformation variables in date format
+		final String format = getExecutionContext().getVariables().replaceVariables(dateFormat);
+
+		try {
+			// validate the format
+			new SimpleDateFormat(format);
+		} catch (IllegalArgumentException e) {
+			throw new TransformationException("Invalid date format", e);
+		}
+
+		// SimpleDateFormat is not thread-safe
+		return ThreadLocal.withInitial(() -> new SimpleDateFormat(format));
+	}
+
 	/**
 	 * @see eu.esdihumboldt.hale.common.align.transformation.function.impl.AbstractSingleTargetPropertyTransformation#evaluate(java.lang.String,
 	 *      eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine,
@@ -51,19 +76,10 @@ public class DateExtraction extends AbstractSingleTargetPropertyTransformation<T
 			ListMultimap<String, PropertyValue> variables, String resultName,
 			PropertyEntityDefinition resultProperty, Map<String, String> executionParameters,
 			TransformationLog log) throws TransformationException {
-		if (getParameters() == null || getParameters().get(PARAMETER_DATE_FORMAT) == null
-				|| getParameters().get(PARAMETER_DATE_FORMAT).isEmpty()) {
-			throw new TransformationException(MessageFormat
-					.format("Mandatory parameter {0} not defined", PARAMETER_DATE_FORMAT));
-		}
-
-		String dateFormat = getParameters().get(PARAMETER_DATE_FORMAT).get(0).as(String.class);
-
-		// replace transformation variables in date format
-		dateFormat = getExecutionContext().getVariables().replaceVariables(dateFormat);
+		@SuppressWarnings("unchecked")
+		SimpleDateFormat sdf = ((ThreadLocal<SimpleDateFormat>) getPreparedState()).get();
 
 		String sourceString = variables.values().iterator().next().getValueAs(String.class);
-		SimpleDateFormat sdf = new SimpleDateFormat(dateFormat);
 
 		try {
 			return sdf.parse(sourceString);
@@ -20,9 +20,11 @@ import java.text.MessageFormat;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import com.google.common.collect.ListMultimap;
 
+import eu.esdihumboldt.hale.common.align.model.Cell;
 import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
 import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine;
 import eu.esdihumboldt.hale.common.align.transformation.function.PropertyValue;
@@ -39,11 +41,22 @@ import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog
 public class RegexAnalysis extends AbstractSingleTargetPropertyTransformation<TransformationEngine>
 		implements RegexAnalysisFunction {
 
+	/**
+	 * Regular expression and output format prepared for a cell.
+	 */
+	private static class PreparedAnalysis {
+
+		private final Pattern pattern;
+		private final String outputFormat;
+
+		public PreparedAnalysis(Pattern pattern, String outputFormat) {
+			this.pattern = pattern;
+			this.outputFormat = outputFormat;
+		}
+	}
+
 	@Override
-	protected Object evaluate(String transformationIdentifier, TransformationEngine engine,
-			ListMultimap<String, PropertyValue> variables, String resultName,
-			PropertyEntityDefinition resultProperty, Map<String, String> executionParameters,
-			TransformationLog log) throws TransformationException, NoResultException {
+	public Object prepare(Cell cell, TransformationLog log) throws TransformationException {
 		if (getParameters() == null || getParameters().get(PARAMETER_REGEX_PATTERN) == null
 				|| getParameters().get(PARAMETER_REGEX_PATTERN).isEmpty()) {
 			throw new TransformationException(MessageFormat
@@ -62,11 +75,23 @@ public class RegexAnalysis extends AbstractSingleTargetPropertyTransformation<Tr
 		regexPattern = getExecutionContext().getVariables().replaceVariables(regexPattern);
 		outputFormat = getExecutionContext().getVariables().replaceVariables(outputFormat);
 
-		String sourceString = variables.values().iterator().next().getValueAs(String.class);
+		try {
+			return new PreparedAnalysis(Pattern.compile(regexPattern), outputFormat);
+		} catch (PatternSyntaxException e) {
+			throw new TransformationException("Invalid regular expression", e);
+		}
+	}
 
-		outputFormat = analize(regexPattern, outputFormat, sourceString);
+	@Override
+	protected Object evaluate(String transformationIdentifier, TransformationEngine engine,
+			ListMultimap<String, PropertyValue> variables, String resultName,
+			PropertyEntityDefinition resultProperty, Map<String, String> executionParameters,
+			TransformationLog log) throws TransformationException, NoResultException {
+		PreparedAnalysis analysis = (PreparedAnalysis) getPreparedState();
+
+		String sourceString = variables.values().iterator().next().getValueAs(String.class);
 
-		return outputFormat;
+		return analize(analysis.pattern, analysis.outputFormat, sourceString);
 	}
 
 	/**
@@ -80,7 +105,20 @@ public class RegexAnalysis extends AbstractSingleTargetPropertyTransformation<Tr
 	 */
 	public static String analize(String regexPattern, String outputFormat, String sourceString)
 			throws NoResultException {
-		Pattern pattern = Pattern.compile(regexPattern);
+		return analize(Pattern.compile(regexPattern), outputFormat, sourceString);
+	}
+
+	/**
+	 * Performs regex analysis with a compiled pattern.
+	 * 
+	 * @param pattern the compiled regular expression.
+	 * @param outputFormat the output format to gain.
+	 * @param sourceString the text to convert.
+	 * @return the converted text.
+	 * @throws NoResultException in case of missing pattern matching or errors.
+	 */
+	public static String analize(Pattern pattern, String outputFormat, String sourceString)
+			throws NoResultException {
 		Matcher matcher = pattern.matcher(sourceString);
 
 		StringBuilder result = new StringBuilder();
@@ -27,10 +27,12 @@ import eu.esdihumboldt.cst.ConceptualSchemaTransformer;
 import eu.esdihumboldt.cst.test.DefaultTransformationTest;
 import eu.esdihumboldt.cst.test.TransformationExample;
 import eu.esdihumboldt.cst.test.TransformationExamples;
+import eu.esdihumboldt.hale.common.align.model.Alignment;
 import eu.esdihumboldt.hale.common.align.service.FunctionService;
 import eu.esdihumboldt.hale.common.align.service.TransformationFunctionService;
 import eu.esdihumboldt.hale.common.align.service.impl.AlignmentFunctionService;
 import eu.esdihumboldt.hale.common.align.service.impl.AlignmentTransformationFunctionService;
+import eu.esdihumboldt.hale.common.align.transformation.service.InstanceSink;
 import eu.esdihumboldt.hale.common.align.transformation.service.impl.DefaultInstanceSink;
 import eu.esdihumboldt.hale.common.align.transformation.service.impl.ThreadSafeInstanceSink;
 import eu.esdihumboldt.hale.common.core.io.impl.NullProgressIndicator;
@@ -335,20 +337,61 @@ public class ConceptualSchemaTransformerTest extends DefaultTransformationTest {
 
 	@Override
 	protected List<Instance> transformData(TransformationExample example) throws Exception {
-		ConceptualSchemaTransformer transformer = new ConceptualSchemaTransformer();
 		ThreadSafeInstanceSink<DefaultInstanceSink> sink = new ThreadSafeInstanceSink<>(
 				new DefaultInstanceSink());
 
-		final Map<Class<?>, Object> customServices = new HashMap<>();
-		customServices.put(FunctionService.class,
-				new AlignmentFunctionService(example.getAlignment()));
-		customServices.put(TransformationFunctionService.class,
-				new AlignmentTransformationFunctionService(example.getAlignment()));
+		transform(example, example.getAlignment(), sink);
+
+		return sink.getDecoratee().getInstances();
+	}
+
+	/**
+	 * Transform the source instances of a transformation example.
+	 * 
+	 * @param example the transformation example
+	 * @param alignment the alignment to use for the transformation, usually
+	 *            the alignment of the example
+	 * @param sink the sink to add the transformed instances to
+	 * @throws Exception if an error occurs during the transformation
+	 */
+	static void transform(TransformationExample example, Alignment alignment, InstanceSink sink)
+			throws Exception {
+		ConceptualSchemaTransformer transformer = new ConceptualSchemaTransformer();
 
 		InstanceIndexServiceImpl indexService = new InstanceIndexServiceImpl();
+		ServiceProvider serviceProvider = createServiceProvider(example.getAlignment(),
+				indexService);
+
+		indexService.addPropertyMappings(alignment.getActiveTypeCells(), serviceProvider);
+
+		InstanceCollection source = example.getSourceInstances();
+
+		try (ResourceIterator<Instance> it = source.iterator()) {
+			while (it.hasNext()) {
+				indexService.add(it.next(), source);
+			}
+		}
+
+		transformer.transform(alignment, source, sink, serviceProvider,
+				new NullProgressIndicator());
+	}
+
+	/**
+	 * Create a service provider for transforming with the given alignment.
+	 * 
+	 * @param alignment the alignment
+	 * @param indexService the instance index service to provide
+	 * @return the service provider
+	 */
+	static ServiceProvider createServiceProvider(Alignment alignment,
+			InstanceIndexService indexService) {
+		final Map<Class<?>, Object> customServices = new HashMap<>();
+		customServices.put(FunctionService.class, new AlignmentFunctionService(alignment));
+		customServices.put(TransformationFunctionService.class,
+				new AlignmentTransformationFunctionService(alignment));
 		customServices.put(InstanceIndexService.class, indexService);
 
-		final ServiceProvider serviceProvider = new ServiceProvider() {
+		return new ServiceProvider() {
 
 			private final ServiceProvider projectScope = new ServiceManager(
 					ServiceManager.SCOPE_PROJECT);
@@ -364,22 +407,6 @@ public class ConceptualSchemaTransformerTest extends DefaultTransformationTest {
 				return projectScope.getService(serviceInterface);
 			}
 		};
-
-		indexService.addPropertyMappings(example.getAlignment().getActiveTypeCells(),
-				serviceProvider);
-
-		InstanceCollection source = example.getSourceInstances();
-
-		try (ResourceIterator<Instance> it = source.iterator()) {
-			while (it.hasNext()) {
-				indexService.add(it.next(), source);
-			}
-		}
-
-		transformer.transform(example.getAlignment(), source, sink, serviceProvider,
-				new NullProgressIndicator());
-
-		return sink.getDecoratee().getInstances();
 	}
 
 }
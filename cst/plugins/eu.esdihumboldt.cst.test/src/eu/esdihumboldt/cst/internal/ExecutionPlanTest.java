@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import eu.esdihumboldt.cst.test.AbstractTransformationTest;
+import eu.esdihumboldt.cst.test.TransformationExample;
+import eu.esdihumboldt.cst.test.TransformationExamples;
+import eu.esdihumboldt.hale.common.align.model.Alignment;
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.model.CellUtil;
+import eu.esdihumboldt.hale.common.align.model.Priority;
+import eu.esdihumboldt.hale.common.align.model.transformation.tree.TransformationTree;
+import eu.esdihumboldt.hale.common.align.model.transformation.tree.context.ContextMatcher;
+import eu.esdihumboldt.hale.common.align.model.transformation.tree.context.impl.matcher.AsDeepAsPossible;
+import eu.esdihumboldt.hale.common.align.model.transformation.tree.impl.TransformationTreeImpl;
+import eu.esdihumboldt.hale.common.align.model.transformation.tree.visitor.DuplicationVisitor;
+import eu.esdihumboldt.hale.common.align.model.transformation.tree.visitor.InstanceVisitor;
+import eu.esdihumboldt.hale.common.align.transformation.function.impl.FamilyInstanceImpl;
+import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
+import eu.esdihumboldt.hale.common.align.transformation.report.impl.CellLog;
+import eu.esdihumboldt.hale.common.align.transformation.report.impl.DefaultTransformationReporter;
+import eu.esdihumboldt.hale.common.core.service.ServiceProvider;
+import eu.esdihumboldt.hale.common.instance.index.InstanceIndexServiceImpl;
+import eu.esdihumboldt.hale.common.instance.model.DataSet;
+import eu.esdihumboldt.hale.common.instance.model.FamilyInstance;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceUtil;
+import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Tests that executing an {@link ExecutionPlan} yields the same results as
+ * traversing the transformation tree with the function executors of all
+ * priorities.
+ * 
+ * @author Simon Templer
+ */
+public class ExecutionPlanTest extends AbstractTransformationTest {
+
+	/**
+	 * Test with property cells of different priorities.
+	 * 
+	 * @throws Exception if an error occurs executing the test
+	 */
+	@Test
+	public void testPriority() throws Exception {
+		testPlan(TransformationExamples.PRIORITY);
+	}
+
+	/**
+	 * Test with a transformation tree that is augmented with duplicated nodes.
+	 * 
+	 * @throws Exception if an error occurs executing the test
+	 */
+	@Test
+	public void testCardinalityMove() throws Exception {
+		testPlan(TransformationExamples.CARDINALITY_MOVE);
+	}
+
+	/**
+	 * Test with a structural rename.
+	 * 
+	 * @throws Exception if an error occurs executing the test
+	 */
+	@Test
+	public void testStructuralRename() throws Exception {
+		testPlan(TransformationExamples.STRUCTURAL_RENAME_1);
+	}
+
+	private void testPlan(String exampleName) throws Exception {
+		TransformationExample example = TransformationExamples.getExample(exampleName);
+		Alignment alignment = example.getAlignment();
+		ServiceProvider serviceProvider = ConceptualSchemaTransformerTest
+				.createServiceProvider(alignment, new InstanceIndexServiceImpl());
+
+		DefaultTransformationReporter reporter = new DefaultTransformationReporter("test",
+				false);
+		TransformationContext context = new TransformationContext(serviceProvider, alignment);
+		EngineManager engines = new EngineManager();
+		List<FunctionExecutor> executors = new ArrayList<>();
+		for (Priority priority : Priority.values()) {
+			executors.add(new FunctionExecutor(reporter, engines, context, priority));
+		}
+		ContextMatcher matcher = new AsDeepAsPossible(serviceProvider);
+		InstanceBuilder builder = new InstanceBuilder();
+
+		int count = 0;
+		for (Cell typeCell : alignment.getActiveTypeCells()) {
+			TypeDefinition sourceType = CellUtil.getFirstEntity(typeCell.getSource())
+					.getDefinition().getType();
+			TransformationLog log = new CellLog(reporter, typeCell);
+
+			ExecutionPlan plan = null;
+			try (ResourceIterator<Instance> it = example.getSourceInstances().iterator()) {
+				while (it.hasNext()) {
+					Instance instance = it.next();
+					if (!sourceType.equals(instance.getDefinition())) {
+						continue;
+					}
+					FamilyInstance source = new FamilyInstanceImpl(instance);
+
+					// complete traversal per priority
+					TransformationTree tree = createTree(alignment, typeCell, matcher);
+					populate(tree, source, log);
+					for (FunctionExecutor executor : executors) {
+						executor.setTypeCell(typeCell);
+						tree.accept(executor);
+					}
+					MutableInstance expected = new DefaultInstance(tree.getType(),
+							DataSet.TRANSFORMED);
+					builder.populate(expected, tree, log);
+
+					// execution plan
+					tree = createTree(alignment, typeCell, matcher);
+					if (plan == null) {
+						plan = ExecutionPlan.compile(tree, executors);
+					}
+					populate(tree, source, log);
+					plan.execute(tree, typeCell);
+					MutableInstance actual = new DefaultInstance(tree.getType(),
+							DataSet.TRANSFORMED);
+					builder.populate(actual, tree, log);
+
+					assertNull(InstanceUtil.checkInstance(expected,
+							Collections.<Instance> singletonList(actual)));
+					count++;
+				}
+			}
+
+			if (plan != null) {
+				assertTrue(plan.getPassCount() < executors.size());
+			}
+		}
+
+		assertTrue("No instances were transformed", count > 0);
+		assertEquals(0, reporter.getErrors().size());
+	}
+
+	private TransformationTree createTree(Alignment alignment, Cell typeCell,
+			ContextMatcher matcher) {
+		TransformationTree tree = new TransformationTreeImpl(alignment, typeCell);
+		matcher.findMatches(tree);
+		return tree;
+	}
+
+	private void populate(TransformationTree tree, FamilyInstance source, TransformationLog log) {
+		tree.accept(new InstanceVisitor(source, tree, log));
+		DuplicationVisitor duplicationVisitor = new DuplicationVisitor(tree, log);
+		tree.accept(duplicationVisitor);
+		duplicationVisitor.doAugmentationTrackback();
+	}
+
+}
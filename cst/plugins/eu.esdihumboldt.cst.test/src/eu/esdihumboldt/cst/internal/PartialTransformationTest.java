@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import eu.esdihumboldt.cst.test.AbstractTransformationTest;
+import eu.esdihumboldt.cst.test.TransformationExample;
+import eu.esdihumboldt.cst.test.TransformationExamples;
+import eu.esdihumboldt.hale.common.align.model.Alignment;
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.model.impl.PartialAlignment;
+import eu.esdihumboldt.hale.common.align.transformation.service.CellTrackingInstanceSink;
+import eu.esdihumboldt.hale.common.align.transformation.service.impl.DefaultInstanceSink;
+import eu.esdihumboldt.hale.common.align.transformation.service.impl.ThreadSafeInstanceSink;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceMetadata;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceCollection;
+
+/**
+ * Tests transforming only a part of an alignment, as done for a partial
+ * retransformation.
+ * 
+ * @author Simon Templer
+ */
+public class PartialTransformationTest extends AbstractTransformationTest {
+
+	/**
+	 * Test that transforming each type cell on its own yields the same
+	 * instances as the complete transformation.
+	 * 
+	 * @throws Exception if an error occurs executing the test
+	 */
+	@Test
+	public void testPartialTypeFilter() throws Exception {
+		TransformationExample example = TransformationExamples
+				.getExample(TransformationExamples.TYPEFILTER);
+		Alignment alignment = example.getAlignment();
+		assertFalse(PartialAlignment.usesExecutionContext(alignment));
+
+		Collection<? extends Cell> typeCells = alignment.getActiveTypeCells();
+		assertTrue("Multiple type cells expected", typeCells.size() > 1);
+
+		List<Instance> full = transformData(example);
+
+		int partialCount = 0;
+		for (Cell typeCell : typeCells) {
+			List<Instance> expected = new ArrayList<>();
+			for (Instance instance : full) {
+				if (typeCell.getId().equals(InstanceMetadata.getCellID(instance))) {
+					expected.add(instance);
+				}
+			}
+
+			List<Instance> partial = transform(example,
+					new PartialAlignment(alignment, Collections.singleton(typeCell)));
+			for (Instance instance : partial) {
+				assertEquals(typeCell.getId(), InstanceMetadata.getCellID(instance));
+			}
+			test(new DefaultInstanceCollection(expected), partial);
+
+			partialCount += partial.size();
+		}
+
+		assertEquals(full.size(), partialCount);
+	}
+
+	/**
+	 * Test that the type cell is only recorded for sinks requesting it.
+	 * 
+	 * @throws Exception if an error occurs executing the test
+	 */
+	@Test
+	public void testNoCellIdByDefault() throws Exception {
+		TransformationExample example = TransformationExamples
+				.getExample(TransformationExamples.TYPEFILTER);
+		ThreadSafeInstanceSink<DefaultInstanceSink> sink = new ThreadSafeInstanceSink<>(
+				new DefaultInstanceSink());
+
+		ConceptualSchemaTransformerTest.transform(example, example.getAlignment(), sink);
+
+		List<Instance> instances = sink.getDecoratee().getInstances();
+		assertFalse(instances.isEmpty());
+		for (Instance instance : instances) {
+			assertNull(InstanceMetadata.getCellID(instance));
+		}
+	}
+
+	@Override
+	protected List<Instance> transformData(TransformationExample example) throws Exception {
+		return transform(example, example.getAlignment());
+	}
+
+	private List<Instance> transform(TransformationExample example, Alignment alignment)
+			throws Exception {
+		CellTrackingSink sink = new CellTrackingSink();
+		ConceptualSchemaTransformerTest.transform(example, alignment, sink);
+		return sink.getInstances();
+	}
+
+	/**
+	 * Thread safe sink requesting the type cells to be recorded.
+	 */
+	private static class CellTrackingSink extends DefaultInstanceSink
+			implements CellTrackingInstanceSink {
+
+		@Override
+		public synchronized void addInstance(Instance instance) {
+			super.addInstance(instance);
+		}
+
+		@Override
+		public synchronized List<Instance> getInstances() {
+			return new ArrayList<>(super.getInstances());
+		}
+
+	}
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.collect.ListMultimap;
+
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.model.impl.DefaultCell;
+import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition;
+import eu.esdihumboldt.hale.common.align.transformation.engine.TransformationEngine;
+import eu.esdihumboldt.hale.common.align.transformation.function.PropertyValue;
+import eu.esdihumboldt.hale.common.align.transformation.function.TransformationException;
+import eu.esdihumboldt.hale.common.align.transformation.function.impl.AbstractSingleTargetPropertyTransformation;
+import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
+import eu.esdihumboldt.hale.common.align.transformation.report.TransformationMessage;
+import eu.esdihumboldt.hale.common.align.transformation.report.impl.CellLog;
+import eu.esdihumboldt.hale.common.align.transformation.report.impl.DefaultTransformationReporter;
+
+/**
+ * Tests for {@link PreparedStates}.
+ *
+ * @author Simon Templer
+ */
+public class PreparedStatesTest {
+
+	/**
+	 * Test that each cell is prepared once and the state is reused for all
+	 * function objects executed for the cell, also concurrently.
+	 *
+	 * @throws Exception if a task fails
+	 */
+	@Test
+	public void testPrepareOnce() throws Exception {
+		final PreparedStates states = new PreparedStates();
+		final AtomicInteger prepared = new AtomicInteger();
+		final Cell cell = new DefaultCell();
+		final int threads = 4;
+		final CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Object>> futures = new ArrayList<>();
+			for (int i = 0; i < threads * 4; i++) {
+				futures.add(executor.submit(new Callable<Object>() {
+
+					@Override
+					public Object call() throws Exception {
+						TestFunction function = new TestFunction(prepared, false);
+						start.await();
+						assertTrue(states.prepare(cell, function, createLog(cell)));
+						return function.getState();
+					}
+				}));
+			}
+			start.countDown();
+
+			Object state = futures.get(0).get();
+			assertNotNull(state);
+			for (Future<Object> future : futures) {
+				assertSame(state, future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, prepared.get());
+
+		// another cell is prepared separately
+		Cell other = new DefaultCell();
+		TestFunction function = new TestFunction(prepared, false);
+		assertTrue(states.prepare(other, function, createLog(other)));
+		assertEquals(2, prepared.get());
+	}
+
+	/**
+	 * Test that a state that is <code>null</code> is reused.
+	 */
+	@Test
+	public void testNullState() {
+		PreparedStates states = new PreparedStates();
+		AtomicInteger prepared = new AtomicInteger();
+		Cell cell = new DefaultCell();
+
+		for (int i = 0; i < 3; i++) {
+			TestFunction function = new TestFunction(prepared, false) {
+
+				@Override
+				public Object prepare(Cell cell, TransformationLog log)
+						throws TransformationException {
+					super.prepare(cell, log);
+					return null;
+				}
+			};
+			assertTrue(states.prepare(cell, function, createLog(cell)));
+			assertTrue(function.isPrepared());
+			assertNull(function.getState());
+		}
+		assertEquals(1, prepared.get());
+	}
+
+	/**
+	 * Test that a failed preparation is reported once and not repeated.
+	 */
+	@Test
+	public void testFailedPrepare() {
+		PreparedStates states = new PreparedStates();
+		AtomicInteger prepared = new AtomicInteger();
+		AtomicInteger errors = new AtomicInteger();
+		Cell cell = new DefaultCell();
+
+		for (int i = 0; i < 3; i++) {
+			TestFunction function = new TestFunction(prepared, true);
+			CellLog log = new CellLog(new DefaultTransformationReporter("test", false), cell) {
+
+				@Override
+				public void error(TransformationMessage message) {
+					errors.incrementAndGet();
+					super.error(message);
+				}
+			};
+			assertFalse(states.prepare(cell, function, log));
+			assertFalse(function.isPrepared());
+		}
+		assertEquals(1, prepared.get());
+		assertEquals(1, errors.get());
+	}
+
+	private static TransformationLog createLog(Cell cell) {
+		return new CellLog(new DefaultTransformationReporter("test", false), cell);
+	}
+
+	/**
+	 * Function counting how often it is prepared.
+	 */
+	private static class TestFunction
+			extends AbstractSingleTargetPropertyTransformation<TransformationEngine> {
+
+		private final AtomicInteger prepared;
+
+		private final boolean fail;
+
+		private boolean stateSet = false;
+
+		/**
+		 * @param prepared the counter for preparations
+		 * @param fail if preparing the function should fail
+		 */
+		public TestFunction(AtomicInteger prepared, boolean fail) {
+			this.prepared = prepared;
+			this.fail = fail;
+		}
+
+		@Override
+		public Object prepare(Cell cell, TransformationLog log) throws TransformationException {
+			prepared.incrementAndGet();
+			if (fail) {
+				throw new TransformationException("Preparation failed");
+			}
+			return new Object();
+		}
+
+		@Override
+		public void setPreparedState(Object preparedState) {
+			super.setPreparedState(preparedState);
+			stateSet = true;
+		}
+
+		/**
+		 * @return if the prepared state was set
+		 */
+		public boolean isPrepared() {
+			return stateSet;
+		}
+
+		/**
+		 * @return the prepared state
+		 */
+		public Object getState() {
+			return getPreparedState();
+		}
+
+		@Override
+		protected Object evaluate(String transformationIdentifier, TransformationEngine engine,
+				ListMultimap<String, PropertyValue> variables, String resultName,
+				PropertyEntityDefinition resultProperty, Map<String, String> executionParameters,
+				TransformationLog log) throws TransformationException {
+			return getPreparedState();
+		}
+
+	}
+
+}
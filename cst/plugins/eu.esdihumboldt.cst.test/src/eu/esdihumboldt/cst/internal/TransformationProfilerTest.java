@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+
+import eu.esdihumboldt.hale.common.align.model.impl.DefaultCell;
+import eu.esdihumboldt.hale.common.align.transformation.report.impl.DefaultTransformationReporter;
+
+/**
+ * Tests for {@link TransformationProfiler} and {@link CellMetrics}.
+ *
+ * @author Simon Templer
+ */
+public class TransformationProfilerTest {
+
+	/**
+	 * Test the recorded execution times and percentiles.
+	 */
+	@Test
+	public void testPercentiles() {
+		CellMetrics metrics = new CellMetrics(null, false);
+
+		// simulate executions taking 1 to 1000 microseconds
+		for (int i = 1; i <= 1000; i++) {
+			metrics.stop(System.nanoTime() - i * 1000L, -1);
+		}
+
+		assertEquals(1000, metrics.getInvocations());
+		assertTrue(metrics.getTotalNanos() >= 500500L * 1000);
+		assertTrue(metrics.getMaxNanos() >= 1000000);
+
+		assertApproximately(500000, metrics.getPercentileNanos(0.5));
+		assertApproximately(900000, metrics.getPercentileNanos(0.9));
+		assertApproximately(990000, metrics.getPercentileNanos(0.99));
+		assertTrue(metrics.getPercentileNanos(1) <= metrics.getMaxNanos());
+	}
+
+	private static void assertApproximately(long expected, long actual) {
+		assertTrue("Expected about " + expected + " but was " + actual,
+				actual >= expected && actual <= expected * 1.3);
+	}
+
+	/**
+	 * Test reporting the metrics.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testReport() throws Exception {
+		File file = File.createTempFile("metrics", ".txt");
+		file.deleteOnExit();
+		TransformationProfiler profiler = new TransformationProfiler(true, file);
+
+		DefaultCell typeCell = new DefaultCell();
+		typeCell.setId("type\"cell");
+		typeCell.setTransformationIdentifier("retype");
+		DefaultCell propertyCell = new DefaultCell();
+		propertyCell.setId("property-cell");
+		propertyCell.setTransformationIdentifier("rename");
+
+		CellMetrics metrics = profiler.getMetrics(typeCell, true);
+		assertSame(metrics, profiler.getMetrics(typeCell, true));
+		metrics.stop(metrics.start(), metrics.startAllocation());
+		metrics = profiler.getMetrics(propertyCell, false);
+		for (int i = 0; i < 10; i++) {
+			metrics.stop(metrics.start(), metrics.startAllocation());
+		}
+
+		DefaultTransformationReporter reporter = new DefaultTransformationReporter("Test",
+				false);
+		profiler.report(reporter);
+
+		assertEquals(10L, reporter.stats().at("profile").at("property-cell").at("invocations")
+				.value());
+		assertEquals("retype",
+				reporter.stats().at("profile").at("type\"cell").at("function").value());
+
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		assertTrue(lines.contains(
+				"hale_cell_invocations_total{cell=\"property-cell\",function=\"rename\",kind=\"property\"} 10"));
+		assertTrue(lines.contains(
+				"hale_cell_invocations_total{cell=\"type\\\"cell\",function=\"retype\",kind=\"type\"} 1"));
+		assertEquals("# EOF", lines.get(lines.size() - 1));
+	}
+
+	/**
+	 * Test that nothing is recorded if profiling is disabled.
+	 */
+	@Test
+	public void testDisabled() {
+		TransformationProfiler profiler = new TransformationProfiler(false, null);
+		CellMetrics metrics = profiler.getMetrics(new DefaultCell(), false);
+		metrics.stop(metrics.start(), metrics.startAllocation());
+		assertEquals(0, metrics.getInvocations());
+	}
+
+	/**
+	 * Test that profiling is only enabled if configured.
+	 */
+	@Test
+	public void testConfiguration() {
+		String enabled = System.getProperty(TransformationProfiler.SYSTEM_PROPERTY_ENABLED);
+		try {
+			System.clearProperty(TransformationProfiler.SYSTEM_PROPERTY_ENABLED);
+			if (System.getenv(TransformationProfiler.ENV_ENABLED) == null
+					&& System.getenv(TransformationProfiler.ENV_METRICS_FILE) == null
+					&& System.getProperty(
+							TransformationProfiler.SYSTEM_PROPERTY_METRICS_FILE) == null) {
+				assertSame(CellMetrics.DISABLED,
+						new TransformationProfiler().getMetrics(new DefaultCell(), false));
+			}
+
+			System.setProperty(TransformationProfiler.SYSTEM_PROPERTY_ENABLED, "true");
+			assertNotSame(CellMetrics.DISABLED,
+					new TransformationProfiler().getMetrics(new DefaultCell(), false));
+		} finally {
+			if (enabled == null) {
+				System.clearProperty(TransformationProfiler.SYSTEM_PROPERTY_ENABLED);
+			}
+			else {
+				System.setProperty(TransformationProfiler.SYSTEM_PROPERTY_ENABLED, enabled);
+			}
+		}
+	}
+
+}
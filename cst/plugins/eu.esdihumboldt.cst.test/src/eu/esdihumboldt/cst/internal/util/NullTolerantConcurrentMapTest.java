@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.internal.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link NullTolerantConcurrentMap}.
+ *
+ * @author Simon Templer
+ */
+public class NullTolerantConcurrentMapTest {
+
+	/**
+	 * Test <code>null</code> keys and values.
+	 */
+	@Test
+	public void testNull() {
+		Map<Object, Object> map = new NullTolerantConcurrentMap<>();
+
+		assertNull(map.get(null));
+		assertFalse(map.containsKey(null));
+
+		map.put(null, "value");
+		map.put("key", null);
+		assertEquals("value", map.get(null));
+		assertNull(map.get("key"));
+		assertTrue(map.containsKey(null));
+		assertTrue(map.containsKey("key"));
+		assertTrue(map.containsValue(null));
+		assertEquals("default", map.getOrDefault("other", "default"));
+		assertNull(map.getOrDefault("key", "default"));
+
+		Map<Object, Object> expected = new HashMap<>();
+		expected.put(null, "value");
+		expected.put("key", null);
+		assertEquals(expected, map);
+		assertEquals(expected, new HashMap<>(map));
+
+		assertEquals("value", map.remove(null));
+		assertNull(map.remove("key"));
+		assertTrue(map.isEmpty());
+	}
+
+	/**
+	 * Test atomic operations with <code>null</code> keys and values.
+	 */
+	@Test
+	public void testAtomic() {
+		NullTolerantConcurrentMap<Object, Object> map = new NullTolerantConcurrentMap<>();
+
+		assertEquals("a", map.computeIfAbsent(null, k -> "a"));
+		assertEquals("a", map.computeIfAbsent(null, k -> "b"));
+
+		// a key mapped to null is treated as absent
+		map.put("key", null);
+		assertEquals("c", map.computeIfAbsent("key", k -> "c"));
+		assertEquals("c", map.get("key"));
+
+		map.put("key", null);
+		assertNull(map.computeIfAbsent("key", k -> null));
+		assertTrue(map.containsKey("key"));
+		assertNull(map.computeIfPresent("key", (k, v) -> "d"));
+
+		assertEquals("e", map.merge("key", "e", (a, b) -> a + "" + b));
+		assertEquals("ef", map.merge("key", "f", (a, b) -> a + "" + b));
+
+		assertNull(map.compute("key", (k, v) -> null));
+		assertFalse(map.containsKey("key"));
+
+		assertNull(map.putIfAbsent("key", null));
+		assertTrue(map.replace("key", null, "g"));
+		assertTrue(map.remove("key", "g"));
+	}
+
+	/**
+	 * Test modifying the map through its entries.
+	 */
+	@Test
+	public void testEntries() {
+		Map<Object, Object> map = new NullTolerantConcurrentMap<>();
+		map.put(null, null);
+		map.put("key", "value");
+
+		for (Entry<Object, Object> entry : map.entrySet()) {
+			if (entry.getKey() == null) {
+				assertNull(entry.setValue("set"));
+			}
+		}
+		assertEquals("set", map.get(null));
+
+		Iterator<Object> it = map.keySet().iterator();
+		while (it.hasNext()) {
+			if (it.next() == null) {
+				it.remove();
+			}
+		}
+		assertFalse(map.containsKey(null));
+		assertEquals(1, map.size());
+	}
+
+}
@@ -30,6 +30,7 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimaps;
 
+import eu.esdihumboldt.cst.internal.CellMetrics;
 import eu.esdihumboldt.cst.internal.EngineManager;
 import eu.esdihumboldt.cst.internal.TransformationContext;
 import eu.esdihumboldt.cst.internal.TreePropertyTransformer;
@@ -53,6 +54,7 @@ import eu.esdihumboldt.hale.common.align.transformation.report.TransformationRep
 import eu.esdihumboldt.hale.common.align.transformation.report.impl.CellLog;
 import eu.esdihumboldt.hale.common.align.transformation.report.impl.DefaultTransformationReporter;
 import eu.esdihumboldt.hale.common.align.transformation.report.impl.TransformationMessageImpl;
+import eu.esdihumboldt.hale.common.align.transformation.service.CellTrackingInstanceSink;
 import eu.esdihumboldt.hale.common.align.transformation.service.InstanceSink;
 import eu.esdihumboldt.hale.common.align.transformation.service.PropertyTransformer;
 import eu.esdihumboldt.hale.common.align.transformation.service.TransformationService;
@@ -65,6 +67,7 @@ import eu.esdihumboldt.hale.common.instance.model.Filter;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.instance.model.ext.TypeConditionFilter;
 import eu.esdihumboldt.hale.common.instance.model.impl.GenericResourceIteratorAdapter;
 import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
 import net.jcip.annotations.Immutable;
@@ -104,6 +107,9 @@ public class ConceptualSchemaTransformer implements TransformationService {
 		};
 		progressIndicator = sub;
 
+		// only record the creating type cells if requested
+		boolean recordCellIds = target instanceof CellTrackingInstanceSink;
+
 		target = new CountingInstanceSink(target) {
 
 			private long lastUpdate = 0;
@@ -125,7 +131,7 @@ public class ConceptualSchemaTransformer implements TransformationService {
 			EngineManager engines = new EngineManager();
 
 			PropertyTransformer transformer = new TreePropertyTransformer(alignment, reporter,
-					target, engines, context);
+					target, engines, context, recordCellIds);
 
 			Collection<? extends Cell> typeCells = alignment.getActiveTypeCells();
 
@@ -164,6 +170,9 @@ public class ConceptualSchemaTransformer implements TransformationService {
 			// may leave transformed instances in inconsistent state
 			transformer.join(progressIndicator.isCanceled());
 
+			context.getProfiler().report(reporter);
+
+			context.dispose();
 			engines.dispose();
 
 			reporter.setSuccess(true);
@@ -310,6 +319,13 @@ public class ConceptualSchemaTransformer implements TransformationService {
 
 		progressIndicator.setCurrentTask("Execute type transformations");
 
+		/*
+		 * Note that the execution time of a type transformation includes the
+		 * property transformations for the created instances, as long as they
+		 * are not run in separate threads.
+		 */
+		CellMetrics metrics = context.getProfiler().getMetrics(typeCell, true);
+
 		try {
 			while (iterator.hasNext()) {
 				// break on cancel
@@ -323,12 +339,16 @@ public class ConceptualSchemaTransformer implements TransformationService {
 				function.setTarget(targetTypes);
 				function.setExecutionContext(context.getCellContext(typeCell));
 
+				long allocationStart = metrics.startAllocation();
+				long start = metrics.start();
 				try {
 					((TypeTransformation) function).execute(transformation.getFunctionId(), engine,
 							executionParameters, cellLog, typeCell);
 				} catch (TransformationException e) {
 					cellLog.error(cellLog
 							.createMessage("Type transformation failed, skipping instance.", e));
+				} finally {
+					metrics.stop(start, allocationStart);
 				}
 			}
 		} finally {
@@ -352,7 +372,7 @@ public class ConceptualSchemaTransformer implements TransformationService {
 	 * 
 	 * @author Kai Schwierczek
 	 */
-	private static class TypeCellFilter implements Filter {
+	private static class TypeCellFilter implements TypeConditionFilter {
 
 		private final HashMap<TypeDefinition, Object> lookup = new HashMap<TypeDefinition, Object>();
 
@@ -382,5 +402,16 @@ public class ConceptualSchemaTransformer implements TransformationService {
 			else
 				return filter == NO_FILTER || ((Filter) filter).match(instance);
 		}
+
+		@Override
+		public boolean accepts(TypeDefinition type) {
+			return lookup.containsKey(type);
+		}
+
+		@Override
+		public Filter getCondition(TypeDefinition type) {
+			Object filter = lookup.get(type);
+			return (filter instanceof Filter) ? ((Filter) filter) : (null);
+		}
 	}
 }
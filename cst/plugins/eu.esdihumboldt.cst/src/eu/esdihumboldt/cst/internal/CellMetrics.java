@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.internal;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.util.ThreadAllocation;
+
+/**
+ * Execution metrics of a cell. Counters are striped, so they can be updated
+ * concurrently at low cost. Execution times are recorded in a histogram with
+ * four buckets per power of two, so percentiles have a precision of about
+ * 25%. The allocated memory is estimated from a sample of the executions.
+ *
+ * @author Simon Templer
+ */
+public class CellMetrics {
+
+	/**
+	 * Metrics that don't record anything.
+	 */
+	static final CellMetrics DISABLED = new CellMetrics(null, false, false);
+
+	/**
+	 * One in this number of executions is sampled for the allocated memory.
+	 */
+	private static final int ALLOCATION_SAMPLE_RATE = 64;
+
+	private static final int SUB_BUCKET_BITS = 2;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final Cell cell;
+
+	private final boolean typeCell;
+
+	private final boolean enabled;
+
+	private final LongAdder invocations = new LongAdder();
+
+	private final LongAdder totalNanos = new LongAdder();
+
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+	private final AtomicLongArray histogram;
+
+	private final LongAdder allocationSamples = new LongAdder();
+
+	private final LongAdder sampledBytes = new LongAdder();
+
+	/**
+	 * Create metrics for a cell.
+	 *
+	 * @param cell the cell
+	 * @param typeCell if the cell is a type cell
+	 */
+	public CellMetrics(Cell cell, boolean typeCell) {
+		this(cell, typeCell, true);
+	}
+
+	private CellMetrics(Cell cell, boolean typeCell, boolean enabled) {
+		this.cell = cell;
+		this.typeCell = typeCell;
+		this.enabled = enabled;
+		this.histogram = enabled ? new AtomicLongArray(BUCKETS) : null;
+	}
+
+	/**
+	 * Start an execution.
+	 *
+	 * @return the start time to pass to {@link #stop(long, long)}
+	 */
+	public long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Start determining the memory allocated during an execution, if the
+	 * execution is sampled.
+	 *
+	 * @return the allocation start to pass to {@link #stop(long, long)}, a
+	 *         negative value if the execution is not sampled
+	 */
+	public long startAllocation() {
+		if (!enabled || !ThreadAllocation.isSupported()
+				|| ThreadLocalRandom.current().nextInt(ALLOCATION_SAMPLE_RATE) != 0) {
+			return -1;
+		}
+		return ThreadAllocation.getCurrentThreadAllocatedBytes();
+	}
+
+	/**
+	 * Stop an execution and record it.
+	 *
+	 * @param start the start time returned by {@link #start()}
+	 * @param allocationStart the allocation start returned by
+	 *            {@link #startAllocation()}
+	 */
+	public void stop(long start, long allocationStart) {
+		if (!enabled) {
+			return;
+		}
+
+		long nanos = System.nanoTime() - start;
+		invocations.increment();
+		totalNanos.add(nanos);
+		maxNanos.accumulate(nanos);
+		histogram.incrementAndGet(bucket(nanos));
+
+		if (allocationStart >= 0) {
+			long allocated = ThreadAllocation.getCurrentThreadAllocatedBytes();
+			if (allocated >= allocationStart) {
+				allocationSamples.increment();
+				sampledBytes.add(allocated - allocationStart);
+			}
+		}
+	}
+
+	/**
+	 * @return the cell
+	 */
+	public Cell getCell() {
+		return cell;
+	}
+
+	/**
+	 * @return if the cell is a type cell
+	 */
+	public boolean isTypeCell() {
+		return typeCell;
+	}
+
+	/**
+	 * @return the number of executions
+	 */
+	public long getInvocations() {
+		return invocations.sum();
+	}
+
+	/**
+	 * @return the total execution time in nanoseconds
+	 */
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	/**
+	 * @return the maximum execution time in nanoseconds
+	 */
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * Get the estimated execution time percentile.
+	 *
+	 * @param percentile the percentile, between zero and one
+	 * @return the upper bound of the execution time in nanoseconds that the
+	 *         given share of executions did not exceed
+	 */
+	public long getPercentileNanos(double percentile) {
+		if (!enabled) {
+			return 0;
+		}
+
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = histogram.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(percentile * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(upperBound(i), getMaxNanos());
+			}
+		}
+		return getMaxNanos();
+	}
+
+	/**
+	 * @return the estimated total number of bytes allocated during the
+	 *         executions, <code>-1</code> if not available
+	 */
+	public long getEstimatedAllocatedBytes() {
+		long samples = allocationSamples.sum();
+		if (samples == 0) {
+			return -1;
+		}
+		return (long) ((double) sampledBytes.sum() / samples * getInvocations());
+	}
+
+	/**
+	 * Determine the histogram bucket for a value.
+	 *
+	 * @param value the value
+	 * @return the bucket index
+	 */
+	static int bucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) Math.max(0, value);
+		}
+		int msb = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (msb - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Determine the largest value of a histogram bucket.
+	 *
+	 * @param bucket the bucket index
+	 * @return the largest value in the bucket
+	 */
+	static long upperBound(int bucket) {
+		if (bucket < SUB_BUCKETS - 1) {
+			return bucket;
+		}
+		if (bucket >= BUCKETS - 1) {
+			return Long.MAX_VALUE;
+		}
+		return lowerBound(bucket + 1) - 1;
+	}
+
+	private static long lowerBound(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int msb = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		int sub = bucket % SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + sub) << (msb - SUB_BUCKET_BITS);
+	}
+
+}
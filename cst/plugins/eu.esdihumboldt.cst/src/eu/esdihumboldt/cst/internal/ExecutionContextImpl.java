@@ -15,10 +15,9 @@
 
 package eu.esdihumboldt.cst.internal;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 
+import eu.esdihumboldt.cst.internal.util.NullTolerantConcurrentMap;
 import eu.esdihumboldt.hale.common.align.model.Alignment;
 import eu.esdihumboldt.hale.common.align.model.Cell;
 import eu.esdihumboldt.hale.common.align.transformation.function.ExecutionContext;
@@ -46,7 +45,7 @@ public class ExecutionContextImpl implements ExecutionContext {
 	 * @param alignment the transformation alignment
 	 * @param functionContexts used to acquire a function context
 	 * @param transformationContext the transformation context to use, should
-	 *            already be synchronized
+	 *            be a concurrent map
 	 * @param cell the cell this context is for
 	 */
 	public ExecutionContextImpl(ServiceProvider serviceProvider, Alignment alignment,
@@ -56,7 +55,7 @@ public class ExecutionContextImpl implements ExecutionContext {
 		this.functionContexts = functionContexts;
 		this.transformationContext = transformationContext;
 		this.cell = cell;
-		cellContext = Collections.synchronizedMap(new HashMap<>());
+		cellContext = new NullTolerantConcurrentMap<>();
 	}
 
 	@Override
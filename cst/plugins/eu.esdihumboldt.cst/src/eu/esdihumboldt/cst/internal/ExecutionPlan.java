@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.model.Priority;
+import eu.esdihumboldt.hale.common.align.model.transformation.tree.CellNode;
+import eu.esdihumboldt.hale.common.align.model.transformation.tree.TransformationTree;
+import eu.esdihumboldt.hale.common.align.model.transformation.tree.visitor.AbstractTargetToSourceVisitor;
+
+/**
+ * Execution plan for the property transformations of a type cell. The plan is
+ * compiled once from the (not yet annotated) transformation tree of the type
+ * cell and holds only the function executor passes that are needed for the
+ * tree, i.e. the passes for the priorities of the property cells that are
+ * present in the tree.<br>
+ * <br>
+ * When executed on the tree of an instance, the cell nodes are collected in a
+ * single traversal of the tree, grouped by priority, and each pass only
+ * validates and executes the cell nodes of its priority, in the order a
+ * traversal of the tree would visit them. Previously every pass traversed the
+ * whole tree and validated all cell nodes. The cell nodes cannot be collected
+ * when compiling the plan, as the tree of each instance may be augmented with
+ * duplicated nodes.
+ *
+ * @author Simon Templer
+ */
+public class ExecutionPlan {
+
+	private final List<FunctionExecutor> executors;
+
+	/**
+	 * Create an execution plan.
+	 *
+	 * @param executors the function executors to apply, in order
+	 */
+	private ExecutionPlan(List<FunctionExecutor> executors) {
+		super();
+		this.executors = Collections.unmodifiableList(executors);
+	}
+
+	/**
+	 * Compile the execution plan for a transformation tree.
+	 *
+	 * @param tree the transformation tree, it should not be annotated with
+	 *            instance values yet
+	 * @param executors the function executors for all priorities, in order of
+	 *            execution
+	 * @return the execution plan
+	 */
+	public static ExecutionPlan compile(TransformationTree tree,
+			List<FunctionExecutor> executors) {
+		// collect the priorities of the cells present in the tree
+		final Set<Priority> priorities = EnumSet.noneOf(Priority.class);
+		tree.accept(new AbstractTargetToSourceVisitor() {
+
+			@Override
+			public boolean visit(CellNode cell) {
+				Priority priority = cell.getCell().getPriority();
+				if (priority != null) {
+					priorities.add(priority);
+				}
+				// no need to visit the sources
+				return false;
+			}
+
+			@Override
+			public boolean includeAnnotatedNodes() {
+				return false;
+			}
+		});
+
+		List<FunctionExecutor> planned = new ArrayList<FunctionExecutor>();
+		for (FunctionExecutor executor : executors) {
+			if (priorities.contains(executor.getFunctionPriority())) {
+				planned.add(executor);
+			}
+		}
+		return new ExecutionPlan(planned);
+	}
+
+	/**
+	 * Execute the planned function executors on a transformation tree. The
+	 * tree must be compatible to the tree the plan was compiled from, i.e. it
+	 * must be created from the same type cell.
+	 *
+	 * @param tree the transformation tree, annotated with the source values
+	 * @param typeCell the type cell
+	 */
+	public void execute(TransformationTree tree, Cell typeCell) {
+		if (executors.isEmpty()) {
+			return;
+		}
+
+		Map<Priority, List<CellNode>> cellNodes = collectCellNodes(tree);
+		for (FunctionExecutor functionExecutor : executors) {
+			List<CellNode> nodes = cellNodes.get(functionExecutor.getFunctionPriority());
+			if (nodes != null) {
+				functionExecutor.setTypeCell(typeCell);
+				for (CellNode node : nodes) {
+					node.accept(functionExecutor);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collect the cell nodes of a transformation tree per priority, in the
+	 * order they are visited by the function executors.
+	 *
+	 * @param tree the transformation tree
+	 * @return the cell nodes per priority
+	 */
+	private static Map<Priority, List<CellNode>> collectCellNodes(TransformationTree tree) {
+		final Map<Priority, List<CellNode>> cellNodes = new EnumMap<>(Priority.class);
+		tree.accept(new AbstractTargetToSourceVisitor() {
+
+			@Override
+			public boolean visit(CellNode cell) {
+				Priority priority = cell.getCell().getPriority();
+				if (priority != null) {
+					List<CellNode> nodes = cellNodes.get(priority);
+					if (nodes == null) {
+						nodes = new ArrayList<>();
+						cellNodes.put(priority, nodes);
+					}
+					// a cell node is added for each time it is visited, like
+					// in a traversal with the function executor
+					nodes.add(cell);
+				}
+				// like the function executor, don't visit the sources
+				return false;
+			}
+
+			@Override
+			public boolean includeAnnotatedNodes() {
+				// like the function executor, include duplicated nodes
+				return true;
+			}
+		});
+		return cellNodes;
+	}
+
+	/**
+	 * @return the number of function executor passes in the plan
+	 */
+	public int getPassCount() {
+		return executors.size();
+	}
+
+}
@@ -15,10 +15,11 @@
 
 package eu.esdihumboldt.cst.internal;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import eu.esdihumboldt.cst.internal.util.NullTolerantConcurrentMap;
 import eu.esdihumboldt.hale.common.align.model.Cell;
 
 /**
@@ -29,7 +30,7 @@ import eu.esdihumboldt.hale.common.align.model.Cell;
  */
 public class FunctionContexts {
 
-	private final Map<String, Map<Object, Object>> functionContexts = new HashMap<String, Map<Object, Object>>();
+	private final ConcurrentMap<String, Map<Object, Object>> functionContexts = new ConcurrentHashMap<String, Map<Object, Object>>();
 
 	/**
 	 * Returns a function context for the function of the specified cell.
@@ -49,20 +50,18 @@ public class FunctionContexts {
 	/**
 	 * Returns a function context for the specified function id.
 	 * 
-	 * When invoking multiple operations on the context map, make sure to use
-	 * synchronization if appropriate.
+	 * The context map is a concurrent map that supports <code>null</code> keys
+	 * and values. When invoking multiple operations on the context map, make
+	 * sure to use synchronization if appropriate.
 	 * 
 	 * @param functionId the function id for which to acquire a function context
 	 * @return the function context associated with the id
 	 */
 	public Map<Object, Object> getFunctionContext(String functionId) {
-		Map<Object, Object> context;
-		synchronized (functionContexts) {
-			context = functionContexts.get(functionId);
-			if (context == null) {
-				context = Collections.synchronizedMap(new HashMap<Object, Object>());
-				functionContexts.put(functionId, context);
-			}
+		Map<Object, Object> context = functionContexts.get(functionId);
+		if (context == null) {
+			context = functionContexts.computeIfAbsent(functionId,
+					id -> new NullTolerantConcurrentMap<Object, Object>());
 		}
 		return context;
 	}
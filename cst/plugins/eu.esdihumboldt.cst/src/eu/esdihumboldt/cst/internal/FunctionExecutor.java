@@ -20,7 +20,9 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.convert.ConversionException;
 
@@ -71,6 +73,8 @@ public class FunctionExecutor extends CellNodeValidator {
 	private final TransformationContext context;
 	private final Priority functionPriority;
 	private final ThreadLocal<Cell> typeCell = new ThreadLocal<>();
+	private final Map<String, PropertyTransformationFactory> resolvedTransformations = new ConcurrentHashMap<>();
+	private final PreparedStates preparedStates = new PreparedStates();
 
 	/**
 	 * Create a function executor.
@@ -118,20 +122,26 @@ public class FunctionExecutor extends CellNodeValidator {
 
 		String functionId = cell.getTransformationIdentifier();
 
-		List<PropertyTransformationFactory> transformations = this.transformations
-				.getPropertyTransformations(functionId);
+		PropertyTransformationFactory transformation = resolvedTransformations.get(functionId);
+		if (transformation == null) {
+			List<PropertyTransformationFactory> transformations = this.transformations
+					.getPropertyTransformations(functionId);
 
-		if (transformations == null || transformations.isEmpty()) {
-			reporter.error(new TransformationMessageImpl(cell, MessageFormat.format(
-					"No transformation for function {0} found. Skipping property transformation.",
-					functionId), null));
-		}
-		else {
-			// TODO select based on e.g. preferred transformation engine?
-			PropertyTransformationFactory transformation = transformations.iterator().next();
+			if (transformations == null || transformations.isEmpty()) {
+				reporter.error(new TransformationMessageImpl(cell, MessageFormat.format(
+						"No transformation for function {0} found. Skipping property transformation.",
+						functionId), null));
+				return;
+			}
 
-			executeTransformation(transformation, cell, sources, targets);
+			// TODO select based on e.g. preferred transformation engine?
+			transformation = transformations.iterator().next();
+			// the available transformations don't change during a
+			// transformation run
+			resolvedTransformations.put(functionId, transformation);
 		}
+
+		executeTransformation(transformation, cell, sources, targets);
 	}
 
 	/**
@@ -219,7 +229,16 @@ public class FunctionExecutor extends CellNodeValidator {
 		function.setTargetType(targetType);
 		function.setTypeCell(typeCell.get());
 
+		// set prepared state
+		if (!preparedStates.prepare(cell, function, cellLog)) {
+			// preparing the function for the cell failed, already reported
+			return;
+		}
+
 		// execute function
+		CellMetrics metrics = context.getProfiler().getMetrics(cell, false);
+		long allocationStart = metrics.startAllocation();
+		long start = metrics.start();
 		try {
 			((PropertyTransformation) function).execute(transformation.getIdentifier(), engine,
 					transformation.getExecutionParameters(), cellLog, cell);
@@ -229,6 +248,8 @@ public class FunctionExecutor extends CellNodeValidator {
 					"Skipping property transformation: Executing property transformation failed.",
 					e));
 			return;
+		} finally {
+			metrics.stop(start, allocationStart);
 		}
 
 		// apply function results
@@ -409,4 +430,11 @@ public class FunctionExecutor extends CellNodeValidator {
 	public void setTypeCell(Cell typeCell) {
 		this.typeCell.set(typeCell);
 	}
+
+	/**
+	 * @return the priority of the functions executed by this executor
+	 */
+	public Priority getFunctionPriority() {
+		return functionPriority;
+	}
 }
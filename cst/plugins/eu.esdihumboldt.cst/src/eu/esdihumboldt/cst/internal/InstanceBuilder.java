@@ -22,10 +22,10 @@ import eu.esdihumboldt.hale.common.align.model.transformation.tree.TargetNode;
 import eu.esdihumboldt.hale.common.align.model.transformation.tree.TransformationTree;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceFactory;
 import eu.esdihumboldt.hale.common.instance.model.MutableGroup;
 import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultGroup;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.instance.model.impl.SharedInstanceFactory;
 import eu.esdihumboldt.hale.common.schema.model.DefinitionUtil;
 import eu.esdihumboldt.hale.common.schema.model.constraint.property.Cardinality;
 
@@ -97,8 +97,8 @@ public class InstanceBuilder {
 						value = ((Instance) value).getValue();
 					}
 
-					MutableInstance instance = new DefaultInstance(node.getDefinition()
-							.asProperty().getPropertyType(), null);
+					MutableInstance instance = SharedInstanceFactory.getInstance()
+							.createInstance(node.getDefinition().asProperty().getPropertyType());
 					instance.setValue(value);
 
 					// XXX since this is the same for all instances maybe do
@@ -117,11 +117,12 @@ public class InstanceBuilder {
 
 		// it's a property or group with no value
 		MutableGroup group;
+		InstanceFactory factory = SharedInstanceFactory.getInstance();
 		if (isGroup) {
-			group = new DefaultGroup(node.getDefinition().asGroup());
+			group = factory.createGroup(node.getDefinition().asGroup());
 		}
 		else if (isProperty) {
-			group = new DefaultInstance(node.getDefinition().asProperty().getPropertyType(), null);
+			group = factory.createInstance(node.getDefinition().asProperty().getPropertyType());
 		}
 		else {
 			throw new IllegalStateException("Illegal child definition");
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.internal;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.transformation.function.PropertyTransformation;
+import eu.esdihumboldt.hale.common.align.transformation.report.TransformationLog;
+
+/**
+ * Function states prepared per cell. Each cell is prepared only once, also if
+ * its function is executed concurrently, and the prepared state is handed to
+ * all function objects executed for the cell. If preparing the function
+ * fails, this is reported once and the cell is not prepared again.
+ *
+ * @author Simon Templer
+ * @see PropertyTransformation#prepare(Cell, TransformationLog)
+ */
+public class PreparedStates {
+
+	/**
+	 * Placeholder for a prepared state that is <code>null</code>.
+	 */
+	private static final Object NO_STATE = new Object();
+
+	/**
+	 * Prepared states per cell, an empty optional if preparing failed.
+	 */
+	private final Map<Cell, Optional<Object>> states = new ConcurrentHashMap<>();
+
+	/**
+	 * Set the prepared state for the given cell on a function object. The
+	 * state is prepared using the function object if the cell was not
+	 * prepared yet.
+	 *
+	 * @param cell the cell the function is executed for
+	 * @param function the function object, with the parameters and the
+	 *            execution context set
+	 * @param log the transformation log to report to if preparing the
+	 *            function fails
+	 * @return <code>true</code> if the prepared state was set,
+	 *         <code>false</code> if preparing the function for the cell failed
+	 */
+	public boolean prepare(Cell cell, PropertyTransformation<?> function, TransformationLog log) {
+		Optional<Object> state = states.computeIfAbsent(cell, c -> {
+			try {
+				Object prepared = function.prepare(c, log);
+				return Optional.of((prepared == null) ? (NO_STATE) : (prepared));
+			} catch (Throwable e) {
+				log.error(log.createMessage(
+						"Skipping property transformation: Preparing property transformation failed.",
+						e));
+				return Optional.empty();
+			}
+		});
+
+		if (!state.isPresent()) {
+			return false;
+		}
+
+		Object prepared = state.get();
+		function.setPreparedState((prepared == NO_STATE) ? (null) : (prepared));
+		return true;
+	}
+
+}
@@ -16,15 +16,16 @@
 
 package eu.esdihumboldt.cst.internal;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import eu.esdihumboldt.cst.internal.util.NullTolerantConcurrentMap;
 import eu.esdihumboldt.hale.common.align.model.Alignment;
 import eu.esdihumboldt.hale.common.align.model.Cell;
 import eu.esdihumboldt.hale.common.align.transformation.function.ExecutionContext;
 import eu.esdihumboldt.hale.common.core.service.ServiceProvider;
+import eu.esdihumboldt.util.groovy.collector.GenericCollector;
 
 /**
  * Execution context for the transformation.
@@ -41,15 +42,19 @@ public class TransformationContext {
 	/**
 	 * Overall transformation context.
 	 */
-	private final Map<Object, Object> context = Collections
-			.synchronizedMap(new HashMap<Object, Object>());
+	private final Map<Object, Object> context = new NullTolerantConcurrentMap<Object, Object>();
 
-	private final Map<Cell, ExecutionContext> cachedContexts = new IdentityHashMap<Cell, ExecutionContext>();
+	/**
+	 * Execution contexts per cell.
+	 */
+	private final ConcurrentMap<Cell, ExecutionContext> cachedContexts = new ConcurrentHashMap<Cell, ExecutionContext>();
 
 	private final ServiceProvider serviceProvider;
 
 	private final Alignment alignment;
 
+	private final TransformationProfiler profiler = new TransformationProfiler();
+
 	/**
 	 * Create a transformation context.
 	 * 
@@ -70,6 +75,13 @@ public class TransformationContext {
 		return serviceProvider;
 	}
 
+	/**
+	 * @return the profiler collecting the cell execution metrics
+	 */
+	public TransformationProfiler getProfiler() {
+		return profiler;
+	}
+
 	/**
 	 * Get the execution context for the given cell.
 	 * 
@@ -77,16 +89,34 @@ public class TransformationContext {
 	 * @return the execution context
 	 */
 	public ExecutionContext getCellContext(final Cell cell) {
-		ExecutionContext context;
-		synchronized (cachedContexts) {
-			context = cachedContexts.get(cell);
-			if (context == null) {
-				context = new ExecutionContextImpl(serviceProvider, alignment, functionContexts,
-						TransformationContext.this.context, cell);
-			}
-			cachedContexts.put(cell, context);
+		ExecutionContext context = cachedContexts.get(cell);
+		if (context == null) {
+			context = cachedContexts.computeIfAbsent(cell,
+					c -> new ExecutionContextImpl(serviceProvider, alignment, functionContexts,
+							TransformationContext.this.context, c));
 		}
 		return context;
 	}
 
+	/**
+	 * Release resources held by the contexts once the transformation is
+	 * complete. Collectors stored in the transformation, function or cell
+	 * contexts are closed, which removes values they moved to disk.
+	 */
+	public void dispose() {
+		closeCollectors(context);
+		for (ExecutionContext cellContext : cachedContexts.values()) {
+			closeCollectors(cellContext.getCellContext());
+			closeCollectors(cellContext.getFunctionContext());
+		}
+	}
+
+	private static void closeCollectors(Map<Object, Object> context) {
+		for (Object value : context.values()) {
+			if (value instanceof GenericCollector<?, ?, ?>) {
+				((GenericCollector<?, ?, ?>) value).close();
+			}
+		}
+	}
+
 }
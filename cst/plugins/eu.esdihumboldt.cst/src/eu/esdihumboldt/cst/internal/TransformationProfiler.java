@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.internal;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.transformation.report.TransformationReporter;
+import eu.esdihumboldt.hale.common.align.transformation.report.impl.TransformationMessageImpl;
+import eu.esdihumboldt.util.groovy.collector.StatsCollector;
+
+/**
+ * Collects execution metrics per cell during a transformation.<br>
+ * <br>
+ * Profiling is disabled by default. It is enabled if the system property
+ * {@value #SYSTEM_PROPERTY_ENABLED} or the environment variable
+ * {@value #ENV_ENABLED} is set to <code>true</code>, or if a file is specified
+ * with the system property {@value #SYSTEM_PROPERTY_METRICS_FILE} or the
+ * environment variable {@value #ENV_METRICS_FILE}. The metrics are added to
+ * the transformation report statistics and, if configured, written to the
+ * metrics file in the OpenMetrics text format.
+ *
+ * @author Simon Templer
+ */
+public class TransformationProfiler {
+
+	private static final ALogger log = ALoggerFactory.getLogger(TransformationProfiler.class);
+
+	/**
+	 * Name of the system property specifying if profiling is enabled.
+	 */
+	public static final String SYSTEM_PROPERTY_ENABLED = "hale.transformation.profile";
+
+	/**
+	 * Name of the environment variable specifying if profiling is enabled, if
+	 * the system property is not set.
+	 */
+	public static final String ENV_ENABLED = "HALE_TRANSFORMATION_PROFILE";
+
+	/**
+	 * Name of the system property specifying the file to write the metrics to.
+	 */
+	public static final String SYSTEM_PROPERTY_METRICS_FILE = "hale.transformation.metricsFile";
+
+	/**
+	 * Name of the environment variable specifying the file to write the
+	 * metrics to, if the system property is not set.
+	 */
+	public static final String ENV_METRICS_FILE = "HALE_TRANSFORMATION_METRICS_FILE";
+
+	/**
+	 * Number of cells reported as the slowest cells.
+	 */
+	private static final int SLOWEST_CELLS = 10;
+
+	private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+
+	private final boolean enabled;
+
+	private final File metricsFile;
+
+	private final Map<Cell, CellMetrics> metrics = new ConcurrentHashMap<>();
+
+	/**
+	 * Create a profiler configured with the system properties or environment
+	 * variables.
+	 */
+	public TransformationProfiler() {
+		this(toFile(getSetting(SYSTEM_PROPERTY_METRICS_FILE, ENV_METRICS_FILE)));
+	}
+
+	private TransformationProfiler(File metricsFile) {
+		this(metricsFile != null
+				|| Boolean.parseBoolean(getSetting(SYSTEM_PROPERTY_ENABLED, ENV_ENABLED)),
+				metricsFile);
+	}
+
+	/**
+	 * Create a profiler.
+	 *
+	 * @param enabled if profiling is enabled
+	 * @param metricsFile the file to write the metrics to, may be
+	 *            <code>null</code>
+	 */
+	public TransformationProfiler(boolean enabled, File metricsFile) {
+		this.enabled = enabled;
+		this.metricsFile = metricsFile;
+	}
+
+	/**
+	 * Get the metrics for a cell.
+	 *
+	 * @param cell the cell
+	 * @param typeCell if the cell is a type cell
+	 * @return the cell metrics
+	 */
+	public CellMetrics getMetrics(Cell cell, boolean typeCell) {
+		if (!enabled) {
+			return CellMetrics.DISABLED;
+		}
+
+		// look up first, as computeIfAbsent may lock even if the key exists
+		CellMetrics result = metrics.get(cell);
+		if (result == null) {
+			result = metrics.computeIfAbsent(cell, c -> new CellMetrics(c, typeCell));
+		}
+		return result;
+	}
+
+	/**
+	 * Add the collected metrics to the transformation report and write them
+	 * to the metrics file, if configured.
+	 *
+	 * @param reporter the transformation reporter
+	 */
+	public void report(TransformationReporter reporter) {
+		if (!enabled || metrics.isEmpty()) {
+			return;
+		}
+
+		List<CellMetrics> cells = new ArrayList<>(metrics.values());
+		cells.sort(Comparator.comparingLong(CellMetrics::getTotalNanos).reversed());
+
+		StatsCollector profile = reporter.stats().at("profile");
+		for (CellMetrics cell : cells) {
+			StatsCollector stats = profile.at(cell.getCell().getId());
+			stats.at("function").set(cell.getCell().getTransformationIdentifier());
+			stats.at("typeCell").set(cell.isTypeCell());
+			stats.at("invocations").set(cell.getInvocations());
+			stats.at("totalMillis").set(cell.getTotalNanos() / 1000000);
+			for (double quantile : QUANTILES) {
+				stats.at("p" + Math.round(quantile * 100) + "Micros")
+						.set(cell.getPercentileNanos(quantile) / 1000);
+			}
+			stats.at("maxMicros").set(cell.getMaxNanos() / 1000);
+			long allocated = cell.getEstimatedAllocatedBytes();
+			if (allocated >= 0) {
+				stats.at("allocatedBytes").set(allocated);
+			}
+		}
+
+		for (CellMetrics cell : cells.subList(0, Math.min(SLOWEST_CELLS, cells.size()))) {
+			reporter.info(new TransformationMessageImpl(cell.getCell(),
+					MessageFormat.format(
+							"Spent {0} ms in {1} executions of the {2} cell (99th percentile {3,number,0.###} ms)",
+							cell.getTotalNanos() / 1000000, cell.getInvocations(),
+							cell.isTypeCell() ? "type" : "property",
+							cell.getPercentileNanos(0.99) / 1e6),
+					null));
+		}
+
+		if (metricsFile != null) {
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+					new FileOutputStream(metricsFile), StandardCharsets.UTF_8))) {
+				writeOpenMetrics(cells, writer);
+			} catch (IOException e) {
+				log.error("Failed to write transformation metrics to " + metricsFile, e);
+			}
+		}
+	}
+
+	/**
+	 * Write cell metrics in the OpenMetrics text format.
+	 *
+	 * @param cells the cell metrics
+	 * @param writer the writer
+	 * @throws IOException if writing the metrics fails
+	 */
+	static void writeOpenMetrics(List<CellMetrics> cells, Writer writer) throws IOException {
+		writer.write("# TYPE hale_cell_invocations counter\n");
+		writer.write("# HELP hale_cell_invocations Number of executions of a cell.\n");
+		for (CellMetrics cell : cells) {
+			writer.write("hale_cell_invocations_total" + labels(cell, null) + " "
+					+ cell.getInvocations() + "\n");
+		}
+
+		writer.write("# TYPE hale_cell_execution_seconds summary\n");
+		writer.write("# UNIT hale_cell_execution_seconds seconds\n");
+		writer.write("# HELP hale_cell_execution_seconds Execution time of a cell.\n");
+		for (CellMetrics cell : cells) {
+			for (double quantile : QUANTILES) {
+				writer.write("hale_cell_execution_seconds" + labels(cell, quantile) + " "
+						+ seconds(cell.getPercentileNanos(quantile)) + "\n");
+			}
+			writer.write("hale_cell_execution_seconds_sum" + labels(cell, null) + " "
+					+ seconds(cell.getTotalNanos()) + "\n");
+			writer.write("hale_cell_execution_seconds_count" + labels(cell, null) + " "
+					+ cell.getInvocations() + "\n");
+		}
+
+		writer.write("# TYPE hale_cell_allocated_bytes gauge\n");
+		writer.write("# UNIT hale_cell_allocated_bytes bytes\n");
+		writer.write(
+				"# HELP hale_cell_allocated_bytes Estimated memory allocated by the executions of a cell.\n");
+		for (CellMetrics cell : cells) {
+			long allocated = cell.getEstimatedAllocatedBytes();
+			if (allocated >= 0) {
+				writer.write(
+						"hale_cell_allocated_bytes" + labels(cell, null) + " " + allocated + "\n");
+			}
+		}
+
+		writer.write("# EOF\n");
+	}
+
+	private static String labels(CellMetrics cell, Double quantile) {
+		StringBuilder result = new StringBuilder("{cell=\"");
+		result.append(escape(cell.getCell().getId()));
+		result.append("\",function=\"");
+		result.append(escape(cell.getCell().getTransformationIdentifier()));
+		result.append("\",kind=\"");
+		result.append(cell.isTypeCell() ? "type" : "property");
+		if (quantile != null) {
+			result.append("\",quantile=\"");
+			result.append(quantile);
+		}
+		result.append("\"}");
+		return result.toString();
+	}
+
+	private static String escape(String value) {
+		if (value == null) {
+			return "";
+		}
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	private static String seconds(long nanos) {
+		return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+	}
+
+	private static String getSetting(String systemProperty, String env) {
+		String value = System.getProperty(systemProperty);
+		if (value == null) {
+			value = System.getenv(env);
+		}
+		return value;
+	}
+
+	private static File toFile(String path) {
+		if (path == null || path.trim().isEmpty()) {
+			return null;
+		}
+		return new File(path.trim());
+	}
+
+}
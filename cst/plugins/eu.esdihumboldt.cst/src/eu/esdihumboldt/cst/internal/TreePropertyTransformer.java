@@ -21,11 +21,16 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.xml.namespace.QName;
 
 import eu.esdihumboldt.cst.extension.hooks.HooksUtil;
 import eu.esdihumboldt.cst.extension.hooks.TransformationTreeHook.TreeState;
@@ -69,6 +74,8 @@ public class TreePropertyTransformer implements PropertyTransformer {
 
 	private final List<FunctionExecutor> executors;
 
+	private final Map<Cell, ExecutionPlan> plans = new ConcurrentHashMap<>();
+
 	private final InstanceBuilder builder;
 
 	private final ExecutorService executorService;
@@ -91,8 +98,21 @@ public class TreePropertyTransformer implements PropertyTransformer {
 
 	private final TObjectIntHashMap<Cell> instanceCounter = new TObjectIntHashMap<>();
 
+	/**
+	 * Number of created instances per target type, only added to the
+	 * statistics when the transformation is complete, as updating the
+	 * statistics for each instance is comparatively expensive.
+	 */
+	private final Map<QName, LongAdder> createdPerType = new ConcurrentHashMap<>();
+
 	private final TransformationReporter reporter;
 
+	/**
+	 * If the ID of the type cell that created an instance should be recorded
+	 * in the instance meta data.
+	 */
+	private final boolean recordCellIds;
+
 	/**
 	 * Create a simple property transformer
 	 * 
@@ -102,11 +122,15 @@ public class TreePropertyTransformer implements PropertyTransformer {
 	 * @param sink the target instance sink
 	 * @param engines the transformation engine manager
 	 * @param context the transformation execution context
+	 * @param recordCellIds if the ID of the type cell that created a target
+	 *            instance should be recorded in its meta data
 	 */
 	public TreePropertyTransformer(Alignment alignment, TransformationReporter reporter,
-			InstanceSink sink, EngineManager engines, TransformationContext context) {
+			InstanceSink sink, EngineManager engines, TransformationContext context,
+			boolean recordCellIds) {
 		this.reporter = reporter;
 		this.sink = sink;
+		this.recordCellIds = recordCellIds;
 
 		// XXX how to determine matcher?
 		ContextMatcher matcher = new AsDeepAsPossible(context.getServiceProvider());
@@ -170,8 +194,12 @@ public class TreePropertyTransformer implements PropertyTransformer {
 		instanceCounter.adjustOrPutValue(typeCell, 1, 1);
 
 		// increase output type counter
-		reporter.stats().at("createdPerType").at(target.getDefinition().getName().toString())
-				.next();
+		QName typeName = target.getDefinition().getName();
+		LongAdder typeCounter = createdPerType.get(typeName);
+		if (typeCounter == null) {
+			typeCounter = createdPerType.computeIfAbsent(typeName, name -> new LongAdder());
+		}
+		typeCounter.increment();
 
 		Runnable job = new Runnable() {
 
@@ -193,11 +221,22 @@ public class TreePropertyTransformer implements PropertyTransformer {
 						}
 						InstanceMetadata.setSourceID(target, ids.toArray());
 
+						if (recordCellIds) {
+							// remember the type cell the target was created
+							// from (e.g. to allow partial retransformation)
+							InstanceMetadata.setCellID(target, typeCell.getId());
+						}
+
 						// identify transformations to be executed on given
 						// instances
 						// create/get a transformation tree
 						TransformationTree tree = treePool.getTree(typeCell);
 
+						// get/compile the execution plan (based on the
+						// pristine tree)
+						ExecutionPlan plan = plans.computeIfAbsent(typeCell,
+								cell -> ExecutionPlan.compile(tree, executors));
+
 						// State: base tree
 						HooksUtil.executeTreeHooks(treeHooks, TreeState.MINIMAL, tree, target);
 
@@ -219,10 +258,7 @@ public class TreePropertyTransformer implements PropertyTransformer {
 								target);
 
 						// apply functions
-						for (FunctionExecutor functionExecutor : executors) {
-							functionExecutor.setTypeCell(typeCell);
-							tree.accept(functionExecutor);
-						}
+						plan.execute(tree, typeCell);
 
 						// State: full tree (target populated)
 						HooksUtil.executeTreeHooks(treeHooks, TreeState.FULL, tree, target);
@@ -289,6 +325,9 @@ public class TreePropertyTransformer implements PropertyTransformer {
 		}
 
 		// report instance counts
+		createdPerType.forEach((typeName, count) -> reporter.stats().at("createdPerType")
+				.at(typeName.toString()).set(count.sum()));
+
 		instanceCounter.forEachEntry(new TObjectIntProcedure<Cell>() {
 
 			@Override
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.cst.internal.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Concurrent map that supports <code>null</code> keys and values, like the
+ * synchronized hash maps previously used as execution context maps. It is
+ * backed by a {@link ConcurrentHashMap}, <code>null</code> keys and values are
+ * stored as a placeholder.<br>
+ * <br>
+ * As with other maps supporting <code>null</code> values, {@link #get(Object)}
+ * returning <code>null</code> may also mean that the key is mapped to
+ * <code>null</code>. Atomic operations that check for an existing value, like
+ * {@link #computeIfAbsent(Object, Function)}, treat a key mapped to
+ * <code>null</code> as absent.
+ *
+ * @author Simon Templer
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class NullTolerantConcurrentMap<K, V> extends AbstractMap<K, V>
+		implements ConcurrentMap<K, V> {
+
+	/**
+	 * Placeholder for <code>null</code> keys and values, which the backing
+	 * map doesn't support.
+	 */
+	private static final Object NULL = new Object();
+
+	private final ConcurrentHashMap<Object, Object> map = new ConcurrentHashMap<>();
+
+	private Set<Entry<K, V>> entrySet;
+
+	private static Object mask(Object object) {
+		return (object == null) ? (NULL) : (object);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T unmask(Object object) {
+		return (object == NULL) ? (null) : ((T) object);
+	}
+
+	@Override
+	public int size() {
+		return map.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return map.containsKey(mask(key));
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return map.containsValue(mask(value));
+	}
+
+	@Override
+	public V get(Object key) {
+		return unmask(map.get(mask(key)));
+	}
+
+	@Override
+	public V getOrDefault(Object key, V defaultValue) {
+		Object value = map.get(mask(key));
+		return (value == null) ? (defaultValue) : (unmask(value));
+	}
+
+	@Override
+	public V put(K key, V value) {
+		return unmask(map.put(mask(key), mask(value)));
+	}
+
+	@Override
+	public V remove(Object key) {
+		return unmask(map.remove(mask(key)));
+	}
+
+	@Override
+	public void clear() {
+		map.clear();
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		return unmask(map.putIfAbsent(mask(key), mask(value)));
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		return map.remove(mask(key), mask(value));
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue) {
+		return map.replace(mask(key), mask(oldValue), mask(newValue));
+	}
+
+	@Override
+	public V replace(K key, V value) {
+		return unmask(map.replace(mask(key), mask(value)));
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		Object value = map.get(mask(key));
+		if (value != null && value != NULL) {
+			// fast path without locking
+			return unmask(value);
+		}
+
+		return unmask(map.compute(mask(key), (k, old) -> {
+			if (old != null && old != NULL) {
+				return old;
+			}
+			V created = mappingFunction.apply(key);
+			// a key mapped to null stays mapped if no value is created
+			return (created == null) ? (old) : (created);
+		}));
+	}
+
+	@Override
+	public V computeIfPresent(K key,
+			BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		return unmask(map.computeIfPresent(mask(key), (k, old) -> {
+			if (old == NULL) {
+				return old;
+			}
+			return remappingFunction.apply(key, unmask(old));
+		}));
+	}
+
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		return unmask(map.compute(mask(key), (k, old) -> remappingFunction.apply(key,
+				unmask(old))));
+	}
+
+	@Override
+	public V merge(K key, V value,
+			BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		if (value == null) {
+			throw new NullPointerException("Value to merge may not be null");
+		}
+		return unmask(map.compute(mask(key), (k, old) -> {
+			if (old == null || old == NULL) {
+				return value;
+			}
+			return remappingFunction.apply(unmask(old), value);
+		}));
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+		@Override
+		public Iterator<Entry<K, V>> iterator() {
+			final Iterator<Entry<Object, Object>> it = map.entrySet().iterator();
+			return new Iterator<Entry<K, V>>() {
+
+				@Override
+				public boolean hasNext() {
+					return it.hasNext();
+				}
+
+				@Override
+				public Entry<K, V> next() {
+					final Entry<Object, Object> entry = it.next();
+					return new SimpleEntry<K, V>(NullTolerantConcurrentMap.<K> unmask(entry
+							.getKey()), NullTolerantConcurrentMap.<V> unmask(entry.getValue())) {
+
+						private static final long serialVersionUID = 1L;
+
+						@Override
+						public V setValue(V value) {
+							super.setValue(value);
+							return unmask(entry.setValue(mask(value)));
+						}
+					};
+				}
+
+				@Override
+				public void remove() {
+					it.remove();
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return map.size();
+		}
+
+		@Override
+		public void clear() {
+			map.clear();
+		}
+
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package de.fhg.igd.mapviewer.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link OverlayTileCache}.
+ *
+ * @author Simon Templer
+ */
+public class OverlayTileCacheTest {
+
+	/**
+	 * Size of a 16x16 ARGB tile in bytes.
+	 */
+	private static final long TILE_SIZE = 16 * 16 * 4;
+
+	private static BufferedImage createTile() {
+		return new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	/**
+	 * Test that the size of the cached images is tracked when adding,
+	 * replacing and removing tiles.
+	 */
+	@Test
+	public void testSize() {
+		OverlayTileCache cache = new OverlayTileCache(10 * TILE_SIZE);
+		Object owner = new Object();
+
+		assertEquals(TILE_SIZE, OverlayTileCache.getImageSize(createTile()));
+
+		cache.put(owner, 0, 0, 0, createTile());
+		cache.put(owner, 0, 1, 0, createTile());
+		assertEquals(2 * TILE_SIZE, cache.getSize());
+
+		// replace a tile
+		BufferedImage replacement = createTile();
+		cache.put(owner, 0, 1, 0, replacement);
+		assertEquals(2 * TILE_SIZE, cache.getSize());
+		assertSame(replacement, cache.get(owner, 0, 1, 0));
+
+		// remove a tile
+		cache.remove(owner, 0, 0, 0);
+		assertEquals(TILE_SIZE, cache.getSize());
+		assertNull(cache.get(owner, 0, 0, 0));
+
+		// removing a tile that is not cached
+		cache.remove(owner, 0, 0, 0);
+		assertEquals(TILE_SIZE, cache.getSize());
+
+		cache.clear();
+		assertEquals(0, cache.getSize());
+		assertEquals(0, cache.getTileCount());
+	}
+
+	/**
+	 * Test that the least recently used tiles are evicted when the maximum
+	 * size is exceeded.
+	 */
+	@Test
+	public void testEviction() {
+		OverlayTileCache cache = new OverlayTileCache(3 * TILE_SIZE);
+		Object owner = new Object();
+
+		cache.put(owner, 0, 0, 0, createTile());
+		cache.put(owner, 0, 1, 0, createTile());
+		cache.put(owner, 0, 2, 0, createTile());
+		assertEquals(3, cache.getTileCount());
+
+		// access the first tile, so the second is the least recently used
+		assertNotNull(cache.get(owner, 0, 0, 0));
+
+		cache.put(owner, 0, 3, 0, createTile());
+		assertEquals(3, cache.getTileCount());
+		assertEquals(3 * TILE_SIZE, cache.getSize());
+		assertNull(cache.get(owner, 0, 1, 0));
+		assertNotNull(cache.get(owner, 0, 0, 0));
+		assertNotNull(cache.get(owner, 0, 2, 0));
+		assertNotNull(cache.get(owner, 0, 3, 0));
+
+		// reducing the maximum size evicts tiles right away
+		cache.setMaxSize(TILE_SIZE);
+		assertEquals(1, cache.getTileCount());
+		assertEquals(TILE_SIZE, cache.getSize());
+		assertNotNull(cache.get(owner, 0, 3, 0));
+	}
+
+	/**
+	 * Test that tiles of different owners are kept apart, but share the
+	 * maximum size of the cache.
+	 */
+	@Test
+	public void testOwners() {
+		OverlayTileCache cache = new OverlayTileCache(3 * TILE_SIZE);
+		Object owner1 = new Object();
+		Object owner2 = new Object();
+
+		BufferedImage tile1 = createTile();
+		BufferedImage tile2 = createTile();
+		cache.put(owner1, 0, 0, 0, tile1);
+		cache.put(owner2, 0, 0, 0, tile2);
+		assertSame(tile1, cache.get(owner1, 0, 0, 0));
+		assertSame(tile2, cache.get(owner2, 0, 0, 0));
+
+		// the bound applies to the tiles of all owners
+		cache.put(owner2, 0, 1, 0, createTile());
+		cache.put(owner2, 0, 2, 0, createTile());
+		assertEquals(3 * TILE_SIZE, cache.getSize());
+		assertNull(cache.get(owner1, 0, 0, 0));
+
+		// clearing the tiles of an owner
+		cache.put(owner1, 0, 0, 0, tile1);
+		cache.clear(owner2);
+		assertEquals(1, cache.getTileCount());
+		assertEquals(TILE_SIZE, cache.getSize());
+		assertSame(tile1, cache.get(owner1, 0, 0, 0));
+	}
+
+}
@@ -21,7 +21,6 @@ import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.BufferedImageOp;
 import java.io.IOException;
-import java.lang.ref.SoftReference;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -41,6 +40,7 @@ import org.jdesktop.swingx.mapviewer.PixelConverter;
 import org.jdesktop.swingx.mapviewer.TileOverlayPainter;
 import org.jdesktop.swingx.mapviewer.TileProvider;
 
+import de.fhg.igd.mapviewer.cache.OverlayTileCache;
 import gnu.trove.TIntHashSet;
 import gnu.trove.TIntIterator;
 import gnu.trove.TIntObjectHashMap;
@@ -281,81 +281,60 @@ public abstract class AbstractTileOverlayPainter implements TileOverlayPainter {
 				synchronized (cache) {
 					// for each zoom level
 					for (int zoom = minZoom; zoom <= tiles.getTotalMapZoom(); zoom++) {
-						final TIntObjectHashMap<TIntObjectHashMap<SoftReference<BufferedImage>>> zoomCache = cache
-								.get(zoom);
 						final int fZoom = zoom;
 						final Rectangle viewBounds = getCurrentViewBounds(zoom);
 
-						if (zoomCache != null) {
-							// if there are any cached tiles at the given zoom
-							// level
+						TIntObjectHashMap<TIntHashSet> zoomMap = tileMap.get(zoom);
+						if (zoomMap != null) {
 
-							TIntObjectHashMap<TIntHashSet> zoomMap = tileMap.get(zoom);
-							if (zoomMap != null) {
+							// process tile map
+							zoomMap.forEachEntry(new TIntObjectProcedure<TIntHashSet>() {
 
-								// process tile map
-								zoomMap.forEachEntry(new TIntObjectProcedure<TIntHashSet>() {
+								@Override
+								public boolean execute(int x, final TIntHashSet ySet) {
+									TIntIterator it = ySet.iterator();
+									while (it.hasNext()) {
+										int y = it.next();
 
-									@Override
-									public boolean execute(int x, final TIntHashSet ySet) {
-										final TIntObjectHashMap<SoftReference<BufferedImage>> xCache = zoomCache
-												.get(x);
-
-										if (xCache != null) {
-											TIntIterator it = ySet.iterator();
-											while (it.hasNext()) {
-												int y = it.next();
-
-												if (removeCached || !isCurrentZoom(fZoom)
-														|| !insideView(viewBounds, x, y)) {
-													// remove cached tile
-													xCache.remove(y);
-												}
-												else {
-													/*
-													 * Only schedule repaint
-													 * where the cache is not
-													 * removed and at current
-													 * zoom level.
-													 */
-
-													// only schedule repaint for
-													// tiles that actually have
-													// a cached image
-													SoftReference<BufferedImage> imgRef = xCache
-															.get(y);
-													if (imgRef != null && imgRef.get() != null) {
-														if (imageOp != null) {
-															// apply image
-															// operation to
-															// invalidated image
-															BufferedImage img = imgRef.get();
-															if (img != null) {
-																img = imageOp.filter(img, null);
-																xCache.put(y,
-																		new SoftReference<BufferedImage>(
-																				img));
-															}
-														}
-
-														int tilePosX = tileWidth * x;
-														int tilePosY = tileHeight * y;
-														TilePaintDelegate paint = new TilePaintDelegate(
-																x, y, tilePosX, tilePosY, tileWidth,
-																tileHeight, tiles.getConverter(),
-																fZoom);
-														scheduleTileRepaint(paint);
-													}
+										if (removeCached || !isCurrentZoom(fZoom)
+												|| !insideView(viewBounds, x, y)) {
+											// remove cached tile
+											removeCachedTile(x, y, fZoom);
+										}
+										else {
+											/*
+											 * Only schedule repaint where the
+											 * cache is not removed and at
+											 * current zoom level.
+											 */
+
+											// only schedule repaint for tiles
+											// that actually have a cached
+											// image
+											BufferedImage img = getCachedTile(x, y, fZoom);
+											if (img != null) {
+												if (imageOp != null) {
+													// apply image operation to
+													// invalidated image
+													img = imageOp.filter(img, null);
+													cacheTile(x, y, fZoom, img);
 												}
+
+												int tilePosX = tileWidth * x;
+												int tilePosY = tileHeight * y;
+												TilePaintDelegate paint = new TilePaintDelegate(x,
+														y, tilePosX, tilePosY, tileWidth,
+														tileHeight, tiles.getConverter(), fZoom);
+												scheduleTileRepaint(paint);
 											}
 										}
-
-										return true;
 									}
 
-								});
+									return true;
+								}
+
+							});
 
-							}
 						}
 					}
 				}
@@ -418,7 +397,10 @@ public abstract class AbstractTileOverlayPainter implements TileOverlayPainter {
 
 	private final BufferedImage loadingImage;
 
-	private final TIntObjectHashMap<TIntObjectHashMap<TIntObjectHashMap<SoftReference<BufferedImage>>>> cache = new TIntObjectHashMap<TIntObjectHashMap<TIntObjectHashMap<SoftReference<BufferedImage>>>>();
+	/**
+	 * The cache for rendered tiles, shared by all painters
+	 */
+	private final OverlayTileCache cache = OverlayTileCache.getSharedCache();
 
 	private final Set<DefaultRefresher> refreshers = new HashSet<DefaultRefresher>();
 
@@ -450,7 +432,7 @@ public abstract class AbstractTileOverlayPainter implements TileOverlayPainter {
 		}
 
 		if (numberOfThreads > 1) {
-			executor = Executors.newFixedThreadPool(4);
+			executor = Executors.newFixedThreadPool(numberOfThreads);
 		}
 		else {
 			executor = Executors.newSingleThreadExecutor();
@@ -487,9 +469,7 @@ public abstract class AbstractTileOverlayPainter implements TileOverlayPainter {
 			refreshers.clear();
 		}
 
-		synchronized (cache) {
-			cache.clear();
-		}
+		cache.clear(this);
 
 		synchronized (repaintQueue) {
 			repaintQueue.clear();
@@ -652,49 +632,27 @@ public abstract class AbstractTileOverlayPainter implements TileOverlayPainter {
 	}
 
 	private BufferedImage getCachedTile(int x, int y, int zoom) {
-		BufferedImage result = null;
-
-		synchronized (cache) {
-			// cache per zoom
-			final TIntObjectHashMap<TIntObjectHashMap<SoftReference<BufferedImage>>> zoomCache = cache
-					.get(zoom);
-
-			if (zoomCache != null) {
-				// cache per x
-				final TIntObjectHashMap<SoftReference<BufferedImage>> xCache = zoomCache.get(x);
-				if (xCache != null) {
-					// img cache
-					final SoftReference<BufferedImage> imgCache = xCache.get(y);
-					if (imgCache != null) {
-						result = imgCache.get();
-					}
-				}
-			}
-		}
-
-		return result;
+		return cache.get(this, zoom, x, y);
 	}
 
 	private void cacheTile(int x, int y, int zoom, BufferedImage img) {
-		synchronized (cache) {
-			// cache per zoom
-			TIntObjectHashMap<TIntObjectHashMap<SoftReference<BufferedImage>>> zoomCache = cache
-					.get(zoom);
-			if (zoomCache == null) {
-				zoomCache = new TIntObjectHashMap<TIntObjectHashMap<SoftReference<BufferedImage>>>();
-				cache.put(zoom, zoomCache);
-			}
+		cache.put(this, zoom, x, y, img);
+	}
 
-			// cache per x
-			TIntObjectHashMap<SoftReference<BufferedImage>> xCache = zoomCache.get(x);
-			if (xCache == null) {
-				xCache = new TIntObjectHashMap<SoftReference<BufferedImage>>();
-				zoomCache.put(x, xCache);
-			}
+	private void removeCachedTile(int x, int y, int zoom) {
+		cache.remove(this, zoom, x, y);
+	}
 
-			// image cache
-			xCache.put(y, new SoftReference<BufferedImage>(img));
-		}
+	/**
+	 * Set the maximum size of the cache for rendered tiles. The cache is
+	 * shared by all painters, so the size applies to the tiles of all
+	 * painters. If the size is exceeded, the least recently used tiles are
+	 * removed from the cache.
+	 * 
+	 * @param maxSize the maximum size in bytes
+	 */
+	public void setTileCacheSize(long maxSize) {
+		cache.setMaxSize(maxSize);
 	}
 
 	/**
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package de.fhg.igd.mapviewer.cache;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+/**
+ * Cache for rendered overlay tiles. The least recently used tiles are evicted
+ * when the overall size of the cached images exceeds the maximum size. In
+ * contrast to a cache based on soft references, tiles are not discarded all at
+ * once when memory runs low. Tiles are cached per owner, usually a painter, so
+ * several painters can share one cache that is bounded in total, see
+ * {@link #getSharedCache()}. Thread safe.
+ *
+ * @author Simon Templer
+ */
+public class OverlayTileCache {
+
+	/**
+	 * Default maximum size of the shared cache in bytes
+	 */
+	public static final long DEF_MAX_SIZE = 128L * 1024L * 1024L;
+
+	private static final OverlayTileCache SHARED = new OverlayTileCache(DEF_MAX_SIZE);
+
+	/**
+	 * Get the cache shared by the overlay painters.
+	 *
+	 * @return the shared tile cache
+	 */
+	public static OverlayTileCache getSharedCache() {
+		return SHARED;
+	}
+
+	/**
+	 * Tile identifier.
+	 */
+	private static class TileKey {
+
+		private final Object owner;
+		private final int zoom;
+		private final int x;
+		private final int y;
+
+		public TileKey(Object owner, int zoom, int x, int y) {
+			super();
+			this.owner = owner;
+			this.zoom = zoom;
+			this.x = x;
+			this.y = y;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = 31 + System.identityHashCode(owner);
+			result = 31 * result + zoom;
+			result = 31 * result + x;
+			return 31 * result + y;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof TileKey))
+				return false;
+			TileKey other = (TileKey) obj;
+			return owner == other.owner && zoom == other.zoom && x == other.x && y == other.y;
+		}
+
+	}
+
+	private final LinkedHashMap<TileKey, BufferedImage> tiles = new LinkedHashMap<TileKey, BufferedImage>(
+			64, 0.75f, true);
+
+	private long maxSize;
+
+	private long size = 0;
+
+	/**
+	 * Create a tile cache.
+	 *
+	 * @param maxSize the maximum size of the cached images in bytes
+	 */
+	public OverlayTileCache(long maxSize) {
+		super();
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Get a cached tile.
+	 *
+	 * @param owner the tile owner
+	 * @param zoom the zoom level
+	 * @param x the tile x number
+	 * @param y the tile y number
+	 * @return the cached image or <code>null</code>
+	 */
+	public synchronized BufferedImage get(Object owner, int zoom, int x, int y) {
+		return tiles.get(new TileKey(owner, zoom, x, y));
+	}
+
+	/**
+	 * Add a tile to the cache, replacing any previously cached image for the
+	 * tile.
+	 *
+	 * @param owner the tile owner
+	 * @param zoom the zoom level
+	 * @param x the tile x number
+	 * @param y the tile y number
+	 * @param image the tile image
+	 */
+	public synchronized void put(Object owner, int zoom, int x, int y, BufferedImage image) {
+		BufferedImage old = tiles.put(new TileKey(owner, zoom, x, y), image);
+		if (old != null) {
+			size -= getImageSize(old);
+		}
+		size += getImageSize(image);
+
+		evict();
+	}
+
+	/**
+	 * Remove a tile from the cache.
+	 *
+	 * @param owner the tile owner
+	 * @param zoom the zoom level
+	 * @param x the tile x number
+	 * @param y the tile y number
+	 */
+	public synchronized void remove(Object owner, int zoom, int x, int y) {
+		BufferedImage old = tiles.remove(new TileKey(owner, zoom, x, y));
+		if (old != null) {
+			size -= getImageSize(old);
+		}
+	}
+
+	/**
+	 * Remove all tiles of an owner from the cache.
+	 *
+	 * @param owner the tile owner
+	 */
+	public synchronized void clear(Object owner) {
+		Iterator<Entry<TileKey, BufferedImage>> it = tiles.entrySet().iterator();
+		while (it.hasNext()) {
+			Entry<TileKey, BufferedImage> entry = it.next();
+			if (entry.getKey().owner == owner) {
+				size -= getImageSize(entry.getValue());
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Remove all tiles from the cache.
+	 */
+	public synchronized void clear() {
+		tiles.clear();
+		size = 0;
+	}
+
+	/**
+	 * @return the number of cached tiles
+	 */
+	public synchronized int getTileCount() {
+		return tiles.size();
+	}
+
+	/**
+	 * @return the current size of the cached images in bytes
+	 */
+	public synchronized long getSize() {
+		return size;
+	}
+
+	/**
+	 * Set the maximum size of the cache.
+	 *
+	 * @param maxSize the maximum size of the cached images in bytes
+	 */
+	public synchronized void setMaxSize(long maxSize) {
+		this.maxSize = maxSize;
+
+		evict();
+	}
+
+	private void evict() {
+		Iterator<Entry<TileKey, BufferedImage>> it = tiles.entrySet().iterator();
+		// eldest entries first
+		while (size > maxSize && it.hasNext()) {
+			Entry<TileKey, BufferedImage> entry = it.next();
+			size -= getImageSize(entry.getValue());
+			it.remove();
+		}
+	}
+
+	/**
+	 * Estimate the memory occupied by an image.
+	 *
+	 * @param image the image
+	 * @return the estimated image size in bytes
+	 */
+	static long getImageSize(BufferedImage image) {
+		int bytesPerPixel = Math.max(1, image.getColorModel().getPixelSize() / 8);
+		return (long) image.getWidth() * image.getHeight() * bytesPerPixel;
+	}
+
+}
@@ -123,8 +123,9 @@ public abstract class AbstractInstancePainter
 	 * @param dataSet the data set
 	 */
 	public AbstractInstancePainter(InstanceService instanceService, DataSet dataSet) {
-		super(new MarkerWaypointRenderer<InstanceWaypoint>(), 4); // four worker
-																	// threads
+		// one worker thread per processor, but at least four
+		super(new MarkerWaypointRenderer<InstanceWaypoint>(),
+				Math.max(4, Runtime.getRuntime().availableProcessors()));
 		this.instanceService = instanceService;
 		this.dataSet = dataSet;
 
@@ -24,6 +24,8 @@ import java.awt.geom.Point2D;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,7 +35,7 @@ import org.jdesktop.swingx.mapviewer.PixelConverter;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
 import org.opengis.referencing.operation.TransformException;
 
-import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
 import com.vividsolutions.jts.geom.Geometry;
 import com.vividsolutions.jts.geom.GeometryCollection;
 import com.vividsolutions.jts.geom.GeometryFactory;
@@ -100,6 +102,33 @@ public class InstanceMarker extends BoundingBoxMarker<InstanceWaypoint> {
 	 */
 	private final Map<Geometry, BoundingBox> geometryMapBBs = new IdentityHashMap<Geometry, BoundingBox>();
 
+	/**
+	 * Maximum number of zoom levels for which pixel geometries are cached.
+	 */
+	private static final int MAX_PIXEL_GEOMETRY_ZOOM_LEVELS = 2;
+
+	/**
+	 * Maximum number of points of the pixel geometries cached per marker.
+	 */
+	private static final int MAX_PIXEL_GEOMETRY_POINTS = 16384;
+
+	/**
+	 * Cache for lines and polygon rings converted to world pixel coordinates,
+	 * per zoom level. Consecutive vertices that fall on the same pixel are
+	 * merged, so the cached representation is simplified to the resolution of
+	 * the zoom level. The least recently used zoom levels are evicted if more
+	 * than {@value #MAX_PIXEL_GEOMETRY_ZOOM_LEVELS} zoom levels or more than
+	 * {@value #MAX_PIXEL_GEOMETRY_POINTS} points would be cached. Will be
+	 * cleared on map change.
+	 */
+	private final LinkedHashMap<Integer, Map<LineString, java.awt.Polygon>> pixelGeometries = new LinkedHashMap<Integer, Map<LineString, java.awt.Polygon>>(
+			4, 0.75f, true);
+
+	/**
+	 * The number of points in {@link #pixelGeometries}.
+	 */
+	private int pixelGeometryPoints = 0;
+
 	/**
 	 * @see AbstractMarker#reset()
 	 */
@@ -108,6 +137,10 @@ public class InstanceMarker extends BoundingBoxMarker<InstanceWaypoint> {
 		synchronized (geometryMapBBs) {
 			geometryMapBBs.clear();
 		}
+		synchronized (pixelGeometries) {
+			pixelGeometries.clear();
+			pixelGeometryPoints = 0;
+		}
 
 		super.reset();
 	}
@@ -396,8 +429,8 @@ public class InstanceMarker extends BoundingBoxMarker<InstanceWaypoint> {
 			CRSConverter conv = CRSConverter.getConverter(crsDefinition.getCRS(), mapCRS);
 
 			// exterior
-			Coordinate[] coordinates = geometry.getExteriorRing().getCoordinates();
-			java.awt.Polygon outerPolygon = createPolygon(coordinates, conv, converter, zoom);
+			java.awt.Polygon outerPolygon = getPixelGeometry(geometry.getExteriorRing(), conv,
+					converter, zoom);
 
 			if (geometry.getNumInteriorRing() > 0) {
 				// polygon has interior geometries
@@ -407,8 +440,8 @@ public class InstanceMarker extends BoundingBoxMarker<InstanceWaypoint> {
 				// interior
 				for (int i = 0; i < geometry.getNumInteriorRing(); i++) {
 					LineString interior = geometry.getInteriorRingN(i);
-					java.awt.Polygon innerPolygon = createPolygon(interior.getCoordinates(), conv,
-							converter, zoom);
+					java.awt.Polygon innerPolygon = getPixelGeometry(interior, conv, converter,
+							zoom);
 					drawArea.subtract(new java.awt.geom.Area(innerPolygon));
 				}
 
@@ -449,19 +482,99 @@ public class InstanceMarker extends BoundingBoxMarker<InstanceWaypoint> {
 		}
 	}
 
-	private java.awt.Polygon createPolygon(Coordinate[] coordinates, CRSConverter geoConverter,
+	/**
+	 * Get the world pixel representation of a line or polygon ring.
+	 * 
+	 * @param geometry the line or ring
+	 * @param geoConverter the converter to the map CRS
+	 * @param pixelConverter the pixel converter
+	 * @param zoom the zoom level
+	 * @return the pixel coordinates, the returned object must not be modified
+	 * @throws TransformException if the conversion to the map CRS fails
+	 * @throws IllegalGeoPositionException if the conversion to pixel
+	 *             coordinates fails
+	 */
+	private java.awt.Polygon getPixelGeometry(LineString geometry, CRSConverter geoConverter,
 			PixelConverter pixelConverter, int zoom)
 					throws TransformException, IllegalGeoPositionException {
+		synchronized (pixelGeometries) {
+			Map<LineString, java.awt.Polygon> zoomCache = pixelGeometries.get(zoom);
+			if (zoomCache != null) {
+				java.awt.Polygon cached = zoomCache.get(geometry);
+				if (cached != null) {
+					return cached;
+				}
+			}
+		}
+
+		java.awt.Polygon result = createPolygon(geometry.getCoordinateSequence(), geoConverter,
+				pixelConverter, zoom);
+
+		if (result.npoints <= MAX_PIXEL_GEOMETRY_POINTS) {
+			synchronized (pixelGeometries) {
+				Map<LineString, java.awt.Polygon> zoomCache = pixelGeometries.get(zoom);
+				if (zoomCache == null) {
+					zoomCache = new IdentityHashMap<LineString, java.awt.Polygon>();
+					pixelGeometries.put(zoom, zoomCache);
+				}
+				if (!zoomCache.containsKey(geometry)) {
+					evictPixelGeometries(zoom, result.npoints);
+					if (pixelGeometryPoints + result.npoints <= MAX_PIXEL_GEOMETRY_POINTS) {
+						zoomCache.put(geometry, result);
+						pixelGeometryPoints += result.npoints;
+					}
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Evict the pixel geometries of the least recently used zoom levels other
+	 * than the given zoom level, until the bounds of the cache are met.
+	 * 
+	 * @param zoom the zoom level that is painted
+	 * @param points the number of points that are to be added to the cache
+	 */
+	private void evictPixelGeometries(int zoom, int points) {
+		// least recently used first
+		Iterator<Map.Entry<Integer, Map<LineString, java.awt.Polygon>>> it = pixelGeometries
+				.entrySet().iterator();
+		while (it.hasNext() && (pixelGeometries.size() > MAX_PIXEL_GEOMETRY_ZOOM_LEVELS
+				|| pixelGeometryPoints + points > MAX_PIXEL_GEOMETRY_POINTS)) {
+			Map.Entry<Integer, Map<LineString, java.awt.Polygon>> entry = it.next();
+			if (entry.getKey() != zoom) {
+				for (java.awt.Polygon polygon : entry.getValue().values()) {
+					pixelGeometryPoints -= polygon.npoints;
+				}
+				it.remove();
+			}
+		}
+	}
+
+	private java.awt.Polygon createPolygon(CoordinateSequence coordinates,
+			CRSConverter geoConverter, PixelConverter pixelConverter, int zoom)
+					throws TransformException, IllegalGeoPositionException {
 		java.awt.Polygon result = new java.awt.Polygon();
-		for (Coordinate coord : coordinates) {
+		int lastX = 0;
+		int lastY = 0;
+		for (int i = 0; i < coordinates.size(); i++) {
 			// manually convert to map CRS
-			Point3D mapPoint = geoConverter.convert(coord.x, coord.y, 0);
+			Point3D mapPoint = geoConverter.convert(coordinates.getX(i), coordinates.getY(i), 0);
 
 			GeoPosition pos = new GeoPosition(mapPoint.getX(), mapPoint.getY(),
 					pixelConverter.getMapEpsg());
 			Point2D point = pixelConverter.geoToPixel(pos, zoom);
 
-			result.addPoint((int) point.getX(), (int) point.getY());
+			int x = (int) point.getX();
+			int y = (int) point.getY();
+			// skip vertices that fall on the same pixel as the previous one
+			if (result.npoints == 0 || x != lastX || y != lastY) {
+				result.addPoint(x, y);
+				lastX = x;
+				lastY = y;
+			}
 		}
 		return result;
 	}
@@ -484,13 +597,13 @@ public class InstanceMarker extends BoundingBoxMarker<InstanceWaypoint> {
 	protected Area paintLine(LineString geometry, Graphics2D g, CRSDefinition crsDefinition,
 			InstanceWaypoint context, PixelConverter converter, int zoom,
 			CoordinateReferenceSystem mapCRS, boolean calculateArea) {
-		Coordinate[] coordinates = geometry.getCoordinates();
-		if (coordinates.length <= 0) {
+		int numPoints = geometry.getNumPoints();
+		if (numPoints <= 0) {
 			return null;
 		}
-		if (coordinates.length == 1) {
+		if (numPoints == 1) {
 			// fall back to point drawing
-			Point point = getGeometryFactory().createPoint(coordinates[0]);
+			Point point = getGeometryFactory().createPoint(geometry.getCoordinateN(0));
 			return paintPoint(point, g, crsDefinition, context, converter, zoom, mapCRS,
 					calculateArea);
 		}
@@ -499,24 +612,16 @@ public class InstanceMarker extends BoundingBoxMarker<InstanceWaypoint> {
 			// get CRS converter
 			CRSConverter conv = CRSConverter.getConverter(crsDefinition.getCRS(), mapCRS);
 
-			List<Point2D> mapPoints = new ArrayList<Point2D>(coordinates.length);
-			for (Coordinate coord : coordinates) {
-				// manually convert to map CRS
-				Point3D mapPoint = conv.convert(coord.x, coord.y, 0);
-
-				GeoPosition pos = new GeoPosition(mapPoint.getX(), mapPoint.getY(),
-						converter.getMapEpsg());
-				Point2D point = converter.geoToPixel(pos, zoom);
-
-				mapPoints.add(point);
-			}
+			java.awt.Polygon pixelLine = getPixelGeometry(geometry, conv, converter, zoom);
 
 			if (applyStroke(g, context)) {
-				for (int i = 0; i < mapPoints.size() - 1; i++) {
-					// draw each connecting line
-					Point2D p1 = mapPoints.get(i);
-					Point2D p2 = mapPoints.get(i + 1);
-					g.drawLine((int) p1.getX(), (int) p1.getY(), (int) p2.getX(), (int) p2.getY());
+				if (pixelLine.npoints == 1) {
+					// line lies within one pixel
+					g.drawLine(pixelLine.xpoints[0], pixelLine.ypoints[0], pixelLine.xpoints[0],
+							pixelLine.ypoints[0]);
+				}
+				else {
+					g.drawPolyline(pixelLine.xpoints, pixelLine.ypoints, pixelLine.npoints);
 				}
 			}
 			else {
@@ -527,6 +632,11 @@ public class InstanceMarker extends BoundingBoxMarker<InstanceWaypoint> {
 				return null;
 			}
 
+			List<Point2D> mapPoints = new ArrayList<Point2D>(pixelLine.npoints);
+			for (int i = 0; i < pixelLine.npoints; i++) {
+				mapPoints.add(new Point2D.Double(pixelLine.xpoints[i], pixelLine.ypoints[i]));
+			}
+
 			// use a buffer around the line as area
 			java.awt.Polygon[] buffer = createBufferPolygon(mapPoints, 3); // XXX
 																			// buffer
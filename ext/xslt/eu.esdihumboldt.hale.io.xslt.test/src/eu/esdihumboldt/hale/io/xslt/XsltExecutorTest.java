@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.xslt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import eu.esdihumboldt.hale.common.core.io.supplier.FileIOSupplier;
+import net.sf.saxon.TransformerFactoryImpl;
+
+/**
+ * Tests for {@link XsltExecutor}.
+ *
+ * @author Simon Templer
+ */
+public class XsltExecutorTest {
+
+	private static final String XSLT = "<xsl:transform xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\" version=\"2.0\">"
+			+ "<xsl:output method=\"text\"/>"
+			+ "<xsl:template match=\"/\"><xsl:value-of select=\"%s(/root/value)\"/></xsl:template>"
+			+ "</xsl:transform>";
+
+	/**
+	 * Test if compiled XSLT is reused for stylesheets with the same content.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testCache() throws Exception {
+		File xsltFile = File.createTempFile("xsltest", ".xsl");
+		File otherFile = File.createTempFile("xsltest", ".xsl");
+		try {
+			Files.write(xsltFile.toPath(), String.format(XSLT, "upper-case").getBytes(
+					StandardCharsets.UTF_8));
+
+			XsltExecutor executor = XsltExecutor.forFile(xsltFile, new TransformerFactoryImpl());
+			assertSame(executor,
+					XsltExecutor.forFile(xsltFile, new TransformerFactoryImpl()));
+
+			// same stylesheet generated to a different file
+			Files.write(otherFile.toPath(), String.format(XSLT, "upper-case").getBytes(
+					StandardCharsets.UTF_8));
+			assertSame(executor, XsltExecutor.forFile(otherFile, new TransformerFactoryImpl()));
+
+			// modified, also if the modification time is the same
+			long lastModified = xsltFile.lastModified();
+			Files.write(xsltFile.toPath(), String.format(XSLT, "lower-case").getBytes(
+					StandardCharsets.UTF_8));
+			xsltFile.setLastModified(lastModified);
+			XsltExecutor modified = XsltExecutor.forFile(xsltFile, new TransformerFactoryImpl());
+			assertNotSame(executor, modified);
+			assertSame(modified, XsltExecutor.forFile(xsltFile, new TransformerFactoryImpl()));
+		} finally {
+			xsltFile.delete();
+			otherFile.delete();
+		}
+	}
+
+	/**
+	 * Test transforming a source file directly to a target file.
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	@Test
+	public void testTransform() throws Exception {
+		File xsltFile = File.createTempFile("xsltest", ".xsl");
+		File sourceFile = File.createTempFile("xsltest", ".xml");
+		File targetFile = File.createTempFile("xsltest", ".txt");
+		try {
+			Files.write(xsltFile.toPath(), String.format(XSLT, "upper-case").getBytes(
+					StandardCharsets.UTF_8));
+			Files.write(sourceFile.toPath(),
+					"<root><value>hale</value></root>".getBytes(StandardCharsets.UTF_8));
+
+			XsltExecutor executor = XsltExecutor.forFile(xsltFile, new TransformerFactoryImpl());
+			executor.transform(new FileIOSupplier(sourceFile), new FileIOSupplier(targetFile));
+
+			assertEquals("HALE",
+					new String(Files.readAllBytes(targetFile.toPath()), StandardCharsets.UTF_8)
+							.trim());
+		} finally {
+			xsltFile.delete();
+			sourceFile.delete();
+			targetFile.delete();
+		}
+	}
+
+}
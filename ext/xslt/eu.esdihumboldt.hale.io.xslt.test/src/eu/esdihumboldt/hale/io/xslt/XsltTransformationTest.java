@@ -18,17 +18,9 @@ package eu.esdihumboldt.hale.io.xslt;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
-
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -39,7 +31,6 @@ import eu.esdihumboldt.hale.common.core.io.Value;
 import eu.esdihumboldt.hale.common.core.io.impl.LogProgressIndicator;
 import eu.esdihumboldt.hale.common.core.io.report.IOReport;
 import eu.esdihumboldt.hale.common.core.io.supplier.FileIOSupplier;
-import eu.esdihumboldt.hale.common.core.io.supplier.LocatableInputSupplier;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
@@ -208,16 +199,20 @@ public class XsltTransformationTest extends DefaultTransformationTest {
 		export.setParameter(XsltExport.PARAM_ROOT_ELEMENT_NAME,
 				Value.of(example.getTargetContainerName()));
 
+		// invoke XSLT on source file to produce target
+		File target = File.createTempFile("xsltest", ".xml");
+		export.setParameter(XsltExport.PARAM_TRANSFORM_SOURCE,
+				Value.of(example.getSourceDataInput().getLocation().toString()));
+		export.setParameter(XsltExport.PARAM_TRANSFORM_TARGET,
+				Value.of(target.toURI().toString()));
+		export.setTransformerFactory(new TransformerFactoryImpl());
+
 		File tempXsltFile = File.createTempFile("xsltest", ".xsl");
 		export.setTarget(new FileIOSupplier(tempXsltFile));
 		IOReport res = export.execute(new LogProgressIndicator());
 		assertTrue("XSLT export not successful", res.isSuccess());
 		assertTrue("Errors during XSLT export", res.getErrors().isEmpty());
 
-		// invoke XSLT on source file to produce target
-		File target = File.createTempFile("xsltest", ".xml");
-		executeXslt(example.getSourceDataInput(), tempXsltFile, target);
-
 		// load target and return instances
 		InstanceCollection instances = TestUtil.loadInstances(target.toURI(),
 				example.getTargetSchema());
@@ -238,32 +233,4 @@ public class XsltTransformationTest extends DefaultTransformationTest {
 		return list;
 	}
 
-	/**
-	 * Transform the data based on a XSLT file.
-	 * 
-	 * @param sourceDataInput the source data input to be transformed
-	 * @param xsltFile the XSLT transformation
-	 * @param targetFile the target file
-	 * @throws IOException if an error occurs reading or writing data
-	 * @throws TransformerException if an error in respect to the XSLT
-	 *             transformation occurs
-	 */
-	private void executeXslt(LocatableInputSupplier<? extends InputStream> sourceDataInput,
-			File xsltFile, File targetFile) throws IOException, TransformerException {
-		StreamSource source;
-		if (sourceDataInput.getLocation() != null) {
-			source = new StreamSource(sourceDataInput.getInput(),
-					sourceDataInput.getLocation().toString());
-		}
-		else {
-			source = new StreamSource(sourceDataInput.getInput());
-		}
-		StreamSource transformation = new StreamSource(xsltFile);
-		StreamResult out = new StreamResult(targetFile);
-
-		TransformerFactory factory = new TransformerFactoryImpl(); // TransformerFactory.newInstance();
-		Transformer t = factory.newTransformer(transformation);
-		t.transform(source, out);
-	}
-
 }
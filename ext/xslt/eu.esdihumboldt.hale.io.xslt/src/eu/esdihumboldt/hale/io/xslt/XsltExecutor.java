@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.xslt;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.commons.io.IOUtils;
+
+import com.google.common.io.BaseEncoding;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.hale.common.core.io.supplier.FileIOSupplier;
+import eu.esdihumboldt.hale.common.core.io.supplier.LocatableInputSupplier;
+import eu.esdihumboldt.hale.common.core.io.supplier.LocatableOutputSupplier;
+
+/**
+ * Executes an XSLT generated from an alignment directly on XML source data,
+ * as an alternative to the transformation using the hale instance model. The
+ * source is read from and the result is written to the respective streams by
+ * the XSLT processor.<br>
+ * <br>
+ * The XSLT is compiled only once, an executor can be used for any number of
+ * transformations, also concurrently. Executors are cached per stylesheet
+ * content, so generating the same XSLT again reuses the compiled XSLT.
+ *
+ * @author Simon Templer
+ * @see XsltExport#PARAM_TRANSFORM_SOURCE
+ */
+public class XsltExecutor {
+
+	/**
+	 * Name of the system property specifying the class name of the
+	 * {@link TransformerFactory} to use. As the generated XSLT uses XSLT 2.0,
+	 * a processor like Saxon is required.
+	 */
+	public static final String SYSTEM_PROPERTY_TRANSFORMER_FACTORY = "hale.xslt.transformerFactory";
+
+	/**
+	 * Name of the environment variable specifying the class name of the
+	 * {@link TransformerFactory} to use, if the system property is not set.
+	 */
+	public static final String ENV_TRANSFORMER_FACTORY = "HALE_XSLT_TRANSFORMER_FACTORY";
+
+	private static final ALogger log = ALoggerFactory.getLogger(XsltExecutor.class);
+
+	/**
+	 * Maximum number of cached compiled stylesheets.
+	 */
+	private static final int MAX_CACHED = 16;
+
+	/**
+	 * Cached executors, the key is composed of the transformer factory class
+	 * and the digest of the stylesheet.
+	 */
+	private static final Map<String, XsltExecutor> cache = new LinkedHashMap<String, XsltExecutor>(
+			16, 0.75f, true) {
+
+		private static final long serialVersionUID = 5337862375651826574L;
+
+		@Override
+		protected boolean removeEldestEntry(Entry<String, XsltExecutor> eldest) {
+			return size() > MAX_CACHED;
+		}
+
+	};
+
+	private final Templates templates;
+
+	/**
+	 * Create an executor for compiled XSLT.
+	 *
+	 * @param templates the compiled XSLT
+	 */
+	public XsltExecutor(Templates templates) {
+		super();
+		this.templates = templates;
+	}
+
+	/**
+	 * Get the executor for an XSLT stylesheet. The compiled XSLT is reused if
+	 * a stylesheet with the same content was compiled before with the same
+	 * kind of transformer factory.
+	 *
+	 * @param xslt the XSLT stylesheet
+	 * @param factory the transformer factory to use for compiling the XSLT
+	 * @return the executor for the stylesheet
+	 * @throws IOException if reading the stylesheet fails
+	 * @throws TransformerConfigurationException if the XSLT cannot be compiled
+	 */
+	public static XsltExecutor forStylesheet(LocatableInputSupplier<? extends InputStream> xslt,
+			TransformerFactory factory) throws IOException, TransformerConfigurationException {
+		byte[] content;
+		try (InputStream in = xslt.getInput()) {
+			content = IOUtils.toByteArray(in);
+		}
+		String key = factory.getClass().getName() + ":" + digest(content);
+
+		synchronized (cache) {
+			XsltExecutor cached = cache.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		StreamSource source = new StreamSource(new ByteArrayInputStream(content));
+		if (xslt.getLocation() != null) {
+			source.setSystemId(xslt.getLocation().toString());
+		}
+		XsltExecutor executor = new XsltExecutor(factory.newTemplates(source));
+		synchronized (cache) {
+			cache.put(key, executor);
+		}
+		return executor;
+	}
+
+	/**
+	 * Get the executor for an XSLT file.
+	 *
+	 * @param xsltFile the XSLT file
+	 * @param factory the transformer factory to use for compiling the XSLT
+	 * @return the executor for the XSLT file
+	 * @throws IOException if reading the file fails
+	 * @throws TransformerConfigurationException if the XSLT cannot be compiled
+	 * @see #forStylesheet(LocatableInputSupplier, TransformerFactory)
+	 */
+	public static XsltExecutor forFile(File xsltFile, TransformerFactory factory)
+			throws IOException, TransformerConfigurationException {
+		return forStylesheet(new FileIOSupplier(xsltFile), factory);
+	}
+
+	private static String digest(byte[] content) {
+		try {
+			return BaseEncoding.base16()
+					.encode(MessageDigest.getInstance("SHA-256").digest(content));
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Create the transformer factory configured via system property or
+	 * environment variable, or the default transformer factory.
+	 *
+	 * @return the transformer factory
+	 * @see #SYSTEM_PROPERTY_TRANSFORMER_FACTORY
+	 * @see #ENV_TRANSFORMER_FACTORY
+	 */
+	public static TransformerFactory createTransformerFactory() {
+		String className = System.getProperty(SYSTEM_PROPERTY_TRANSFORMER_FACTORY);
+		if (className == null) {
+			className = System.getenv(ENV_TRANSFORMER_FACTORY);
+		}
+
+		if (className != null) {
+			try {
+				return TransformerFactory.newInstance(className,
+						Thread.currentThread().getContextClassLoader());
+			} catch (Exception e) {
+				log.error("Could not create configured transformer factory " + className
+						+ ", using the default transformer factory", e);
+			}
+		}
+
+		return TransformerFactory.newInstance();
+	}
+
+	/**
+	 * Transform the source data and write the result to the given target.
+	 *
+	 * @param source the source XML data
+	 * @param target the target to write the transformation result to
+	 * @throws IOException if reading the source or writing the target fails
+	 * @throws TransformerException if the transformation fails
+	 */
+	public void transform(LocatableInputSupplier<? extends InputStream> source,
+			LocatableOutputSupplier<? extends OutputStream> target)
+			throws IOException, TransformerException {
+		try (InputStream in = new BufferedInputStream(source.getInput());
+				OutputStream out = new BufferedOutputStream(target.getOutput())) {
+			StreamSource streamSource = new StreamSource(in);
+			if (source.getLocation() != null) {
+				streamSource.setSystemId(source.getLocation().toString());
+			}
+			StreamResult result = new StreamResult(out);
+			if (target.getLocation() != null) {
+				result.setSystemId(target.getLocation().toString());
+			}
+
+			Transformer transformer = templates.newTransformer();
+			transformer.transform(streamSource, result);
+		}
+	}
+
+	/**
+	 * @return the compiled XSLT
+	 */
+	public Templates getTemplates() {
+		return templates;
+	}
+
+}
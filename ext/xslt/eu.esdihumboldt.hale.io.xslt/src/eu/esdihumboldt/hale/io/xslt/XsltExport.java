@@ -17,10 +17,12 @@ package eu.esdihumboldt.hale.io.xslt;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 
 import javax.swing.GroupLayout.Alignment;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.TransformerFactory;
 
 import org.apache.commons.io.FileUtils;
 
@@ -36,6 +38,8 @@ import eu.esdihumboldt.hale.common.core.io.project.ProjectInfoAware;
 import eu.esdihumboldt.hale.common.core.io.report.IOReport;
 import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
 import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
+import eu.esdihumboldt.hale.common.core.io.supplier.DefaultInputSupplier;
+import eu.esdihumboldt.hale.common.core.io.supplier.FileIOSupplier;
 import eu.esdihumboldt.hale.common.schema.model.SchemaSpace;
 import eu.esdihumboldt.hale.io.gml.writer.XmlWriterBase;
 import eu.esdihumboldt.hale.io.gml.writer.internal.StreamGmlWriter;
@@ -51,8 +55,24 @@ import eu.esdihumboldt.hale.io.xslt.internal.XsltGenerator;
 @SuppressWarnings("restriction")
 public class XsltExport extends AbstractAlignmentWriter implements XmlWriterBase, ProjectInfoAware {
 
+	/**
+	 * Name of the parameter specifying the location of XML source data to
+	 * transform with the generated XSLT. If set, the source data is
+	 * transformed directly after the XSLT was generated, without loading it
+	 * into the hale instance model.
+	 */
+	public static final String PARAM_TRANSFORM_SOURCE = "transformSource";
+
+	/**
+	 * Name of the parameter specifying the location of the file to write the
+	 * result of transforming the source data to. Required if
+	 * {@link #PARAM_TRANSFORM_SOURCE} is set.
+	 */
+	public static final String PARAM_TRANSFORM_TARGET = "transformTarget";
+
 	private static final ALogger log = ALoggerFactory.getLogger(XsltExport.class);
 	private ProjectInfo projectInfo;
+	private TransformerFactory transformerFactory;
 
 	/**
 	 * Default constructor
@@ -62,6 +82,8 @@ public class XsltExport extends AbstractAlignmentWriter implements XmlWriterBase
 
 		addSupportedParameter(PARAM_ROOT_ELEMENT_NAMESPACE);
 		addSupportedParameter(PARAM_ROOT_ELEMENT_NAME);
+		addSupportedParameter(PARAM_TRANSFORM_SOURCE);
+		addSupportedParameter(PARAM_TRANSFORM_TARGET);
 	}
 
 	@Override
@@ -76,6 +98,48 @@ public class XsltExport extends AbstractAlignmentWriter implements XmlWriterBase
 		if (getTargetSchema() == null) {
 			fail("Target schema not supplied");
 		}
+
+		if (getTransformSource() != null) {
+			URI transformTarget = getTransformTarget();
+			if (transformTarget == null) {
+				fail("No target specified for transforming the source data");
+			}
+			if (!"file".equals(transformTarget.getScheme())) {
+				fail("The target for transforming the source data must be a file");
+			}
+			if (getTarget().getLocation() == null) {
+				fail("No location for the generated XSLT to transform the source data with");
+			}
+		}
+	}
+
+	/**
+	 * Set the transformer factory to use for transforming source data with the
+	 * generated XSLT. If not set, the factory configured via
+	 * {@link XsltExecutor#SYSTEM_PROPERTY_TRANSFORMER_FACTORY} is used.
+	 * 
+	 * @param transformerFactory the transformer factory
+	 */
+	public void setTransformerFactory(TransformerFactory transformerFactory) {
+		this.transformerFactory = transformerFactory;
+	}
+
+	/**
+	 * @return the location of the source data to transform, <code>null</code>
+	 *         if no source data should be transformed
+	 */
+	private URI getTransformSource() {
+		String source = getParameter(PARAM_TRANSFORM_SOURCE).as(String.class);
+		return (source == null || source.isEmpty()) ? (null) : (URI.create(source));
+	}
+
+	/**
+	 * @return the location of the file to write the transformed source data
+	 *         to, may be <code>null</code>
+	 */
+	private URI getTransformTarget() {
+		String target = getParameter(PARAM_TRANSFORM_TARGET).as(String.class);
+		return (target == null || target.isEmpty()) ? (null) : (URI.create(target));
 	}
 
 	@Override
@@ -119,7 +183,14 @@ public class XsltExport extends AbstractAlignmentWriter implements XmlWriterBase
 				}
 
 			};
-			return generator.write(getTarget());
+			IOReport report = generator.write(getTarget());
+
+			URI transformSource = getTransformSource();
+			if (transformSource != null && report.isSuccess()) {
+				transform(transformSource, reporter, progress);
+			}
+
+			return report;
 		} catch (Exception e) {
 			reporter.error(new IOMessageImpl("XSLT generation failed", e));
 			reporter.setSuccess(false);
@@ -135,6 +206,32 @@ public class XsltExport extends AbstractAlignmentWriter implements XmlWriterBase
 		}
 	}
 
+	/**
+	 * Transform the source data with the generated XSLT.
+	 * 
+	 * @param source the location of the source data
+	 * @param reporter the reporter
+	 * @param progress the progress indicator
+	 */
+	private void transform(URI source, IOReporter reporter, ProgressIndicator progress) {
+		progress.setCurrentTask("Transform source data");
+		TransformerFactory factory = transformerFactory;
+		if (factory == null) {
+			factory = XsltExecutor.createTransformerFactory();
+		}
+
+		try {
+			XsltExecutor executor = XsltExecutor.forStylesheet(
+					new DefaultInputSupplier(getTarget().getLocation()), factory);
+			executor.transform(new DefaultInputSupplier(source),
+					new FileIOSupplier(new File(getTransformTarget())));
+		} catch (Exception e) {
+			reporter.error(new IOMessageImpl("Transforming the source data " + source
+					+ " with the XSLT failed", e));
+			reporter.setSuccess(false);
+		}
+	}
+
 	/**
 	 * Get the custom source context provider to use during the export.
 	 * 
@@ -23,6 +23,8 @@ import javax.xml.namespace.QName;
 
 import com.vividsolutions.jts.geom.GeometryFactory;
 
+import eu.esdihumboldt.hale.common.instance.geometry.SharedGeometryFactory;
+
 /**
  * Base class for geometry handlers.
  * 
@@ -32,8 +34,6 @@ public abstract class AbstractGeometryHandler implements GeometryHandler, GMLCon
 
 	private Set<QName> supportedTypes;
 
-	private static final GeometryFactory factory = new GeometryFactory();
-
 	/**
 	 * @see GeometryHandler#getSupportedTypes()
 	 */
@@ -56,10 +56,10 @@ public abstract class AbstractGeometryHandler implements GeometryHandler, GMLCon
 	 * Get a geometry factory instance.
 	 * 
 	 * @return the geometry factory
+	 * @see SharedGeometryFactory
 	 */
 	protected GeometryFactory getGeometryFactory() {
-		// XXX instead retrieve from a service?
-		return factory;
+		return SharedGeometryFactory.getInstance();
 	}
 
 }
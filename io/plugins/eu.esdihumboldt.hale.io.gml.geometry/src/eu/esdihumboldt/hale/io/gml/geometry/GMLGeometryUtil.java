@@ -21,8 +21,8 @@ import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -33,16 +33,19 @@ import org.springframework.core.convert.ConversionException;
 
 import com.google.common.base.Splitter;
 import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
 import com.vividsolutions.jts.geom.Geometry;
 
 import de.fhg.igd.slf4jplus.ALogger;
 import de.fhg.igd.slf4jplus.ALoggerFactory;
 import eu.esdihumboldt.hale.common.convert.ConversionUtil;
 import eu.esdihumboldt.hale.common.core.io.IOProvider;
+import eu.esdihumboldt.hale.common.instance.geometry.SharedGeometryFactory;
 import eu.esdihumboldt.hale.common.instance.helper.BreadthFirstInstanceTraverser;
 import eu.esdihumboldt.hale.common.instance.helper.PropertyResolver;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.schema.geometry.CRSDefinition;
+import eu.esdihumboldt.util.DoubleList;
 
 /**
  * Utility methods for reading GML geometries from an {@link Instance} model.
@@ -74,10 +77,150 @@ public abstract class GMLGeometryUtil {
 	 * @throws ParseException if parsing the coordinates fails
 	 */
 	public static Coordinate[] parseCoordinates(Instance coordinates) throws ParseException {
+		CoordinateSequence sequence = parseCoordinatesSequence(coordinates);
+		if (sequence != null) {
+			return sequence.toCoordinateArray();
+		}
+		return null;
+	}
+
+	/**
+	 * Parse coordinates from a GML CoordinatesType instance into a coordinate
+	 * sequence. Values are parsed directly into an array of ordinates, without
+	 * creating intermediate coordinate objects. The type of the sequence is
+	 * determined by the {@link SharedGeometryFactory}.
+	 * 
+	 * @param coordinates the coordinates instance
+	 * @return the coordinate sequence or <code>null</code> if the instances
+	 *         contains no coordinates
+	 * @throws ParseException if parsing the coordinates fails
+	 */
+	public static CoordinateSequence parseCoordinatesSequence(Instance coordinates)
+			throws ParseException {
 		// XXX should the type be checked to match CoordinatesType?
 
 		Object value = coordinates.getValue();
 
+		if (value != null) {
+			try {
+				String coordinatesString = ConversionUtil.getAs(value, String.class);
+				if (coordinatesString.isEmpty()) {
+					return null;
+				}
+
+				// determine symbols
+				String decimal = getCoordinatesDecimal(coordinates);
+				String cs = getCoordinateSeparator(coordinates);
+				String ts = getTupleSeparator(coordinates);
+
+				if (".".equals(decimal) && cs.length() == 1 && ts.length() == 1) {
+					try {
+						return scanCoordinates(coordinatesString, cs.charAt(0), ts.charAt(0));
+					} catch (NumberFormatException e) {
+						// fall back to lenient parsing
+					}
+				}
+			} catch (ConversionException e) {
+				log.error("Error parsing geometry coordinates", e);
+				return null;
+			}
+		}
+
+		Coordinate[] result = parseCoordinatesLenient(coordinates);
+		if (result != null) {
+			return SharedGeometryFactory.getInstance().getCoordinateSequenceFactory().create(result);
+		}
+		return null;
+	}
+
+	/**
+	 * Scan a GML CoordinatesType string with the default decimal point. If the
+	 * tuple separator is a whitespace character, any whitespace separates
+	 * tuples.
+	 * 
+	 * @param coordinates the coordinates string
+	 * @param cs the coordinate separator
+	 * @param ts the tuple separator
+	 * @return the coordinate sequence, two dimensional if no tuple has more
+	 *         than two ordinates, otherwise three dimensional with missing
+	 *         ordinates being {@link Double#NaN}
+	 * @throws NumberFormatException if a coordinate value is no valid number
+	 */
+	private static CoordinateSequence scanCoordinates(String coordinates, char cs, char ts)
+			throws NumberFormatException {
+		boolean whitespaceTs = Character.isWhitespace(ts);
+
+		double[] values = new double[48];
+		int count = 0; // number of tuples
+		int index = 0; // index of the ordinate in the tuple
+		int dimension = 2;
+
+		int length = coordinates.length();
+		int start = -1;
+		int end = -1;
+		for (int i = 0; i <= length; i++) {
+			char c = (i < length) ? (coordinates.charAt(i)) : (ts);
+			boolean tupleEnd = c == ts || (whitespaceTs && Character.isWhitespace(c));
+			if (tupleEnd || c == cs) {
+				if (start >= 0) {
+					// ordinate value
+					if (index == 0) {
+						// new tuple
+						if ((count + 1) * 3 > values.length) {
+							values = Arrays.copyOf(values, values.length * 2);
+						}
+						values[count * 3 + 1] = Double.NaN;
+						values[count * 3 + 2] = Double.NaN;
+						count++;
+					}
+					if (index <= 2) {
+						values[(count - 1) * 3 + index] = Double
+								.parseDouble(coordinates.substring(start, end));
+						if (index == 2) {
+							dimension = 3;
+						}
+					}
+					index++;
+					start = -1;
+				}
+				if (tupleEnd) {
+					index = 0;
+				}
+			}
+			else if (!Character.isWhitespace(c)) {
+				if (start < 0) {
+					start = i;
+				}
+				end = i + 1;
+			}
+		}
+
+		if (dimension == 2) {
+			// drop the z ordinates
+			double[] values2D = new double[count * 2];
+			for (int i = 0; i < count; i++) {
+				values2D[i * 2] = values[i * 3];
+				values2D[i * 2 + 1] = values[i * 3 + 1];
+			}
+			return SharedGeometryFactory.createSequence(values2D, 2);
+		}
+		return SharedGeometryFactory.createSequence(Arrays.copyOf(values, count * 3), 3);
+	}
+
+	/**
+	 * Parse coordinates from a GML CoordinatesType instance, supporting
+	 * arbitrary separators and decimal symbols.
+	 * 
+	 * @param coordinates the coordinates instance
+	 * @return the coordinates or <code>null</code> if the instances contains no
+	 *         coordinates
+	 * @throws ParseException if parsing the coordinates fails
+	 */
+	private static Coordinate[] parseCoordinatesLenient(Instance coordinates)
+			throws ParseException {
+
+		Object value = coordinates.getValue();
+
 		if (value != null) {
 			try {
 				String coordinatesString = ConversionUtil.getAs(value, String.class);
@@ -261,71 +404,102 @@ public abstract class GMLGeometryUtil {
 	 */
 	public static Coordinate[] parsePosList(Instance posList, int srsDimension)
 			throws GeometryNotSupportedException {
+		CoordinateSequence sequence = parsePosListSequence(posList, srsDimension);
+		if (sequence != null) {
+			return sequence.toCoordinateArray();
+		}
+		return null;
+	}
+
+	/**
+	 * Parse a coordinate sequence from a GML PosList instance. Values are
+	 * copied directly into an array of ordinates, without creating
+	 * intermediate coordinate objects. The type of the sequence is determined
+	 * by the {@link SharedGeometryFactory}.
+	 * 
+	 * @param posList the PosList instance
+	 * @param srsDimension the Dimension of the instance
+	 * @return the coordinate sequence or <code>null</code> if the instance
+	 *         contains not a PosList
+	 * @throws GeometryNotSupportedException if no valid coordinate could be
+	 *             created from the PosList
+	 */
+	public static CoordinateSequence parsePosListSequence(Instance posList, int srsDimension)
+			throws GeometryNotSupportedException {
 
 		Object value = posList.getValue();
-		Coordinate[] coordinates = null;
 
 		// XXX Coordinate support only 2D and 3D coordinates
 
-		if (value != null) {
-			try {
-				List<Double> values = ConversionUtil.getAsList(value, Double.class, true);
+		if (value == null) {
+			return null;
+		}
 
-				/*
-				 * Filter null values that may have been created because of
-				 * whitespace, e.g. at the end or beginning of the list.
-				 * 
-				 * XXX An alternative would be trimming the list string before
-				 * splitting it (in SimpleTypeUtil.convertFromXml), though I am
-				 * not sure what the behavior actually should be according to
-				 * XML Schema (is whitespace at the beginning/end just ignored
-				 * or not?)
-				 */
-				values.removeAll(Collections.singleton(null));
-
-				List<Coordinate> cs = new ArrayList<Coordinate>();
-
-				// validate dimension
-				if (values.size() % srsDimension != 0) {
-					// try alternative dimension
-					int alternative = (srsDimension == 2) ? (3) : (2);
-
-					if (values.size() % alternative != 0) {
-						// still not valid
-						throw new GeometryNotSupportedException(
-								"Value count in posList not compatible to given dimension.");
-					}
-					else {
-						log.debug("Assuming " + alternative
-								+ "-dimensional coordinates, as value count doesn't match "
-								+ srsDimension + " dimensions.");
-						srsDimension = alternative;
-					}
-				}
+		double[] values;
+		try {
+			values = getDoubles(value);
+		} catch (ConversionException | NumberFormatException e) {
+			throw new GeometryNotSupportedException(e);
+		}
 
-				if (srsDimension == 2) {
-					for (int i = 0; i < values.size(); i++) {
-						cs.add(new Coordinate(values.get(i), values.get(++i)));
-					}
-					coordinates = cs.toArray(new Coordinate[values.size() / 2]);
-				}
-				else if (srsDimension == 3) {
-					for (int i = 0; i < values.size(); i++) {
-						cs.add(new Coordinate(values.get(i), values.get(++i), values.get(++i)));
-					}
-					coordinates = cs.toArray(new Coordinate[values.size() / 3]);
-				}
-				else {
-					throw new GeometryNotSupportedException(
-							"DirectPosition with invalid number of coordinates: " + values.size());
-				}
+		// validate dimension
+		if (values.length % srsDimension != 0) {
+			// try alternative dimension
+			int alternative = (srsDimension == 2) ? (3) : (2);
 
-			} catch (ConversionException e) {
-				throw new GeometryNotSupportedException(e);
+			if (values.length % alternative != 0) {
+				// still not valid
+				throw new GeometryNotSupportedException(
+						"Value count in posList not compatible to given dimension.");
+			}
+			else {
+				log.debug("Assuming " + alternative
+						+ "-dimensional coordinates, as value count doesn't match " + srsDimension
+						+ " dimensions.");
+				srsDimension = alternative;
 			}
 		}
 
-		return coordinates;
+		if (srsDimension == 2 || srsDimension == 3) {
+			return SharedGeometryFactory.createSequence(values, srsDimension);
+		}
+		else {
+			throw new GeometryNotSupportedException(
+					"DirectPosition with invalid number of coordinates: " + values.length);
+		}
+	}
+
+	/**
+	 * Get the numbers from a list value.
+	 * 
+	 * @param value the list value, usually a {@link DoubleList}
+	 * @return the numbers
+	 * @throws ConversionException if the value cannot be converted to a list of
+	 *             numbers
+	 */
+	private static double[] getDoubles(Object value) throws ConversionException {
+		if (value instanceof DoubleList) {
+			return ((DoubleList) value).toDoubleArray();
+		}
+
+		if (value instanceof String) {
+			return DoubleList.parse((String) value).toDoubleArray();
+		}
+
+		List<Double> list = ConversionUtil.getAsList(value, Double.class, true);
+
+		/*
+		 * Skip null values that may have been created because of whitespace,
+		 * e.g. at the end or beginning of the list.
+		 */
+		double[] result = new double[list.size()];
+		int size = 0;
+		for (Double item : list) {
+			if (item != null) {
+				result[size++] = item;
+			}
+		}
+		return (size == result.length) ? (result) : (Arrays.copyOf(result, size));
 	}
 
 	/**
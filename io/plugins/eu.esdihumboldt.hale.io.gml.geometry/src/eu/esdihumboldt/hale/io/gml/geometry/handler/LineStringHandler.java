@@ -27,6 +27,7 @@ import java.util.Set;
 import javax.xml.namespace.QName;
 
 import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
 import com.vividsolutions.jts.geom.LineString;
 import com.vividsolutions.jts.geom.Point;
 
@@ -102,8 +103,9 @@ public class LineStringHandler extends FixedConstraintsGeometryHandler {
 			Object value = values.iterator().next();
 			if (value instanceof Instance) {
 				try {
-					Coordinate[] cs = GMLGeometryUtil.parseCoordinates((Instance) value);
-					if (cs != null && cs.length > 0) {
+					CoordinateSequence cs = GMLGeometryUtil
+							.parseCoordinatesSequence((Instance) value);
+					if (cs != null && cs.size() > 0) {
 						line = getGeometryFactory().createLineString(moveCoordinates(cs, reader));
 					}
 				} catch (ParseException e) {
@@ -142,7 +144,8 @@ public class LineStringHandler extends FixedConstraintsGeometryHandler {
 				Iterator<Object> iterator = values.iterator();
 				Object value = iterator.next();
 				if (value instanceof Instance) {
-					Coordinate[] cs = GMLGeometryUtil.parsePosList((Instance) value, srsDimension);
+					CoordinateSequence cs = GMLGeometryUtil.parsePosListSequence((Instance) value,
+							srsDimension);
 					if (cs != null) {
 						line = getGeometryFactory().createLineString(moveCoordinates(cs, reader));
 					}
@@ -313,6 +316,15 @@ public class LineStringHandler extends FixedConstraintsGeometryHandler {
 				: InterpolationHelper.moveCoordinates(reader, coordinates);
 	}
 
+	private CoordinateSequence moveCoordinates(CoordinateSequence coordinates,
+			IOProvider reader) {
+		if (isInterpolated() || !InterpolationHelper.requiresGeometriesMovedToGrid(reader)) {
+			return coordinates;
+		}
+		return getGeometryFactory().getCoordinateSequenceFactory().create(
+				InterpolationHelper.moveCoordinates(reader, coordinates.toCoordinateArray()));
+	}
+
 	/**
 	 * States if the handler created interpolated geometries.
 	 * 
@@ -86,7 +86,8 @@ public class LinearRingHandler extends FixedConstraintsGeometryHandler {
 		DefaultGeometryProperty<LineString> linestring = (DefaultGeometryProperty<LineString>) handler
 				.createGeometry(instance, srsDimension, reader);
 		try {
-			ring = getGeometryFactory().createLinearRing(linestring.getGeometry().getCoordinates());
+			ring = getGeometryFactory()
+					.createLinearRing(linestring.getGeometry().getCoordinateSequence());
 		} catch (IllegalArgumentException e) {
 			if (allowTryOtherDimension) {
 				// the error
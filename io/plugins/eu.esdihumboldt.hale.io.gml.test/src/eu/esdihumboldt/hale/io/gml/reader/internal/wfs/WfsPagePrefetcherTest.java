@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.gml.reader.internal.wfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link WfsPagePrefetcher}, with pages provided as local files.
+ *
+ * @author Simon Templer
+ */
+public class WfsPagePrefetcherTest {
+
+	private File sourceDir;
+
+	private File downloadDir;
+
+	/**
+	 * Create the directories for the test.
+	 *
+	 * @throws IOException if creating the directories fails
+	 */
+	@Before
+	public void createDirectories() throws IOException {
+		sourceDir = Files.createTempDirectory("wfs-pages").toFile();
+		downloadDir = Files.createTempDirectory("wfs-downloads").toFile();
+	}
+
+	/**
+	 * Delete the directories of the test.
+	 */
+	@After
+	public void deleteDirectories() {
+		delete(sourceDir);
+		delete(downloadDir);
+	}
+
+	/**
+	 * Test that pages are provided by their index, independent of the order
+	 * they are downloaded in.
+	 *
+	 * @throws IOException if a download fails
+	 */
+	@Test
+	public void testPageOrder() throws IOException {
+		List<URI> pages = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			pages.add(createPage(i));
+		}
+
+		try (WfsPagePrefetcher prefetcher = new WfsPagePrefetcher(3, 0, downloadDir)) {
+			// schedule in reverse order, schedule one page twice
+			for (int i = pages.size() - 1; i >= 0; i--) {
+				prefetcher.schedule(i, pages.get(i));
+			}
+			prefetcher.schedule(2, pages.get(0));
+
+			for (int i = 0; i < pages.size(); i++) {
+				File page = prefetcher.get(i);
+				assertEquals(downloadDir, page.getParentFile());
+				assertEquals("page" + i, read(page));
+				assertTrue(page.delete());
+			}
+
+			// pages can only be retrieved once
+			try {
+				prefetcher.get(0);
+				fail("Page retrieved twice");
+			} catch (IOException e) {
+				// expected
+			}
+		}
+
+		assertEquals(0, downloadDir.list().length);
+	}
+
+	/**
+	 * Test that a failed download is retried.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testRetry() throws Exception {
+		File missing = new File(sourceDir, "late.gml");
+
+		try (WfsPagePrefetcher prefetcher = new WfsPagePrefetcher(1, 2, downloadDir)) {
+			prefetcher.schedule(0, missing.toURI());
+
+			// the first attempt fails as the page does not exist yet, the
+			// first retry is done after one second
+			Thread.sleep(300);
+			Files.write(missing.toPath(), "late".getBytes(StandardCharsets.UTF_8));
+
+			File page = prefetcher.get(0);
+			assertEquals("late", read(page));
+			assertTrue(page.delete());
+		}
+	}
+
+	/**
+	 * Test that closing the prefetcher stops retrying a failed download.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testCloseDuringRetry() throws Exception {
+		WfsPagePrefetcher prefetcher = new WfsPagePrefetcher(1, 10, downloadDir);
+		prefetcher.schedule(0, new File(sourceDir, "missing.gml").toURI());
+
+		// wait for the first attempt to fail
+		Thread.sleep(300);
+		assertEquals(1, downloadDir.list().length);
+
+		prefetcher.close();
+
+		// the download is aborted instead of waiting for the next retry
+		long timeout = System.currentTimeMillis() + 500;
+		while (downloadDir.list().length > 0) {
+			assertTrue("Download was not aborted", System.currentTimeMillis() < timeout);
+			Thread.sleep(20);
+		}
+	}
+
+	/**
+	 * Test that a download that fails without retries is reported and leaves
+	 * no temporary file.
+	 */
+	@Test
+	public void testFailure() {
+		try (WfsPagePrefetcher prefetcher = new WfsPagePrefetcher(1, 0, downloadDir)) {
+			prefetcher.schedule(0, new File(sourceDir, "missing.gml").toURI());
+
+			try {
+				prefetcher.get(0);
+				fail("Download of a missing page succeeded");
+			} catch (IOException e) {
+				// expected
+			}
+
+			try {
+				prefetcher.get(1);
+				fail("Page that was not scheduled retrieved");
+			} catch (IOException e) {
+				// expected
+			}
+		}
+
+		assertEquals(0, downloadDir.list().length);
+	}
+
+	/**
+	 * Test that pages that were downloaded but not retrieved are deleted when
+	 * the prefetcher is closed.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testClose() throws Exception {
+		WfsPagePrefetcher prefetcher = new WfsPagePrefetcher(2, 0, downloadDir);
+		for (int i = 0; i < 4; i++) {
+			prefetcher.schedule(i, createPage(i));
+		}
+
+		File first = prefetcher.get(0);
+
+		// wait for the remaining downloads to complete
+		long timeout = System.currentTimeMillis() + 10000;
+		while (countDownloaded() < 4) {
+			assertTrue("Pages were not downloaded", System.currentTimeMillis() < timeout);
+			Thread.sleep(50);
+		}
+		// give the download tasks time to complete after writing the files
+		Thread.sleep(200);
+
+		prefetcher.close();
+
+		// only the retrieved page remains
+		assertTrue(first.exists());
+		assertEquals(1, downloadDir.list().length);
+		assertTrue(first.delete());
+
+		// pages scheduled after closing are ignored
+		prefetcher.schedule(4, createPage(4));
+		try {
+			prefetcher.get(4);
+			fail("Page scheduled after close retrieved");
+		} catch (IOException e) {
+			// expected
+		}
+		assertEquals(0, downloadDir.list().length);
+	}
+
+	private URI createPage(int index) throws IOException {
+		File page = new File(sourceDir, "page" + index + ".gml");
+		Files.write(page.toPath(), ("page" + index).getBytes(StandardCharsets.UTF_8));
+		return page.toURI();
+	}
+
+	private int countDownloaded() {
+		int count = 0;
+		for (File file : downloadDir.listFiles()) {
+			if (file.length() > 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static String read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+
+	private static void delete(File dir) {
+		File[] files = dir.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		dir.delete();
+	}
+
+}
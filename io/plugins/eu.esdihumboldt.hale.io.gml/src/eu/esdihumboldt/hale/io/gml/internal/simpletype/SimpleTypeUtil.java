@@ -37,6 +37,7 @@ import eu.esdihumboldt.hale.common.core.HalePlatform;
 import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
 import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding;
 import eu.esdihumboldt.hale.common.schema.model.constraint.type.ElementType;
+import eu.esdihumboldt.util.DoubleList;
 
 /**
  * Utility methods used for simple type conversion
@@ -143,9 +144,19 @@ public class SimpleTypeUtil {
 		if (List.class.isAssignableFrom(binding)) { // XXX also for collection
 													// binding?
 			// we are dealing with a simple type list
+			ElementType elementType = type.getConstraint(ElementType.class);
+
+			if (Double.class.equals(elementType.getBinding())) {
+				// fast path for lists of doubles (e.g. GML coordinates)
+				try {
+					return DoubleList.parse(value);
+				} catch (NumberFormatException e) {
+					// fall back to conversion of individual items
+				}
+			}
+
 			// items separated by whitespace
 			String[] elements = value.split("\\s+");
-			ElementType elementType = type.getConstraint(ElementType.class);
 
 			Class<? extends XmlAnySimpleType> elementSimpleType = null;
 			if (elementType.getDefinition() != null) {
@@ -81,6 +81,20 @@ public class StreamGmlReader extends AbstractInstanceReader {
 	 */
 	public static final String PARAM_IGNORE_NUMBER_MATCHED = "ignoreNumberMatched";
 
+	/**
+	 * The name of the parameter specifying the number of pages to download in
+	 * advance when paginating WFS GetFeature requests. Parameter value
+	 * defaults to <code>0</code> (no prefetching).
+	 */
+	public static final String PARAM_PREFETCH_WFS_PAGES = "prefetchWfsPages";
+
+	/**
+	 * The name of the parameter specifying how often the download of a
+	 * prefetched WFS page is retried if it fails. Parameter value defaults to
+	 * <code>3</code>.
+	 */
+	public static final String PARAM_WFS_PAGE_RETRIES = "wfsPageRetries";
+
 	/**
 	 * The name of the parameter specifying if the selection of mapping relevant
 	 * types for instances that are processed should be ignored.
@@ -115,6 +129,8 @@ public class StreamGmlReader extends AbstractInstanceReader {
 		addSupportedParameter(PARAM_IGNORE_NAMESPACES);
 		addSupportedParameter(PARAM_PAGINATE_REQUEST);
 		addSupportedParameter(PARAM_FEATURES_PER_WFS_REQUEST);
+		addSupportedParameter(PARAM_PREFETCH_WFS_PAGES);
+		addSupportedParameter(PARAM_WFS_PAGE_RETRIES);
 	}
 
 	/**
@@ -157,9 +173,15 @@ public class StreamGmlReader extends AbstractInstanceReader {
 
 				// check if WFS is reachable and responds?
 
-				instances = new WfsBackedGmlInstanceCollection(getSource(), getSourceSchema(),
-						restrictToFeatures, ignoreRoot, strict, ignoreNamespaces, getCrsProvider(),
-						this, featuresPerRequest, ignoreNumberMatched);
+				WfsBackedGmlInstanceCollection wfsInstances = new WfsBackedGmlInstanceCollection(
+						getSource(), getSourceSchema(), restrictToFeatures, ignoreRoot, strict,
+						ignoreNamespaces, getCrsProvider(), this, featuresPerRequest,
+						ignoreNumberMatched);
+				wfsInstances.setPrefetchPages(
+						getParameter(PARAM_PREFETCH_WFS_PAGES).as(Integer.class, 0));
+				wfsInstances.setPageRetries(getParameter(PARAM_WFS_PAGE_RETRIES)
+						.as(Integer.class, WfsBackedGmlInstanceCollection.DEFAULT_PAGE_RETRIES));
+				instances = wfsInstances;
 			}
 			else {
 				instances = new GmlInstanceCollection(getSource(), getSourceSchema(),
@@ -46,7 +46,7 @@ import eu.esdihumboldt.hale.common.instance.geometry.impl.CodeDefinition;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.model.MutableGroup;
 import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
-import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.instance.model.impl.SharedInstanceFactory;
 import eu.esdihumboldt.hale.common.schema.geometry.CRSDefinition;
 import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty;
 import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
@@ -168,7 +168,7 @@ public abstract class StreamGmlHelper {
 		MutableInstance instance;
 		if (indexInStream == null) {
 			// not necessary to associate data set
-			instance = new DefaultInstance(type, null);
+			instance = SharedInstanceFactory.getInstance().createInstance(type);
 		}
 		else {
 			instance = new StreamGmlInstance(type, indexInStream);
@@ -15,6 +15,7 @@
 
 package eu.esdihumboldt.hale.io.gml.reader.internal.wfs;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -67,6 +68,10 @@ import eu.esdihumboldt.hale.io.gml.reader.internal.instance.StreamGmlInstance;
  * parameter to the source location or programmatically via
  * {@link #setMaxNumberOfFeatures(int)}.
  * 
+ * If the number of features matched by the query is known, the following pages
+ * can be downloaded in the background while the current page is processed,
+ * see {@link #setPrefetchPages(int)}.
+ * 
  * @author Florian Esser
  */
 public class WfsBackedGmlInstanceCollection implements InstanceCollection {
@@ -78,6 +83,11 @@ public class WfsBackedGmlInstanceCollection implements InstanceCollection {
 
 	private final ALogger log = ALoggerFactory.getLogger(WfsBackedGmlInstanceCollection.class);
 
+	/**
+	 * Default number of times the download of a prefetched page is retried.
+	 */
+	public static final int DEFAULT_PAGE_RETRIES = 3;
+
 	// Original source location
 	private final URI primordialUri;
 	// Key/value pairs of the query part of the primordial URI. Keys are stored
@@ -100,6 +110,12 @@ public class WfsBackedGmlInstanceCollection implements InstanceCollection {
 
 	private final int size;
 
+	// Number of pages to download in advance (default: no prefetching)
+	private int prefetchPages = 0;
+
+	// Number of times the download of a prefetched page is retried
+	private int pageRetries = DEFAULT_PAGE_RETRIES;
+
 	// Parameters needed for instantiation of GmlInstanceCollection
 	private final TypeIndex sourceSchema;
 	private final boolean restrictToFeatures;
@@ -242,6 +258,38 @@ public class WfsBackedGmlInstanceCollection implements InstanceCollection {
 		this.maxNumberOfFeatures = maxNumberOfFeatures;
 	}
 
+	/**
+	 * Set the number of pages to download in advance while the current page is
+	 * processed. Pages are downloaded concurrently to temporary files.
+	 * Prefetching is only done for paged requests where the number of features
+	 * matched by the query is known, as the start index of each page must be
+	 * determined in advance.
+	 * 
+	 * @param prefetchPages the number of pages to prefetch, zero to disable
+	 *            prefetching
+	 */
+	public void setPrefetchPages(int prefetchPages) {
+		if (prefetchPages < 0) {
+			throw new IllegalArgumentException(
+					"Invalid number of pages to prefetch: must be a non-negative integer.");
+		}
+		this.prefetchPages = prefetchPages;
+	}
+
+	/**
+	 * Set the number of times the download of a prefetched page is retried if
+	 * it fails.
+	 * 
+	 * @param pageRetries the number of retries, zero to disable retrying
+	 */
+	public void setPageRetries(int pageRetries) {
+		if (pageRetries < 0) {
+			throw new IllegalArgumentException(
+					"Invalid number of page retries: must be a non-negative integer.");
+		}
+		this.pageRetries = pageRetries;
+	}
+
 	/**
 	 * @see InstanceCollection#hasSize()
 	 */
@@ -377,10 +425,24 @@ public class WfsBackedGmlInstanceCollection implements InstanceCollection {
 		private GmlInstanceIterator iterator;
 		private int totalFeaturesProcessed;
 
+		// Prefetching of pages, null if disabled
+		private WfsPagePrefetcher prefetcher;
+		private int pageCount;
+		private int pageIndex = -1;
+		private int featuresInPage;
+		private File currentPageFile;
+
 		/**
 		 * Create the iterator
 		 */
 		public WfsBackedGmlInstanceIterator() {
+			if (isPaged() && prefetchPages > 0 && size != UNKNOWN_SIZE) {
+				pageCount = (size + featuresPerRequest - 1) / featuresPerRequest;
+				if (pageCount > 1) {
+					prefetcher = new WfsPagePrefetcher(prefetchPages, pageRetries);
+				}
+			}
+
 			createNextIterator();
 		}
 
@@ -391,11 +453,22 @@ public class WfsBackedGmlInstanceCollection implements InstanceCollection {
 		 */
 		private void proceedOrClose() {
 			iterator.close();
+			releaseCurrentPage();
 
 			if (!isPaged() || isFeatureLimitReached()) {
 				close();
 			}
 			else {
+				if (prefetcher != null && featuresInPage < featuresPerRequest) {
+					// The WFS returned less features than requested, so the
+					// prefetched pages don't start at the correct index
+					log.info(MessageFormat.format(
+							"WFS returned {0} features instead of {1}, disabling prefetching",
+							featuresInPage, featuresPerRequest));
+					prefetcher.close();
+					prefetcher = null;
+				}
+
 				createNextIterator();
 
 				if (!iterator.hasNext()) {
@@ -405,9 +478,12 @@ public class WfsBackedGmlInstanceCollection implements InstanceCollection {
 		}
 
 		private void createNextIterator() {
+			pageIndex++;
+			featuresInPage = 0;
+
 			URI nextUri;
 			try {
-				nextUri = calculateNextUri();
+				nextUri = calculateNextUri(totalFeaturesProcessed);
 			} catch (URISyntaxException e) {
 				throw new IllegalStateException(e.getMessage(), e);
 			}
@@ -415,7 +491,25 @@ public class WfsBackedGmlInstanceCollection implements InstanceCollection {
 			log.debug(MessageFormat.format("Creating new iterator for URL \"{0}\"",
 					nextUri.toString()));
 
-			currentCollection = new GmlInstanceCollection(new DefaultInputSupplier(nextUri),
+			URI location = nextUri;
+			if (prefetcher != null && pageIndex < pageCount) {
+				try {
+					// schedule the current and the following pages
+					int lastPage = Math.min(pageIndex + prefetchPages, pageCount - 1);
+					for (int page = pageIndex; page <= lastPage; page++) {
+						prefetcher.schedule(page, calculateNextUri(page * featuresPerRequest));
+					}
+
+					currentPageFile = prefetcher.get(pageIndex);
+					location = currentPageFile.toURI();
+				} catch (IOException | URISyntaxException e) {
+					log.warn(MessageFormat.format(
+							"Prefetching WFS page failed, retrieving it directly: {0}",
+							e.getMessage()), e);
+				}
+			}
+
+			currentCollection = new GmlInstanceCollection(new DefaultInputSupplier(location),
 					sourceSchema, restrictToFeatures, ignoreRoot, strict, ignoreNamespaces,
 					crsProvider, ioProvider);
 			iterator = currentCollection.iterator();
@@ -424,7 +518,16 @@ public class WfsBackedGmlInstanceCollection implements InstanceCollection {
 			iterator.hasNext();
 		}
 
-		private URI calculateNextUri() throws URISyntaxException {
+		private void releaseCurrentPage() {
+			if (currentPageFile != null) {
+				if (!currentPageFile.delete()) {
+					currentPageFile.deleteOnExit();
+				}
+				currentPageFile = null;
+			}
+		}
+
+		private URI calculateNextUri(int featuresProcessed) throws URISyntaxException {
 			URIBuilder builder = new URIBuilder(baseUri);
 
 			// Use STARTINDEX value in primordial URI as offset
@@ -439,8 +542,7 @@ public class WfsBackedGmlInstanceCollection implements InstanceCollection {
 
 			if (isPaged() || offset > 0) {
 				// Add STARTINDEX; is 0-based
-				builder.addParameter("STARTINDEX",
-						Integer.toString(offset + totalFeaturesProcessed));
+				builder.addParameter("STARTINDEX", Integer.toString(offset + featuresProcessed));
 			}
 
 			final int maxFeatures;
@@ -508,6 +610,7 @@ public class WfsBackedGmlInstanceCollection implements InstanceCollection {
 			}
 
 			Instance instance = iterator.next();
+			featuresInPage++;
 			return new StreamGmlInstance(instance, totalFeaturesProcessed++);
 		}
 
@@ -521,6 +624,11 @@ public class WfsBackedGmlInstanceCollection implements InstanceCollection {
 				iterator = null;
 				currentCollection = null;
 			}
+			releaseCurrentPage();
+			if (prefetcher != null) {
+				prefetcher.close();
+				prefetcher = null;
+			}
 		}
 
 		/**
@@ -558,6 +666,8 @@ public class WfsBackedGmlInstanceCollection implements InstanceCollection {
 		public void skip() {
 			if (iterator.hasNext()) {
 				iterator.skip();
+				featuresInPage++;
+				totalFeaturesProcessed++;
 			}
 			else {
 				proceedOrClose();
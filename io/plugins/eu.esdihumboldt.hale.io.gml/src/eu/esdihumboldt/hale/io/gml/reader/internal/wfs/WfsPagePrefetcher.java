@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.gml.reader.internal.wfs;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
+import eu.esdihumboldt.hale.common.core.io.supplier.DefaultInputSupplier;
+
+/**
+ * Downloads pages of a WFS GetFeature response to temporary files in the
+ * background, so retrieving the next pages overlaps with parsing the current
+ * page. Pages are identified by their index, failed downloads are retried per
+ * page. Pages are retrieved through a {@link DefaultInputSupplier}, so the
+ * proxy and timeout configuration applies to them. Closing the prefetcher or
+ * interrupting a download stops retrying. Not thread safe, intended to be used
+ * by a single iterator.
+ *
+ * @author Simon Templer
+ */
+public class WfsPagePrefetcher implements Closeable {
+
+	private static final ALogger log = ALoggerFactory.getLogger(WfsPagePrefetcher.class);
+
+	private static final AtomicInteger threadCount = new AtomicInteger();
+
+	/**
+	 * Delay in milliseconds before the first retry of a failed download, the
+	 * delay increases linearly with each retry.
+	 */
+	private static final long RETRY_DELAY = 1000L;
+
+	private final ExecutorService executor;
+
+	private final int retries;
+
+	private final File directory;
+
+	private final Map<Integer, Future<File>> pages = new HashMap<>();
+
+	private volatile boolean closed = false;
+
+	/**
+	 * Signals closing the prefetcher to downloads waiting for a retry.
+	 */
+	private final CountDownLatch closeSignal = new CountDownLatch(1);
+
+	/**
+	 * Create a page prefetcher.
+	 *
+	 * @param concurrentDownloads the maximum number of pages to download
+	 *            concurrently
+	 * @param retries the number of times a failed page download is retried
+	 */
+	public WfsPagePrefetcher(int concurrentDownloads, int retries) {
+		this(concurrentDownloads, retries, null);
+	}
+
+	/**
+	 * Create a page prefetcher.
+	 *
+	 * @param concurrentDownloads the maximum number of pages to download
+	 *            concurrently
+	 * @param retries the number of times a failed page download is retried
+	 * @param directory the directory to download the pages to, <code>null</code>
+	 *            for the default temporary directory
+	 */
+	public WfsPagePrefetcher(int concurrentDownloads, int retries, File directory) {
+		super();
+		this.retries = retries;
+		this.directory = directory;
+		this.executor = Executors.newFixedThreadPool(concurrentDownloads, new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "WFS page prefetch " + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Schedule the download of a page, if it was not scheduled before.
+	 *
+	 * @param pageIndex the page index
+	 * @param location the GetFeature request URI for the page
+	 */
+	public void schedule(int pageIndex, URI location) {
+		if (closed || pages.containsKey(pageIndex)) {
+			return;
+		}
+
+		pages.put(pageIndex, executor.submit(() -> download(location)));
+	}
+
+	/**
+	 * Get the downloaded page, waiting for the download to complete if
+	 * necessary. The page must have been scheduled before. The caller is
+	 * responsible for deleting the file.
+	 *
+	 * @param pageIndex the page index
+	 * @return the file the page was downloaded to
+	 * @throws IOException if the page download failed or the page was not
+	 *             scheduled
+	 */
+	public File get(int pageIndex) throws IOException {
+		Future<File> page = pages.remove(pageIndex);
+		if (page == null) {
+			throw new IOException("Page " + pageIndex + " was not scheduled for download");
+		}
+
+		try {
+			return page.get();
+		} catch (InterruptedException e) {
+			page.cancel(true);
+			throw new InterruptedIOException("Interrupted while waiting for WFS page download");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException("Error downloading WFS page", e.getCause());
+		}
+	}
+
+	private File download(URI location) throws IOException {
+		File file = File.createTempFile("wfs-page", ".gml", directory);
+		try {
+			int attempt = 0;
+			while (true) {
+				try (InputStream in = openPage(location)) {
+					Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+					break;
+				} catch (IOException e) {
+					if (closed || Thread.currentThread().isInterrupted()
+							|| e instanceof InterruptedIOException || attempt >= retries) {
+						throw e;
+					}
+					attempt++;
+					log.warn(MessageFormat.format(
+							"Retrieving WFS page failed, retrying ({0}/{1}): {2}", attempt,
+							retries, location), e);
+					waitForRetry(attempt);
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			file.delete();
+			throw e;
+		}
+
+		if (closed) {
+			// prefetcher was closed during the download
+			file.delete();
+			throw new InterruptedIOException("WFS page prefetcher was closed");
+		}
+
+		return file;
+	}
+
+	/**
+	 * Open a stream to retrieve a page.
+	 *
+	 * @param location the GetFeature request URI for the page
+	 * @return the input stream
+	 * @throws IOException if the page cannot be retrieved
+	 */
+	protected InputStream openPage(URI location) throws IOException {
+		return new DefaultInputSupplier(location).getInput();
+	}
+
+	/**
+	 * Wait before retrying a failed download.
+	 *
+	 * @param attempt the number of the retry
+	 * @throws InterruptedIOException if the prefetcher was closed or the
+	 *             download was interrupted while waiting
+	 */
+	private void waitForRetry(int attempt) throws InterruptedIOException {
+		try {
+			if (closeSignal.await(RETRY_DELAY * attempt, TimeUnit.MILLISECONDS)) {
+				throw new InterruptedIOException("WFS page prefetcher was closed");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted WFS page download");
+		}
+	}
+
+	/**
+	 * Cancel all pending downloads and delete pages that have not been
+	 * retrieved.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		closeSignal.countDown();
+		executor.shutdownNow();
+
+		for (Future<File> page : pages.values()) {
+			if (!page.cancel(true) && !page.isCancelled()) {
+				try {
+					page.get().delete();
+				} catch (Exception e) {
+					// ignore, download failed
+				}
+			}
+		}
+		pages.clear();
+	}
+
+}
@@ -38,6 +38,12 @@ import java.util.Map.Entry;
 import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -150,6 +156,12 @@ public class StreamGmlWriter extends AbstractGeoInstanceWriter
 
 	private static final ALogger log = ALoggerFactory.getLogger(StreamGmlWriter.class);
 
+	/**
+	 * Number of geometries for which centroids are computed in one task when
+	 * partitioning by extent.
+	 */
+	private static final int CENTROID_BATCH_SIZE = 1000;
+
 	/**
 	 * The parameter name for the flag specifying if a geometry should be
 	 * simplified before writing it, if possible. Defaults to true.
@@ -387,53 +399,57 @@ public class StreamGmlWriter extends AbstractGeoInstanceWriter
 		// Map for instances that either contain no or multiple geometries
 		Map<String, InstanceReference> unhandledInstances = new HashMap<>();
 
+		final CoordinateReferenceSystem wgs84 = (PARTITION_BY_EXTENT_MODE_WORLD.equals(mode))
+				? (new CodeDefinition("EPSG:4326").getCRS()) : (null);
+		final Map<CoordinateReferenceSystem, MathTransform> transforms = new ConcurrentHashMap<>();
+
+		int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
 		QuadtreeBuilder<Point, InstanceReference> builder = new QuadtreeBuilder<>();
 		try (ResourceIterator<Instance> it = getInstances().iterator()) {
 			qtProgress.begin("Collecting geometries", getInstances().size());
 
 			final XMLInspector gadget = new XMLInspector();
+			InstanceTraverser traverser = new DepthFirstInstanceTraverser();
+			GeometryFinder finder = new GeometryFinder(getTargetCRS());
+
+			/*
+			 * Geometries are collected from the instances while iterating,
+			 * centroids are computed in parallel for batches of geometries.
+			 * The batches are added to the quadtree builder in order.
+			 */
+			Queue<Pair<List<InstanceReference>, Future<List<Point>>>> pending = new LinkedList<>();
+			List<InstanceReference> batchRefs = new ArrayList<>(CENTROID_BATCH_SIZE);
+			List<GeometryProperty<?>> batchGeoms = new ArrayList<>(CENTROID_BATCH_SIZE);
+
 			int i = 0;
 			while (it.hasNext()) {
 				Instance inst = it.next();
 				InstanceReference instRef = getInstances().getReference(inst);
 
-				InstanceTraverser traverser = new DepthFirstInstanceTraverser();
-				GeometryFinder finder = new GeometryFinder(getTargetCRS());
+				finder.reset();
 				traverser.traverse(inst, finder);
 				List<GeometryProperty<?>> geoms = finder.getGeometries();
 				if (geoms.isEmpty() || geoms.size() > 1) {
 					unhandledInstances.put(gadget.getIdentity(inst), instRef);
 				}
 				else {
-					GeometryProperty<?> geomProperty = geoms.get(0);
-
-					Geometry geom = geomProperty.getGeometry();
-
-					Point centroid;
-					switch (mode) {
-					case PARTITION_BY_EXTENT_MODE_WORLD:
-						CoordinateReferenceSystem sourceCrs = geomProperty.getCRSDefinition()
-								.getCRS();
-						CodeDefinition wgs84 = new CodeDefinition("EPSG:4326");
-						try {
-							MathTransform toWgs84 = CRS.findMathTransform(sourceCrs,
-									wgs84.getCRS());
-							Geometry geomWgs84 = JTS.transform(geom, toWgs84);
-							centroid = geomWgs84.getCentroid();
-						} catch (FactoryException | MismatchedDimensionException
-								| TransformException e) {
-							log.error("Unable to transform geometry to WGS 84", e);
-							throw new IllegalStateException(e.getMessage(), e);
+					batchRefs.add(new IdentifiableInstanceReference(instRef,
+							gadget.getIdentity(inst)));
+					batchGeoms.add(geoms.get(0));
+
+					if (batchGeoms.size() >= CENTROID_BATCH_SIZE) {
+						pending.add(submitCentroids(executor, batchRefs, batchGeoms, wgs84,
+								transforms));
+						batchRefs = new ArrayList<>(CENTROID_BATCH_SIZE);
+						batchGeoms = new ArrayList<>(CENTROID_BATCH_SIZE);
+
+						// limit the number of batches held in memory
+						while (pending.size() > threads * 2) {
+							addCentroids(builder, pending.poll());
 						}
-						break;
-					case PARTITION_BY_EXTENT_MODE_DATASET:
-						// fall through to default
-					default:
-						centroid = geom.getCentroid();
 					}
-
-					builder.add(centroid,
-							new IdentifiableInstanceReference(instRef, gadget.getIdentity(inst)));
 				}
 
 				qtProgress.advance(1);
@@ -442,6 +458,14 @@ public class StreamGmlWriter extends AbstractGeoInstanceWriter
 				}
 			}
 
+			if (!batchGeoms.isEmpty()) {
+				pending.add(submitCentroids(executor, batchRefs, batchGeoms, wgs84, transforms));
+			}
+			while (!pending.isEmpty()) {
+				addCentroids(builder, pending.poll());
+			}
+			executor.shutdown();
+
 			qtProgress.setCurrentTask("Building quadtree");
 
 			FixedBoundaryQuadtree<InstanceReference> qt;
@@ -512,6 +536,79 @@ public class StreamGmlWriter extends AbstractGeoInstanceWriter
 				throw new IOException(e.getMessage(), e);
 			}
 
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Compute the centroids for a batch of geometries in the background.
+	 * 
+	 * @param executor the executor service
+	 * @param refs the instance references associated to the geometries
+	 * @param geoms the geometries
+	 * @param wgs84 the WGS 84 CRS if centroids should be transformed to WGS
+	 *            84, otherwise <code>null</code>
+	 * @param transforms the cache for transformations to WGS 84
+	 * @return the instance references and the future centroids
+	 */
+	private static Pair<List<InstanceReference>, Future<List<Point>>> submitCentroids(
+			ExecutorService executor, List<InstanceReference> refs,
+			final List<GeometryProperty<?>> geoms, final CoordinateReferenceSystem wgs84,
+			final Map<CoordinateReferenceSystem, MathTransform> transforms) {
+		Future<List<Point>> centroids = executor.submit(new Callable<List<Point>>() {
+
+			@Override
+			public List<Point> call() throws Exception {
+				List<Point> result = new ArrayList<>(geoms.size());
+				for (GeometryProperty<?> geomProperty : geoms) {
+					Point centroid = geomProperty.getGeometry().getCentroid();
+					if (wgs84 != null) {
+						// only the centroid is transformed
+						CoordinateReferenceSystem sourceCrs = geomProperty.getCRSDefinition()
+								.getCRS();
+						MathTransform toWgs84 = transforms.get(sourceCrs);
+						if (toWgs84 == null) {
+							toWgs84 = CRS.findMathTransform(sourceCrs, wgs84);
+							transforms.put(sourceCrs, toWgs84);
+						}
+						centroid = (Point) JTS.transform(centroid, toWgs84);
+					}
+					result.add(centroid);
+				}
+				return result;
+			}
+		});
+		return new Pair<>(refs, centroids);
+	}
+
+	/**
+	 * Add a batch of centroids to the quadtree builder, waiting for their
+	 * computation to complete.
+	 * 
+	 * @param builder the quadtree builder
+	 * @param batch the instance references and the future centroids
+	 */
+	private static void addCentroids(QuadtreeBuilder<Point, InstanceReference> builder,
+			Pair<List<InstanceReference>, Future<List<Point>>> batch) {
+		List<Point> centroids;
+		try {
+			centroids = batch.getSecond().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while computing centroids", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof FactoryException || cause instanceof MismatchedDimensionException
+					|| cause instanceof TransformException) {
+				log.error("Unable to transform geometry to WGS 84", cause);
+			}
+			throw new IllegalStateException(cause.getMessage(), cause);
+		}
+
+		List<InstanceReference> refs = batch.getFirst();
+		for (int index = 0; index < refs.size(); index++) {
+			builder.add(centroids.get(index), refs.get(index));
 		}
 	}
 
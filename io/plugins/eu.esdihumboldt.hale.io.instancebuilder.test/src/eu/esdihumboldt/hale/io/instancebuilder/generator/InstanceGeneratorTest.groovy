@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.instancebuilder.generator
+
+import static org.junit.Assert.*
+
+import javax.xml.namespace.QName
+
+import org.junit.Before
+import org.junit.Test
+
+import com.vividsolutions.jts.geom.Polygon
+
+import eu.esdihumboldt.hale.common.instance.model.Group
+import eu.esdihumboldt.hale.common.instance.model.Instance
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection
+import eu.esdihumboldt.hale.common.instance.model.InstanceReference
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator
+import eu.esdihumboldt.hale.common.instance.model.ext.InstanceCollection2
+import eu.esdihumboldt.hale.common.schema.geometry.GeometryProperty
+import eu.esdihumboldt.hale.common.schema.groovy.SchemaBuilder
+import eu.esdihumboldt.hale.common.schema.model.Schema
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition
+import eu.esdihumboldt.hale.common.schema.model.constraint.property.Reference
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.GeometryType
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultPropertyDefinition
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeDefinition
+
+/**
+ * Tests for the {@link InstanceGenerator}.
+ *
+ * @author Simon Templer
+ */
+class InstanceGeneratorTest {
+
+	private static final String NS = 'http://www.example.com/generator'
+
+	private Schema schema
+
+	private TypeDefinition personType
+
+	@Before
+	void createSchema() {
+		schema = new SchemaBuilder().schema(NS) {
+			personType = Person {
+				id()
+				name()
+				age(Integer, cardinality: '0..1')
+				nickname(cardinality: '0..*')
+				address {
+					street()
+					city()
+				}
+				location()
+				friend(cardinality: '0..1')
+			}
+			City {
+				id()
+				name()
+				population(Long)
+			}
+		}
+
+		// geometry property
+		DefaultTypeDefinition locationType = personType.children.find {
+			it.name.localPart == 'location'
+		}.asProperty().propertyType
+		locationType.setConstraint(Binding.get(GeometryProperty))
+		locationType.setConstraint(GeometryType.get(Polygon))
+
+		// reference to another person
+		DefaultPropertyDefinition friend = personType.children.find {
+			it.name.localPart == 'friend'
+		}.asProperty()
+		friend.setConstraint(new Reference(personType))
+	}
+
+	private GeneratorSettings createSettings() {
+		GeneratorSettings settings = new GeneratorSettings()
+		settings.seed = 42
+		settings.types = ['Person', 'City']
+		settings.instanceCount = 100
+		settings.setInstanceCount('City', 10)
+		settings
+	}
+
+	@Test
+	void testSizeAndFanout() {
+		InstanceCollection instances = new InstanceGenerator(schema, createSettings()).instances
+
+		assertTrue instances.hasSize()
+		assertEquals 110, instances.size()
+		assertEquals 110, count(instances)
+
+		assertTrue instances instanceof InstanceCollection2
+		Map<TypeDefinition, InstanceCollection> fanout = ((InstanceCollection2) instances).fanout()
+		assertEquals 2, fanout.size()
+		assertEquals 100, count(fanout[personType])
+		assertEquals 10, fanout[schema.getType(new QName(NS, 'City'))].size()
+	}
+
+	@Test
+	void testDeterministic() {
+		List<Map> first = toMaps(new InstanceGenerator(schema, createSettings()).instances)
+		List<Map> second = toMaps(new InstanceGenerator(schema, createSettings()).instances)
+		assertEquals first, second
+
+		GeneratorSettings other = createSettings()
+		other.seed = 43
+		assertFalse first == toMaps(new InstanceGenerator(schema, other).instances)
+	}
+
+	@Test
+	void testCardinalities() {
+		GeneratorSettings settings = createSettings()
+		settings.maxRepeat = 2
+		InstanceGenerator generator = new InstanceGenerator(schema, settings)
+
+		boolean optionalPresent = false
+		boolean optionalAbsent = false
+		generator.instances.iterator().withCloseable { ResourceIterator<Instance> it ->
+			while (it.hasNext()) {
+				GeneratedInstance instance = it.next()
+				if (instance.definition != personType) {
+					continue
+				}
+
+				assertEquals(['Person_' + instance.index], values(instance, 'id'))
+				assertEquals 1, values(instance, 'name').size()
+				assertTrue values(instance, 'nickname').size() <= 2
+
+				List age = values(instance, 'age')
+				assertTrue age.size() <= 1
+				optionalPresent |= age.size() == 1
+				optionalAbsent |= age.empty
+
+				List address = values(instance, 'address')
+				assertEquals 1, address.size()
+				assertEquals 1, values(address[0], 'street').size()
+				assertEquals 1, values(address[0], 'city').size()
+			}
+		}
+		assertTrue optionalPresent
+		assertTrue optionalAbsent
+	}
+
+	@Test
+	void testReferences() {
+		GeneratorSettings settings = createSettings()
+		settings.referenceProbability = 1
+		InstanceGenerator generator = new InstanceGenerator(schema, settings)
+
+		generator.instances.iterator().withCloseable { ResourceIterator<Instance> it ->
+			while (it.hasNext()) {
+				Instance instance = it.next()
+				if (instance.definition == personType) {
+					List friend = values(instance, 'friend')
+					assertEquals 1, friend.size()
+					def match = friend[0] =~ /^Person_(\d+)$/
+					assertTrue match.matches()
+					assertTrue((match[0][1] as int) < 100)
+				}
+			}
+		}
+	}
+
+	@Test
+	void testGeometry() {
+		GeneratorSettings settings = createSettings()
+		settings.geometryVertices = 7
+		InstanceGenerator generator = new InstanceGenerator(schema, settings)
+
+		Instance instance = generator.generate(generator.types.indexOf(personType), 5)
+		List location = values(instance, 'location')
+		assertEquals 1, location.size()
+
+		GeometryProperty property = location[0]
+		assertEquals 'EPSG:4326', property.CRSDefinition.code
+		Polygon polygon = property.geometry
+		assertEquals 8, polygon.exteriorRing.numPoints
+		assertTrue polygon.valid
+		double[] extent = settings.extent
+		polygon.coordinates.each {
+			assertTrue it.x >= extent[0] && it.x <= extent[2]
+			assertTrue it.y >= extent[1] && it.y <= extent[3]
+		}
+	}
+
+	@Test
+	void testResolveReference() {
+		InstanceCollection instances = new InstanceGenerator(schema, createSettings()).instances
+
+		Instance instance = instances.iterator().withCloseable { ResourceIterator<Instance> it ->
+			it.skip()
+			it.skip()
+			it.next()
+		}
+		InstanceReference ref = instances.getReference(instance)
+		assertEquals ref, instances.getReference(instance)
+
+		Instance resolved = instances.getInstance(ref)
+		assertNotNull resolved
+		assertFalse resolved.is(instance)
+		assertEquals toMap(instance), toMap(resolved)
+	}
+
+	@Test
+	void testLoadSettings() {
+		Properties properties = new Properties()
+		properties.load(new StringReader('''
+seed=7
+types=Person
+instances=20
+instances.Person=50
+distribution=unique
+extent=0,0,10,10
+'''))
+		GeneratorSettings settings = GeneratorSettings.load(properties)
+		assertEquals 7, settings.seed
+		assertEquals(['Person'], settings.types)
+		assertEquals GeneratorSettings.Distribution.UNIQUE, settings.distribution
+		assertArrayEquals([0, 0, 10, 10] as double[], settings.extent, 0)
+
+		InstanceGenerator generator = new InstanceGenerator(schema, settings)
+		assertEquals([personType], generator.types)
+		assertEquals 50, generator.totalInstanceCount
+
+		// unique values per instance
+		Set names = new HashSet()
+		generator.instances.iterator().withCloseable { ResourceIterator<Instance> it ->
+			while (it.hasNext()) {
+				names.addAll(values(it.next(), 'name'))
+			}
+		}
+		assertEquals 50, names.size()
+	}
+
+	private static List values(Group group, String localName) {
+		def name = group.propertyNames.find { it.localPart == localName }
+		(name == null) ? [] : (group.getProperty(name) as List)
+	}
+
+	private static int count(InstanceCollection instances) {
+		int count = 0
+		instances.iterator().withCloseable { ResourceIterator<Instance> it ->
+			while (it.hasNext()) {
+				it.next()
+				count++
+			}
+		}
+		count
+	}
+
+	private static List<Map> toMaps(InstanceCollection instances) {
+		List<Map> result = []
+		instances.iterator().withCloseable { ResourceIterator<Instance> it ->
+			while (it.hasNext()) {
+				result << toMap(it.next())
+			}
+		}
+		result
+	}
+
+	private static def toMap(def value) {
+		if (value instanceof Group) {
+			Map result = [:]
+			if (value instanceof Instance && value.value != null) {
+				result['@value'] = toMap(value.value)
+			}
+			value.propertyNames.each {
+				result[it.localPart] = value.getProperty(it).collect { toMap(it) }
+			}
+			return result
+		}
+		if (value instanceof GeometryProperty) {
+			return value.geometry.toText()
+		}
+		value
+	}
+
+}
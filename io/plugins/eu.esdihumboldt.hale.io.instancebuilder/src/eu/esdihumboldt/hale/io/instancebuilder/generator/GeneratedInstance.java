@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.instancebuilder.generator;
+
+import eu.esdihumboldt.hale.common.instance.model.DataSet;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Instance created by an {@link InstanceGenerator}, knows the information
+ * needed to generate it again.
+ *
+ * @author Simon Templer
+ */
+public class GeneratedInstance extends DefaultInstance {
+
+	private final int typeIndex;
+
+	private final long index;
+
+	/**
+	 * Create an empty generated instance.
+	 *
+	 * @param definition the associated type definition
+	 * @param dataSet the data set the instance is associated to
+	 * @param typeIndex the index of the type in the generator types
+	 * @param index the index of the instance
+	 */
+	public GeneratedInstance(TypeDefinition definition, DataSet dataSet, int typeIndex,
+			long index) {
+		super(definition, dataSet);
+		this.typeIndex = typeIndex;
+		this.index = index;
+	}
+
+	/**
+	 * @return the index of the type in the generator types
+	 */
+	public int getTypeIndex() {
+		return typeIndex;
+	}
+
+	/**
+	 * @return the index of the instance
+	 */
+	public long getIndex() {
+		return index;
+	}
+
+}
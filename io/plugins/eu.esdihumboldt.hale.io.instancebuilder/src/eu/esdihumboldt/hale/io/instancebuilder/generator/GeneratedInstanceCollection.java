@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.instancebuilder.generator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import eu.esdihumboldt.hale.common.instance.model.DataSet;
+import eu.esdihumboldt.hale.common.instance.model.Filter;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
+import eu.esdihumboldt.hale.common.instance.model.InstanceResolver;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.instance.model.ext.InstanceCollection2;
+import eu.esdihumboldt.hale.common.instance.model.ext.InstanceIterator;
+import eu.esdihumboldt.hale.common.instance.model.impl.FilteredInstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.impl.PseudoInstanceReference;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Lazy collection of the instances of an {@link InstanceGenerator}. Instances
+ * are generated while iterating and are not held in memory, references store
+ * only the type and instance index.
+ *
+ * @author Simon Templer
+ */
+public class GeneratedInstanceCollection implements InstanceCollection2 {
+
+	/**
+	 * Reference to a generated instance.
+	 */
+	public static class GeneratedInstanceReference implements InstanceReference {
+
+		private final DataSet dataSet;
+
+		private final int typeIndex;
+
+		private final long index;
+
+		/**
+		 * Create a reference to a generated instance.
+		 *
+		 * @param dataSet the data set of the instance
+		 * @param typeIndex the index of the type in the generator types
+		 * @param index the index of the instance
+		 */
+		public GeneratedInstanceReference(DataSet dataSet, int typeIndex, long index) {
+			this.dataSet = dataSet;
+			this.typeIndex = typeIndex;
+			this.index = index;
+		}
+
+		@Override
+		public DataSet getDataSet() {
+			return dataSet;
+		}
+
+		/**
+		 * @return the index of the type in the generator types
+		 */
+		public int getTypeIndex() {
+			return typeIndex;
+		}
+
+		/**
+		 * @return the index of the instance
+		 */
+		public long getIndex() {
+			return index;
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + ((dataSet == null) ? 0 : dataSet.hashCode());
+			result = prime * result + (int) (index ^ (index >>> 32));
+			result = prime * result + typeIndex;
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			GeneratedInstanceReference other = (GeneratedInstanceReference) obj;
+			return dataSet == other.dataSet && index == other.index
+					&& typeIndex == other.typeIndex;
+		}
+
+	}
+
+	/**
+	 * Iterates the generated instances type by type.
+	 */
+	private class GeneratedInstanceIterator implements InstanceIterator {
+
+		private int position = 0;
+
+		private long index = 0;
+
+		@Override
+		public boolean hasNext() {
+			while (position < typeIndexes.length
+					&& index >= generator.getInstanceCount(typeIndexes[position])) {
+				position++;
+				index = 0;
+			}
+			return position < typeIndexes.length;
+		}
+
+		@Override
+		public Instance next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return generator.generate(typeIndexes[position], index++);
+		}
+
+		@Override
+		public TypeDefinition typePeek() {
+			if (hasNext()) {
+				return generator.getTypes().get(typeIndexes[position]);
+			}
+			return null;
+		}
+
+		@Override
+		public boolean supportsTypePeek() {
+			return true;
+		}
+
+		@Override
+		public void skip() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			index++;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void close() {
+			// nothing to do
+		}
+
+	}
+
+	private final InstanceGenerator generator;
+
+	private final int[] typeIndexes;
+
+	/**
+	 * Create a collection of all instances of a generator.
+	 *
+	 * @param generator the instance generator
+	 */
+	public GeneratedInstanceCollection(InstanceGenerator generator) {
+		this(generator, allTypes(generator));
+	}
+
+	/**
+	 * Create a collection of the instances of specific types of a generator.
+	 *
+	 * @param generator the instance generator
+	 * @param typeIndexes the indexes of the types in the generator types
+	 */
+	private GeneratedInstanceCollection(InstanceGenerator generator, int... typeIndexes) {
+		this.generator = generator;
+		this.typeIndexes = typeIndexes;
+	}
+
+	private static int[] allTypes(InstanceGenerator generator) {
+		int[] types = new int[generator.getTypes().size()];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = i;
+		}
+		return types;
+	}
+
+	private long count() {
+		long count = 0;
+		for (int typeIndex : typeIndexes) {
+			count += generator.getInstanceCount(typeIndex);
+		}
+		return count;
+	}
+
+	/**
+	 * @see InstanceResolver#getReference(Instance)
+	 */
+	@Override
+	public InstanceReference getReference(Instance instance) {
+		if (instance instanceof GeneratedInstance) {
+			GeneratedInstance generated = (GeneratedInstance) instance;
+			return new GeneratedInstanceReference(instance.getDataSet(),
+					generated.getTypeIndex(), generated.getIndex());
+		}
+		return new PseudoInstanceReference(instance);
+	}
+
+	/**
+	 * @see InstanceResolver#getInstance(InstanceReference)
+	 */
+	@Override
+	public Instance getInstance(InstanceReference reference) {
+		if (reference instanceof GeneratedInstanceReference) {
+			GeneratedInstanceReference ref = (GeneratedInstanceReference) reference;
+			if (ref.getTypeIndex() < generator.getTypes().size()
+					&& ref.getIndex() < generator.getInstanceCount(ref.getTypeIndex())) {
+				return generator.generate(ref.getTypeIndex(), ref.getIndex());
+			}
+			return null;
+		}
+		if (reference instanceof PseudoInstanceReference) {
+			return ((PseudoInstanceReference) reference).getInstance();
+		}
+
+		return null;
+	}
+
+	@Override
+	public ResourceIterator<Instance> iterator() {
+		return new GeneratedInstanceIterator();
+	}
+
+	@Override
+	public boolean hasSize() {
+		return count() <= Integer.MAX_VALUE;
+	}
+
+	@Override
+	public int size() {
+		long count = count();
+		return (count <= Integer.MAX_VALUE) ? ((int) count) : (UNKNOWN_SIZE);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return count() == 0;
+	}
+
+	@Override
+	public InstanceCollection select(Filter filter) {
+		return FilteredInstanceCollection.applyFilter(this, filter);
+	}
+
+	@Override
+	public boolean supportsFanout() {
+		return true;
+	}
+
+	@Override
+	public Map<TypeDefinition, InstanceCollection> fanout() {
+		Map<TypeDefinition, InstanceCollection> result = new HashMap<>();
+		for (int typeIndex : typeIndexes) {
+			result.put(generator.getTypes().get(typeIndex),
+					new GeneratedInstanceCollection(generator, typeIndex));
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.instancebuilder.generator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Properties;
+
+import eu.esdihumboldt.hale.common.core.io.IOProviderConfigurationException;
+import eu.esdihumboldt.hale.common.core.io.ProgressIndicator;
+import eu.esdihumboldt.hale.common.core.io.report.IOReport;
+import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
+import eu.esdihumboldt.hale.common.instance.io.impl.AbstractInstanceReader;
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+
+/**
+ * Instance reader that generates random instances for the source schema,
+ * configured by a properties file with the {@link GeneratorSettings}. The
+ * instances are generated lazily when accessed, so also very large data sets
+ * can be provided for load tests.
+ *
+ * @author Simon Templer
+ */
+public class GeneratedInstanceReader extends AbstractInstanceReader {
+
+	private InstanceCollection instances;
+
+	@Override
+	public boolean isCancelable() {
+		return false;
+	}
+
+	@Override
+	protected IOReport execute(ProgressIndicator progress, IOReporter reporter)
+			throws IOProviderConfigurationException, IOException {
+		progress.begin("Configure instance generator", ProgressIndicator.UNKNOWN);
+		try {
+			Properties properties = new Properties();
+			try (InputStream in = getSource().getInput();
+					InputStreamReader reader = new InputStreamReader(in, getCharset())) {
+				properties.load(reader);
+			}
+
+			InstanceGenerator generator = new InstanceGenerator(getSourceSchema(),
+					GeneratorSettings.load(properties));
+			instances = generator.getInstances();
+
+			reporter.setSuccess(true);
+		} catch (IllegalArgumentException e) {
+			reporter.setSuccess(false);
+			reporter.error("Invalid instance generator configuration", e);
+		} finally {
+			progress.end();
+		}
+		return reporter;
+	}
+
+	@Override
+	protected String getDefaultTypeName() {
+		return "Instance generator configuration";
+	}
+
+	@Override
+	public InstanceCollection getInstances() {
+		return instances;
+	}
+
+}
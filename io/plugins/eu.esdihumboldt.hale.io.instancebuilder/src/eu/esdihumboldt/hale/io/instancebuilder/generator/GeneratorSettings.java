@@ -0,0 +1,448 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.instancebuilder.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.xml.namespace.QName;
+
+import eu.esdihumboldt.hale.common.instance.model.DataSet;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+
+/**
+ * Settings for the {@link InstanceGenerator}.<br>
+ * <br>
+ * The settings can be loaded from properties, with the following keys:
+ * <ul>
+ * <li><code>seed</code> - seed of the random values</li>
+ * <li><code>types</code> - comma separated names of the types to generate
+ * instances of, either the local name or the name in the form
+ * <code>{namespace}localName</code>, all mapping relevant types if not
+ * specified</li>
+ * <li><code>instances</code> - the number of instances per type</li>
+ * <li><code>instances.&lt;type&gt;</code> - the number of instances of a
+ * specific type</li>
+ * <li><code>optionalProbability</code> - the probability of an optional
+ * property to be present</li>
+ * <li><code>maxRepeat</code> - the maximum number of additional occurrences of
+ * a repeatable property</li>
+ * <li><code>maxDepth</code> - the maximum depth of nested instances</li>
+ * <li><code>distribution</code> - distribution of the values, one of
+ * <code>uniform</code>, <code>skewed</code> or <code>unique</code></li>
+ * <li><code>distinctValues</code> - number of distinct values per
+ * property</li>
+ * <li><code>geometryVertices</code> - number of vertices of generated lines
+ * and polygon rings</li>
+ * <li><code>geometryParts</code> - maximum number of parts of generated multi
+ * geometries</li>
+ * <li><code>extent</code> - comma separated extent of the generated
+ * geometries: min x, min y, max x, max y</li>
+ * <li><code>crs</code> - code of the coordinate reference system</li>
+ * <li><code>referenceProbability</code> - the probability of a reference
+ * property to be present</li>
+ * </ul>
+ *
+ * @author Simon Templer
+ */
+public class GeneratorSettings {
+
+	/**
+	 * Distribution of generated values.
+	 */
+	public enum Distribution {
+		/**
+		 * All distinct values are equally likely.
+		 */
+		UNIFORM,
+		/**
+		 * Few values occur very often, most values occur rarely.
+		 */
+		SKEWED,
+		/**
+		 * Each instance of a type has a different value.
+		 */
+		UNIQUE
+	}
+
+	private long seed = 0;
+
+	private List<String> types;
+
+	private long instanceCount = 1000;
+
+	private final Map<String, Long> typeInstanceCounts = new HashMap<>();
+
+	private double optionalProbability = 0.5;
+
+	private int maxRepeat = 3;
+
+	private int maxDepth = 4;
+
+	private Distribution distribution = Distribution.UNIFORM;
+
+	private long distinctValues = 1000;
+
+	private int geometryVertices = 5;
+
+	private int geometryParts = 3;
+
+	private double[] extent = { 5, 45, 15, 55 };
+
+	private String crs = "EPSG:4326";
+
+	private double referenceProbability = 0.5;
+
+	private DataSet dataSet = DataSet.SOURCE;
+
+	/**
+	 * Load settings from properties.
+	 *
+	 * @param properties the properties
+	 * @return the settings
+	 * @throws IllegalArgumentException if a setting is invalid
+	 */
+	public static GeneratorSettings load(Properties properties) {
+		GeneratorSettings settings = new GeneratorSettings();
+
+		for (String key : properties.stringPropertyNames()) {
+			String value = properties.getProperty(key).trim();
+			try {
+				switch (key) {
+				case "seed":
+					settings.setSeed(Long.parseLong(value));
+					break;
+				case "types":
+					List<String> types = new ArrayList<>();
+					for (String type : value.split(",")) {
+						if (!type.trim().isEmpty()) {
+							types.add(type.trim());
+						}
+					}
+					settings.setTypes(types);
+					break;
+				case "instances":
+					settings.setInstanceCount(Long.parseLong(value));
+					break;
+				case "optionalProbability":
+					settings.setOptionalProbability(Double.parseDouble(value));
+					break;
+				case "maxRepeat":
+					settings.setMaxRepeat(Integer.parseInt(value));
+					break;
+				case "maxDepth":
+					settings.setMaxDepth(Integer.parseInt(value));
+					break;
+				case "distribution":
+					settings.setDistribution(Distribution.valueOf(value.toUpperCase()));
+					break;
+				case "distinctValues":
+					settings.setDistinctValues(Long.parseLong(value));
+					break;
+				case "geometryVertices":
+					settings.setGeometryVertices(Integer.parseInt(value));
+					break;
+				case "geometryParts":
+					settings.setGeometryParts(Integer.parseInt(value));
+					break;
+				case "extent":
+					String[] parts = value.split(",");
+					if (parts.length != 4) {
+						throw new IllegalArgumentException(
+								"Extent must consist of four comma separated numbers");
+					}
+					double[] extent = new double[4];
+					for (int i = 0; i < 4; i++) {
+						extent[i] = Double.parseDouble(parts[i].trim());
+					}
+					settings.setExtent(extent);
+					break;
+				case "crs":
+					settings.setCrs(value);
+					break;
+				case "referenceProbability":
+					settings.setReferenceProbability(Double.parseDouble(value));
+					break;
+				default:
+					if (key.startsWith("instances.")) {
+						settings.setInstanceCount(key.substring("instances.".length()),
+								Long.parseLong(value));
+					}
+				}
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException(
+						"Invalid value for generator setting " + key + ": " + value, e);
+			}
+		}
+
+		return settings;
+	}
+
+	/**
+	 * @return the seed of the random values
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @param seed the seed of the random values
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * @return the names of the types to generate instances of, either local
+	 *         names or names in the form <code>{namespace}localName</code>,
+	 *         <code>null</code> for all mapping relevant types
+	 */
+	public List<String> getTypes() {
+		return types;
+	}
+
+	/**
+	 * @param types the names of the types to generate instances of, either
+	 *            local names or names in the form
+	 *            <code>{namespace}localName</code>, <code>null</code> for all
+	 *            mapping relevant types
+	 */
+	public void setTypes(List<String> types) {
+		this.types = (types == null) ? (null) : (Collections.unmodifiableList(types));
+	}
+
+	/**
+	 * @return the default number of instances per type
+	 */
+	public long getInstanceCount() {
+		return instanceCount;
+	}
+
+	/**
+	 * @param instanceCount the default number of instances per type
+	 */
+	public void setInstanceCount(long instanceCount) {
+		this.instanceCount = instanceCount;
+	}
+
+	/**
+	 * Set the number of instances of a specific type.
+	 *
+	 * @param typeName the local name of the type or the name in the form
+	 *            <code>{namespace}localName</code>
+	 * @param instanceCount the number of instances
+	 */
+	public void setInstanceCount(String typeName, long instanceCount) {
+		typeInstanceCounts.put(typeName, instanceCount);
+	}
+
+	/**
+	 * Get the number of instances of a type.
+	 *
+	 * @param type the type definition
+	 * @return the number of instances to generate
+	 */
+	public long getInstanceCount(TypeDefinition type) {
+		Long count = typeInstanceCounts.get(type.getName().toString());
+		if (count == null) {
+			count = typeInstanceCounts.get(type.getName().getLocalPart());
+		}
+		return (count == null) ? (instanceCount) : (count);
+	}
+
+	/**
+	 * Determine if a type name matches a type.
+	 *
+	 * @param name the local name of the type or the name in the form
+	 *            <code>{namespace}localName</code>
+	 * @param type the type name
+	 * @return if the name matches the type
+	 */
+	static boolean matches(String name, QName type) {
+		return name.equals(type.toString()) || name.equals(type.getLocalPart());
+	}
+
+	/**
+	 * @return the probability of an optional property to be present
+	 */
+	public double getOptionalProbability() {
+		return optionalProbability;
+	}
+
+	/**
+	 * @param optionalProbability the probability of an optional property to
+	 *            be present
+	 */
+	public void setOptionalProbability(double optionalProbability) {
+		this.optionalProbability = optionalProbability;
+	}
+
+	/**
+	 * @return the maximum number of occurrences of a repeatable property in
+	 *         addition to the minimum number of occurrences
+	 */
+	public int getMaxRepeat() {
+		return maxRepeat;
+	}
+
+	/**
+	 * @param maxRepeat the maximum number of occurrences of a repeatable
+	 *            property in addition to the minimum number of occurrences
+	 */
+	public void setMaxRepeat(int maxRepeat) {
+		this.maxRepeat = maxRepeat;
+	}
+
+	/**
+	 * @return the maximum depth of nested instances, deeper properties are
+	 *         omitted
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * @param maxDepth the maximum depth of nested instances, deeper
+	 *            properties are omitted
+	 */
+	public void setMaxDepth(int maxDepth) {
+		this.maxDepth = maxDepth;
+	}
+
+	/**
+	 * @return the distribution of the generated values
+	 */
+	public Distribution getDistribution() {
+		return distribution;
+	}
+
+	/**
+	 * @param distribution the distribution of the generated values
+	 */
+	public void setDistribution(Distribution distribution) {
+		this.distribution = distribution;
+	}
+
+	/**
+	 * @return the number of distinct values per property
+	 */
+	public long getDistinctValues() {
+		return distinctValues;
+	}
+
+	/**
+	 * @param distinctValues the number of distinct values per property
+	 */
+	public void setDistinctValues(long distinctValues) {
+		this.distinctValues = distinctValues;
+	}
+
+	/**
+	 * @return the number of vertices of generated lines and polygon rings
+	 */
+	public int getGeometryVertices() {
+		return geometryVertices;
+	}
+
+	/**
+	 * @param geometryVertices the number of vertices of generated lines and
+	 *            polygon rings
+	 */
+	public void setGeometryVertices(int geometryVertices) {
+		this.geometryVertices = geometryVertices;
+	}
+
+	/**
+	 * @return the maximum number of parts of generated multi geometries
+	 */
+	public int getGeometryParts() {
+		return geometryParts;
+	}
+
+	/**
+	 * @param geometryParts the maximum number of parts of generated multi
+	 *            geometries
+	 */
+	public void setGeometryParts(int geometryParts) {
+		this.geometryParts = geometryParts;
+	}
+
+	/**
+	 * @return the extent of the generated geometries: min x, min y, max x,
+	 *         max y
+	 */
+	public double[] getExtent() {
+		return extent.clone();
+	}
+
+	/**
+	 * @param extent the extent of the generated geometries: min x, min y, max
+	 *            x, max y
+	 */
+	public void setExtent(double[] extent) {
+		this.extent = extent.clone();
+	}
+
+	/**
+	 * @return the code of the coordinate reference system of the generated
+	 *         geometries
+	 */
+	public String getCrs() {
+		return crs;
+	}
+
+	/**
+	 * @param crs the code of the coordinate reference system of the
+	 *            generated geometries
+	 */
+	public void setCrs(String crs) {
+		this.crs = crs;
+	}
+
+	/**
+	 * @return the probability of a reference property to be present
+	 */
+	public double getReferenceProbability() {
+		return referenceProbability;
+	}
+
+	/**
+	 * @param referenceProbability the probability of a reference property to
+	 *            be present
+	 */
+	public void setReferenceProbability(double referenceProbability) {
+		this.referenceProbability = referenceProbability;
+	}
+
+	/**
+	 * @return the data set of the generated instances
+	 */
+	public DataSet getDataSet() {
+		return dataSet;
+	}
+
+	/**
+	 * @param dataSet the data set of the generated instances
+	 */
+	public void setDataSet(DataSet dataSet) {
+		this.dataSet = dataSet;
+	}
+
+}
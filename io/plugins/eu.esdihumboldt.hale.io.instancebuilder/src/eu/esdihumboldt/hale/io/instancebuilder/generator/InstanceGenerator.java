@@ -0,0 +1,658 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.instancebuilder.generator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TimeZone;
+
+import javax.xml.namespace.QName;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.LineString;
+import com.vividsolutions.jts.geom.LinearRing;
+import com.vividsolutions.jts.geom.MultiLineString;
+import com.vividsolutions.jts.geom.MultiPoint;
+import com.vividsolutions.jts.geom.MultiPolygon;
+import com.vividsolutions.jts.geom.Point;
+import com.vividsolutions.jts.geom.Polygon;
+
+import eu.esdihumboldt.hale.common.core.io.IOProviderConfigurationException;
+import eu.esdihumboldt.hale.common.core.io.ProgressIndicator;
+import eu.esdihumboldt.hale.common.core.io.report.IOReport;
+import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty;
+import eu.esdihumboldt.hale.common.instance.geometry.SharedGeometryFactory;
+import eu.esdihumboldt.hale.common.instance.geometry.impl.CodeDefinition;
+import eu.esdihumboldt.hale.common.instance.io.InstanceWriter;
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.MutableGroup;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultGroup;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.schema.geometry.CRSDefinition;
+import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionGroup;
+import eu.esdihumboldt.hale.common.schema.model.DefinitionUtil;
+import eu.esdihumboldt.hale.common.schema.model.GroupPropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.PropertyDefinition;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+import eu.esdihumboldt.hale.common.schema.model.TypeIndex;
+import eu.esdihumboldt.hale.common.schema.model.constraint.property.Cardinality;
+import eu.esdihumboldt.hale.common.schema.model.constraint.property.ChoiceFlag;
+import eu.esdihumboldt.hale.common.schema.model.constraint.property.Reference;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.AbstractFlag;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.ElementType;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.Enumeration;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.GeometryType;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.HasValueFlag;
+
+/**
+ * Generates random instances that are valid in respect to the structure,
+ * cardinalities, bindings and enumerations of their schema types. Each
+ * instance is determined by the seed, its type and its index, so instances can
+ * be created lazily in any order and recreated from a reference without
+ * holding the data set in memory.
+ *
+ * @author Simon Templer
+ */
+public class InstanceGenerator {
+
+	/**
+	 * Local names of properties that are populated with the instance
+	 * identifier.
+	 */
+	private static final Collection<String> ID_PROPERTY_NAMES = Collections
+			.unmodifiableList(Arrays.asList("id", "fid", "gml_id"));
+
+	/**
+	 * Number of levels beyond the maximum depth where required properties are
+	 * still generated, to prevent endless recursion for recursive types.
+	 */
+	private static final int REQUIRED_DEPTH_LIMIT = 8;
+
+	/**
+	 * Base time of generated date values (2000-01-01T00:00:00Z).
+	 */
+	private static final long BASE_TIME = 946684800000L;
+
+	private static final long MILLIS_PER_HOUR = 3600L * 1000L;
+
+	private final GeneratorSettings settings;
+
+	private final List<TypeDefinition> types;
+
+	private final long[] instanceCounts;
+
+	private final CRSDefinition crs;
+
+	private final double[] extent;
+
+	/**
+	 * Create an instance generator.
+	 *
+	 * @param typeIndex the schema types
+	 * @param settings the generator settings
+	 * @throws IllegalArgumentException if a type configured in the settings
+	 *             cannot be found
+	 */
+	public InstanceGenerator(TypeIndex typeIndex, GeneratorSettings settings) {
+		this.settings = settings;
+
+		List<TypeDefinition> types = new ArrayList<>();
+		if (settings.getTypes() != null) {
+			for (String name : settings.getTypes()) {
+				TypeDefinition type = findType(typeIndex, name);
+				if (type == null) {
+					throw new IllegalArgumentException("Type " + name + " not found in schema");
+				}
+				types.add(type);
+			}
+		}
+		else {
+			for (TypeDefinition type : typeIndex.getMappingRelevantTypes()) {
+				if (!type.getConstraint(AbstractFlag.class).isEnabled()) {
+					types.add(type);
+				}
+			}
+			// fixed order independent of the type index implementation
+			Collections.sort(types,
+					(a, b) -> a.getName().toString().compareTo(b.getName().toString()));
+		}
+		this.types = Collections.unmodifiableList(types);
+
+		instanceCounts = new long[types.size()];
+		for (int i = 0; i < instanceCounts.length; i++) {
+			instanceCounts[i] = Math.max(0, settings.getInstanceCount(types.get(i)));
+		}
+
+		crs = new CodeDefinition(settings.getCrs(), null);
+		extent = settings.getExtent();
+	}
+
+	private static TypeDefinition findType(TypeIndex typeIndex, String name) {
+		TypeDefinition type = typeIndex.getType(QName.valueOf(name));
+		if (type != null) {
+			return type;
+		}
+		for (TypeDefinition candidate : typeIndex.getTypes()) {
+			if (GeneratorSettings.matches(name, candidate.getName())) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the generator settings
+	 */
+	public GeneratorSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * @return the types instances are generated for
+	 */
+	public List<TypeDefinition> getTypes() {
+		return types;
+	}
+
+	/**
+	 * Get the number of instances generated for a type.
+	 *
+	 * @param typeIndex the index of the type in {@link #getTypes()}
+	 * @return the number of instances
+	 */
+	public long getInstanceCount(int typeIndex) {
+		return instanceCounts[typeIndex];
+	}
+
+	/**
+	 * @return the total number of generated instances
+	 */
+	public long getTotalInstanceCount() {
+		long total = 0;
+		for (long count : instanceCounts) {
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * Get the lazy collection of the generated instances. Instances are only
+	 * created while iterating.
+	 *
+	 * @return the instance collection
+	 */
+	public InstanceCollection getInstances() {
+		return new GeneratedInstanceCollection(this);
+	}
+
+	/**
+	 * Write the generated instances with an instance writer. The writer must
+	 * already be configured except for the instances.
+	 *
+	 * @param writer the instance writer
+	 * @param progress the progress indicator, may be <code>null</code>
+	 * @return the writer report
+	 * @throws IOProviderConfigurationException if the writer is not
+	 *             configured properly
+	 * @throws IOException if writing the instances fails
+	 */
+	public IOReport write(InstanceWriter writer, ProgressIndicator progress)
+			throws IOProviderConfigurationException, IOException {
+		writer.setInstances(getInstances());
+		return writer.execute(progress);
+	}
+
+	/**
+	 * Get the identifier of a generated instance.
+	 *
+	 * @param typeIndex the index of the type in {@link #getTypes()}
+	 * @param index the index of the instance
+	 * @return the instance identifier
+	 */
+	public String getId(int typeIndex, long index) {
+		return types.get(typeIndex).getName().getLocalPart() + "_" + index;
+	}
+
+	/**
+	 * Generate an instance.
+	 *
+	 * @param typeIndex the index of the type in {@link #getTypes()}
+	 * @param index the index of the instance, less than the instance count of
+	 *            the type
+	 * @return the generated instance
+	 */
+	public GeneratedInstance generate(int typeIndex, long index) {
+		TypeDefinition type = types.get(typeIndex);
+		GeneratedInstance instance = new GeneratedInstance(type, settings.getDataSet(),
+				typeIndex, index);
+
+		Context context = new Context(random(typeIndex, index), index, getId(typeIndex, index));
+		if (type.getConstraint(HasValueFlag.class).isEnabled()) {
+			instance.setValue(generateValue(type, type.getName(), context));
+		}
+		populate(instance, type, 0, context);
+
+		return instance;
+	}
+
+	private SplittableRandom random(int typeIndex, long index) {
+		long seed = settings.getSeed();
+		seed = seed * 0x9E3779B97F4A7C15L + typeIndex;
+		seed = seed * 0xBF58476D1CE4E5B9L + index;
+		return new SplittableRandom(seed);
+	}
+
+	/**
+	 * State while generating a single instance.
+	 */
+	private static class Context {
+
+		private final SplittableRandom random;
+
+		private final long index;
+
+		private final String id;
+
+		public Context(SplittableRandom random, long index, String id) {
+			this.random = random;
+			this.index = index;
+			this.id = id;
+		}
+
+	}
+
+	private void populate(MutableGroup group, DefinitionGroup definition, int depth,
+			Context context) {
+		if (definition instanceof GroupPropertyDefinition && ((GroupPropertyDefinition) definition)
+				.getConstraint(ChoiceFlag.class).isEnabled()) {
+			// only one of the choices
+			List<ChildDefinition<?>> children = new ArrayList<>(
+					DefinitionUtil.getAllChildren(definition));
+			if (!children.isEmpty()) {
+				ChildDefinition<?> child = children.get(context.random.nextInt(children.size()));
+				addChild(group, child, Math.max(1, occurrences(child, depth, context)), depth,
+						context);
+			}
+			return;
+		}
+
+		for (ChildDefinition<?> child : DefinitionUtil.getAllChildren(definition)) {
+			int occurrences = occurrences(child, depth, context);
+			if (occurrences > 0) {
+				addChild(group, child, occurrences, depth, context);
+			}
+		}
+	}
+
+	private void addChild(MutableGroup group, ChildDefinition<?> child, int occurrences,
+			int depth, Context context) {
+		PropertyDefinition property = child.asProperty();
+		if (property != null) {
+			for (int i = 0; i < occurrences; i++) {
+				Object value = generatePropertyValue(property, depth, context);
+				if (value != null) {
+					group.addProperty(property.getName(), value);
+				}
+			}
+		}
+		else {
+			GroupPropertyDefinition groupProperty = child.asGroup();
+			for (int i = 0; i < occurrences; i++) {
+				DefaultGroup childGroup = new DefaultGroup(groupProperty);
+				populate(childGroup, groupProperty, depth, context);
+				group.addProperty(groupProperty.getName(), childGroup);
+			}
+		}
+	}
+
+	private int occurrences(ChildDefinition<?> child, int depth, Context context) {
+		Cardinality cardinality = DefinitionUtil.getCardinality(child);
+		int min = (int) Math.min(cardinality.getMinOccurs(), Integer.MAX_VALUE);
+
+		if (depth > settings.getMaxDepth()) {
+			// beyond the maximum depth only the required properties
+			if (depth > settings.getMaxDepth() + REQUIRED_DEPTH_LIMIT) {
+				return 0;
+			}
+			return min;
+		}
+
+		Reference reference = (child.asProperty() != null)
+				? (child.asProperty().getConstraint(Reference.class)) : (null);
+		double probability = (reference != null && reference.isReference())
+				? (settings.getReferenceProbability()) : (settings.getOptionalProbability());
+
+		int occurrences = min;
+		if (occurrences == 0 && context.random.nextDouble() < probability) {
+			occurrences = 1;
+		}
+		if (occurrences > 0) {
+			long max = cardinality.getMaxOccurs();
+			int maxAdditional = settings.getMaxRepeat();
+			if (max != Cardinality.UNBOUNDED) {
+				maxAdditional = (int) Math.min(maxAdditional, max - occurrences);
+			}
+			if (maxAdditional > 0) {
+				occurrences += context.random.nextInt(maxAdditional + 1);
+			}
+		}
+		return occurrences;
+	}
+
+	private Object generatePropertyValue(PropertyDefinition property, int depth,
+			Context context) {
+		TypeDefinition type = property.getPropertyType();
+
+		if (depth == 0 && ID_PROPERTY_NAMES.contains(property.getName().getLocalPart())
+				&& !DefinitionUtil.hasChildren(type)) {
+			return context.id;
+		}
+
+		Reference reference = property.getConstraint(Reference.class);
+		if (reference.isReference()) {
+			Object ref = generateReference(reference, context);
+			if (ref != null) {
+				if (DefinitionUtil.hasChildren(type)) {
+					DefaultInstance instance = new DefaultInstance(type, null);
+					instance.setValue(ref);
+					return instance;
+				}
+				return ref;
+			}
+		}
+
+		GeometryType geometryType = type.getConstraint(GeometryType.class);
+		if (geometryType.isGeometry()) {
+			Object geometry = new DefaultGeometryProperty<Geometry>(crs,
+					generateGeometry(geometryType.getBinding(), context));
+			if (DefinitionUtil.hasChildren(type)) {
+				// geometry property type, the geometry is the value
+				DefaultInstance instance = new DefaultInstance(type, null);
+				instance.setValue(geometry);
+				return instance;
+			}
+			return geometry;
+		}
+
+		if (DefinitionUtil.hasChildren(type)) {
+			DefaultInstance instance = new DefaultInstance(type, null);
+			if (type.getConstraint(HasValueFlag.class).isEnabled()) {
+				instance.setValue(generateValue(type, property.getName(), context));
+			}
+			populate(instance, type, depth + 1, context);
+			return instance;
+		}
+
+		return generateValue(type, property.getName(), context);
+	}
+
+	private Object generateReference(Reference reference, Context context) {
+		List<Integer> candidates = new ArrayList<>();
+		Collection<? extends TypeDefinition> referenced = reference.getReferencedTypes();
+		for (int i = 0; i < types.size(); i++) {
+			TypeDefinition candidate = types.get(i);
+			if (instanceCounts[i] > 0 && (referenced == null || referenced.isEmpty()
+					|| referenced.stream().anyMatch(t -> DefinitionUtil.isSuperType(candidate, t)))) {
+				candidates.add(i);
+			}
+		}
+		if (candidates.isEmpty()) {
+			return null;
+		}
+
+		int typeIndex = candidates.get(context.random.nextInt(candidates.size()));
+		long index = context.random.nextLong(instanceCounts[typeIndex]);
+		return reference.idToReference(getId(typeIndex, index));
+	}
+
+	/**
+	 * Generate a simple value for a type.
+	 *
+	 * @param type the type definition
+	 * @param name the name of the property or type the value is generated for
+	 * @param context the generation context
+	 * @return the generated value
+	 */
+	private Object generateValue(TypeDefinition type, QName name, Context context) {
+		long key = nextKey(context);
+
+		Enumeration<?> enumeration = type.getConstraint(Enumeration.class);
+		if (enumeration.getValues() != null && !enumeration.getValues().isEmpty()) {
+			List<?> values = new ArrayList<>(enumeration.getValues());
+			return values.get((int) (key % values.size()));
+		}
+
+		Class<?> binding = type.getConstraint(Binding.class).getBinding();
+		if (List.class.isAssignableFrom(binding)) {
+			ElementType elementType = type.getConstraint(ElementType.class);
+			int count = 1 + context.random.nextInt(Math.max(1, settings.getMaxRepeat()));
+			List<Object> list = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				if (elementType.getDefinition() != null) {
+					list.add(generateValue(elementType.getDefinition(), name, context));
+				}
+				else {
+					list.add(convertKey(elementType.getBinding(), name, nextKey(context)));
+				}
+			}
+			return list;
+		}
+
+		return convertKey(binding, name, key);
+	}
+
+	/**
+	 * Determine the key of the next value according to the configured
+	 * distribution. Equal keys result in equal values for the same property.
+	 *
+	 * @param context the generation context
+	 * @return the value key
+	 */
+	private long nextKey(Context context) {
+		long distinct = Math.max(1, settings.getDistinctValues());
+		switch (settings.getDistribution()) {
+		case UNIQUE:
+			return context.index;
+		case SKEWED:
+			// log-uniform, small keys are much more likely
+			return Math.min(distinct - 1,
+					(long) Math.pow(distinct, context.random.nextDouble()) - 1);
+		case UNIFORM:
+		default:
+			return context.random.nextLong(distinct);
+		}
+	}
+
+	private static Object convertKey(Class<?> binding, QName name, long key) {
+		if (binding == null || String.class.equals(binding) || Object.class.equals(binding)) {
+			return name.getLocalPart() + "_" + key;
+		}
+		if (Boolean.class.equals(binding) || boolean.class.equals(binding)) {
+			return key % 2 == 0;
+		}
+		if (Byte.class.equals(binding) || byte.class.equals(binding)) {
+			return (byte) (key % Byte.MAX_VALUE);
+		}
+		if (Short.class.equals(binding) || short.class.equals(binding)) {
+			return (short) (key % Short.MAX_VALUE);
+		}
+		if (Integer.class.equals(binding) || int.class.equals(binding)) {
+			return (int) (key % Integer.MAX_VALUE);
+		}
+		if (Long.class.equals(binding) || long.class.equals(binding)) {
+			return key;
+		}
+		if (BigInteger.class.equals(binding) || Number.class.equals(binding)) {
+			return BigInteger.valueOf(key);
+		}
+		if (Float.class.equals(binding) || float.class.equals(binding)) {
+			return key + 0.25f;
+		}
+		if (Double.class.equals(binding) || double.class.equals(binding)) {
+			return key + 0.25;
+		}
+		if (BigDecimal.class.equals(binding)) {
+			return BigDecimal.valueOf(key).add(BigDecimal.valueOf(25, 2));
+		}
+		if (java.sql.Timestamp.class.equals(binding)) {
+			return new java.sql.Timestamp(BASE_TIME + key * MILLIS_PER_HOUR);
+		}
+		if (java.sql.Date.class.equals(binding)) {
+			return new java.sql.Date(BASE_TIME + key * 24 * MILLIS_PER_HOUR);
+		}
+		if (java.sql.Time.class.equals(binding)) {
+			return new java.sql.Time(key % 24 * MILLIS_PER_HOUR);
+		}
+		if (Date.class.equals(binding)) {
+			return new Date(BASE_TIME + key * MILLIS_PER_HOUR);
+		}
+		if (Calendar.class.isAssignableFrom(binding)) {
+			Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+			calendar.setTimeInMillis(BASE_TIME + key * MILLIS_PER_HOUR);
+			return calendar;
+		}
+		if (URI.class.equals(binding)) {
+			return URI.create("urn:x-generated:" + name.getLocalPart() + ":" + key);
+		}
+
+		// fall back to a string representation
+		return name.getLocalPart() + "_" + key;
+	}
+
+	/**
+	 * Generate a geometry inside the configured extent.
+	 *
+	 * @param binding the geometry binding
+	 * @param context the generation context
+	 * @return the generated geometry
+	 */
+	private Geometry generateGeometry(Class<? extends Geometry> binding, Context context) {
+		GeometryFactory factory = SharedGeometryFactory.getInstance();
+
+		if (Point.class.equals(binding)) {
+			return factory.createPoint(randomCoordinate(context));
+		}
+		if (MultiPoint.class.equals(binding)) {
+			Coordinate[] coordinates = new Coordinate[parts(context)];
+			for (int i = 0; i < coordinates.length; i++) {
+				coordinates[i] = randomCoordinate(context);
+			}
+			return factory.createMultiPoint(coordinates);
+		}
+		if (LineString.class.equals(binding)) {
+			return factory.createLineString(line(context));
+		}
+		if (LinearRing.class.equals(binding)) {
+			return factory.createLinearRing(ring(context));
+		}
+		if (MultiLineString.class.equals(binding)) {
+			LineString[] lines = new LineString[parts(context)];
+			for (int i = 0; i < lines.length; i++) {
+				lines[i] = factory.createLineString(line(context));
+			}
+			return factory.createMultiLineString(lines);
+		}
+		if (MultiPolygon.class.equals(binding)) {
+			Polygon[] polygons = new Polygon[parts(context)];
+			for (int i = 0; i < polygons.length; i++) {
+				polygons[i] = factory.createPolygon(factory.createLinearRing(ring(context)),
+						null);
+			}
+			return factory.createMultiPolygon(polygons);
+		}
+
+		// polygon for polygons and unspecific geometry types
+		return factory.createPolygon(factory.createLinearRing(ring(context)), null);
+	}
+
+	private int parts(Context context) {
+		return 1 + context.random.nextInt(Math.max(1, settings.getGeometryParts()));
+	}
+
+	private Coordinate randomCoordinate(Context context) {
+		return new Coordinate(random(extent[0], extent[2], context),
+				random(extent[1], extent[3], context));
+	}
+
+	private static double random(double min, double max, Context context) {
+		if (max <= min) {
+			return min;
+		}
+		return context.random.nextDouble(min, max);
+	}
+
+	/**
+	 * Create the coordinates of a line as random walk inside the extent.
+	 */
+	private Coordinate[] line(Context context) {
+		int vertices = Math.max(2, settings.getGeometryVertices());
+		double stepX = (extent[2] - extent[0]) / 100;
+		double stepY = (extent[3] - extent[1]) / 100;
+
+		Coordinate[] coordinates = new Coordinate[vertices];
+		coordinates[0] = randomCoordinate(context);
+		for (int i = 1; i < vertices; i++) {
+			Coordinate last = coordinates[i - 1];
+			coordinates[i] = new Coordinate(
+					clamp(last.x + random(-stepX, stepX, context), extent[0], extent[2]),
+					clamp(last.y + random(-stepY, stepY, context), extent[1], extent[3]));
+		}
+		return coordinates;
+	}
+
+	/**
+	 * Create the coordinates of a closed ring that is a star shaped polygon
+	 * around a random center, which is always simple.
+	 */
+	private Coordinate[] ring(Context context) {
+		int vertices = Math.max(3, settings.getGeometryVertices());
+		double radiusX = (extent[2] - extent[0]) / 200;
+		double radiusY = (extent[3] - extent[1]) / 200;
+		Coordinate center = new Coordinate(
+				random(extent[0] + radiusX, extent[2] - radiusX, context),
+				random(extent[1] + radiusY, extent[3] - radiusY, context));
+
+		Coordinate[] coordinates = new Coordinate[vertices + 1];
+		for (int i = 0; i < vertices; i++) {
+			double angle = 2 * Math.PI * i / vertices;
+			double scale = random(0.5, 1, context);
+			coordinates[i] = new Coordinate(center.x + Math.cos(angle) * radiusX * scale,
+					center.y + Math.sin(angle) * radiusY * scale);
+		}
+		coordinates[vertices] = new Coordinate(coordinates[0]);
+		return coordinates;
+	}
+
+	private static double clamp(double value, double min, double max) {
+		return Math.max(min, Math.min(max, value));
+	}
+
+}
@@ -29,12 +29,12 @@ import org.opengis.referencing.operation.MathTransform;
 import com.google.common.io.BaseEncoding;
 import com.microsoft.sqlserver.jdbc.SQLServerConnection;
 import com.vividsolutions.jts.geom.Geometry;
-import com.vividsolutions.jts.geom.GeometryFactory;
 import com.vividsolutions.jts.io.ParseException;
 import com.vividsolutions.jts.io.WKTReader;
 
 import eu.esdihumboldt.hale.common.core.report.SimpleLog;
 import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty;
+import eu.esdihumboldt.hale.common.instance.geometry.SharedGeometryFactory;
 import eu.esdihumboldt.hale.common.instance.geometry.impl.CodeDefinition;
 import eu.esdihumboldt.hale.common.instance.geometry.impl.WKTDefinition;
 import eu.esdihumboldt.hale.common.schema.geometry.CRSDefinition;
@@ -262,7 +262,7 @@ public class MsSqlGeometries implements GeometryAdvisor<SQLServerConnection> {
 		case "CompoundCurve":
 			return new WKTReader2(new CurvedGeometryFactory(Double.MAX_VALUE));
 		default:
-			return new WKTReader(new GeometryFactory());
+			return new WKTReader(SharedGeometryFactory.getInstance());
 		}
 	}
 
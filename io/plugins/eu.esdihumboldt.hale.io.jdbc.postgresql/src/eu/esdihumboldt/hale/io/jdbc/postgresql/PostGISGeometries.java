@@ -41,6 +41,7 @@ import de.fhg.igd.slf4jplus.ALogger;
 import de.fhg.igd.slf4jplus.ALoggerFactory;
 import eu.esdihumboldt.hale.common.core.report.SimpleLog;
 import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty;
+import eu.esdihumboldt.hale.common.instance.geometry.SharedGeometryFactory;
 import eu.esdihumboldt.hale.common.instance.geometry.impl.CodeDefinition;
 import eu.esdihumboldt.hale.common.instance.geometry.impl.WKTDefinition;
 import eu.esdihumboldt.hale.common.schema.geometry.CRSDefinition;
@@ -208,7 +209,7 @@ public class PostGISGeometries implements GeometryAdvisor<PGConnection> {
 
 			// conversion to JTS via WKT
 			// TODO use better conversion (p4b?)
-			WKTReader2 reader = new WKTReader2();
+			WKTReader2 reader = new WKTReader2(SharedGeometryFactory.getInstance());
 
 			String value = pgeom.getGeometry().toString();
 			if (value.startsWith(PGgeometry.SRIDPREFIX) && value.indexOf(';') >= 0) {
@@ -21,6 +21,7 @@ import de.fhg.igd.slf4jplus.ALoggerFactory;
 import eu.esdihumboldt.hale.common.core.report.SimpleLog;
 import eu.esdihumboldt.hale.common.instance.geometry.CRSDefinitionUtil;
 import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty;
+import eu.esdihumboldt.hale.common.instance.geometry.SharedGeometryFactory;
 import eu.esdihumboldt.hale.common.instance.geometry.impl.CodeDefinition;
 import eu.esdihumboldt.hale.common.instance.geometry.impl.WKTDefinition;
 import eu.esdihumboldt.hale.common.schema.geometry.CRSDefinition;
@@ -279,7 +280,7 @@ public class SpatiaLiteGeometries implements GeometryAdvisor<SQLiteConnection> {
 			}
 
 			// conversion to JTS via WKB/WKT
-			GeometryFactory factory = new GeometryFactory();
+			GeometryFactory factory = SharedGeometryFactory.getInstance();
 //			WKBReader wkbReader = new WKBReader(factory);
 			WKTReader wktReader = new WKTReader(factory);
 
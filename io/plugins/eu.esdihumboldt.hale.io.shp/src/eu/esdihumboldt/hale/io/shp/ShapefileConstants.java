@@ -65,4 +65,12 @@ public interface ShapefileConstants {
 	 */
 	public static final String PARAM_MATCH_SHORT_PROPERTY_NAMES = "matchShortPropertyNames";
 
+	/**
+	 * Name of the parameter for {@link ShapeInstanceReader} to enable creating
+	 * a spatial index file (<code>.qix</code>) next to the Shapefile, if it
+	 * does not exist yet. An existing index is used regardless of the
+	 * parameter. The index is only created for files in a writable directory.
+	 */
+	public static final String PARAM_CREATE_SPATIAL_INDEX = "createSpatialIndex";
+
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.shp.reader.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import org.geotools.factory.CommonFactoryFinder;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
+import org.opengis.filter.And;
+import org.opengis.filter.BinaryComparisonOperator;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory;
+import org.opengis.filter.Not;
+import org.opengis.filter.Or;
+import org.opengis.filter.PropertyIsBetween;
+import org.opengis.filter.PropertyIsLike;
+import org.opengis.filter.PropertyIsNull;
+import org.opengis.filter.expression.Expression;
+import org.opengis.filter.expression.Literal;
+import org.opengis.filter.expression.PropertyName;
+import org.opengis.filter.spatial.BBOX;
+import org.opengis.filter.spatial.BinarySpatialOperator;
+
+import com.vividsolutions.jts.geom.Geometry;
+
+import eu.esdihumboldt.hale.common.filter.AbstractGeotoolsFilter;
+import eu.esdihumboldt.hale.common.instance.geometry.GeometryProperty;
+import eu.esdihumboldt.hale.common.schema.model.ChildDefinition;
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition;
+import eu.esdihumboldt.hale.common.schema.model.constraint.type.Binding;
+
+/**
+ * Translates hale filters to filters that can be used in a GeoTools query on
+ * a Shapefile, so spatial predicates can make use of the spatial index and
+ * attribute predicates are evaluated before features are converted to
+ * instances.<br>
+ * <br>
+ * The translated filter is a pre-selection: every instance matching the hale
+ * filter also matches the translated filter, but not necessarily the other
+ * way round. Parts of the filter that cannot be translated are omitted, so
+ * the hale filter still has to be applied to the result. Attributes are only
+ * used in the translated filter if their binding matches the binding of the
+ * corresponding property, as comparisons may otherwise yield different
+ * results on the features.
+ *
+ * @author Simon Templer
+ */
+public class QueryFilterTranslator {
+
+	private static final FilterFactory ff = CommonFactoryFinder.getFilterFactory(null);
+
+	private final SimpleFeatureType schema;
+
+	private final TypeDefinition type;
+
+	/**
+	 * Create a filter translator.
+	 *
+	 * @param schema the feature type of the Shapefile
+	 * @param type the type of the instances created from the features
+	 */
+	public QueryFilterTranslator(SimpleFeatureType schema, TypeDefinition type) {
+		super();
+		this.schema = schema;
+		this.type = type;
+	}
+
+	/**
+	 * Translate a hale filter.
+	 *
+	 * @param filter the hale filter
+	 * @return the query filter, {@link Filter#INCLUDE} if no part of the filter
+	 *         can be translated
+	 */
+	public Filter translate(eu.esdihumboldt.hale.common.instance.model.Filter filter) {
+		if (filter instanceof AbstractGeotoolsFilter) {
+			return extract(((AbstractGeotoolsFilter) filter).getInternFilter());
+		}
+
+		return Filter.INCLUDE;
+	}
+
+	/**
+	 * Extract the part of a filter that can be evaluated on the features.
+	 *
+	 * @param filter the filter
+	 * @return the filter part, {@link Filter#INCLUDE} if there is none
+	 */
+	private Filter extract(Filter filter) {
+		if (filter instanceof And) {
+			// any of the operands can be used for the pre-selection
+			List<Filter> operands = new ArrayList<>();
+			for (Filter child : ((And) filter).getChildren()) {
+				Filter operand = extract(child);
+				if (operand != Filter.INCLUDE) {
+					operands.add(operand);
+				}
+			}
+
+			switch (operands.size()) {
+			case 0:
+				return Filter.INCLUDE;
+			case 1:
+				return operands.get(0);
+			default:
+				return ff.and(operands);
+			}
+		}
+
+		return (isSupported(filter)) ? (filter) : (Filter.INCLUDE);
+	}
+
+	/**
+	 * Determines if a filter can be evaluated on the features with the same
+	 * result as on the instances.
+	 *
+	 * @param filter the filter
+	 * @return if the filter can be evaluated on the features
+	 */
+	private boolean isSupported(Filter filter) {
+		if (filter instanceof And) {
+			return areSupported(((And) filter).getChildren());
+		}
+		if (filter instanceof Or) {
+			return areSupported(((Or) filter).getChildren());
+		}
+		if (filter instanceof Not) {
+			return isSupported(((Not) filter).getFilter());
+		}
+
+		if (filter instanceof BBOX) {
+			BBOX bbox = (BBOX) filter;
+			// bounding boxes with a different CRS would have to be reprojected
+			return (bbox.getSRS() == null || bbox.getSRS().isEmpty())
+					&& isSupported(bbox.getExpression1()) && isSupported(bbox.getExpression2());
+		}
+		if (filter instanceof BinarySpatialOperator) {
+			BinarySpatialOperator op = (BinarySpatialOperator) filter;
+			return isSupported(op.getExpression1()) && isSupported(op.getExpression2());
+		}
+		if (filter instanceof BinaryComparisonOperator) {
+			BinaryComparisonOperator op = (BinaryComparisonOperator) filter;
+			return isSupported(op.getExpression1()) && isSupported(op.getExpression2());
+		}
+		if (filter instanceof PropertyIsBetween) {
+			PropertyIsBetween op = (PropertyIsBetween) filter;
+			return isSupported(op.getExpression()) && isSupported(op.getLowerBoundary())
+					&& isSupported(op.getUpperBoundary());
+		}
+		if (filter instanceof PropertyIsLike) {
+			return isSupported(((PropertyIsLike) filter).getExpression());
+		}
+		if (filter instanceof PropertyIsNull) {
+			// checking for null does not depend on the binding
+			Expression expression = ((PropertyIsNull) filter).getExpression();
+			return (expression instanceof PropertyName) ? (getProperty(
+					(PropertyName) expression) != null) : (isSupported(expression));
+		}
+
+		return false;
+	}
+
+	private boolean areSupported(List<Filter> filters) {
+		for (Filter filter : filters) {
+			if (!isSupported(filter)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determines if an expression yields the same value on a feature as on
+	 * the corresponding instance. This is the case for literals and for
+	 * attributes that are mapped to a property of the same name and binding.
+	 *
+	 * @param expression the expression
+	 * @return if the expression can be evaluated on the features
+	 */
+	private boolean isSupported(Expression expression) {
+		if (expression instanceof Literal) {
+			Object value = ((Literal) expression).getValue();
+			// geometries with a different CRS would have to be reprojected
+			return !(value instanceof Geometry) || ((Geometry) value).getUserData() == null;
+		}
+		if (expression instanceof PropertyName) {
+			ChildDefinition<?> property = getProperty((PropertyName) expression);
+			if (property == null || property.asProperty() == null) {
+				return false;
+			}
+			Class<?> attributeBinding = schema.getDescriptor(
+					((PropertyName) expression).getPropertyName()).getType().getBinding();
+			Class<?> propertyBinding = property.asProperty().getPropertyType()
+					.getConstraint(Binding.class).getBinding();
+			if (Geometry.class.isAssignableFrom(attributeBinding)) {
+				// geometries are wrapped in geometry properties
+				return GeometryProperty.class.equals(propertyBinding)
+						|| attributeBinding.equals(propertyBinding);
+			}
+			return attributeBinding.equals(propertyBinding);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Get the property an attribute is mapped to.
+	 *
+	 * @param attributeName the attribute name
+	 * @return the property with the same name as the attribute,
+	 *         <code>null</code> if there is none
+	 */
+	private ChildDefinition<?> getProperty(PropertyName attributeName) {
+		AttributeDescriptor attribute = schema.getDescriptor(attributeName.getPropertyName());
+		if (attribute == null) {
+			return null;
+		}
+		QName propertyName = new QName(attribute.getName().getNamespaceURI(),
+				attribute.getName().getLocalPart());
+		return type.getChild(propertyName);
+	}
+
+}
@@ -15,7 +15,9 @@
  */
 package eu.esdihumboldt.hale.io.shp.reader.internal;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.charset.Charset;
 import java.text.MessageFormat;
 import java.util.Collection;
@@ -67,6 +69,7 @@ public class ShapeInstanceReader extends AbstractInstanceReader implements Shape
 		super();
 
 		addSupportedParameter(PARAM_TYPENAME);
+		addSupportedParameter(PARAM_CREATE_SPATIAL_INDEX);
 	}
 
 	@SuppressWarnings("javadoc")
@@ -82,6 +85,25 @@ public class ShapeInstanceReader extends AbstractInstanceReader implements Shape
 		}
 	}
 
+	/**
+	 * Determines if a spatial index may be written next to the Shapefile at
+	 * the given location.
+	 * 
+	 * @param location the Shapefile location
+	 * @return if the location is a local file in a writable directory
+	 */
+	private static boolean isWritableLocation(URI location) {
+		if (location == null || !"file".equalsIgnoreCase(location.getScheme())) {
+			return false;
+		}
+		try {
+			File dir = new File(location).getParentFile();
+			return dir != null && dir.canWrite();
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * @see IOProvider#isCancelable()
 	 */
@@ -103,6 +125,12 @@ public class ShapeInstanceReader extends AbstractInstanceReader implements Shape
 
 		ShapefileDataStore store = new ShapefileDataStore(getSource().getLocation().toURL());
 		store.setCharset(getCharset());
+		// use an existing spatial index for queries with spatial filters, only
+		// create it if enabled, as it is written next to the source data
+		store.setIndexed(true);
+		store.setIndexCreationEnabled(
+				getParameter(PARAM_CREATE_SPATIAL_INDEX).as(Boolean.class, false)
+						&& isWritableLocation(getSource().getLocation()));
 
 		progress.setCurrentTask("Extracting shape instances");
 
@@ -27,12 +27,16 @@ import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
 
+import org.geotools.data.Query;
 import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.data.simple.SimpleFeatureSource;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.factory.Hints;
 import org.opengis.feature.Property;
 import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.feature.type.AttributeDescriptor;
 import org.opengis.feature.type.GeometryDescriptor;
+import org.opengis.filter.FilterFactory;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
 
 import com.google.common.collect.ImmutableMap;
@@ -44,6 +48,8 @@ import eu.esdihumboldt.hale.common.instance.geometry.CRSDefinitionUtil;
 import eu.esdihumboldt.hale.common.instance.geometry.CRSProvider;
 import eu.esdihumboldt.hale.common.instance.geometry.CRSResolveCache;
 import eu.esdihumboldt.hale.common.instance.geometry.DefaultGeometryProperty;
+import eu.esdihumboldt.hale.common.instance.geometry.GeometryMemoryMode;
+import eu.esdihumboldt.hale.common.instance.geometry.SharedGeometryFactory;
 import eu.esdihumboldt.hale.common.instance.geometry.impl.EPSGResolveCache;
 import eu.esdihumboldt.hale.common.instance.model.Filter;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
@@ -54,6 +60,8 @@ import eu.esdihumboldt.hale.common.instance.model.MutableInstance;
 import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
 import eu.esdihumboldt.hale.common.instance.model.ext.InstanceCollection2;
 import eu.esdihumboldt.hale.common.instance.model.ext.InstanceIterator;
+import eu.esdihumboldt.hale.common.instance.model.ext.TypeConditionFilter;
+import eu.esdihumboldt.hale.common.instance.model.ext.helper.EmptyInstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
 import eu.esdihumboldt.hale.common.instance.model.impl.FilteredInstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.impl.PseudoInstanceReference;
@@ -71,6 +79,8 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 
 	private static final ALogger log = ALoggerFactory.getLogger(ShapesInstanceCollection.class);
 
+	private static final FilterFactory ff = CommonFactoryFinder.getFilterFactory(null);
+
 	/**
 	 * Iterates through a shape data store
 	 */
@@ -88,7 +98,14 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 		public ShapesIterator() throws IOException {
 			super();
 
-			currentIterator = source.getFeatures().features();
+			Query query = new Query(source.getSchema().getTypeName(), queryFilter);
+			if (SharedGeometryFactory.getMode() != GeometryMemoryMode.ARRAY) {
+				// use the shared factory to create geometries in the configured
+				// memory representation
+				query.setHints(new Hints(Hints.JTS_GEOMETRY_FACTORY,
+						SharedGeometryFactory.getInstance()));
+			}
+			currentIterator = source.getFeatures(query).features();
 		}
 
 		@Override
@@ -260,6 +277,7 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 	private final SimpleFeatureSource source;
 	private final String fileName;
 	private final boolean matchShortPropertyNames;
+	private final org.opengis.filter.Filter queryFilter;
 
 	/**
 	 * Cache for resolved CRSs
@@ -280,11 +298,33 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 	 */
 	public ShapesInstanceCollection(SimpleFeatureSource features, TypeDefinition type,
 			CRSProvider crsProvider, String fileName, boolean matchShortPropertyNames) {
+		this(features, type, crsProvider, fileName, matchShortPropertyNames,
+				org.opengis.filter.Filter.INCLUDE);
+	}
+
+	/**
+	 * Data store for accessing the simple features (from a Shapefile) that
+	 * match the given query filter.
+	 * 
+	 * @param features the feature source
+	 * @param type the type to use for instances
+	 * @param crsProvider CRS provider in case no CRS is specified, may be
+	 *            <code>null</code>
+	 * @param fileName the file name to store in the augmented property
+	 * @param matchShortPropertyNames if true try to check if Shapefile property
+	 *            names are shortened versions of target type property names and
+	 *            match accordingly
+	 * @param queryFilter the filter for querying the features
+	 */
+	protected ShapesInstanceCollection(SimpleFeatureSource features, TypeDefinition type,
+			CRSProvider crsProvider, String fileName, boolean matchShortPropertyNames,
+			org.opengis.filter.Filter queryFilter) {
 		this.source = features;
 		this.type = type;
 		this.crsProvider = crsProvider;
 		this.fileName = fileName;
 		this.matchShortPropertyNames = matchShortPropertyNames;
+		this.queryFilter = queryFilter;
 	}
 
 	/**
@@ -355,7 +395,31 @@ public class ShapesInstanceCollection implements InstanceCollection2 {
 	 */
 	@Override
 	public InstanceCollection select(Filter filter) {
-		return FilteredInstanceCollection.applyFilter(this, filter);
+		Filter condition = filter;
+		if (filter instanceof TypeConditionFilter) {
+			TypeConditionFilter typeFilter = (TypeConditionFilter) filter;
+			if (!typeFilter.accepts(type)) {
+				return EmptyInstanceCollection.INSTANCE;
+			}
+			condition = typeFilter.getCondition(type);
+			if (condition == null) {
+				return this;
+			}
+		}
+
+		// let the data store pre-select the features where possible
+		org.opengis.filter.Filter preselection = new QueryFilterTranslator(source.getSchema(),
+				type).translate(condition);
+		if (preselection != org.opengis.filter.Filter.INCLUDE) {
+			if (queryFilter != org.opengis.filter.Filter.INCLUDE) {
+				preselection = ff.and(queryFilter, preselection);
+			}
+			ShapesInstanceCollection preselected = new ShapesInstanceCollection(source, type,
+					crsProvider, fileName, matchShortPropertyNames, preselection);
+			return FilteredInstanceCollection.applyFilter(preselected, condition);
+		}
+
+		return FilteredInstanceCollection.applyFilter(this, condition);
 	}
 
 	@Override
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.wfs.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import eu.esdihumboldt.hale.common.core.io.ProgressIndicator;
+import eu.esdihumboldt.hale.common.core.io.Value;
+import eu.esdihumboldt.hale.common.core.io.impl.LogProgressIndicator;
+import eu.esdihumboldt.hale.common.core.io.report.IOMessage;
+import eu.esdihumboldt.hale.common.core.io.report.IOReport;
+import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
+import eu.esdihumboldt.hale.common.core.io.supplier.NoStreamOutputSupplier;
+import eu.esdihumboldt.hale.common.instance.model.Instance;
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.ResourceIterator;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstance;
+import eu.esdihumboldt.hale.common.instance.model.impl.DefaultInstanceCollection;
+import eu.esdihumboldt.hale.common.schema.model.impl.DefaultTypeDefinition;
+import eu.esdihumboldt.hale.io.gml.writer.internal.StreamGmlWriter;
+import eu.esdihumboldt.hale.io.wfs.PartitioningWFSWriter;
+import eu.esdihumboldt.hale.io.wfs.SimpleWFSWriter;
+
+/**
+ * Tests for {@link PartitioningWFSWriter} uploading to a stub HTTP server.
+ * Transactions are encoded as the list of instance values.
+ *
+ * @author Simon Templer
+ */
+@SuppressWarnings({ "javadoc", "restriction" })
+public class PartitioningWFSWriterTest {
+
+	private static final String SUCCESS = "<TransactionResponse><TransactionSummary>"
+			+ "<totalInserted>1</totalInserted></TransactionSummary></TransactionResponse>";
+
+	private static final String FAILURE = "<ExceptionReport><Exception>"
+			+ "<ExceptionText>Failure</ExceptionText></Exception></ExceptionReport>";
+
+	private HttpServer server;
+
+	/**
+	 * Status codes to respond with, in order, afterwards requests succeed
+	 */
+	private final List<Integer> statusCodes = Collections.synchronizedList(new LinkedList<>());
+
+	/**
+	 * Bodies of the received requests
+	 */
+	private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+	@Before
+	public void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/wfs", this::handle);
+		server.start();
+	}
+
+	@After
+	public void stopServer() {
+		server.stop(0);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (InputStream in = exchange.getRequestBody()) {
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1024];
+			int read;
+			while ((read = in.read(buffer)) >= 0) {
+				body.write(buffer, 0, read);
+			}
+			requests.add(new String(body.toByteArray(), StandardCharsets.UTF_8));
+		}
+
+		int status = 200;
+		synchronized (statusCodes) {
+			if (!statusCodes.isEmpty()) {
+				status = statusCodes.remove(0);
+			}
+		}
+
+		byte[] response = ((status == 200) ? (SUCCESS) : (FAILURE))
+				.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/xml");
+		exchange.sendResponseHeaders(status, response.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(response);
+		}
+	}
+
+	@Test
+	public void testPartitioning() throws Exception {
+		IOReport report = upload(5, 2, null);
+
+		assertTrue(report.isSuccess());
+		assertEquals(Arrays.asList("1\n2\n", "3\n4\n", "5\n"), requests);
+	}
+
+	@Test
+	public void testNoRetryByDefault() throws Exception {
+		statusCodes.add(503);
+
+		IOReport report = upload(4, 2, null);
+
+		assertFalse(report.isSuccess());
+		// the failed part is not sent again
+		assertEquals(Arrays.asList("1\n2\n", "3\n4\n"), requests);
+	}
+
+	@Test
+	public void testRetryUnavailable() throws Exception {
+		statusCodes.add(503);
+		statusCodes.add(429);
+
+		IOReport report = upload(4, 2, 2);
+
+		assertTrue(report.isSuccess());
+		assertEquals(Arrays.asList("1\n2\n", "1\n2\n", "1\n2\n", "3\n4\n"), requests);
+	}
+
+	@Test
+	public void testRetriesExhausted() throws Exception {
+		statusCodes.add(503);
+		statusCodes.add(503);
+
+		IOReport report = upload(2, 2, 1);
+
+		assertFalse(report.isSuccess());
+		assertEquals(Arrays.asList("1\n2\n", "1\n2\n"), requests);
+	}
+
+	@Test
+	public void testNoRetryGatewayError() throws Exception {
+		// the service may have processed the request
+		statusCodes.add(502);
+		statusCodes.add(504);
+
+		IOReport report = upload(4, 2, 2);
+
+		assertFalse(report.isSuccess());
+		assertEquals(Arrays.asList("1\n2\n", "3\n4\n"), requests);
+	}
+
+	@Test
+	public void testPartReports() throws Exception {
+		statusCodes.add(200);
+		statusCodes.add(502);
+
+		IOReport report = upload(8, 2, null, 3);
+
+		assertFalse(report.isSuccess());
+		assertEquals(4, requests.size());
+
+		// the result of each part is reported in the main report
+		List<String> infos = new ArrayList<>();
+		for (IOMessage message : report.getInfos()) {
+			if (message.getMessage().startsWith("Upload of part ")) {
+				infos.add(message.getMessage());
+			}
+		}
+		List<String> errors = new ArrayList<>();
+		for (IOMessage message : report.getErrors()) {
+			errors.add(message.getMessage());
+		}
+		assertEquals(3, infos.size());
+		// error from evaluating the response and the result of the part
+		assertEquals(2, errors.size());
+		assertTrue(errors.get(0).startsWith("Server reported failure with code 502"));
+		assertTrue(errors.get(1).startsWith("Upload of part "));
+	}
+
+	private IOReport upload(int count, int instancesPerRequest, Integer retries)
+			throws Exception {
+		return upload(count, instancesPerRequest, retries, null);
+	}
+
+	/**
+	 * Upload instances to the stub server.
+	 *
+	 * @param count the number of instances
+	 * @param instancesPerRequest the number of instances per request
+	 * @param retries the number of retries or <code>null</code> for the
+	 *            default
+	 * @param concurrentRequests the number of concurrent requests or
+	 *            <code>null</code> for the default
+	 * @return the upload report
+	 * @throws Exception if the upload fails
+	 */
+	private IOReport upload(int count, int instancesPerRequest, Integer retries,
+			Integer concurrentRequests) throws Exception {
+		DefaultTypeDefinition type = new DefaultTypeDefinition(new QName("Feature"));
+		List<Instance> instances = new ArrayList<>();
+		for (int i = 1; i <= count; i++) {
+			DefaultInstance instance = new DefaultInstance(type, null);
+			instance.setValue(i);
+			instances.add(instance);
+		}
+
+		PartitioningWFSWriter writer = new StubEncodingWFSWriter();
+		writer.setTarget(new NoStreamOutputSupplier(
+				URI.create("http://localhost:" + server.getAddress().getPort() + "/wfs")));
+		writer.setInstances(new DefaultInstanceCollection(instances));
+		writer.setParameter(StreamGmlWriter.PARAM_PARTITION_MODE,
+				Value.of(StreamGmlWriter.PARTITION_MODE_CUT));
+		writer.setParameter(PartitioningWFSWriter.PARAM_INSTANCES_THRESHOLD,
+				Value.of(instancesPerRequest));
+		if (retries != null) {
+			writer.setParameter(PartitioningWFSWriter.PARAM_REQUEST_RETRIES, Value.of(retries));
+		}
+		if (concurrentRequests != null) {
+			writer.setParameter(PartitioningWFSWriter.PARAM_CONCURRENT_REQUESTS,
+					Value.of(concurrentRequests));
+		}
+
+		return writer.execute(new LogProgressIndicator());
+	}
+
+	/**
+	 * Partitioning WFS writer that encodes transactions as the list of
+	 * instance values.
+	 */
+	private static class StubEncodingWFSWriter extends PartitioningWFSWriter {
+
+		@Override
+		protected SimpleWFSWriter createPartWriter(final InstanceCollection instances,
+				final IOReporter reporter) {
+			SimpleWFSWriter writer = new SimpleWFSWriter() {
+
+				@Override
+				public IOReporter encodeTransaction(File file, boolean gzip,
+						ProgressIndicator progress) throws IOException {
+					StringBuilder content = new StringBuilder();
+					try (ResourceIterator<Instance> it = instances.iterator()) {
+						while (it.hasNext()) {
+							content.append(it.next().getValue()).append('\n');
+						}
+					}
+					Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+
+					reporter.setSuccess(true);
+					return reporter;
+				}
+
+			};
+			writer.setTarget(getTarget());
+			return writer;
+		}
+
+	}
+
+}
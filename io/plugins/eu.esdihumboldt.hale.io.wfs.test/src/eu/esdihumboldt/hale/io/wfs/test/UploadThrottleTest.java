@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.wfs.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import eu.esdihumboldt.hale.io.wfs.UploadThrottle;
+
+/**
+ * Tests for {@link UploadThrottle}.
+ *
+ * @author Simon Templer
+ */
+@SuppressWarnings("javadoc")
+public class UploadThrottleTest {
+
+	@Test
+	public void testLimit() {
+		UploadThrottle throttle = new UploadThrottle(2, 0, 0);
+		assertTrue(throttle.tryAcquire());
+		assertTrue(throttle.tryAcquire());
+		assertFalse(throttle.tryAcquire());
+
+		throttle.release(true, 10);
+		assertTrue(throttle.tryAcquire());
+	}
+
+	@Test
+	public void testBackOff() {
+		UploadThrottle throttle = new UploadThrottle(8, 100, 250);
+		assertEquals(8, throttle.getLimit());
+
+		throttle.release(false, 10);
+		assertEquals(4, throttle.getLimit());
+		assertEquals(100, throttle.getDelay());
+		// requests are delayed after a failure
+		assertFalse(throttle.tryAcquire());
+
+		throttle.release(false, 10);
+		assertEquals(2, throttle.getLimit());
+		assertEquals(200, throttle.getDelay());
+
+		throttle.release(false, 10);
+		throttle.release(false, 10);
+		assertEquals(1, throttle.getLimit());
+		assertEquals(250, throttle.getDelay());
+
+		// recovery
+		throttle.release(true, 10);
+		assertEquals(2, throttle.getLimit());
+		assertEquals(0, throttle.getDelay());
+	}
+
+	@Test
+	public void testSlowRequests() {
+		UploadThrottle throttle = new UploadThrottle(4, 0, 0);
+		throttle.release(true, 100);
+		assertEquals(4, throttle.getLimit());
+
+		// considerably slower than average
+		throttle.release(true, 1000);
+		assertEquals(3, throttle.getLimit());
+
+		throttle.release(true, 100);
+		assertEquals(4, throttle.getLimit());
+	}
+
+	@Test
+	public void testAcquireAfterDelay() throws InterruptedException {
+		UploadThrottle throttle = new UploadThrottle(1, 50, 50);
+		throttle.release(false, 10);
+
+		long start = System.currentTimeMillis();
+		throttle.acquire();
+		assertTrue(System.currentTimeMillis() - start >= 40);
+	}
+
+}
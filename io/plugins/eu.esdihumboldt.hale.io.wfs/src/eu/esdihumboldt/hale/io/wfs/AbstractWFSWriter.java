@@ -15,7 +15,10 @@
 
 package eu.esdihumboldt.hale.io.wfs;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -30,6 +33,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -39,6 +43,7 @@ import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthScope;
@@ -79,6 +84,12 @@ import eu.esdihumboldt.util.http.client.fluent.FluentProxyUtil;
 public abstract class AbstractWFSWriter<T extends StreamGmlWriter> extends
 		GeoInstanceWriterDecorator<T>implements WFSWriter, WFSConstants, UserPasswordCredentials {
 
+	/**
+	 * Name of the parameter specifying if transaction requests should be sent
+	 * gzip compressed.
+	 */
+	public static final String PARAM_GZIP_REQUESTS = "gzipRequests";
+
 	private static final ALogger log = ALoggerFactory.getLogger(AbstractWFSWriter.class);
 
 	private LocatableOutputSupplier<? extends OutputStream> targetWfs;
@@ -141,47 +152,28 @@ public abstract class AbstractWFSWriter<T extends StreamGmlWriter> extends
 			throws IOProviderConfigurationException, IOException {
 		progress.begin("WFS Transaction", ProgressIndicator.UNKNOWN);
 
-		// configure internal provider
-		internalProvider.setDocumentWrapper(createTransaction());
+		final boolean gzip = getParameter(PARAM_GZIP_REQUESTS).as(Boolean.class, false);
 
 		final PipedInputStream pIn = new PipedInputStream();
 		PipedOutputStream pOut = new PipedOutputStream(pIn);
-		currentExecuteStream = pOut;
 
-		Future<Response> futureResponse = null;
+		Future<HttpResponse> futureResponse = null;
 		IOReporter reporter = createReporter();
 		ExecutorService executor = Executors.newSingleThreadExecutor();
 		try {
 			// read the stream (in another thread)
-			futureResponse = executor.submit(new Callable<Response>() {
+			futureResponse = executor.submit(new Callable<HttpResponse>() {
 
 				@Override
-				public Response call() throws Exception {
-
-					Proxy proxy = ProxyUtil.findProxy(targetWfs.getLocation());
+				public HttpResponse call() throws Exception {
 					Request request = Request.Post(targetWfs.getLocation()).bodyStream(pIn,
 							ContentType.APPLICATION_XML);
-					Executor executor = FluentProxyUtil.setProxy(request, proxy);
-
-					// authentication
-					String user = getParameter(PARAM_USER).as(String.class);
-					String password = getParameter(PARAM_PASSWORD).as(String.class);
-
-					if (user != null) {
-						// target host
-						int port = targetWfs.getLocation().getPort();
-						String hostName = targetWfs.getLocation().getHost();
-						String scheme = targetWfs.getLocation().getScheme();
-						HttpHost host = new HttpHost(hostName, port, scheme);
-
-						// add credentials
-						Credentials cred = ClientProxyUtil.createCredentials(user, password);
-						executor.auth(new AuthScope(host), cred);
-						executor.authPreemptive(host);
+					if (gzip) {
+						request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
 					}
 
 					try {
-						return executor.execute(request);
+						return executeRequest(request).returnResponse();
 					} finally {
 						pIn.close();
 					}
@@ -190,61 +182,14 @@ public abstract class AbstractWFSWriter<T extends StreamGmlWriter> extends
 
 			// write the stream
 			SubtaskProgressIndicator subprogress = new SubtaskProgressIndicator(progress);
-			reporter = (IOReporter) super.execute(subprogress);
+			reporter = encodeTransaction((gzip) ? (new GZIPOutputStream(pOut)) : (pOut),
+					subprogress);
 		} finally {
 			executor.shutdown();
 		}
 
 		try {
-			Response response = futureResponse.get();
-			HttpResponse res = response.returnResponse();
-			int statusCode = res.getStatusLine().getStatusCode();
-			XPathFactory xPathfactory = XPathFactory.newInstance();
-			XPath xpath = xPathfactory.newXPath();
-			if (statusCode >= 200 && statusCode < 300) {
-				// success
-				reporter.setSuccess(reporter.isSuccess());
-
-				// construct summary from response
-				try {
-					Document responseDoc = parseResponse(res.getEntity());
-
-					// totalInserted
-					String inserted = xpath.compile("//TransactionSummary/totalInserted")
-							.evaluate(responseDoc);
-					// XXX totalUpdated
-					// XXX totalReplaced
-					// XXX totalDeleted
-					reporter.setSummary("Inserted " + inserted + " features.");
-				} catch (XPathExpressionException e) {
-					log.error("Error in XPath used to evaluate service response");
-				} catch (ParserConfigurationException | SAXException e) {
-					reporter.error(new IOMessageImpl(MessageFormat.format(
-							"Server returned status code {0}, but could not parse server response",
-							statusCode), e));
-					reporter.setSuccess(false);
-				}
-			}
-			else {
-				// failure
-				reporter.error(new IOMessageImpl(
-						"Server reported failure with code " + res.getStatusLine().getStatusCode()
-								+ ": " + res.getStatusLine().getReasonPhrase(),
-						null));
-				reporter.setSuccess(false);
-
-				try {
-					Document responseDoc = parseResponse(res.getEntity());
-					String errorText = xpath.compile("//ExceptionText/text()")
-							.evaluate(responseDoc);
-					reporter.setSummary("Request failed: " + errorText);
-				} catch (XPathExpressionException e) {
-					log.error("Error in XPath used to evaluate service response");
-				} catch (ParserConfigurationException | SAXException e) {
-					reporter.error(new IOMessageImpl("Could not parse server response", e));
-					reporter.setSuccess(false);
-				}
-			}
+			evaluateResponse(futureResponse.get(), reporter);
 		} catch (ExecutionException | InterruptedException e) {
 			reporter.error(new IOMessageImpl("Failed to execute WFS-T request", e));
 			reporter.setSuccess(false);
@@ -255,6 +200,166 @@ public abstract class AbstractWFSWriter<T extends StreamGmlWriter> extends
 		return reporter;
 	}
 
+	/**
+	 * Encode the transaction to a file, so it can be sent independently of
+	 * the encoding, e.g. to prepare the next transaction while another one is
+	 * still being sent, or to send it again if the request failed.
+	 * 
+	 * @param file the file to write the transaction to
+	 * @param gzip if the transaction should be gzip compressed
+	 * @param progress the progress indicator
+	 * @return the report of encoding the transaction
+	 * @throws IOProviderConfigurationException if the I/O provider was not
+	 *             configured properly
+	 * @throws IOException if writing the file fails
+	 * @see #sendTransaction(File, boolean)
+	 */
+	public IOReporter encodeTransaction(File file, boolean gzip, ProgressIndicator progress)
+			throws IOProviderConfigurationException, IOException {
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+		if (gzip) {
+			out = new GZIPOutputStream(out);
+		}
+		try {
+			return encodeTransaction(out, progress);
+		} finally {
+			// the internal provider usually closes the stream already
+			out.close();
+		}
+	}
+
+	/**
+	 * Encode the transaction using the internal provider.
+	 * 
+	 * @param out the output stream to write the transaction to
+	 * @param progress the progress indicator
+	 * @return the report of the internal provider
+	 * @throws IOProviderConfigurationException if the I/O provider was not
+	 *             configured properly
+	 * @throws IOException if writing the transaction fails
+	 */
+	protected IOReporter encodeTransaction(OutputStream out, ProgressIndicator progress)
+			throws IOProviderConfigurationException, IOException {
+		// configure internal provider
+		internalProvider.setDocumentWrapper(createTransaction());
+
+		currentExecuteStream = out;
+		try {
+			return (IOReporter) super.execute(progress);
+		} finally {
+			currentExecuteStream = null;
+		}
+	}
+
+	/**
+	 * Send a transaction previously encoded with
+	 * {@link #encodeTransaction(File, boolean, ProgressIndicator)} to the
+	 * service.
+	 * 
+	 * @param file the file containing the encoded transaction
+	 * @param gzip if the transaction is gzip compressed
+	 * @return the service response, the response entity is buffered
+	 * @throws IOException if sending the request fails
+	 * @see #evaluateResponse(HttpResponse, IOReporter)
+	 */
+	public HttpResponse sendTransaction(File file, boolean gzip) throws IOException {
+		Request request = Request.Post(targetWfs.getLocation()).bodyFile(file,
+				ContentType.APPLICATION_XML);
+		if (gzip) {
+			request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+
+		return executeRequest(request).returnResponse();
+	}
+
+	/**
+	 * Execute a request to the target service, applying proxy and
+	 * authentication configuration.
+	 * 
+	 * @param request the request
+	 * @return the response
+	 * @throws IOException if executing the request fails
+	 */
+	protected Response executeRequest(Request request) throws IOException {
+		Proxy proxy = ProxyUtil.findProxy(targetWfs.getLocation());
+		Executor executor = FluentProxyUtil.setProxy(request, proxy);
+
+		// authentication
+		String user = getParameter(PARAM_USER).as(String.class);
+		String password = getParameter(PARAM_PASSWORD).as(String.class);
+
+		if (user != null) {
+			// target host
+			int port = targetWfs.getLocation().getPort();
+			String hostName = targetWfs.getLocation().getHost();
+			String scheme = targetWfs.getLocation().getScheme();
+			HttpHost host = new HttpHost(hostName, port, scheme);
+
+			// add credentials
+			Credentials cred = ClientProxyUtil.createCredentials(user, password);
+			executor.auth(new AuthScope(host), cred);
+			executor.authPreemptive(host);
+		}
+
+		return executor.execute(request);
+	}
+
+	/**
+	 * Evaluate the service response to a transaction and update the report
+	 * accordingly.
+	 * 
+	 * @param res the service response
+	 * @param reporter the reporter to update
+	 * @throws IOException if reading the response fails
+	 */
+	public void evaluateResponse(HttpResponse res, IOReporter reporter) throws IOException {
+		int statusCode = res.getStatusLine().getStatusCode();
+		XPathFactory xPathfactory = XPathFactory.newInstance();
+		XPath xpath = xPathfactory.newXPath();
+		if (statusCode >= 200 && statusCode < 300) {
+			// success
+			reporter.setSuccess(reporter.isSuccess());
+
+			// construct summary from response
+			try {
+				Document responseDoc = parseResponse(res.getEntity());
+
+				// totalInserted
+				String inserted = xpath.compile("//TransactionSummary/totalInserted")
+						.evaluate(responseDoc);
+				// XXX totalUpdated
+				// XXX totalReplaced
+				// XXX totalDeleted
+				reporter.setSummary("Inserted " + inserted + " features.");
+			} catch (XPathExpressionException e) {
+				log.error("Error in XPath used to evaluate service response");
+			} catch (ParserConfigurationException | SAXException e) {
+				reporter.error(new IOMessageImpl(MessageFormat.format(
+						"Server returned status code {0}, but could not parse server response",
+						statusCode), e));
+				reporter.setSuccess(false);
+			}
+		}
+		else {
+			// failure
+			reporter.error(new IOMessageImpl("Server reported failure with code "
+					+ res.getStatusLine().getStatusCode() + ": "
+					+ res.getStatusLine().getReasonPhrase(), null));
+			reporter.setSuccess(false);
+
+			try {
+				Document responseDoc = parseResponse(res.getEntity());
+				String errorText = xpath.compile("//ExceptionText/text()").evaluate(responseDoc);
+				reporter.setSummary("Request failed: " + errorText);
+			} catch (XPathExpressionException e) {
+				log.error("Error in XPath used to evaluate service response");
+			} catch (ParserConfigurationException | SAXException e) {
+				reporter.error(new IOMessageImpl("Could not parse server response", e));
+				reporter.setSuccess(false);
+			}
+		}
+	}
+
 	private Document parseResponse(HttpEntity entity)
 			throws IOException, ParserConfigurationException, SAXException {
 		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
@@ -15,22 +15,35 @@
 
 package eu.esdihumboldt.hale.io.wfs;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.ConnectException;
+import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.conn.ConnectTimeoutException;
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import de.fhg.igd.slf4jplus.ALogger;
+import de.fhg.igd.slf4jplus.ALoggerFactory;
 import eu.esdihumboldt.hale.common.core.io.IOProviderConfigurationException;
 import eu.esdihumboldt.hale.common.core.io.ProgressIndicator;
 import eu.esdihumboldt.hale.common.core.io.Value;
 import eu.esdihumboldt.hale.common.core.io.impl.SubtaskProgressIndicator;
+import eu.esdihumboldt.hale.common.core.io.report.IOMessage;
 import eu.esdihumboldt.hale.common.core.io.report.IOReport;
 import eu.esdihumboldt.hale.common.core.io.report.IOReporter;
+import eu.esdihumboldt.hale.common.core.io.report.impl.DefaultIOReporter;
 import eu.esdihumboldt.hale.common.core.io.report.impl.IOMessageImpl;
 import eu.esdihumboldt.hale.common.core.report.SimpleLog;
 import eu.esdihumboldt.hale.common.instance.io.impl.AbstractGeoInstanceWriter;
@@ -58,6 +71,32 @@ public class PartitioningWFSWriter extends AbstractGeoInstanceWriter
 	 */
 	public static final int DEFAULT_INSTANCES_THRESHOLD = 15000;
 
+	/**
+	 * Name of the parameter defining the maximum number of concurrent
+	 * transaction requests.
+	 */
+	public static final String PARAM_CONCURRENT_REQUESTS = "concurrentRequests";
+
+	/**
+	 * Default value for the maximum number of concurrent requests.
+	 */
+	public static final int DEFAULT_CONCURRENT_REQUESTS = 1;
+
+	/**
+	 * Name of the parameter defining how often a request is retried if the
+	 * connection to the service failed or the service reported that it is
+	 * unavailable or overloaded.
+	 */
+	public static final String PARAM_REQUEST_RETRIES = "requestRetries";
+
+	/**
+	 * Default value for the number of request retries. Retries are disabled
+	 * by default, as an insert transaction is not idempotent.
+	 */
+	public static final int DEFAULT_REQUEST_RETRIES = 0;
+
+	private static final ALogger log = ALoggerFactory.getLogger(PartitioningWFSWriter.class);
+
 	@Override
 	protected IOReport execute(final ProgressIndicator progress, final IOReporter reporter)
 			throws IOProviderConfigurationException, IOException {
@@ -69,150 +108,320 @@ public class PartitioningWFSWriter extends AbstractGeoInstanceWriter
 			InstanceCollectionPartitioner partitioner = StreamGmlWriter.getPartitioner(this,
 					reporter);
 
+			int concurrency = Math.max(1, getParameter(PARAM_CONCURRENT_REQUESTS)
+					.as(Integer.class, DEFAULT_CONCURRENT_REQUESTS));
+			UploadThrottle throttle = new UploadThrottle(concurrency);
+
+			/*
+			 * Parts are encoded to temporary files while previous parts are
+			 * still being uploaded. The number of parts that are encoded but
+			 * not yet uploaded is limited, as are the concurrent requests
+			 * (adapting to the service response). The reporter is not thread
+			 * safe, so each part is reported separately and the completed parts
+			 * are added to the reporter from this thread.
+			 */
+			Semaphore pendingParts = new Semaphore(concurrency + 1);
+			ExecutorService encodeThread = Executors.newSingleThreadExecutor();
+			ExecutorService requestThreads = Executors.newFixedThreadPool(concurrency);
+			AtomicBoolean failed = new AtomicBoolean();
+			Queue<PartUpload> completed = new ConcurrentLinkedQueue<>();
+
 			// partition the graph
 			int threshold = getParameter(PARAM_INSTANCES_THRESHOLD).as(Integer.class,
 					DEFAULT_INSTANCES_THRESHOLD);
+			int partCount = 0;
 			try (ResourceIterator<InstanceCollection> parts = partitioner.partition(getInstances(),
 					threshold, reporter)) {
+				try {
+					while (parts.hasNext() && !progress.isCanceled()) {
+						pendingParts.acquire();
+						partCount++;
+
+						progress.setCurrentTask("Assembling part " + partCount);
+						InstanceCollection part = parts.next();
+
+						final PartUpload upload = new PartUpload(partCount, part, progress,
+								throttle, pendingParts, failed, completed, requestThreads);
+						if (partitioner.requiresImmediateConsumption()) {
+							// the part must be consumed before the next part is
+							// retrieved
+							upload.run();
+						}
+						else {
+							encodeThread.execute(upload);
+						}
 
-				if (partitioner.requiresImmediateConsumption()) {
+						reportCompleted(completed, reporter);
+					}
+				} finally {
+					// the encoding thread submits the uploads, the parts have
+					// to be encoded before the partitioning is closed
+					encodeThread.shutdown();
+					if (!encodeThread.awaitTermination(24, TimeUnit.HOURS)) {
+						failed.set(true);
+						reporter.error(new IOMessageImpl(
+								"Timeout reached waiting for encoding of WFS transactions",
+								null));
+					}
+				}
+			} finally {
+				// wait for requests completion
+				requestThreads.shutdown();
+				if (!requestThreads.awaitTermination(24, TimeUnit.HOURS)) {
+					reporter.error(new IOMessageImpl(
+							"Timeout reached waiting for completion of WFS requests", null));
+				}
 
-					// handle all parts right here, one after another
+				reportCompleted(completed, reporter);
+			}
 
-					int partCount = 0;
-					boolean failed = false;
-					if (parts.hasNext()) {
-						while (parts.hasNext() && !progress.isCanceled()) {
-							partCount++;
+			if (partCount > 0) {
+				reporter.setSuccess(!failed.get() && reporter.getErrors().isEmpty());
+				if (!reporter.isSuccess()) {
+					reporter.setSummary("Errors during upload to WFS-T, please see the report.");
+				}
+				else {
+					reporter.setSummary("Successfully uploaded data via WFS-T");
+				}
+			}
+			else {
+				reporter.setSuccess(false);
+				reporter.setSummary("Partitioning yielded no instances to upload");
+			}
+		} catch (Exception e) {
+			reporter.error(new IOMessageImpl("Error during attempt to upload to WFS-T", e));
+			reporter.setSuccess(false);
+		} finally {
+			progress.end();
+		}
 
-							SubtaskProgressIndicator partitionProgress = new SubtaskProgressIndicator(
-									progress);
-							partitionProgress.begin("Assembling part " + partCount,
-									ProgressIndicator.UNKNOWN);
-							InstanceCollection part = parts.next();
-							partitionProgress.end();
+		return reporter;
+	}
 
-							progress.setCurrentTask("Upload part " + partCount + ((part.hasSize())
-									? (" (" + part.size() + " instances)") : ("")));
+	/**
+	 * Add the reports of the completed parts to the reporter.
+	 * 
+	 * @param completed the completed parts
+	 * @param reporter the reporter
+	 */
+	private void reportCompleted(Queue<PartUpload> completed, IOReporter reporter) {
+		PartUpload upload;
+		while ((upload = completed.poll()) != null) {
+			upload.report(reporter);
+		}
+	}
 
-							IOReport report = uploadInstances(part, reporter,
-									new SubtaskProgressIndicator(progress));
-							if (!report.isSuccess()) {
-								failed = true;
-								reporter.error("Upload of part {0} - {1}", partCount,
-										report.getSummary());
-							}
-							else {
-								reporter.info("Upload of part {0} - {1}", partCount,
-										report.getSummary());
+	/**
+	 * Encodes a part to a temporary file and then schedules its upload. The
+	 * part has its own reporter, as encoding and upload are done in other
+	 * threads, it is added to the main report with {@link #report(IOReporter)}
+	 * once the part is completed.
+	 */
+	private class PartUpload implements Runnable {
+
+		private final int index;
+
+		private final InstanceCollection part;
+
+		private final ProgressIndicator progress;
+
+		private final UploadThrottle throttle;
+
+		private final Semaphore pendingParts;
+
+		private final AtomicBoolean failed;
+
+		private final Queue<PartUpload> completed;
+
+		private final ExecutorService requestThreads;
+
+		private final boolean gzip;
+
+		private final int retries;
+
+		private final IOReporter partReport;
+
+		private SimpleWFSWriter writer;
+
+		private File file;
+
+		/**
+		 * The message summarizing the result of the part, the part failed if
+		 * the message is an error.
+		 */
+		private IOMessage result;
+
+		private boolean error;
+
+		public PartUpload(int index, InstanceCollection part, ProgressIndicator progress,
+				UploadThrottle throttle, Semaphore pendingParts, AtomicBoolean failed,
+				Queue<PartUpload> completed, ExecutorService requestThreads) {
+			super();
+			this.index = index;
+			this.part = part;
+			this.progress = progress;
+			this.throttle = throttle;
+			this.pendingParts = pendingParts;
+			this.failed = failed;
+			this.completed = completed;
+			this.requestThreads = requestThreads;
+			this.partReport = new DefaultIOReporter(getTarget(), "Upload part " + index,
+					getActionId(), true);
+			this.gzip = getParameter(AbstractWFSWriter.PARAM_GZIP_REQUESTS).as(Boolean.class,
+					false);
+			this.retries = Math.max(0, getParameter(PARAM_REQUEST_RETRIES).as(Integer.class,
+					DEFAULT_REQUEST_RETRIES));
+		}
+
+		/**
+		 * Encode the part and schedule the upload.
+		 */
+		@Override
+		public void run() {
+			boolean scheduled = false;
+			try {
+				progress.setCurrentTask("Encoding part " + index
+						+ ((part.hasSize()) ? (" (" + part.size() + " instances)") : ("")));
+
+				writer = createPartWriter(part, partReport);
+				file = File.createTempFile("wfs-transaction", (gzip) ? (".xml.gz") : (".xml"));
+				writer.encodeTransaction(file, gzip, new SubtaskProgressIndicator(progress));
+				if (!partReport.isSuccess()) {
+					fail(new IOMessageImpl(
+							"Encoding of part " + index + " - " + partReport.getSummary(), null));
+				}
+				else {
+					requestThreads.execute(new Runnable() {
+
+						@Override
+						public void run() {
+							try {
+								upload();
+							} finally {
+								release();
 							}
 						}
+					});
+					scheduled = true;
+				}
+			} catch (Exception e) {
+				fail(new IOMessageImpl("Encoding of part " + index + " failed", e));
+			} finally {
+				if (!scheduled) {
+					release();
+				}
+			}
+		}
 
-						reporter.setSuccess(!failed && reporter.getErrors().isEmpty());
-						if (!reporter.isSuccess()) {
-							reporter.setSummary(
-									"Errors during upload to WFS-T, please see the report.");
-						}
-						else {
-							reporter.setSummary("Successfully uploaded data via WFS-T");
+		private void upload() {
+			try {
+				progress.setCurrentTask("Upload part " + index);
+
+				int attempt = 0;
+				while (true) {
+					throttle.acquire();
+					long start = System.currentTimeMillis();
+					HttpResponse response;
+					try {
+						response = writer.sendTransaction(file, gzip);
+					} catch (IOException e) {
+						throttle.release(false, System.currentTimeMillis() - start);
+						if (isConnectFailure(e) && attempt < retries) {
+							attempt++;
+							log.warn(MessageFormat.format(
+									"Connecting for upload of part {0} failed, retrying ({1}/{2})",
+									index, attempt, retries), e);
+							continue;
 						}
+						throw e;
 					}
-					else {
-						reporter.setSuccess(false);
-						reporter.setSummary("Partitioning yielded no instances to upload");
+
+					int statusCode = response.getStatusLine().getStatusCode();
+					throttle.release(statusCode >= 200 && statusCode < 300,
+							System.currentTimeMillis() - start);
+					if (isServiceUnavailable(statusCode) && attempt < retries) {
+						attempt++;
+						log.warn(MessageFormat.format(
+								"Service unavailable for upload of part {0} ({1}), retrying ({2}/{3})",
+								index, response.getStatusLine(), attempt, retries));
+						continue;
 					}
 
+					writer.evaluateResponse(response, partReport);
+					break;
 				}
-				else {
-					// can start requests with separate thread (potentially
-					// threads, but tests with WFSes show that this usually is
-					// too much to handle for the service)
-
-					int partCount = 0;
-					final AtomicBoolean failed = new AtomicBoolean();
-					if (parts.hasNext()) {
-						ExecutorService requestThread = Executors.newSingleThreadExecutor();
-
-						while (parts.hasNext() && !progress.isCanceled()) {
-							partCount++;
-
-							SubtaskProgressIndicator partitionProgress = new SubtaskProgressIndicator(
-									progress); // only used for first
-												// partitioning
-							if (partCount == 1)
-								partitionProgress.begin("Assembling part " + partCount,
-										ProgressIndicator.UNKNOWN);
-							final InstanceCollection part = parts.next(); // not
-																			// thread
-																			// safe
-							if (partCount == 1)
-								partitionProgress.end();
-
-							progress.setCurrentTask("Upload part " + partCount + ((part.hasSize())
-									? (" (" + part.size() + " instances)") : ("")));
-
-							final int currentPart = partCount;
-							requestThread.submit(new Runnable() {
-
-								@Override
-								public void run() {
-									try {
-										IOReport report = uploadInstances(part, reporter,
-												new SubtaskProgressIndicator(progress));
-										if (!report.isSuccess()) {
-											failed.set(true);
-											reporter.error(new IOMessageImpl("Upload of part "
-													+ currentPart + " - " + report.getSummary(),
-													null));
-										}
-										else {
-											reporter.info(new IOMessageImpl("Upload of part "
-													+ currentPart + " - " + report.getSummary(),
-													null));
-										}
-									} catch (Exception e) {
-										failed.set(true);
-										reporter.error(new IOMessageImpl(
-												"Upload of part " + currentPart + " failed", e));
-									}
-								}
-							});
 
-						}
+				if (!partReport.isSuccess()) {
+					fail(new IOMessageImpl(
+							"Upload of part " + index + " - " + partReport.getSummary(), null));
+				}
+				else {
+					result = new IOMessageImpl(
+							"Upload of part " + index + " - " + partReport.getSummary(), null);
+				}
+			} catch (Exception e) {
+				fail(new IOMessageImpl("Upload of part " + index + " failed", e));
+			}
+		}
 
-						// wait for requests completion
-						requestThread.shutdown();
-						if (!requestThread.awaitTermination(24, TimeUnit.HOURS)) {
-							reporter.error(new IOMessageImpl(
-									"Timeout reached waiting for completion of WFS requests",
-									null));
-						}
+		private void fail(IOMessage message) {
+			failed.set(true);
+			result = message;
+			error = true;
+		}
 
-						reporter.setSuccess(!failed.get() && reporter.getErrors().isEmpty());
-						if (!reporter.isSuccess()) {
-							reporter.setSummary(
-									"Errors during upload to WFS-T, please see the report.");
-						}
-						else {
-							reporter.setSummary("Successfully uploaded data via WFS-T");
-						}
-					}
-					else {
-						reporter.setSuccess(false);
-						reporter.setSummary("Partitioning yielded no instances to upload");
-					}
+		private void release() {
+			if (file != null) {
+				file.delete();
+			}
+			writer = null;
+			completed.add(this);
+			pendingParts.release();
+		}
 
+		/**
+		 * Add the report of the completed part to the given reporter. Must
+		 * only be called after the part was completed.
+		 * 
+		 * @param reporter the reporter
+		 */
+		public void report(IOReporter reporter) {
+			reporter.importMessages(partReport);
+			if (result != null) {
+				if (error) {
+					reporter.error(result);
+				}
+				else {
+					reporter.info(result);
 				}
-
 			}
-		} catch (Exception e) {
-			reporter.error(new IOMessageImpl("Error during attempt to upload to WFS-T", e));
-			reporter.setSuccess(false);
-		} finally {
-			progress.end();
 		}
 
-		return reporter;
+	}
+
+	/**
+	 * Determines if a response status code states that the service is
+	 * (temporarily) unavailable or overloaded, meaning the request was not
+	 * processed and may be sent again. Gateway errors are not included, as
+	 * the service may have processed the request nonetheless.
+	 * 
+	 * @param statusCode the HTTP status code
+	 * @return if the service is unavailable
+	 */
+	protected boolean isServiceUnavailable(int statusCode) {
+		return statusCode == 429 || statusCode == HttpStatus.SC_SERVICE_UNAVAILABLE;
+	}
+
+	/**
+	 * Determines if sending a request failed because no connection to the
+	 * service could be established, meaning the request was not sent and may
+	 * be sent again.
+	 * 
+	 * @param e the exception that occurred sending the request
+	 * @return if the connection to the service failed
+	 */
+	protected boolean isConnectFailure(IOException e) {
+		return e instanceof ConnectException || e instanceof ConnectTimeoutException;
 	}
 
 	/**
@@ -229,6 +438,19 @@ public class PartitioningWFSWriter extends AbstractGeoInstanceWriter
 	protected IOReport uploadInstances(final InstanceCollection instances,
 			final IOReporter reporter, final ProgressIndicator progress)
 					throws IOProviderConfigurationException, IOException {
+		return createPartWriter(instances, reporter).execute(progress);
+	}
+
+	/**
+	 * Create a writer for uploading a part of the instances, configured like
+	 * this writer.
+	 * 
+	 * @param instances the instances to upload
+	 * @param reporter the reporter
+	 * @return the writer
+	 */
+	protected SimpleWFSWriter createPartWriter(final InstanceCollection instances,
+			final IOReporter reporter) {
 		SimpleWFSWriter writer = new SimpleWFSWriter() {
 
 			@Override
@@ -250,7 +472,7 @@ public class PartitioningWFSWriter extends AbstractGeoInstanceWriter
 		writer.setTarget(getTarget());
 		writer.setInstances(instances);
 
-		return writer.execute(progress);
+		return writer;
 	}
 
 	@Override
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.io.wfs;
+
+/**
+ * Limits the number of concurrent requests to a service and adapts the limit
+ * to how the service copes with the load. On a failed request the limit is
+ * halved and further requests are delayed with an exponentially growing
+ * delay, a request that takes considerably longer than the average reduces the
+ * limit by one. Each successful request at normal speed raises the limit by
+ * one again, up to the configured maximum.
+ *
+ * @author Simon Templer
+ */
+public class UploadThrottle {
+
+	/**
+	 * Factor by which a request has to exceed the average request duration to
+	 * be considered slow.
+	 */
+	private static final double SLOW_FACTOR = 2.0;
+
+	/**
+	 * Weight of a request duration when updating the average duration.
+	 */
+	private static final double DURATION_WEIGHT = 0.2;
+
+	private final int maxConcurrent;
+
+	private final long initialDelay;
+
+	private final long maxDelay;
+
+	private int limit;
+
+	private int active = 0;
+
+	private long delay = 0;
+
+	private long notBefore = 0;
+
+	private double averageDuration = 0;
+
+	/**
+	 * Create an upload throttle with an initial back-off delay of one second
+	 * and a maximum delay of one minute.
+	 *
+	 * @param maxConcurrent the maximum number of concurrent requests
+	 */
+	public UploadThrottle(int maxConcurrent) {
+		this(maxConcurrent, 1000, 60000);
+	}
+
+	/**
+	 * Create an upload throttle.
+	 *
+	 * @param maxConcurrent the maximum number of concurrent requests
+	 * @param initialDelay the delay in milliseconds after the first failure
+	 * @param maxDelay the maximum delay in milliseconds
+	 */
+	public UploadThrottle(int maxConcurrent, long initialDelay, long maxDelay) {
+		super();
+		this.maxConcurrent = Math.max(1, maxConcurrent);
+		this.initialDelay = initialDelay;
+		this.maxDelay = maxDelay;
+		this.limit = this.maxConcurrent;
+	}
+
+	/**
+	 * Wait until a request may be started. Each call must be followed by a
+	 * call to {@link #release(boolean, long)}.
+	 *
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public synchronized void acquire() throws InterruptedException {
+		while (true) {
+			if (active < limit) {
+				long wait = notBefore - System.currentTimeMillis();
+				if (wait <= 0) {
+					active++;
+					return;
+				}
+				wait(wait);
+			}
+			else {
+				wait();
+			}
+		}
+	}
+
+	/**
+	 * Start a request if this is possible without waiting.
+	 *
+	 * @return if a request may be started, in that case it must be followed by
+	 *         a call to {@link #release(boolean, long)}
+	 */
+	public synchronized boolean tryAcquire() {
+		if (active < limit && notBefore <= System.currentTimeMillis()) {
+			active++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Report a finished request.
+	 *
+	 * @param success if the request was successful, only a request the
+	 *            service responded to with a success status should be
+	 *            reported as successful
+	 * @param duration the duration of the request in milliseconds
+	 */
+	public synchronized void release(boolean success, long duration) {
+		active--;
+
+		if (!success) {
+			limit = Math.max(1, limit / 2);
+			delay = (delay == 0) ? (initialDelay) : (Math.min(maxDelay, delay * 2));
+			notBefore = System.currentTimeMillis() + delay;
+		}
+		else {
+			boolean slow = averageDuration > 0 && duration > SLOW_FACTOR * averageDuration;
+			averageDuration = (averageDuration == 0) ? (duration)
+					: ((1 - DURATION_WEIGHT) * averageDuration + DURATION_WEIGHT * duration);
+
+			if (slow) {
+				limit = Math.max(1, limit - 1);
+			}
+			else {
+				delay = 0;
+				limit = Math.min(maxConcurrent, limit + 1);
+			}
+		}
+
+		notifyAll();
+	}
+
+	/**
+	 * @return the current limit of concurrent requests
+	 */
+	public synchronized int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * @return the current back-off delay in milliseconds
+	 */
+	public synchronized long getDelay() {
+		return delay;
+	}
+
+}
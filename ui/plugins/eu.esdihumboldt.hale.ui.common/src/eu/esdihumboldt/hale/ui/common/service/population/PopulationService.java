@@ -52,6 +52,16 @@ public interface PopulationService {
 	 */
 	public void addToPopulation(Instance instance, DataSet dataSet);
 
+	/**
+	 * Remove an instance from the population, explicitly specifying the
+	 * associated data set. The instance must have been added to the population
+	 * before.
+	 * 
+	 * @param instance the instance
+	 * @param dataSet the data set the instance belongs to
+	 */
+	public void removeFromPopulation(Instance instance, DataSet dataSet);
+
 	/**
 	 * Reset the population of the given data set
 	 * 
@@ -31,6 +31,7 @@ import eu.esdihumboldt.hale.common.core.service.ServiceProvider;
  */
 public class DummyExecutionContext implements ExecutionContext {
 
+	// synchronized maps support null keys and values like the engine's maps
 	private final Map<Object, Object> cellContext = Collections.synchronizedMap(new HashMap<>());
 	private final Map<Object, Object> functionContext = Collections
 			.synchronizedMap(new HashMap<>());
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.hale.ui.service.population.internal
+
+import eu.esdihumboldt.hale.common.align.model.EntityDefinition
+import eu.esdihumboldt.hale.common.align.model.impl.PropertyEntityDefinition
+import eu.esdihumboldt.hale.common.align.model.impl.TypeEntityDefinition
+import eu.esdihumboldt.hale.common.instance.groovy.InstanceBuilder
+import eu.esdihumboldt.hale.common.instance.model.DataSet
+import eu.esdihumboldt.hale.common.instance.model.Instance
+import eu.esdihumboldt.hale.common.instance.model.InstanceCollection
+import eu.esdihumboldt.hale.common.schema.SchemaSpaceID
+import eu.esdihumboldt.hale.common.schema.groovy.SchemaBuilder
+import eu.esdihumboldt.hale.common.schema.model.Schema
+import eu.esdihumboldt.hale.common.schema.model.TypeDefinition
+import eu.esdihumboldt.hale.ui.common.service.population.Population
+import eu.esdihumboldt.hale.ui.service.entity.EntityDefinitionService
+import eu.esdihumboldt.hale.ui.service.instance.InstanceService
+
+/**
+ * Tests for counting the population with {@link PopulationServiceImpl}.
+ *
+ * @author Simon Templer
+ */
+class PopulationServiceImplTest extends GroovyTestCase {
+
+	private TypeDefinition cityType
+
+	private InstanceCollection instances
+
+	private PopulationServiceImpl service
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp()
+
+		Schema schema = new SchemaBuilder().schema('http://www.my.namespace/population') {
+			cityType = City {
+				name()
+				district(cardinality: '0..n') {
+					name()
+					population(Integer)
+				}
+			}
+		}
+
+		instances = new InstanceBuilder(types: schema).createCollection {
+			City {
+				name 'Darmstadt'
+				district {
+					name 'Bessungen'
+					population 14000
+				}
+				district { name 'Arheilgen' }
+			}
+			City {
+				name 'Frankfurt'
+				district {
+					name 'Bockenheim'
+					population 40000
+				}
+			}
+			City { name 'Musterstadt' }
+		}
+
+		EntityDefinitionService entityDefinitionService = [
+			addListener: { listener -> },
+			getTypeEntities: { TypeDefinition type, SchemaSpaceID ssid ->
+				[
+					new TypeEntityDefinition(type, ssid, null)
+				]
+			}
+		] as EntityDefinitionService
+		InstanceService instanceService = [
+			addListener: { listener -> }
+		] as InstanceService
+
+		service = new PopulationServiceImpl(instanceService, entityDefinitionService)
+	}
+
+	/**
+	 * Test adding and removing transformed instances.
+	 */
+	void testAddRemove() {
+		TypeEntityDefinition cityEntity = new TypeEntityDefinition(cityType, SchemaSpaceID.TARGET, null)
+		PropertyEntityDefinition propName = cityEntity.accessor().name as PropertyEntityDefinition
+		PropertyEntityDefinition propDistrict = cityEntity.accessor().district as PropertyEntityDefinition
+		PropertyEntityDefinition propPopulation = propDistrict.accessor().population as PropertyEntityDefinition
+
+		assertFalse service.hasPopulation(SchemaSpaceID.TARGET)
+
+		instances.each { service.addToPopulation(it, DataSet.TRANSFORMED) }
+
+		assertTrue service.hasPopulation(SchemaSpaceID.TARGET)
+		assertFalse service.hasPopulation(SchemaSpaceID.SOURCE)
+		verifyPopulation(cityEntity, 3, 3)
+		verifyPopulation(propName, 3, 3)
+		verifyPopulation(propDistrict, 3, 2)
+		verifyPopulation(propPopulation, 2, 2)
+
+		// remove Darmstadt
+		Instance darmstadt = instances.find { it.p.name.value() == 'Darmstadt' }
+		service.removeFromPopulation(darmstadt, DataSet.TRANSFORMED)
+
+		verifyPopulation(cityEntity, 2, 2)
+		verifyPopulation(propName, 2, 2)
+		verifyPopulation(propDistrict, 1, 1)
+		verifyPopulation(propPopulation, 1, 1)
+
+		// add it again
+		service.addToPopulation(darmstadt, DataSet.TRANSFORMED)
+
+		verifyPopulation(cityEntity, 3, 3)
+		verifyPopulation(propName, 3, 3)
+		verifyPopulation(propDistrict, 3, 2)
+		verifyPopulation(propPopulation, 2, 2)
+
+		// remove all
+		instances.each { service.removeFromPopulation(it, DataSet.TRANSFORMED) }
+
+		verifyPopulation(cityEntity, 0, 0)
+		verifyPopulation(propName, 0, 0)
+		verifyPopulation(propDistrict, 0, 0)
+		verifyPopulation(propPopulation, 0, 0)
+
+		service.resetPopulation(DataSet.TRANSFORMED)
+		assertFalse service.hasPopulation(SchemaSpaceID.TARGET)
+	}
+
+	private void verifyPopulation(EntityDefinition entityDef, int overallCount, int parentCount) {
+		Population pop = service.getPopulation(entityDef)
+		assertEquals overallCount, pop.getOverallCount()
+		assertEquals parentCount, pop.getParentsCount()
+	}
+
+}
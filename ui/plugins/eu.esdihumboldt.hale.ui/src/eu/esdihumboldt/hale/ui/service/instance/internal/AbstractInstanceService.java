@@ -16,6 +16,8 @@
 
 package eu.esdihumboldt.hale.ui.service.instance.internal;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArraySet;
 
@@ -94,31 +96,20 @@ public abstract class AbstractInstanceService implements InstanceService {
 
 			@Override
 			public void cellsRemoved(Iterable<Cell> cells) {
-				/*
-				 * TODO analyze cell if it is a type or property mapping
-				 * property mapping: retransform based on related type mappings
-				 * type mapping: removed transformed instances based on type
-				 * mapping
-				 */
-				retransform();
+				retransform(cells);
 			}
 
 			@Override
 			public void cellsReplaced(Map<? extends Cell, ? extends Cell> cells) {
-				/*
-				 * TODO only retransform with relevant cells (i.e. create a view
-				 * on the alignment)
-				 */
-				retransform();
+				// both the replaced and the new cells are relevant
+				List<Cell> changed = new ArrayList<Cell>(cells.keySet());
+				changed.addAll(cells.values());
+				retransform(changed);
 			}
 
 			@Override
 			public void cellsAdded(Iterable<Cell> cells) {
-				/*
-				 * TODO only retransform with relevant cells (i.e. create a view
-				 * on the alignment)
-				 */
-				retransform();
+				retransform(cells);
 			}
 
 			@Override
@@ -133,11 +124,7 @@ public abstract class AbstractInstanceService implements InstanceService {
 
 			@Override
 			public void cellsPropertyChanged(Iterable<Cell> cells, String propertyName) {
-				/*
-				 * TODO only retransform with relevant cells (i.e. create a view
-				 * on the alignment)
-				 */
-				retransform();
+				retransform(cells);
 			}
 
 		});
@@ -195,11 +182,41 @@ public abstract class AbstractInstanceService implements InstanceService {
 		}
 	}
 
+	/**
+	 * Retransform the instances affected by changes to the given cells.
+	 * Decides if a transformation should be done or not.
+	 * 
+	 * @param changedCells the cells that were added, removed, replaced or
+	 *            otherwise changed
+	 */
+	protected final void retransform(Iterable<? extends Cell> changedCells) {
+		// see retransform()
+		if (isTransformationEnabled() && !isTransforming) {
+			isTransforming = true;
+			try {
+				doRetransform(changedCells);
+			} finally {
+				isTransforming = false;
+			}
+		}
+	}
+
 	/**
 	 * Retransform all instances.
 	 */
 	protected abstract void doRetransform();
 
+	/**
+	 * Retransform the instances affected by changes to the given cells. The
+	 * default implementation retransforms all instances.
+	 * 
+	 * @param changedCells the cells that were added, removed, replaced or
+	 *            otherwise changed
+	 */
+	protected void doRetransform(Iterable<? extends Cell> changedCells) {
+		doRetransform();
+	}
+
 	/**
 	 * Clear the transformed instances
 	 */
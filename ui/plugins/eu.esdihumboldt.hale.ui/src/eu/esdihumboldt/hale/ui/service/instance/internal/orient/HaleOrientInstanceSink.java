@@ -18,6 +18,7 @@ package eu.esdihumboldt.hale.ui.service.instance.internal.orient;
 
 import org.eclipse.ui.PlatformUI;
 
+import eu.esdihumboldt.hale.common.align.transformation.service.CellTrackingInstanceSink;
 import eu.esdihumboldt.hale.common.instance.model.DataSet;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.orient.storage.LocalOrientDB;
@@ -25,11 +26,13 @@ import eu.esdihumboldt.hale.common.instance.orient.storage.OrientInstanceSink;
 import eu.esdihumboldt.hale.ui.common.service.population.PopulationService;
 
 /**
- * Instance sink based on a {@link LocalOrientDB}
+ * Instance sink based on a {@link LocalOrientDB}. Transformed instances record
+ * the type cell that created them, to allow partial retransformation.
  * 
  * @author Simon Templer
  */
-public class HaleOrientInstanceSink extends OrientInstanceSink {
+public class HaleOrientInstanceSink extends OrientInstanceSink
+		implements CellTrackingInstanceSink {
 
 	private final PopulationService ps;
 
@@ -20,8 +20,12 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -38,15 +42,20 @@ import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.operations.IWorkbenchOperationSupport;
 
+import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.metadata.schema.OSchema;
+import com.orientechnologies.orient.core.record.impl.ODocument;
 
 import de.fhg.igd.slf4jplus.ALogger;
 import de.fhg.igd.slf4jplus.ALoggerFactory;
 import de.fhg.igd.slf4jplus.ATransaction;
 import eu.esdihumboldt.hale.common.align.model.Alignment;
+import eu.esdihumboldt.hale.common.align.model.AlignmentUtil;
 import eu.esdihumboldt.hale.common.align.model.Cell;
+import eu.esdihumboldt.hale.common.align.model.Entity;
+import eu.esdihumboldt.hale.common.align.model.impl.PartialAlignment;
 import eu.esdihumboldt.hale.common.align.transformation.report.TransformationReport;
 import eu.esdihumboldt.hale.common.align.transformation.service.TransformationService;
 import eu.esdihumboldt.hale.common.core.io.ProgressMonitorIndicator;
@@ -54,6 +63,7 @@ import eu.esdihumboldt.hale.common.instance.model.DataSet;
 import eu.esdihumboldt.hale.common.instance.model.Filter;
 import eu.esdihumboldt.hale.common.instance.model.Instance;
 import eu.esdihumboldt.hale.common.instance.model.InstanceCollection;
+import eu.esdihumboldt.hale.common.instance.model.InstanceMetadata;
 import eu.esdihumboldt.hale.common.instance.model.InstanceReference;
 import eu.esdihumboldt.hale.common.instance.model.impl.FilteredInstanceCollection;
 import eu.esdihumboldt.hale.common.instance.model.impl.InstanceDecorator;
@@ -412,6 +422,134 @@ public class OrientInstanceService extends AbstractInstanceService {
 
 		boolean success = performTransformation();
 
+		transformationDone(success);
+	}
+
+	/**
+	 * Retransforms only the instances created by the type cells affected by
+	 * the changed cells. The transformed instances of these type cells are
+	 * removed and the type cells are executed again, all other transformed
+	 * instances are kept. If cells of the alignment use the execution context
+	 * all instances are retransformed.
+	 * 
+	 * @see AbstractInstanceService#doRetransform(Iterable)
+	 */
+	@Override
+	protected void doRetransform(Iterable<? extends Cell> changedCells) {
+		Alignment alignment = getAlignmentService().getAlignment();
+
+		if (PartialAlignment.usesExecutionContext(alignment)) {
+			/*
+			 * Cells share state through the execution context (e.g. sequential
+			 * IDs or collectors), transforming only some of the type cells
+			 * would yield different results.
+			 */
+			doRetransform();
+			return;
+		}
+
+		// determine the type cells affected by the change
+		Set<String> affectedCellIds = new HashSet<String>();
+		Set<TypeDefinition> affectedTypes = new HashSet<TypeDefinition>();
+		for (Cell cell : changedCells) {
+			Collection<? extends Cell> typeCells;
+			if (AlignmentUtil.isTypeCell(cell)) {
+				typeCells = Collections.singleton(cell);
+			}
+			else {
+				// type cells the property cell is (or was) associated to
+				typeCells = alignment.getTypeCells(cell);
+			}
+
+			for (Cell typeCell : typeCells) {
+				affectedCellIds.add(typeCell.getId());
+				for (Entity target : typeCell.getTarget().values()) {
+					affectedTypes.add(target.getDefinition().getType());
+				}
+			}
+		}
+
+		Collection<? extends Cell> activeTypeCells = alignment.getActiveTypeCells();
+		List<Cell> transformCells = new ArrayList<Cell>();
+		for (Cell typeCell : activeTypeCells) {
+			if (affectedCellIds.contains(typeCell.getId())) {
+				transformCells.add(typeCell);
+			}
+		}
+
+		if (transformCells.size() == activeTypeCells.size()) {
+			// all type cells are affected - clearing everything is faster
+			doRetransform();
+			return;
+		}
+
+		notifyDatasetAboutToChange(DataSet.TRANSFORMED);
+
+		removeTransformedInstances(affectedCellIds, affectedTypes);
+
+		boolean success = transformCells.isEmpty()
+				|| performTransformation(new PartialAlignment(alignment, transformCells));
+
+		transformationDone(success);
+	}
+
+	/**
+	 * Remove the transformed instances that were created by the given type
+	 * cells and update the population accordingly.
+	 * 
+	 * @param cellIds the IDs of the type cells
+	 * @param types the target types of the type cells
+	 */
+	private void removeTransformedInstances(Set<String> cellIds, Set<TypeDefinition> types) {
+		PopulationService ps = PlatformUI.getWorkbench().getService(PopulationService.class);
+
+		DatabaseReference<ODatabaseDocumentTx> dbref = transformed.openWrite();
+		try {
+			ODatabaseDocumentTx db = dbref.getDatabase();
+			ODatabaseRecordThreadLocal.INSTANCE.set(db);
+			OSchema schema = db.getMetadata().getSchema();
+
+			for (TypeDefinition type : types) {
+				String className = ONamespaceMap.encode(type.getName());
+				if (schema.getClass(className) == null) {
+					// no instances of the type
+					continue;
+				}
+
+				List<ODocument> remove = new ArrayList<ODocument>();
+				Iterator<ODocument> it = db.browseClass(className);
+				while (it.hasNext()) {
+					ODocument doc = it.next();
+					OInstance instance = new OInstance(doc, type, db, DataSet.TRANSFORMED);
+					/*
+					 * Only inserted instances are associated to a cell,
+					 * substructures are stored as part of their parent
+					 * document.
+					 */
+					if (instance.isInserted()
+							&& cellIds.contains(InstanceMetadata.getCellID(instance))) {
+						if (ps != null) {
+							ps.removeFromPopulation(instance, DataSet.TRANSFORMED);
+						}
+						remove.add(doc);
+					}
+				}
+
+				for (ODocument doc : remove) {
+					doc.delete();
+				}
+			}
+		} finally {
+			dbref.dispose();
+		}
+	}
+
+	/**
+	 * Handle the result of a transformation run.
+	 * 
+	 * @param success if the transformation was successful
+	 */
+	private void transformationDone(boolean success) {
 		if (!success) {
 			// there may be some (inconsistent) transformed instances from a
 			// canceled transformation
@@ -432,6 +570,17 @@ public class OrientInstanceService extends AbstractInstanceService {
 	 * @return if the transformation was successful
 	 */
 	protected boolean performTransformation() {
+		return performTransformation(getAlignmentService().getAlignment());
+	}
+
+	/**
+	 * Perform the transformation with the given alignment. Transformed
+	 * instances are added to the existing transformed instances.
+	 * 
+	 * @param alignment the alignment to use for the transformation
+	 * @return if the transformation was successful
+	 */
+	protected boolean performTransformation(final Alignment alignment) {
 		final TransformationService ts = getTransformationService();
 		if (ts == null) {
 			log.userError("No transformation service available");
@@ -446,7 +595,6 @@ public class OrientInstanceService extends AbstractInstanceService {
 			public void run(IProgressMonitor monitor)
 					throws InvocationTargetException, InterruptedException {
 				try {
-					Alignment alignment = getAlignmentService().getAlignment();
 					if (alignment.getActiveTypeCells().isEmpty()) {
 						// early exit if there are no type relations
 						return;
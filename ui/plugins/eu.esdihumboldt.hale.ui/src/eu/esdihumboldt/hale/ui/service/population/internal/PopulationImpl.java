@@ -68,14 +68,24 @@ public class PopulationImpl implements Population {
 		}
 	}
 
+	/**
+	 * Decrease the parents count.
+	 */
+	public void decreaseParents() {
+		if (parents != UNKNOWN && parents > 0) {
+			parents--;
+		}
+	}
+
 	/**
 	 * Increase the overall count.
 	 * 
-	 * @param count the number by which to increase the overall count
+	 * @param count the number by which to increase the overall count, may
+	 *            be negative to decrease the overall count
 	 */
 	public void increaseOverall(int count) {
 		if (overall == UNKNOWN) {
-			overall = count;
+			overall = Math.max(0, count);
 		}
 		else {
 			overall += count;
@@ -93,9 +93,19 @@ public class PopulationServiceImpl extends AbstractPopulationService implements
 	 * @param instanceService the instance service
 	 */
 	public PopulationServiceImpl(final InstanceService instanceService) {
+		this(instanceService,
+				PlatformUI.getWorkbench().getService(EntityDefinitionService.class));
+	}
 
-		entityDefinitionService = PlatformUI.getWorkbench()
-				.getService(EntityDefinitionService.class);
+	/**
+	 * Create a population service instance.
+	 * 
+	 * @param instanceService the instance service
+	 * @param entityDefinitionService the entity definition service
+	 */
+	public PopulationServiceImpl(final InstanceService instanceService,
+			EntityDefinitionService entityDefinitionService) {
+		this.entityDefinitionService = entityDefinitionService;
 
 		entityDefinitionService.addListener(new EntityDefinitionServiceListener() {
 
@@ -267,6 +277,29 @@ public class PopulationServiceImpl extends AbstractPopulationService implements
 		}
 	}
 
+	/**
+	 * @see PopulationService#removeFromPopulation(Instance, DataSet)
+	 */
+	@Override
+	public void removeFromPopulation(Instance instance, DataSet dataSet) {
+		if (dataSet == null) {
+			throw new IllegalArgumentException("Invalid data set specified.");
+		}
+		SchemaSpaceID schemaSpace = (dataSet == DataSet.TRANSFORMED) ? (SchemaSpaceID.TARGET)
+				: (SchemaSpaceID.SOURCE);
+
+		// subtract for each Type definitions of instance type
+		Collection<? extends TypeEntityDefinition> typeDefinitions = entityDefinitionService
+				.getTypeEntities(instance.getDefinition(), schemaSpace);
+
+		for (TypeEntityDefinition def : typeDefinitions) {
+			if (def.getFilter() == null || def.getFilter().match(instance)) {
+				increase(def, -1);
+				populationCount.removeFromPopulation(instance, def);
+			}
+		}
+	}
+
 	/**
 	 * @see PopulationService#resetPopulation(DataSet)
 	 */
@@ -355,12 +388,14 @@ public class PopulationServiceImpl extends AbstractPopulationService implements
 
 			PopulationImpl pop = population.get(entity);
 			if (pop == null) {
-				pop = new PopulationImpl(values != 0 ? 1 : 0, values);
+				pop = new PopulationImpl(values > 0 ? 1 : 0, Math.max(0, values));
 				population.put(entity, pop);
 			}
 			else {
-				if (values != 0)
+				if (values > 0)
 					pop.increaseParents();
+				else if (values < 0)
+					pop.decreaseParents();
 				pop.increaseOverall(values);
 			}
 
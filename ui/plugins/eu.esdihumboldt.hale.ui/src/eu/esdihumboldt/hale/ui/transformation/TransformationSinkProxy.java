@@ -115,6 +115,22 @@ public class TransformationSinkProxy implements TransformationSink {
 		return instanceCollection;
 	}
 
+	@Override
+	public long getInstanceCount() {
+		if (sink == null) {
+			return -1;
+		}
+		return sink.getInstanceCount();
+	}
+
+	@Override
+	public long getValidationNanos() {
+		if (sink == null) {
+			return 0;
+		}
+		return sink.getValidationNanos();
+	}
+
 	@Override
 	public void dispose() {
 		sink.dispose();
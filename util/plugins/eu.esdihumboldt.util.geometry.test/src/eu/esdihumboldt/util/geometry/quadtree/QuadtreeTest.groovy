@@ -95,6 +95,47 @@ class QuadtreeTest {
 		assertEquals(1, keys.size())
 	}
 
+	/**
+	 * Test if building a quadtree in bulk yields the same tiles as adding the
+	 * nodes one by one, with enough nodes to build sub-trees in parallel.
+	 */
+	@Test
+	void testBulkBuild() throws Exception {
+		def b = new QuadtreeBuilder<Point, Integer>()
+		def random = new Random(42)
+		for (int i = 0; i < 50000; i++) {
+			b.add(gfac.createPoint(c(random.nextDouble() * 360 - 180, random.nextDouble() * 180 - 90)), i)
+		}
+		// duplicate points that cannot be separated
+		for (int i = 0; i < 20; i++) {
+			b.add(gfac.createPoint(c(1d, 1d)), -1)
+		}
+
+		def envelope = new Envelope(-180d, 180d, -90d, 90d)
+		def bulk = b.build(10, envelope)
+
+		def incremental = new FixedBoundaryQuadtree<Integer>(envelope, 10)
+		b.contents.each { incremental.add((QuadtreeNode<Point, Integer>) (QuadtreeNode) it) }
+
+		assertEquals(tiles(incremental), tiles(bulk))
+		assertEquals(incremental.depth(), bulk.depth())
+	}
+
+	private Map<String, Set<Integer>> tiles(FixedBoundaryQuadtree<Integer> qt) {
+		Map<String, Set<Integer>> result = [:]
+		qt.traverse(new QuadtreeNodeVisitor<Integer>() {
+					void visit(Geometry geometry, Integer data, String key) {
+						Set<Integer> tile = result.get(key)
+						if (tile == null) {
+							tile = new HashSet<Integer>()
+							result.put(key, tile)
+						}
+						tile.add(data)
+					}
+				})
+		result
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	void testInvalidMaxNodes() throws Exception {
 		def b = new QuadtreeBuilder<Point, String>()
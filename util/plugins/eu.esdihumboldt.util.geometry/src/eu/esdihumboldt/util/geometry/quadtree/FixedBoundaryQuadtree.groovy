@@ -18,6 +18,9 @@ package eu.esdihumboldt.util.geometry.quadtree
 import com.vividsolutions.jts.geom.Envelope
 import com.vividsolutions.jts.geom.Point
 
+import java.util.function.IntConsumer
+import java.util.stream.IntStream
+
 import groovy.transform.CompileStatic
 
 /**
@@ -29,6 +32,12 @@ import groovy.transform.CompileStatic
 @CompileStatic
 class FixedBoundaryQuadtree<T> implements Quadtree<Point, T> {
 
+	/**
+	 * Minimum number of nodes added at once for which the sub-trees are
+	 * populated in parallel
+	 */
+	private static final int PARALLEL_THRESHOLD = 10000
+
 	/**
 	 * Maximum number of nodes this tree can hold before it is split up
 	 */
@@ -100,14 +109,8 @@ class FixedBoundaryQuadtree<T> implements Quadtree<Point, T> {
 			addToSubtree(p)
 		}
 		else {
-			if (nodes.size() == maxNodes) {
-				double distX = maxX - minX
-				double distY = maxY - minY
-
-				northWest = new FixedBoundaryQuadtree(minX, minY + distY / 2d, minX + distX / 2d, maxY, maxNodes)
-				northEast = new FixedBoundaryQuadtree(minX + distX / 2d, minY + distY / 2d, maxX, maxY, maxNodes)
-				southWest = new FixedBoundaryQuadtree(minX, minY, minX + distX / 2d, minY + distY / 2d, maxNodes)
-				southEast = new FixedBoundaryQuadtree(minX + distX / 2d, minY, maxX, minY + distY / 2d, maxNodes)
+			if (nodes.size() == maxNodes && canSplit()) {
+				split()
 
 				addToSubtree(p)
 				nodes.each { n -> addToSubtree(n) }
@@ -119,6 +122,79 @@ class FixedBoundaryQuadtree<T> implements Quadtree<Point, T> {
 		}
 	}
 
+	/**
+	 * Add multiple nodes to the quadtree. The result is the same as adding
+	 * the nodes one by one, but each sub-tree is populated only once, and in
+	 * parallel for large numbers of nodes.
+	 * 
+	 * @param toAdd the nodes to add
+	 */
+	void addAll(List<QuadtreeNode<Point, T>> toAdd) {
+		List<QuadtreeNode<Point, T>> candidates = toAdd
+		if (!hasSubtree()) {
+			if (nodes.size() + candidates.size() <= maxNodes || !canSplit()) {
+				nodes.addAll(candidates)
+				return
+			}
+
+			split()
+			List<QuadtreeNode<Point, T>> all = new ArrayList<>(nodes.size() + candidates.size())
+			all.addAll(nodes)
+			all.addAll(candidates)
+			nodes.clear()
+			candidates = all
+		}
+
+		final List<List<QuadtreeNode<Point, T>>> quadrants = new ArrayList<>(4)
+		for (int i = 0; i < 4; i++) {
+			quadrants.add(new ArrayList<QuadtreeNode<Point, T>>())
+		}
+		for (QuadtreeNode<Point, T> n : candidates) {
+			quadrants.get(quadrant(n)).add(n)
+		}
+
+		final List<FixedBoundaryQuadtree<T>> subtrees = [
+			northWest,
+			northEast,
+			southWest,
+			southEast] as List<FixedBoundaryQuadtree<T>>
+		if (candidates.size() >= PARALLEL_THRESHOLD) {
+			IntStream.range(0, 4).parallel().forEach({ int q ->
+				subtrees.get(q).addAll(quadrants.get(q))
+			} as IntConsumer)
+		}
+		else {
+			for (int q = 0; q < 4; q++) {
+				subtrees.get(q).addAll(quadrants.get(q))
+			}
+		}
+	}
+
+	/**
+	 * Determines if the tree can be split up. This is not the case if the
+	 * envelope cannot be further divided due to the limited precision.
+	 * 
+	 * @return if the tree can be split up
+	 */
+	private boolean canSplit() {
+		double midX = minX + (maxX - minX) / 2d
+		double midY = minY + (maxY - minY) / 2d
+		(midX > minX && midX < maxX) || (midY > minY && midY < maxY)
+	}
+
+	/**
+	 * Create the sub-trees.
+	 */
+	private void split() {
+		double distX = maxX - minX
+		double distY = maxY - minY
+
+		northWest = new FixedBoundaryQuadtree(minX, minY + distY / 2d, minX + distX / 2d, maxY, maxNodes)
+		northEast = new FixedBoundaryQuadtree(minX + distX / 2d, minY + distY / 2d, maxX, maxY, maxNodes)
+		southWest = new FixedBoundaryQuadtree(minX, minY, minX + distX / 2d, minY + distY / 2d, maxNodes)
+		southEast = new FixedBoundaryQuadtree(minX + distX / 2d, minY, maxX, minY + distY / 2d, maxNodes)
+	}
+
 	@Override
 	boolean hasSubtree() {
 		northWest
@@ -159,6 +235,29 @@ class FixedBoundaryQuadtree<T> implements Quadtree<Point, T> {
 	}
 
 	private void addToSubtree(QuadtreeNode<Point, T> n) {
+		switch (quadrant(n)) {
+			case 0:
+				northWest.add(n)
+				break
+			case 1:
+				northEast.add(n)
+				break
+			case 2:
+				southWest.add(n)
+				break
+			default:
+				southEast.add(n)
+		}
+	}
+
+	/**
+	 * Determine the quadrant a node belongs to.
+	 * 
+	 * @param n the node
+	 * @return 0 for north west, 1 for north east, 2 for south west and 3 for
+	 *   south east
+	 */
+	private int quadrant(QuadtreeNode<Point, T> n) {
 		double distX = maxX - minX
 		double distY = maxY - minY
 
@@ -166,20 +265,20 @@ class FixedBoundaryQuadtree<T> implements Quadtree<Point, T> {
 			// south
 			if (n.geom.x < minX + distX / 2) {
 				// west
-				southWest.add(n)
+				2
 			}
 			else {
-				southEast.add(n)
+				3
 			}
 		}
 		else {
 			// north
 			if (n.geom.x < minX + distX / 2) {
 				// west
-				northWest.add(n)
+				0
 			}
 			else {
-				northEast.add(n)
+				1
 			}
 		}
 	}
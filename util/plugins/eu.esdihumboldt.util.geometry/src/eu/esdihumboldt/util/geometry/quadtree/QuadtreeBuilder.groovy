@@ -17,7 +17,7 @@ package eu.esdihumboldt.util.geometry.quadtree
 
 import com.vividsolutions.jts.geom.Envelope
 import com.vividsolutions.jts.geom.Geometry
-import com.vividsolutions.jts.geom.GeometryFactory
+import com.vividsolutions.jts.geom.Point
 
 import groovy.transform.CompileStatic
 
@@ -37,7 +37,8 @@ class QuadtreeBuilder<G extends Geometry, T> {
 
 	/**
 	 * Build a FixedBoundaryQuadtree with an envelope determined by the 
-	 * geometries added to this builder.
+	 * geometries added to this builder. For large numbers of geometries the
+	 * quadtree is built using multiple threads.
 	 * 
 	 * @param maxNodes Maximum number of nodes per tile
 	 * @return the quadtree
@@ -47,9 +48,10 @@ class QuadtreeBuilder<G extends Geometry, T> {
 			throw new IllegalArgumentException("Maximum number of nodes must be at least 1")
 		}
 
-		def geometries = contents.stream().map { it.geom }.collect() as Geometry[]
-		def gc = new GeometryFactory().createGeometryCollection(geometries)
-		def env = gc.getEnvelopeInternal()
+		def env = new Envelope()
+		for (QuadtreeNode<G, T> node : contents) {
+			env.expandToInclude(node.geom.getEnvelopeInternal())
+		}
 
 		if (envelope) {
 			if (!envelope.covers(env)) {
@@ -58,8 +60,8 @@ class QuadtreeBuilder<G extends Geometry, T> {
 			env = envelope
 		}
 
-		def qt = new FixedBoundaryQuadtree(env, maxNodes)
-		contents.each { qt.add(it) }
+		def qt = new FixedBoundaryQuadtree<T>(env, maxNodes)
+		qt.addAll((List<QuadtreeNode<Point, T>>) (List) contents)
 
 		qt
 	}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.util.groovy.collector
+
+import static org.junit.Assert.*
+
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import org.junit.Test
+
+import eu.esdihumboldt.util.groovy.collector.CollectorValues.MemoryBudget
+
+/**
+ * Tests for collector values moved to disk.
+ *
+ * @author Simon Templer
+ */
+class CollectorValuesTest {
+
+	@Test
+	void testSpillOrder() {
+		def budget = new MemoryBudget(1024)
+		def values = new CollectorValues<Object>(budget, 0)
+
+		def expected = []
+		1000.times {
+			expected << "id-$it".toString()
+			expected << it
+			expected << (it as long)
+			expected << URI.create("urn:test:$it")
+		}
+		expected << null
+		expected << 'Grüße ☃'
+		expected << 1.5
+		expected << new BigDecimal('12.345')
+
+		values.addAll(expected)
+
+		assertTrue(budget.used <= 1024)
+		assertEquals(expected.size(), values.size())
+		assertEquals(expected, values.toList())
+		assertEquals('id-0', values.first())
+	}
+
+	@Test
+	void testKeepUnsupported() {
+		def budget = new MemoryBudget(0)
+		def values = new CollectorValues<Object>(budget, 0)
+
+		def other = new Object()
+		values.add(other)
+		values.add('a')
+		values.add(other)
+		values.add('b')
+
+		// only the unsupported values stay in memory, the order is retained
+		assertEquals([other, 'a', other, 'b'], values.toList())
+		assertSame(other, values.first())
+		def used = budget.used
+		assertTrue(used > 0)
+
+		// values after the unsupported values are still moved to disk
+		100.times { values.add("value $it".toString()) }
+		assertEquals(used, budget.used)
+		assertEquals(104, values.size())
+
+		assertEquals([other, 'a', other, 'b'], values.drain().take(4))
+		assertTrue(values.isEmpty())
+		assertEquals(0, budget.used)
+		assertNull(values.first())
+	}
+
+	@Test
+	void testSpillAfterClear() {
+		def budget = new MemoryBudget(0)
+		def values = new CollectorValues<Object>(budget, 0)
+
+		values.add(new Object())
+		10.times { values.add("value $it".toString()) }
+		assertTrue(budget.used > 0)
+
+		values.clear()
+		assertEquals(0, budget.used)
+		10.times { values.add("value $it".toString()) }
+		assertEquals(0, budget.used)
+		assertEquals((0..<10).collect { "value $it".toString() }, values.toList())
+	}
+
+	@Test
+	void testCharSequences() {
+		def budget = new MemoryBudget(0)
+		def values = new CollectorValues<Object>(budget, 0)
+
+		def name = 'hale'
+		values.add("gstring $name")
+		values.add(new StringBuilder('builder'))
+
+		assertEquals(['gstring hale', 'builder'], values.toList())
+		values.toList().each { assertTrue(it instanceof String) }
+		assertEquals(0, budget.used)
+	}
+
+	@Test
+	void testDeleteOnClear() {
+		def values = new CollectorValues<Object>(new MemoryBudget(0), 0)
+		10.times { values.add("value $it".toString()) }
+
+		File file = values.@spillFile
+		assertTrue(file.exists())
+
+		values.clear()
+		assertFalse(file.exists())
+	}
+
+	@Test
+	void testCollectorClose() {
+		def c = new StatsCollector()
+		c.ids << 'a'
+		c.names << 'b'
+
+		// child collectors share the budget
+		MemoryBudget budget = c.@values.@budget
+		assertSame(budget, c.ids.@values.@budget)
+		assertSame(budget, c.names.@values.@budget)
+		assertTrue(budget.used > 0)
+
+		c.close()
+		assertEquals(0, budget.used)
+		assertTrue((c as Map).isEmpty())
+	}
+
+	@Test
+	void testSetAfterSpill() {
+		def budget = new MemoryBudget(0)
+		def values = new CollectorValues<Object>(budget, 0)
+
+		100.times { values.add("value $it".toString()) }
+		values.set(42)
+
+		assertEquals([42], values.toList())
+		assertEquals(42, values.first())
+	}
+
+	@Test
+	void testConcurrentAdd() {
+		def values = new CollectorValues<Object>(new MemoryBudget(16 * 1024), 1024)
+
+		def executor = Executors.newFixedThreadPool(4)
+		4.times { thread ->
+			executor.submit {
+				10000.times { values.add("$thread-$it".toString()) }
+			}
+		}
+		executor.shutdown()
+		assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES))
+
+		def list = values.toList()
+		assertEquals(40000, values.size())
+		assertEquals(40000, list.size())
+		assertEquals(40000, list.toSet().size())
+
+		// values of each thread retain their order
+		4.times { thread ->
+			def ids = list.findAll { it.startsWith("$thread-") }.collect { (it - "$thread-") as int }
+			assertEquals((0..<10000).toList(), ids)
+		}
+	}
+
+	@Test
+	void testCollector() {
+		def c = new StatsCollector()
+		c.ids << 'a'
+		c.ids << 'b'
+
+		assertEquals(['a', 'b'], c.ids.values())
+		assertEquals('a', c.ids.value())
+		assertEquals(['a', 'b'], c.ids.clear())
+		assertTrue(c.ids.values().isEmpty())
+	}
+
+	@Test
+	void testCollectorNullKey() {
+		def c = new StatsCollector()
+		c.at(null) << 'a'
+		c.at(null) << 'b'
+		c.ids << 'c'
+
+		assertEquals(['a', 'b'], c.at(null).values())
+		assertEquals([null, 'ids'] as Set, (c as Map).keySet())
+
+		def keys = [] as Set
+		c.each { key, values -> keys << key }
+		assertEquals([null, 'ids'] as Set, keys)
+	}
+
+}
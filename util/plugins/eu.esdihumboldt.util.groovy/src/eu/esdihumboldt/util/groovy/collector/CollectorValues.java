@@ -0,0 +1,638 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.util.groovy.collector;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Values of a collector.<br>
+ * <br>
+ * Values are appended without locking. Character sequences like Groovy
+ * strings are stored as strings, which are held in a compact form while in
+ * memory. If the values of all collectors sharing a memory budget exceed the
+ * budget, a collector that is appended to moves its values to a temporary
+ * file. Only strings, numbers, booleans and URIs are moved to disk, other
+ * values stay in memory. The order of the values is retained.<br>
+ * <br>
+ * The temporary file is deleted and the memory budget is released when the
+ * values are cleared.<br>
+ * <br>
+ * The memory budget in megabytes can be configured with the system property
+ * {@value #SYSTEM_PROPERTY_MEMORY} or the environment variable
+ * {@value #ENV_MEMORY}, by default an eighth of the maximum heap size is used.
+ *
+ * @author Simon Templer
+ * @param <V> the value type
+ */
+public class CollectorValues<V> {
+
+	/**
+	 * Name of the system property specifying the memory budget for collector
+	 * values in megabytes.
+	 */
+	public static final String SYSTEM_PROPERTY_MEMORY = "hale.collector.memory";
+
+	/**
+	 * Name of the environment variable specifying the memory budget for
+	 * collector values in megabytes, if the system property is not set.
+	 */
+	public static final String ENV_MEMORY = "HALE_COLLECTOR_MEMORY";
+
+	/**
+	 * Memory budget shared by collectors, usually by a collector and its
+	 * child collectors.
+	 */
+	public static class MemoryBudget {
+
+		private final long limit;
+
+		private final AtomicLong used = new AtomicLong();
+
+		/**
+		 * Create a memory budget with the configured limit.
+		 *
+		 * @see CollectorValues#SYSTEM_PROPERTY_MEMORY
+		 * @see CollectorValues#ENV_MEMORY
+		 */
+		public MemoryBudget() {
+			this(determineLimit());
+		}
+
+		/**
+		 * Create a memory budget.
+		 *
+		 * @param limit the limit in bytes
+		 */
+		public MemoryBudget(long limit) {
+			this.limit = limit;
+		}
+
+		/**
+		 * Add to the used memory.
+		 *
+		 * @param size the number of bytes, may be negative
+		 * @return if the budget is exceeded
+		 */
+		public boolean add(long size) {
+			return used.addAndGet(size) > limit;
+		}
+
+		/**
+		 * @return the estimated number of bytes in use
+		 */
+		public long getUsed() {
+			return used.get();
+		}
+
+	}
+
+	/**
+	 * Minimum memory in bytes held by a collector before its values are moved
+	 * to disk, so small collectors don't each create a file.
+	 */
+	private static final long DEFAULT_MIN_SPILL = 1024 * 1024;
+
+	/**
+	 * Placeholder for <code>null</code> values, which the queue doesn't
+	 * support.
+	 */
+	private static final Object NULL = new Object();
+
+	private static final byte TYPE_NULL = 0;
+	private static final byte TYPE_STRING = 1;
+	private static final byte TYPE_INTEGER = 2;
+	private static final byte TYPE_LONG = 3;
+	private static final byte TYPE_DOUBLE = 4;
+	private static final byte TYPE_FLOAT = 5;
+	private static final byte TYPE_SHORT = 6;
+	private static final byte TYPE_BYTE = 7;
+	private static final byte TYPE_BOOLEAN = 8;
+	private static final byte TYPE_BIG_DECIMAL = 9;
+	private static final byte TYPE_BIG_INTEGER = 10;
+	private static final byte TYPE_URI = 11;
+	/**
+	 * Type of a value that cannot be written and is kept in memory.
+	 */
+	private static final byte TYPE_KEPT = 12;
+
+	/**
+	 * Marker for a value kept in memory, returned when reading the values.
+	 */
+	private static final Object KEPT = new Object();
+
+	/**
+	 * String consisting only of ISO-8859-1 characters, held with one byte per
+	 * character.
+	 */
+	private static final class CompactString {
+
+		private final byte[] bytes;
+
+		private CompactString(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		@Override
+		public String toString() {
+			return new String(bytes, StandardCharsets.ISO_8859_1);
+		}
+
+	}
+
+	/**
+	 * The memory budget, only changed while there are no values.
+	 */
+	private MemoryBudget budget;
+
+	private final long minSpill;
+
+	private final ConcurrentLinkedQueue<Object> memory = new ConcurrentLinkedQueue<>();
+
+	private final AtomicLong memorySize = new AtomicLong();
+
+	private final AtomicLong count = new AtomicLong();
+
+	/*
+	 * The following fields are guarded by this.
+	 */
+
+	private File spillFile;
+
+	private long spilled;
+
+	private boolean spillFailed;
+
+	/**
+	 * Values moved to disk that cannot be written, kept in memory in the
+	 * order of the placeholders in the file.
+	 */
+	private final List<Object> kept = new ArrayList<>();
+
+	private long keptSize;
+
+	/**
+	 * Create an empty value store with its own memory budget.
+	 */
+	public CollectorValues() {
+		this(new MemoryBudget());
+	}
+
+	/**
+	 * Create an empty value store.
+	 *
+	 * @param budget the memory budget
+	 */
+	public CollectorValues(MemoryBudget budget) {
+		this(budget, DEFAULT_MIN_SPILL);
+	}
+
+	/**
+	 * Create an empty value store.
+	 *
+	 * @param budget the memory budget
+	 * @param minSpill the minimum memory in bytes held before values are moved
+	 *            to disk
+	 */
+	CollectorValues(MemoryBudget budget, long minSpill) {
+		this.budget = budget;
+		this.minSpill = minSpill;
+	}
+
+	/**
+	 * Add a value.
+	 *
+	 * @param value the value to add
+	 */
+	public void add(V value) {
+		Object entry = encode(value);
+		long size = estimateSize(entry);
+
+		memory.offer(entry);
+		count.incrementAndGet();
+		long held = memorySize.addAndGet(size);
+
+		if (budget.add(size) && held >= minSpill) {
+			spill();
+		}
+	}
+
+	/**
+	 * Use the memory budget of other values. Must be called before any values
+	 * are added.
+	 *
+	 * @param other the values to share the memory budget with
+	 */
+	void shareBudget(CollectorValues<?> other) {
+		if (count.get() != 0) {
+			throw new IllegalStateException("The memory budget can only be changed when empty");
+		}
+		budget = other.budget;
+	}
+
+	/**
+	 * Add the given values.
+	 *
+	 * @param values the values to add
+	 */
+	public void addAll(Collection<? extends V> values) {
+		for (V value : values) {
+			add(value);
+		}
+	}
+
+	/**
+	 * Replace all values by the given value.
+	 *
+	 * @param value the value to set
+	 */
+	public synchronized void set(V value) {
+		clear();
+		add(value);
+	}
+
+	/**
+	 * @return the number of values
+	 */
+	public int size() {
+		return (int) Math.max(0, Math.min(Integer.MAX_VALUE, count.get()));
+	}
+
+	/**
+	 * @return if there are no values
+	 */
+	public boolean isEmpty() {
+		return count.get() <= 0;
+	}
+
+	/**
+	 * Get the first value.
+	 *
+	 * @return the first value or <code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized V first() {
+		if (spilled > 0) {
+			try (DataInputStream in = openSpillFile()) {
+				Object value = read(in);
+				return (V) ((value == KEPT) ? (decode(kept.get(0))) : (value));
+			} catch (IOException e) {
+				throw new IllegalStateException("Failed to read collector values from disk", e);
+			}
+		}
+
+		Object entry = memory.peek();
+		return (entry == null) ? null : decode(entry);
+	}
+
+	/**
+	 * Get the values.
+	 *
+	 * @return a copy of the values
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized List<V> toList() {
+		List<V> result = new ArrayList<>(size());
+
+		if (spilled > 0) {
+			try (DataInputStream in = openSpillFile()) {
+				int keptIndex = 0;
+				for (long i = 0; i < spilled; i++) {
+					Object value = read(in);
+					if (value == KEPT) {
+						result.add(decode(kept.get(keptIndex++)));
+					}
+					else {
+						result.add((V) value);
+					}
+				}
+			} catch (IOException e) {
+				throw new IllegalStateException("Failed to read collector values from disk", e);
+			}
+		}
+
+		for (Object entry : memory) {
+			result.add(decode(entry));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Remove all values and return them.
+	 *
+	 * @return the removed values
+	 */
+	public synchronized List<V> drain() {
+		List<V> result = toList();
+		clear();
+		return result;
+	}
+
+	/**
+	 * Remove all values.
+	 */
+	public synchronized void clear() {
+		long removedSize = 0;
+		long removed = 0;
+		Object entry;
+		while ((entry = memory.poll()) != null) {
+			removedSize += estimateSize(entry);
+			removed++;
+		}
+		memorySize.addAndGet(-removedSize);
+		budget.add(-(removedSize + keptSize));
+
+		count.addAndGet(-(removed + spilled));
+		spilled = 0;
+		kept.clear();
+		keptSize = 0;
+		if (spillFile != null) {
+			spillFile.delete();
+			spillFile = null;
+		}
+		spillFailed = false;
+	}
+
+	/**
+	 * Move values from memory to disk, beginning with the oldest. Values that
+	 * cannot be written are kept in memory, with a placeholder in the file
+	 * that retains their position. Values are only removed from memory once
+	 * they were written to disk successfully.
+	 */
+	private synchronized void spill() {
+		if (spillFailed || memorySize.get() < minSpill) {
+			// another thread moved the values already
+			return;
+		}
+
+		long written = 0;
+		List<Object> newlyKept = new ArrayList<>();
+		try {
+			if (spillFile == null) {
+				spillFile = File.createTempFile("hale-collector", ".bin");
+				// only a fallback for values that are never cleared
+				spillFile.deleteOnExit();
+			}
+
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(spillFile, true)))) {
+				// values are only removed while holding the lock, others are
+				// only appended
+				for (Object entry : memory) {
+					if (!write(out, entry)) {
+						out.writeByte(TYPE_KEPT);
+						newlyKept.add(entry);
+					}
+					written++;
+				}
+			}
+		} catch (IOException e) {
+			// values that were not written completely are ignored when reading,
+			// but the file may not be appended to anymore
+			spillFailed = true;
+			return;
+		}
+
+		long movedSize = 0;
+		for (long i = 0; i < written; i++) {
+			movedSize += estimateSize(memory.poll());
+		}
+		long newlyKeptSize = 0;
+		for (Object entry : newlyKept) {
+			newlyKeptSize += estimateSize(entry);
+		}
+		kept.addAll(newlyKept);
+		keptSize += newlyKeptSize;
+		spilled += written;
+		memorySize.addAndGet(-movedSize);
+		// kept values still use memory
+		budget.add(-(movedSize - newlyKeptSize));
+	}
+
+	private DataInputStream openSpillFile() throws IOException {
+		return new DataInputStream(new BufferedInputStream(new FileInputStream(spillFile)));
+	}
+
+	/**
+	 * Write a value entry.
+	 *
+	 * @param out the output to write to
+	 * @param entry the value entry
+	 * @return <code>true</code> if the entry was written, <code>false</code> if
+	 *         the entry type is not supported
+	 * @throws IOException if writing the entry fails
+	 */
+	private static boolean write(DataOutputStream out, Object entry) throws IOException {
+		if (entry == NULL) {
+			out.writeByte(TYPE_NULL);
+		}
+		else if (entry instanceof CompactString) {
+			writeString(out, ((CompactString) entry).toString());
+		}
+		else if (entry instanceof String) {
+			writeString(out, (String) entry);
+		}
+		else if (entry instanceof Integer) {
+			out.writeByte(TYPE_INTEGER);
+			out.writeInt((Integer) entry);
+		}
+		else if (entry instanceof Long) {
+			out.writeByte(TYPE_LONG);
+			out.writeLong((Long) entry);
+		}
+		else if (entry instanceof Double) {
+			out.writeByte(TYPE_DOUBLE);
+			out.writeDouble((Double) entry);
+		}
+		else if (entry instanceof Float) {
+			out.writeByte(TYPE_FLOAT);
+			out.writeFloat((Float) entry);
+		}
+		else if (entry instanceof Short) {
+			out.writeByte(TYPE_SHORT);
+			out.writeShort((Short) entry);
+		}
+		else if (entry instanceof Byte) {
+			out.writeByte(TYPE_BYTE);
+			out.writeByte((Byte) entry);
+		}
+		else if (entry instanceof Boolean) {
+			out.writeByte(TYPE_BOOLEAN);
+			out.writeBoolean((Boolean) entry);
+		}
+		else if (entry instanceof BigDecimal) {
+			out.writeByte(TYPE_BIG_DECIMAL);
+			writeBytes(out, ((BigDecimal) entry).toString().getBytes(StandardCharsets.UTF_8));
+		}
+		else if (entry instanceof BigInteger) {
+			out.writeByte(TYPE_BIG_INTEGER);
+			writeBytes(out, ((BigInteger) entry).toByteArray());
+		}
+		else if (entry instanceof URI) {
+			out.writeByte(TYPE_URI);
+			writeBytes(out, entry.toString().getBytes(StandardCharsets.UTF_8));
+		}
+		else {
+			return false;
+		}
+		return true;
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeByte(TYPE_STRING);
+		writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Read a value.
+	 *
+	 * @param in the input to read from
+	 * @return the value, {@link #KEPT} if the value was kept in memory
+	 * @throws IOException if reading the value fails
+	 */
+	private static Object read(DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+		case TYPE_NULL:
+			return null;
+		case TYPE_STRING:
+			return new String(readBytes(in), StandardCharsets.UTF_8);
+		case TYPE_INTEGER:
+			return in.readInt();
+		case TYPE_LONG:
+			return in.readLong();
+		case TYPE_DOUBLE:
+			return in.readDouble();
+		case TYPE_FLOAT:
+			return in.readFloat();
+		case TYPE_SHORT:
+			return in.readShort();
+		case TYPE_BYTE:
+			return in.readByte();
+		case TYPE_BOOLEAN:
+			return in.readBoolean();
+		case TYPE_BIG_DECIMAL:
+			return new BigDecimal(new String(readBytes(in), StandardCharsets.UTF_8));
+		case TYPE_BIG_INTEGER:
+			return new BigInteger(readBytes(in));
+		case TYPE_URI:
+			return URI.create(new String(readBytes(in), StandardCharsets.UTF_8));
+		case TYPE_KEPT:
+			return KEPT;
+		default:
+			throw new IOException("Unknown value type " + type);
+		}
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static Object encode(Object value) {
+		if (value == null) {
+			return NULL;
+		}
+		if (value instanceof CharSequence) {
+			// also converts Groovy strings, which are evaluated lazily
+			String str = value.toString();
+			for (int i = 0; i < str.length(); i++) {
+				if (str.charAt(i) > 0xFF) {
+					return str;
+				}
+			}
+			return new CompactString(str.getBytes(StandardCharsets.ISO_8859_1));
+		}
+		return value;
+	}
+
+	@SuppressWarnings("unchecked")
+	private V decode(Object entry) {
+		if (entry == NULL) {
+			return null;
+		}
+		if (entry instanceof CompactString) {
+			return (V) entry.toString();
+		}
+		return (V) entry;
+	}
+
+	/**
+	 * Estimate the memory held by a value entry, including the queue node.
+	 *
+	 * @param entry the value entry
+	 * @return the estimated size in bytes
+	 */
+	private static long estimateSize(Object entry) {
+		long size = 24;
+		if (entry instanceof CompactString) {
+			size += 16 + align(16 + ((CompactString) entry).bytes.length);
+		}
+		else if (entry instanceof String) {
+			size += 24 + align(16 + 2 * ((String) entry).length());
+		}
+		else if (entry instanceof Number || entry instanceof Boolean) {
+			size += 24;
+		}
+		else if (entry != NULL) {
+			// unknown, just a guess
+			size += 64;
+		}
+		return size;
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+
+	private static long determineLimit() {
+		String value = System.getProperty(SYSTEM_PROPERTY_MEMORY);
+		if (value == null) {
+			value = System.getenv(ENV_MEMORY);
+		}
+		if (value != null) {
+			try {
+				return Long.parseLong(value.trim()) * 1024 * 1024;
+			} catch (NumberFormatException e) {
+				// ignore, use default
+			}
+		}
+		return Runtime.getRuntime().maxMemory() / 8;
+	}
+
+}
@@ -15,16 +15,19 @@
 
 package eu.esdihumboldt.util.groovy.collector;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import groovy.lang.Closure;
 import groovy.lang.GroovyObjectSupport;
 
 /**
- * Thread-safe helper for collecting values.
+ * Thread-safe helper for collecting values. A collector and its child
+ * collectors share a memory budget for their values, see
+ * {@link CollectorValues}. Once the collector is not needed anymore, it should
+ * be closed to release the memory budget and remove values moved to disk.
  * 
  * @author Simon Templer
  * @param <K> the key type
@@ -32,17 +35,25 @@ import groovy.lang.GroovyObjectSupport;
  * @param <C> the collector type
  */
 public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>>
-		extends GroovyObjectSupport {
+		extends GroovyObjectSupport implements AutoCloseable {
 
 	/**
-	 * The internal sub collectors.
+	 * Key representing <code>null</code> in {@link #properties}, as the
+	 * concurrent map does not support <code>null</code> keys.
 	 */
-	protected final Map<K, C> properties = new HashMap<>();
+	private static final Object NULL_KEY = new Object();
+
+	/**
+	 * The internal sub collectors. A <code>null</code> key is stored as
+	 * {@link #NULL_KEY}, see {@link #maskNull(Object)} and
+	 * {@link #unmaskNull(Object)}.
+	 */
+	protected final Map<K, C> properties = new ConcurrentHashMap<>();
 
 	/**
 	 * The internal collected values.
 	 */
-	protected final List<V> values = new ArrayList<>();
+	protected final CollectorValues<V> values = new CollectorValues<>();
 
 	/**
 	 * Create a new collector instance.
@@ -58,10 +69,7 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 	 * @param value the value to set
 	 */
 	public void set(V value) {
-		synchronized (values) {
-			values.clear();
-			values.add(value);
-		}
+		values.set(value);
 	}
 
 	/**
@@ -75,9 +83,7 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 			return values();
 		}
 		else if (Map.class.equals(clazz)) {
-			synchronized (properties) {
-				return new HashMap<>(properties);
-			}
+			return copyProperties();
 		}
 
 		throw new IllegalArgumentException("Conversion to" + clazz.getName() + " not supported.");
@@ -98,9 +104,7 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 	 * @param value the value to add
 	 */
 	public void add(V value) {
-		synchronized (values) {
-			values.add(value);
-		}
+		values.add(value);
 	}
 
 	/**
@@ -109,9 +113,7 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 	 * @return the first value or <code>null</code>
 	 */
 	public V value() {
-		synchronized (values) {
-			return values.isEmpty() ? null : values.get(0);
-		}
+		return values.first();
 	}
 
 	/**
@@ -120,9 +122,7 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 	 * @return a copy of the list of values
 	 */
 	public List<V> values() {
-		synchronized (values) {
-			return new ArrayList<>(values);
-		}
+		return values.toList();
 	}
 
 	/**
@@ -131,11 +131,7 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 	 * @return the value list
 	 */
 	public List<V> clear() {
-		synchronized (values) {
-			List<V> copy = new ArrayList<>(values);
-			values.clear();
-			return copy;
-		}
+		return values.drain();
 	}
 
 	/**
@@ -145,16 +141,17 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 	 * @return the child collector
 	 */
 	public C getAt(K property) {
-		synchronized (properties) {
-			C child = properties.get(property);
-
-			if (child == null) {
-				child = createCollector();
-				properties.put(property, child);
-			}
-
-			return child;
+		// look up first, as computeIfAbsent may lock even if the key exists
+		K key = maskNull(property);
+		C child = properties.get(key);
+		if (child == null) {
+			child = properties.computeIfAbsent(key, k -> {
+				C created = createCollector();
+				created.values.shareBudget(values);
+				return created;
+			});
 		}
+		return child;
 	}
 
 	/**
@@ -176,10 +173,7 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 	public void each(Closure<?> closure) {
 		if (closure.getMaximumNumberOfParameters() >= 2) {
 			// iterate map
-			Map<Object, C> props;
-			synchronized (properties) {
-				props = new HashMap<>(properties);
-			}
+			Map<K, C> props = copyProperties();
 			props.forEach((key, collector) -> {
 				closure.call(key, collector.values());
 			});
@@ -198,10 +192,7 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 	 */
 	public void eachCollector(Closure<?> closure) {
 		// iterate map
-		Map<Object, C> props;
-		synchronized (properties) {
-			props = new HashMap<>(properties);
-		}
+		Map<K, C> props = copyProperties();
 		props.forEach((key, collector) -> {
 			if (closure.getMaximumNumberOfParameters() >= 2) {
 				closure.call(key, collector);
@@ -221,10 +212,7 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 	public void consume(Closure<?> closure) {
 		if (closure.getMaximumNumberOfParameters() >= 2) {
 			// iterate map
-			Map<Object, C> props;
-			synchronized (properties) {
-				props = new HashMap<>(properties);
-			}
+			Map<K, C> props = copyProperties();
 			props.forEach((key, collector) -> {
 				closure.call(key, collector.clear());
 			});
@@ -236,4 +224,49 @@ public abstract class GenericCollector<K, V, C extends GenericCollector<K, V, ?>
 		}
 	}
 
+	/**
+	 * Clear the values of the collector and its child collectors and remove
+	 * the child collectors. This deletes any values moved to disk and releases
+	 * the memory budget.
+	 */
+	@Override
+	public void close() {
+		values.clear();
+		properties.values().forEach(GenericCollector::close);
+		properties.clear();
+	}
+
+	/**
+	 * Create a copy of the sub collectors.
+	 * 
+	 * @return the map of collector names to sub collectors, may contain a
+	 *         <code>null</code> key
+	 */
+	protected Map<K, C> copyProperties() {
+		Map<K, C> result = new HashMap<>();
+		properties.forEach((key, collector) -> result.put(unmaskNull(key), collector));
+		return result;
+	}
+
+	/**
+	 * Get the key to use in {@link #properties} for a collector name.
+	 * 
+	 * @param key the collector name, may be <code>null</code>
+	 * @return the key to use in the map
+	 */
+	@SuppressWarnings("unchecked")
+	protected static <K> K maskNull(K key) {
+		return (key == null) ? ((K) NULL_KEY) : (key);
+	}
+
+	/**
+	 * Get the collector name for a key in {@link #properties}.
+	 * 
+	 * @param key the key in the map
+	 * @return the collector name, may be <code>null</code>
+	 */
+	protected static <K> K unmaskNull(K key) {
+		return (key == NULL_KEY) ? (null) : (key);
+	}
+
 }
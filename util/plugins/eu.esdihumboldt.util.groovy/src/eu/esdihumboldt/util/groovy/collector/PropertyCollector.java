@@ -15,7 +15,6 @@
 
 package eu.esdihumboldt.util.groovy.collector;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -115,10 +114,10 @@ public abstract class PropertyCollector<K, C extends PropertyCollector<K, ?>>
 				return null;
 			}
 			else if (values.size() == 1) {
-				return values.get(0);
+				return values.first();
 			}
 			else {
-				return new ArrayList<>(values);
+				return values.toList();
 			}
 		}
 		else {
@@ -127,7 +126,7 @@ public abstract class PropertyCollector<K, C extends PropertyCollector<K, ?>>
 			for (Entry<K, C> entry : properties.entrySet()) {
 				Object child = entry.getValue().saveToMapListStructure(compact);
 				if (child != null) {
-					children.put(entry.getKey(), child);
+					children.put(unmaskNull(entry.getKey()), child);
 				}
 			}
 
@@ -145,10 +144,10 @@ public abstract class PropertyCollector<K, C extends PropertyCollector<K, ?>>
 				Map res = new HashMap<>();
 				if (!values.isEmpty()) {
 					if (values.size() == 1) {
-						res.put(KEY_VALUES, values.get(0));
+						res.put(KEY_VALUES, values.first());
 					}
 					else {
-						res.put(KEY_VALUES, new ArrayList<>(values));
+						res.put(KEY_VALUES, values.toList());
 					}
 				}
 				if (!children.isEmpty()) {
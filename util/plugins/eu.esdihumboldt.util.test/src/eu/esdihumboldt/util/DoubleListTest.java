@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+package eu.esdihumboldt.util;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test case for {@link DoubleList}
+ *
+ * @author Simon Templer
+ */
+public class DoubleListTest {
+
+	/**
+	 * Tests parsing a whitespace separated list
+	 */
+	@Test
+	public void testParse() {
+		DoubleList list = DoubleList.parse("\n  1.5 -2 3e2\t\n 4.25E-1 NaN  ");
+
+		Assert.assertEquals(5, list.size());
+		Assert.assertEquals(1.5, list.getDouble(0), 0);
+		Assert.assertEquals(-2, list.getDouble(1), 0);
+		Assert.assertEquals(300, list.getDouble(2), 0);
+		Assert.assertEquals(0.425, list.getDouble(3), 0);
+		Assert.assertTrue(Double.isNaN(list.getDouble(4)));
+
+		Assert.assertEquals(Arrays.asList(1.5, -2.0, 300.0, 0.425, Double.NaN), list);
+		Assert.assertEquals(0, DoubleList.parse("   ").size());
+	}
+
+	/**
+	 * Tests if notations not allowed in XML are rejected
+	 */
+	@Test(expected = NumberFormatException.class)
+	public void testParseInvalid() {
+		DoubleList.parse("1 2d");
+	}
+
+}
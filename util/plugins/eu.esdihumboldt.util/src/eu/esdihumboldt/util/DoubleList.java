@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.util;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Unmodifiable list of doubles backed by a primitive array. Values are only
+ * boxed when accessed through the {@link java.util.List} interface, consumers
+ * aware of this class can use {@link #getDouble(int)} or
+ * {@link #toDoubleArray()} instead.
+ *
+ * @author Simon Templer
+ */
+@Immutable
+public class DoubleList extends AbstractList<Double> implements RandomAccess, Serializable {
+
+	private static final long serialVersionUID = -2427829404851779185L;
+
+	private final double[] values;
+
+	/**
+	 * Create a list from the given values. The array is copied.
+	 *
+	 * @param values the values
+	 */
+	public DoubleList(double... values) {
+		this(values, true);
+	}
+
+	private DoubleList(double[] values, boolean copy) {
+		super();
+		this.values = (copy) ? (values.clone()) : (values);
+	}
+
+	/**
+	 * Parse a whitespace separated list of numbers, as used for XML Schema
+	 * list types with a double item type. Leading and trailing whitespace is
+	 * ignored.
+	 *
+	 * @param value the list value
+	 * @return the parsed list
+	 * @throws NumberFormatException if an item in the list is not a valid
+	 *             decimal number
+	 */
+	public static DoubleList parse(CharSequence value) throws NumberFormatException {
+		double[] result = new double[16];
+		int size = 0;
+
+		int length = value.length();
+		int start = -1;
+		for (int i = 0; i <= length; i++) {
+			char c = (i < length) ? (value.charAt(i)) : (' ');
+			if (Character.isWhitespace(c)) {
+				if (start >= 0) {
+					if (size == result.length) {
+						result = Arrays.copyOf(result, size * 2);
+					}
+					result[size++] = parseItem(value, start, i);
+					start = -1;
+				}
+			}
+			else if (start < 0) {
+				start = i;
+			}
+		}
+
+		return new DoubleList((size == result.length) ? (result) : (Arrays.copyOf(result, size)),
+				false);
+	}
+
+	private static double parseItem(CharSequence value, int start, int end)
+			throws NumberFormatException {
+		String item = value.subSequence(start, end).toString();
+		if (!"NaN".equals(item)) {
+			// reject Java specific notations not allowed in XML (e.g. 1d, 0x1p3)
+			for (int i = 0; i < item.length(); i++) {
+				char c = item.charAt(i);
+				if (!((c >= '0' && c <= '9') || c == '.' || c == '-' || c == '+' || c == 'e'
+						|| c == 'E')) {
+					throw new NumberFormatException("Invalid number: " + item);
+				}
+			}
+		}
+		return Double.parseDouble(item);
+	}
+
+	/**
+	 * Get the value at the given index without boxing.
+	 *
+	 * @param index the index
+	 * @return the value
+	 */
+	public double getDouble(int index) {
+		return values[index];
+	}
+
+	/**
+	 * @return a copy of the values as array
+	 */
+	public double[] toDoubleArray() {
+		return values.clone();
+	}
+
+	@Override
+	public Double get(int index) {
+		return values[index];
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+}
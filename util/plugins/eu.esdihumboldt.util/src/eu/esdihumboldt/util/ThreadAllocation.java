@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 wetransform GmbH
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Contributors:
+ *     wetransform GmbH <http://www.wetransform.to>
+ */
+
+package eu.esdihumboldt.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * Determines the memory allocated by threads, if supported by the JVM. This
+ * relies on an extension of the HotSpot JVM that is accessed via reflection,
+ * as it is not visible to bundles by default.
+ *
+ * @author Simon Templer
+ */
+public final class ThreadAllocation {
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	/**
+	 * Method to determine the memory allocated by a thread, <code>null</code>
+	 * if not supported by the JVM.
+	 */
+	private static final Method ALLOCATED_BYTES;
+
+	/**
+	 * Method to determine the memory allocated by several threads,
+	 * <code>null</code> if not supported by the JVM.
+	 */
+	private static final Method ALLOCATED_BYTES_MULTI;
+
+	static {
+		Method single = null;
+		Method multi = null;
+		try {
+			Class<?> extension = Class.forName("com.sun.management.ThreadMXBean", true,
+					ClassLoader.getSystemClassLoader());
+			if (extension.isInstance(THREADS)) {
+				single = extension.getMethod("getThreadAllocatedBytes", long.class);
+				multi = extension.getMethod("getThreadAllocatedBytes", long[].class);
+				if (((Long) single.invoke(THREADS, Thread.currentThread().getId())) < 0) {
+					// allocated memory measurement disabled
+					single = null;
+					multi = null;
+				}
+			}
+		} catch (Exception e) {
+			single = null;
+			multi = null;
+		}
+		ALLOCATED_BYTES = single;
+		ALLOCATED_BYTES_MULTI = multi;
+	}
+
+	private ThreadAllocation() {
+		// utility class
+	}
+
+	/**
+	 * @return if the memory allocated by threads can be determined
+	 */
+	public static boolean isSupported() {
+		return ALLOCATED_BYTES != null;
+	}
+
+	/**
+	 * Get the memory allocated by the current thread so far.
+	 *
+	 * @return the number of bytes allocated by the current thread, a negative
+	 *         value if it cannot be determined
+	 */
+	public static long getCurrentThreadAllocatedBytes() {
+		if (ALLOCATED_BYTES == null) {
+			return -1;
+		}
+		try {
+			return (Long) ALLOCATED_BYTES.invoke(THREADS, Thread.currentThread().getId());
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Get the memory allocated so far by all live threads. Memory allocated by
+	 * threads that already terminated is not included.
+	 *
+	 * @return the number of bytes allocated by all live threads, a negative
+	 *         value if it cannot be determined
+	 */
+	public static long getLiveThreadsAllocatedBytes() {
+		if (ALLOCATED_BYTES_MULTI == null) {
+			return -1;
+		}
+		try {
+			long[] allocated = (long[]) ALLOCATED_BYTES_MULTI.invoke(THREADS,
+					THREADS.getAllThreadIds());
+			long sum = 0;
+			for (long bytes : allocated) {
+				if (bytes > 0) {
+					sum += bytes;
+				}
+			}
+			return sum;
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+
+}